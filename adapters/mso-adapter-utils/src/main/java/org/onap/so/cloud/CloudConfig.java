@@ -21,11 +21,17 @@
 package org.onap.so.cloud;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
 import com.fasterxml.jackson.annotation.JsonRootName;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import org.onap.so.db.catalog.beans.CloudSite;
 import org.onap.so.db.catalog.beans.CloudifyManager;
 import org.onap.so.db.catalog.client.CatalogDbClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -38,6 +44,10 @@ import org.springframework.stereotype.Component;
  *
  * This class also contains methods to query cloud sites and/or identity services by ID.
  *
+ * Cloud site lookups are cached for org.onap.so.adapters.cloudsite.cache.ttl seconds. Ids that only resolve to the
+ * DEFAULT site, or to nothing at all, are cached for the shorter org.onap.so.adapters.cloudsite.cache.negativeTtl so a
+ * newly added site is picked up quickly. A ttl of 0 disables the cache. Cloud regions created, updated or deleted
+ * through this adapter drop the cache right away; changes made by other processes are seen once the ttl runs out.
  */
 
 @JsonRootName("cloud_config")
@@ -50,6 +60,35 @@ public class CloudConfig {
     @Autowired
     private CatalogDbClient catalogDbClient;
 
+    @Value("${org.onap.so.adapters.cloudsite.cache.ttl:300}")
+    private long cacheTtl;
+
+    @Value("${org.onap.so.adapters.cloudsite.cache.negativeTtl:60}")
+    private long negativeCacheTtl;
+
+    private LoadingCache<String, CloudSiteLookup> cloudSites;
+
+    @PostConstruct
+    protected void initCache() {
+        cloudSites = Caffeine.newBuilder().maximumSize(1000).expireAfter(new Expiry<String, CloudSiteLookup>() {
+            @Override
+            public long expireAfterCreate(String key, CloudSiteLookup value, long currentTime) {
+                return TimeUnit.SECONDS.toNanos(value.found ? cacheTtl : Math.min(cacheTtl, negativeCacheTtl));
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, CloudSiteLookup value, long currentTime,
+                    long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, CloudSiteLookup value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        }).build(this::lookupCloudSite);
+    }
+
     /**
      * Get a specific CloudSites, based on an ID. The ID is first checked against the regions, and if no match is found
      * there, then against individual entries to try and find one with a CLLI that matches the ID and an AIC version of
@@ -58,33 +97,34 @@ public class CloudConfig {
      * @param id the ID to match
      * @return an Optional of CloudSite object.
      */
-    public synchronized Optional<CloudSite> getCloudSite(String id) {
+    public Optional<CloudSite> getCloudSite(String id) {
         if (id == null) {
             return Optional.empty();
         }
-        CloudSite cloudSite = catalogDbClient.getCloudSite(id);
-
-        if (cloudSite != null) {
-            return Optional.of(cloudSite);
-        } else {
-            return getCloudSiteWithClli(id);
+        if (cloudSites == null || cacheTtl <= 0) {
+            return lookupCloudSite(id).site;
         }
+        return cloudSites.get(id).site;
     }
 
     /**
-     * Get a specific CloudSites, based on a CLLI and (optional) version, which will be matched against the aic_version
-     * field of the CloudSite.
-     * 
-     * @param clli the CLLI to match
-     * @return a CloudSite, or null of no match found
+     * Drops every cached cloud site, so the next lookup reads the catalog again
      */
-    private Optional<CloudSite> getCloudSiteWithClli(String clli) {
-        Optional<CloudSite> cloudSiteOptional =
-                Optional.ofNullable(catalogDbClient.getCloudSiteByClliAndAicVersion(clli, CLOUD_SITE_VERSION));
-        if (cloudSiteOptional.isPresent()) {
-            return cloudSiteOptional;
+    public void invalidateCloudSites() {
+        if (cloudSites != null) {
+            cloudSites.invalidateAll();
+        }
+    }
+
+    private CloudSiteLookup lookupCloudSite(String id) {
+        CloudSite cloudSite = catalogDbClient.getCloudSite(id);
+        if (cloudSite == null) {
+            cloudSite = catalogDbClient.getCloudSiteByClliAndAicVersion(id, CLOUD_SITE_VERSION);
+        }
+        if (cloudSite != null) {
+            return new CloudSiteLookup(Optional.of(cloudSite), true);
         } else {
-            return getDefaultCloudSite(clli);
+            return new CloudSiteLookup(getDefaultCloudSite(id), false);
         }
     }
 
@@ -110,4 +150,14 @@ public class CloudConfig {
     public CloudifyManager getCloudifyManager(String id) {
         return catalogDbClient.getCloudifyManager(id);
     }
+
+    private static class CloudSiteLookup {
+        private final Optional<CloudSite> site;
+        private final boolean found;
+
+        private CloudSiteLookup(Optional<CloudSite> site, boolean found) {
+            this.site = site;
+            this.found = found;
+        }
+    }
 }
@@ -0,0 +1,192 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.cloud.authentication;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.onap.so.config.beans.PoConfig;
+import org.onap.so.openstack.exceptions.MsoAdapterException;
+import org.onap.so.openstack.exceptions.MsoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Caches keystone tokens and the resolved service endpoint per cloud site, tenant and service. A token is served
+ * until it expires; once it enters the refresh window one caller re-authenticates while everyone else keeps using the
+ * still valid token. Concurrent loads of a missing or expired token are collapsed into a single keystone request.
+ */
+@Component
+public class KeystoneTokenCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeystoneTokenCache.class);
+
+    @FunctionalInterface
+    public interface TokenLoader {
+        KeystoneAuthHolder load() throws MsoException;
+    }
+
+    @Autowired
+    private PoConfig poConfig;
+
+    private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<KeystoneAuthHolder>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    public KeystoneTokenCache() {
+        FunctionCounter.builder("so.keystone.token.cache.hits", hits, AtomicLong::get)
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("so.keystone.token.cache.misses", misses, AtomicLong::get)
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("so.keystone.token.cache.refreshes", refreshes, AtomicLong::get)
+                .register(Metrics.globalRegistry);
+    }
+
+    public KeystoneAuthHolder getToken(String cloudSiteId, String tenantId, String serviceName, TokenLoader loader)
+            throws MsoException {
+        if (!poConfig.isTokenCacheEnabled()) {
+            return loader.load();
+        }
+        String key = key(cloudSiteId, tenantId, serviceName);
+        CachedToken cached = tokens.get(key);
+        long now = System.currentTimeMillis();
+        if (cached != null && now < cached.expiresAt) {
+            hits.incrementAndGet();
+            if (now >= cached.expiresAt - TimeUnit.SECONDS.toMillis(poConfig.getTokenRefreshWindow())) {
+                return refresh(key, cached, loader);
+            }
+            return cached.holder;
+        }
+        misses.incrementAndGet();
+        return load(key, loader);
+    }
+
+    public void invalidate(String cloudSiteId, String tenantId, String serviceName) {
+        tokens.remove(key(cloudSiteId, tenantId, serviceName));
+    }
+
+    public void invalidateAll() {
+        tokens.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    /*
+     * Only the caller that registers the refresh talks to keystone; a failed refresh keeps the current token
+     */
+    private KeystoneAuthHolder refresh(String key, CachedToken cached, TokenLoader loader) {
+        CompletableFuture<KeystoneAuthHolder> mine = new CompletableFuture<>();
+        if (loading.putIfAbsent(key, mine) != null) {
+            return cached.holder;
+        }
+        refreshes.incrementAndGet();
+        try {
+            KeystoneAuthHolder holder = store(key, loader.load());
+            mine.complete(holder);
+            return holder;
+        } catch (MsoException | RuntimeException e) {
+            logger.warn("Could not refresh keystone token for {}, using current token until it expires", key, e);
+            mine.complete(cached.holder);
+            return cached.holder;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private KeystoneAuthHolder load(String key, TokenLoader loader) throws MsoException {
+        CompletableFuture<KeystoneAuthHolder> mine = new CompletableFuture<>();
+        CompletableFuture<KeystoneAuthHolder> existing = loading.putIfAbsent(key, mine);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            KeystoneAuthHolder holder = store(key, loader.load());
+            mine.complete(holder);
+            return holder;
+        } catch (MsoException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private KeystoneAuthHolder store(String key, KeystoneAuthHolder holder) {
+        long expiresAt;
+        if (holder.getexpiration() != null) {
+            expiresAt = holder.getexpiration().getTimeInMillis();
+        } else {
+            expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(poConfig.getTokenCacheTtl());
+        }
+        tokens.put(key, new CachedToken(holder, expiresAt));
+        return holder;
+    }
+
+    private KeystoneAuthHolder await(CompletableFuture<KeystoneAuthHolder> future) throws MsoException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MsoAdapterException("Interrupted while waiting for keystone token", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof MsoException) {
+                throw (MsoException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new MsoAdapterException("Could not load keystone token", cause);
+        }
+    }
+
+    private String key(String cloudSiteId, String tenantId, String serviceName) {
+        return cloudSiteId + "|" + tenantId + "|" + serviceName;
+    }
+
+    private static class CachedToken {
+        private final KeystoneAuthHolder holder;
+        private final long expiresAt;
+
+        private CachedToken(KeystoneAuthHolder holder, long expiresAt) {
+            this.holder = holder;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -32,6 +32,9 @@ public class PoConfig {
     private int retryCount;
     private int pollTimeout;
     private int pollInterval;
+    private boolean tokenCacheEnabled = true;
+    private int tokenRefreshWindow = 300;
+    private int tokenCacheTtl = 3600;
 
     public String getRetryCodes() {
         return retryCodes;
@@ -73,4 +76,34 @@ public class PoConfig {
         this.pollInterval = pollInterval;
     }
 
+    public boolean isTokenCacheEnabled() {
+        return tokenCacheEnabled;
+    }
+
+    public void setTokenCacheEnabled(boolean tokenCacheEnabled) {
+        this.tokenCacheEnabled = tokenCacheEnabled;
+    }
+
+    /**
+     * Seconds before expiry at which a cached keystone token is refreshed
+     */
+    public int getTokenRefreshWindow() {
+        return tokenRefreshWindow;
+    }
+
+    public void setTokenRefreshWindow(int tokenRefreshWindow) {
+        this.tokenRefreshWindow = tokenRefreshWindow;
+    }
+
+    /**
+     * Seconds a keystone token is cached when keystone does not report an expiry
+     */
+    public int getTokenCacheTtl() {
+        return tokenCacheTtl;
+    }
+
+    public void setTokenCacheTtl(int tokenCacheTtl) {
+        this.tokenCacheTtl = tokenCacheTtl;
+    }
+
 }
@@ -0,0 +1,322 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.openstack.utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.onap.logging.ref.slf4j.ONAPLogConstants;
+import org.onap.so.openstack.exceptions.MsoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import com.woorea.openstack.heat.Heat;
+import com.woorea.openstack.heat.model.Stack;
+
+/**
+ * Non-blocking replacement for {@link MsoHeatUtils#pollStackForStatus}. Stacks are registered with
+ * {@link #pollStackForStatus} and the returned future completes once the stack leaves the in progress status, the
+ * timeout expires, or (for deletes) the stack disappears.
+ *
+ * Watched stacks are grouped by cloud site and tenant. When several stacks of a group are due, their status is read
+ * with one list-stacks call and only stacks whose status changed are fetched individually. Each stack backs off from
+ * the configured poll interval up to org.onap.so.adapters.po.maxPollInterval while its status does not change.
+ */
+@Component
+public class HeatStackPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeatStackPoller.class);
+
+    protected static final String POLL_INTERVAL_PROP = "org.onap.so.adapters.po.pollInterval";
+    protected static final String MAX_POLL_INTERVAL_PROP = "org.onap.so.adapters.po.maxPollInterval";
+    protected static final String POLL_THREADS_PROP = "org.onap.so.adapters.po.pollThreads";
+    private static final String MAX_POLL_INTERVAL_DEFAULT = "60";
+    private static final String POLL_THREADS_DEFAULT = "4";
+    private static final double BACKOFF_MULTIPLIER = 1.5;
+    private static final long TICK_MILLIS = 1000;
+
+    @Autowired
+    private MsoHeatUtils msoHeatUtils;
+
+    @Autowired
+    private StackStatusHandler statusHandler;
+
+    @Autowired
+    private Environment environment;
+
+    private final Map<String, TenantWatches> watches = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private ExecutorService queryExecutor;
+
+    public CompletableFuture<Stack> pollStackForStatus(int timeoutMinutes, Stack stack, String stackStatus,
+            String cloudSiteId, String tenantId, boolean notFoundIsSuccess) {
+        long pollingFrequency = Long.parseLong(
+                environment.getProperty(POLL_INTERVAL_PROP, MsoHeatUtils.CREATE_POLL_INTERVAL_DEFAULT)) * 1000L;
+        long now = System.currentTimeMillis();
+        long deadline = now + TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        if (pollingFrequency > TimeUnit.MINUTES.toMillis(timeoutMinutes)) {
+            logger.debug("Will not poll. Poll interval {} ms is greater then timeout {} min", pollingFrequency,
+                    timeoutMinutes);
+            deadline = now - 1;
+        }
+        StackWatch watch = new StackWatch(stack, stackStatus, notFoundIsSuccess, deadline, pollingFrequency,
+                MDC.getCopyOfContextMap());
+        // added and removed under the lock of the map entry, a group is dropped once its last stack completes
+        watches.compute(cloudSiteId + "|" + tenantId, (key, group) -> {
+            TenantWatches tenantWatches = group == null ? new TenantWatches(key, cloudSiteId, tenantId) : group;
+            tenantWatches.pending.add(watch);
+            return tenantWatches;
+        });
+        start();
+        return watch.future;
+    }
+
+    public int getWatchedStackCount() {
+        return watches.values().stream().mapToInt(group -> group.pending.size()).sum();
+    }
+
+    public int getWatchedTenantCount() {
+        return watches.size();
+    }
+
+    protected synchronized void start() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "heat-stack-poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            queryExecutor = Executors.newFixedThreadPool(
+                    Integer.parseInt(environment.getProperty(POLL_THREADS_PROP, POLL_THREADS_DEFAULT)));
+            scheduler.scheduleWithFixedDelay(this::tick, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            queryExecutor.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    protected void tick() {
+        long now = System.currentTimeMillis();
+        for (TenantWatches group : watches.values()) {
+            if (group.pending.isEmpty() || !group.polling.compareAndSet(false, true)) {
+                continue;
+            }
+            List<StackWatch> due = group.pending.stream().filter(watch -> watch.nextPoll <= now)
+                    .collect(Collectors.toList());
+            if (due.isEmpty()) {
+                group.polling.set(false);
+                continue;
+            }
+            execute(() -> {
+                try {
+                    poll(group, due);
+                } finally {
+                    group.polling.set(false);
+                }
+            });
+        }
+    }
+
+    protected void execute(Runnable task) {
+        queryExecutor.execute(task);
+    }
+
+    protected void poll(TenantWatches group, List<StackWatch> due) {
+        Heat heatClient;
+        try {
+            heatClient = msoHeatUtils.getHeatClient(group.cloudSiteId, group.tenantId);
+        } catch (MsoException | RuntimeException e) {
+            due.forEach(watch -> complete(group, watch, null, e));
+            return;
+        }
+        Map<String, Stack> summaries = listSummaries(heatClient, due);
+        for (StackWatch watch : due) {
+            inContext(watch, () -> {
+                Stack summary = summaries.get(watch.stack.getId());
+                if (summary != null && watch.inProgressStatus.equals(summary.getStackStatus())
+                        && System.currentTimeMillis() <= watch.deadline) {
+                    statusHandler.updateStackStatus(summary, watch.requestId);
+                    backOff(watch);
+                    return;
+                }
+                try {
+                    evaluate(group, watch, msoHeatUtils.queryHeatStack(heatClient, watch.getStackName()));
+                } catch (MsoException | RuntimeException e) {
+                    complete(group, watch, null, e);
+                }
+            });
+        }
+    }
+
+    /*
+     * Only worth a list call when more than one stack is due; a failure here simply falls back to individual queries
+     */
+    protected Map<String, Stack> listSummaries(Heat heatClient, List<StackWatch> due) {
+        Map<String, Stack> result = new HashMap<>();
+        List<String> ids = due.stream().map(watch -> watch.stack.getId()).filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (ids.size() < 2) {
+            return result;
+        }
+        try {
+            for (Stack stack : msoHeatUtils.queryHeatStacksById(heatClient, ids)) {
+                if (stack.getId() != null) {
+                    result.put(stack.getId(), stack);
+                }
+            }
+        } catch (MsoException | RuntimeException e) {
+            logger.debug("Could not list stacks, falling back to individual queries", e);
+        }
+        return result;
+    }
+
+    protected void evaluate(TenantWatches group, StackWatch watch, Stack latestStack) {
+        if (latestStack == null) {
+            if (watch.notFoundIsSuccess) {
+                complete(group, watch, null, null);
+            } else if (System.currentTimeMillis() > watch.deadline) {
+                complete(group, watch, null, new StackCreationException(
+                        "Stack " + watch.getStackName() + " not found before polling timed out"));
+            } else {
+                backOff(watch);
+            }
+            return;
+        }
+        statusHandler.updateStackStatus(latestStack, watch.requestId);
+        if (watch.inProgressStatus.equals(latestStack.getStackStatus())) {
+            if (System.currentTimeMillis() > watch.deadline) {
+                logger.error("Polling of stack timed out with Status: {}", latestStack.getStackStatus());
+                complete(group, watch, latestStack, null);
+            } else {
+                backOff(watch);
+            }
+        } else {
+            complete(group, watch, latestStack, null);
+        }
+    }
+
+    private void backOff(StackWatch watch) {
+        long maxInterval = Math.max(watch.interval,
+                Long.parseLong(environment.getProperty(MAX_POLL_INTERVAL_PROP, MAX_POLL_INTERVAL_DEFAULT)) * 1000L);
+        long now = System.currentTimeMillis();
+        watch.nextPoll = Math.min(now + watch.interval, Math.max(watch.deadline + 1, now));
+        watch.interval = Math.min((long) (watch.interval * BACKOFF_MULTIPLIER), maxInterval);
+    }
+
+    /*
+     * The callbacks chained on the future run here, with the MDC of the thread that registered the stack
+     */
+    private void complete(TenantWatches group, StackWatch watch, Stack stack, Throwable e) {
+        watches.computeIfPresent(group.key, (key, tenantWatches) -> {
+            tenantWatches.pending.remove(watch);
+            return tenantWatches.pending.isEmpty() ? null : tenantWatches;
+        });
+        inContext(watch, () -> {
+            if (e != null) {
+                watch.future.completeExceptionally(e);
+            } else {
+                watch.future.complete(stack);
+            }
+        });
+    }
+
+    private void inContext(StackWatch watch, Runnable action) {
+        Map<String, String> previousContext = MDC.getCopyOfContextMap();
+        setContext(watch.context);
+        try {
+            action.run();
+        } finally {
+            setContext(previousContext);
+        }
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+
+    protected static class TenantWatches {
+        private final String key;
+        private final String cloudSiteId;
+        private final String tenantId;
+        private final ConcurrentLinkedQueue<StackWatch> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean polling = new AtomicBoolean();
+
+        protected TenantWatches(String key, String cloudSiteId, String tenantId) {
+            this.key = key;
+            this.cloudSiteId = cloudSiteId;
+            this.tenantId = tenantId;
+        }
+    }
+
+    protected static class StackWatch {
+        private final Stack stack;
+        private final String inProgressStatus;
+        private final boolean notFoundIsSuccess;
+        private final long deadline;
+        private final String requestId;
+        private final Map<String, String> context;
+        private final CompletableFuture<Stack> future = new CompletableFuture<>();
+        private volatile long interval;
+        private volatile long nextPoll;
+
+        protected StackWatch(Stack stack, String inProgressStatus, boolean notFoundIsSuccess, long deadline,
+                long interval, Map<String, String> context) {
+            this.stack = stack;
+            this.inProgressStatus = inProgressStatus;
+            this.notFoundIsSuccess = notFoundIsSuccess;
+            this.deadline = deadline;
+            this.interval = Math.max(interval, TICK_MILLIS);
+            this.context = context;
+            this.requestId = context == null ? null : context.get(ONAPLogConstants.MDCs.REQUEST_ID);
+        }
+
+        protected String getStackName() {
+            if (stack.getId() == null) {
+                return stack.getStackName();
+            }
+            return stack.getStackName() + "/" + stack.getId();
+        }
+    }
+}
@@ -31,6 +31,7 @@ import java.util.Map.Entry;
 import org.onap.so.cloud.CloudConfig;
 import org.onap.so.cloud.authentication.AuthenticationMethodFactory;
 import org.onap.so.cloud.authentication.KeystoneAuthHolder;
+import org.onap.so.cloud.authentication.KeystoneTokenCache;
 import org.onap.so.cloud.authentication.KeystoneV3Authentication;
 import org.onap.so.cloud.authentication.ServiceEndpointNotFoundException;
 import org.onap.so.config.beans.PoConfig;
@@ -91,6 +92,9 @@ public class MsoCommonUtils {
     @Autowired
     protected PoConfig poConfig;
 
+    @Autowired
+    protected KeystoneTokenCache keystoneTokenCache;
+
     /*
      * Method to execute an Openstack command and track its execution time. For the metrics log, a category of
      * "Openstack" is used along with a sub-category that identifies the specific call (using the real
@@ -120,6 +124,10 @@ public class MsoCommonUtils {
             try {
                 return request.execute();
             } catch (OpenStackResponseException e) {
+                if (e.getStatus() == 401 && keystoneTokenCache != null) {
+                    // the request does not tell which cached token it used, so drop them all
+                    keystoneTokenCache.invalidateAll();
+                }
                 boolean retry = false;
                 if (retryCodes != null) {
                     int code = e.getStatus();
@@ -455,6 +463,18 @@ public class MsoCommonUtils {
      */
     protected KeystoneAuthHolder getKeystoneAuthHolder(String cloudSiteId, String tenantId, String serviceName)
             throws MsoException {
+        if (keystoneTokenCache == null) {
+            return authenticate(cloudSiteId, tenantId, serviceName);
+        }
+        return keystoneTokenCache.getToken(cloudSiteId, tenantId, serviceName,
+                () -> authenticate(cloudSiteId, tenantId, serviceName));
+    }
+
+    /**
+     * Authenticates against the keystone of the cloud site, bypassing the token cache
+     */
+    protected KeystoneAuthHolder authenticate(String cloudSiteId, String tenantId, String serviceName)
+            throws MsoException {
         CloudIdentity cloudIdentity = null;
         try {
             CloudSite cloudSite =
@@ -472,6 +492,7 @@ public class MsoCommonUtils {
                     keystoneAuthV2.setServiceUrl(
                             KeystoneUtils.findEndpointURL(access.getServiceCatalog(), serviceName, region, "public"));
                     keystoneAuthV2.setId(access.getToken().getId());
+                    keystoneAuthV2.setexpiration(access.getToken().getExpires());
                     return keystoneAuthV2;
                 } catch (RuntimeException e) {
                     String error = "Openstack did not match an orchestration service for: region=" + region + ",cloud="
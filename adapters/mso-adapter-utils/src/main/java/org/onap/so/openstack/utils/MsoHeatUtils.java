@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -670,6 +671,36 @@ public class MsoHeatUtils extends MsoCommonUtils implements VduPlugin {
         }
     }
 
+    /**
+     * Lists, in a single request, the stacks of the client's tenant whose ids are given. The returned stacks are
+     * summaries without outputs; stacks which no longer exist are absent from the result.
+     *
+     * @param heatClient an authenticated Heat client
+     * @param stackIds the stack ids to look up
+     * @return the matching stacks
+     * @throws MsoException Thrown if the Openstack API call returns an exception
+     */
+    public List<Stack> queryHeatStacksById(Heat heatClient, Collection<String> stackIds) throws MsoException {
+        if (stackIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            OpenStackRequest<Stacks> request = heatClient.getStacks().list();
+            for (String stackId : stackIds) {
+                request.queryParam("id", stackId);
+            }
+            Stacks stacks = executeAndRecordOpenstackRequest(request, false);
+            if (stacks == null || stacks.getList() == null) {
+                return new ArrayList<>();
+            }
+            return stacks.getList();
+        } catch (OpenStackResponseException e) {
+            throw heatExceptionToMsoException(e, "QueryAllStack");
+        } catch (OpenStackConnectException e) {
+            throw heatExceptionToMsoException(e, "QueryAllStack");
+        }
+    }
+
     public Stack queryHeatStack(String stackName, String cloudSiteId, String tenantId) throws MsoException {
         if (stackName == null) {
             return null;
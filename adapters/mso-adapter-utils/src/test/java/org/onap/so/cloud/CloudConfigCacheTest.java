@@ -0,0 +1,91 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.cloud;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.onap.so.db.catalog.beans.CloudSite;
+import org.onap.so.db.catalog.client.CatalogDbClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CloudConfigCacheTest {
+
+    @InjectMocks
+    private CloudConfig cloudConfig;
+
+    @Mock
+    private CatalogDbClient catalogDbClient;
+
+    @Before
+    public void before() {
+        ReflectionTestUtils.setField(cloudConfig, "cacheTtl", 300L);
+        ReflectionTestUtils.setField(cloudConfig, "negativeCacheTtl", 60L);
+        cloudConfig.initCache();
+    }
+
+    @Test
+    public void cachedCloudSiteTest() {
+        CloudSite cloudSite = new CloudSite();
+        cloudSite.setId("MTN13");
+        when(catalogDbClient.getCloudSite("MTN13")).thenReturn(cloudSite);
+
+        assertSame(cloudSite, cloudConfig.getCloudSite("MTN13").get());
+        assertSame(cloudSite, cloudConfig.getCloudSite("MTN13").get());
+        verify(catalogDbClient, times(1)).getCloudSite("MTN13");
+
+        cloudConfig.invalidateCloudSites();
+        cloudConfig.getCloudSite("MTN13");
+        verify(catalogDbClient, times(2)).getCloudSite("MTN13");
+    }
+
+    @Test
+    public void cachedUnknownCloudSiteTest() {
+        assertFalse(cloudConfig.getCloudSite("NotThere").isPresent());
+        assertFalse(cloudConfig.getCloudSite("NotThere").isPresent());
+
+        verify(catalogDbClient, times(1)).getCloudSite("NotThere");
+        verify(catalogDbClient, times(1)).getCloudSiteByClliAndAicVersion("NotThere", "2.5");
+        verify(catalogDbClient, times(1)).getCloudSite("DEFAULT");
+    }
+
+    @Test
+    public void disabledCacheTest() {
+        ReflectionTestUtils.setField(cloudConfig, "cacheTtl", 0L);
+        CloudSite defaultSite = new CloudSite();
+        defaultSite.setId("DEFAULT");
+        when(catalogDbClient.getCloudSite("DEFAULT")).thenReturn(defaultSite);
+
+        assertEquals("NotThere", cloudConfig.getCloudSite("NotThere").get().getRegionId());
+        cloudConfig.getCloudSite("NotThere");
+        verify(catalogDbClient, times(2)).getCloudSite("DEFAULT");
+    }
+}
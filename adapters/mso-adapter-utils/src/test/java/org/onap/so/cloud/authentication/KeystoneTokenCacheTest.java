@@ -0,0 +1,114 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.cloud.authentication;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.when;
+import java.util.Calendar;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.onap.so.config.beans.PoConfig;
+import org.onap.so.openstack.exceptions.MsoAdapterException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KeystoneTokenCacheTest {
+
+    @InjectMocks
+    private KeystoneTokenCache cache = new KeystoneTokenCache();
+
+    @Mock
+    private PoConfig poConfig;
+
+    @Before
+    public void before() {
+        when(poConfig.isTokenCacheEnabled()).thenReturn(true);
+        when(poConfig.getTokenRefreshWindow()).thenReturn(300);
+    }
+
+    @Test
+    public void cachedTokenTest() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        KeystoneAuthHolder holder = holder("token", 3600);
+
+        KeystoneAuthHolder first = cache.getToken("site", "tenant", "orchestration", () -> {
+            loads.incrementAndGet();
+            return holder;
+        });
+        KeystoneAuthHolder second = cache.getToken("site", "tenant", "orchestration", () -> {
+            loads.incrementAndGet();
+            return holder("other", 3600);
+        });
+
+        assertSame(holder, first);
+        assertSame(holder, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void refreshWithinWindowTest() throws Exception {
+        cache.getToken("site", "tenant", "orchestration", () -> holder("old", 60));
+        KeystoneAuthHolder refreshed = holder("new", 3600);
+
+        assertSame(refreshed, cache.getToken("site", "tenant", "orchestration", () -> refreshed));
+        assertEquals(1, cache.getRefreshes());
+    }
+
+    @Test
+    public void failedRefreshKeepsTokenTest() throws Exception {
+        KeystoneAuthHolder current = holder("old", 60);
+        cache.getToken("site", "tenant", "orchestration", () -> current);
+
+        assertSame(current, cache.getToken("site", "tenant", "orchestration", () -> {
+            throw new MsoAdapterException("keystone down");
+        }));
+    }
+
+    @Test
+    public void expiredAndInvalidatedTokenTest() throws Exception {
+        cache.getToken("site", "tenant", "orchestration", () -> holder("expired", -60));
+        KeystoneAuthHolder fresh = holder("fresh", 3600);
+        assertSame(fresh, cache.getToken("site", "tenant", "orchestration", () -> fresh));
+
+        cache.invalidate("site", "tenant", "orchestration");
+        KeystoneAuthHolder reloaded = holder("reloaded", 3600);
+        assertSame(reloaded, cache.getToken("site", "tenant", "orchestration", () -> reloaded));
+        assertSame(reloaded, cache.getToken("site", "tenant", "orchestration", () -> fresh));
+        assertEquals(3, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    private KeystoneAuthHolder holder(String id, int expiresInSeconds) {
+        KeystoneAuthHolder holder = new KeystoneAuthHolder();
+        holder.setId(id);
+        Calendar expiration = Calendar.getInstance();
+        expiration.add(Calendar.SECOND, expiresInSeconds);
+        holder.setexpiration(expiration);
+        return holder;
+    }
+}
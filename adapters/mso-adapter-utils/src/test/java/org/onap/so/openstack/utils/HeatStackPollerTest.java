@@ -0,0 +1,161 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.openstack.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.onap.logging.ref.slf4j.ONAPLogConstants;
+import org.slf4j.MDC;
+import org.springframework.core.env.Environment;
+import com.woorea.openstack.heat.Heat;
+import com.woorea.openstack.heat.model.Stack;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HeatStackPollerTest {
+
+    private static final String CLOUD_SITE_ID = "regionOne";
+    private static final String TENANT_ID = "tenantId";
+
+    @Spy
+    @InjectMocks
+    private HeatStackPoller poller;
+
+    @Mock
+    private MsoHeatUtils msoHeatUtils;
+
+    @Mock
+    private StackStatusHandler statusHandler;
+
+    @Mock
+    private Environment environment;
+
+    @Mock
+    private Heat heatClient;
+
+    @Before
+    public void before() throws Exception {
+        when(environment.getProperty(anyString(), anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+        doNothing().when(poller).start();
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(poller).execute(any(Runnable.class));
+        doReturn(heatClient).when(msoHeatUtils).getHeatClient(CLOUD_SITE_ID, TENANT_ID);
+    }
+
+    @Test
+    public void batchedStatusCheckTest() throws Exception {
+        Stack first = stack("first", "1", "CREATE_IN_PROGRESS");
+        Stack second = stack("second", "2", "CREATE_IN_PROGRESS");
+        Stack secondComplete = stack("second", "2", "CREATE_COMPLETE");
+        doReturn(Arrays.asList(first, secondComplete)).when(msoHeatUtils).queryHeatStacksById(eq(heatClient), any());
+        doReturn(secondComplete).when(msoHeatUtils).queryHeatStack(heatClient, "second/2");
+
+        CompletableFuture<Stack> firstFuture =
+                poller.pollStackForStatus(118, first, "CREATE_IN_PROGRESS", CLOUD_SITE_ID, TENANT_ID, false);
+        CompletableFuture<Stack> secondFuture =
+                poller.pollStackForStatus(118, second, "CREATE_IN_PROGRESS", CLOUD_SITE_ID, TENANT_ID, false);
+        poller.tick();
+
+        assertFalse(firstFuture.isDone());
+        assertSame(secondComplete, secondFuture.get());
+        assertEquals(1, poller.getWatchedStackCount());
+        assertEquals(1, poller.getWatchedTenantCount());
+        verify(msoHeatUtils, times(1)).queryHeatStacksById(eq(heatClient), any());
+        verify(msoHeatUtils, never()).queryHeatStack(heatClient, "first/1");
+    }
+
+    @Test
+    public void deletedStackTest() throws Exception {
+        Stack stack = stack("deleted", "1", "DELETE_IN_PROGRESS");
+        doReturn(null).when(msoHeatUtils).queryHeatStack(heatClient, "deleted/1");
+
+        CompletableFuture<Stack> future =
+                poller.pollStackForStatus(118, stack, "DELETE_IN_PROGRESS", CLOUD_SITE_ID, TENANT_ID, true);
+        poller.tick();
+
+        assertTrue(future.isDone());
+        assertNull(future.get());
+        assertEquals(0, poller.getWatchedStackCount());
+        assertEquals(0, poller.getWatchedTenantCount());
+    }
+
+    @Test
+    public void callbackContextTest() throws Exception {
+        Stack stack = stack("created", "1", "CREATE_IN_PROGRESS");
+        Stack stackComplete = stack("created", "1", "CREATE_COMPLETE");
+        doReturn(stackComplete).when(msoHeatUtils).queryHeatStack(heatClient, "created/1");
+
+        MDC.put(ONAPLogConstants.MDCs.REQUEST_ID, "requestId");
+        CompletableFuture<String> requestId = poller
+                .pollStackForStatus(118, stack, "CREATE_IN_PROGRESS", CLOUD_SITE_ID, TENANT_ID, false)
+                .thenApply(result -> MDC.get(ONAPLogConstants.MDCs.REQUEST_ID));
+        MDC.clear();
+        poller.tick();
+
+        assertEquals("requestId", requestId.get());
+        assertNull(MDC.get(ONAPLogConstants.MDCs.REQUEST_ID));
+        verify(statusHandler).updateStackStatus(stackComplete, "requestId");
+    }
+
+    @Test
+    public void timeoutTest() throws Exception {
+        Stack stack = stack("slow", "1", "CREATE_IN_PROGRESS");
+        doReturn(stack).when(msoHeatUtils).queryHeatStack(heatClient, "slow/1");
+
+        CompletableFuture<Stack> future =
+                poller.pollStackForStatus(0, stack, "CREATE_IN_PROGRESS", CLOUD_SITE_ID, TENANT_ID, false);
+        poller.tick();
+
+        assertSame(stack, future.get());
+        verify(statusHandler).updateStackStatus(stack, null);
+    }
+
+    private Stack stack(String name, String id, String status) {
+        Stack stack = new Stack();
+        stack.setStackName(name);
+        stack.setId(id);
+        stack.setStackStatus(status);
+        return stack;
+    }
+}
@@ -10,6 +10,7 @@ import org.onap.aaiclient.client.aai.entities.uri.AAIPluralResourceUri;
 import org.onap.aaiclient.client.aai.entities.uri.AAIResourceUri;
 import org.onap.aaiclient.client.aai.entities.uri.AAIUriFactory;
 import org.onap.aaiclient.client.generated.fluentbuilders.AAIFluentTypeBuilder;
+import org.onap.so.cloud.CloudConfig;
 import org.onap.so.db.catalog.beans.CloudSite;
 import org.onap.so.db.catalog.beans.NetworkTechnologyReference;
 import org.onap.so.db.catalog.client.CatalogDbClient;
@@ -33,6 +34,9 @@ public class CloudRestImpl {
     @Autowired
     private CatalogDbClient catalogDBClient;
 
+    @Autowired
+    private CloudConfig cloudConfig;
+
     public void createCloudRegion(CloudSite cloudSite) throws CloudException {
         createRegionInCatalogDb(cloudSite);
         createCloudRegionInAAI(cloudSite);
@@ -45,6 +49,7 @@ public class CloudRestImpl {
     protected void updateRegionInCatalogDb(CloudSite cloudSite) {
         try {
             catalogDBClient.updateCloudSite(cloudSite);
+            cloudConfig.invalidateCloudSites();
         } catch (Exception e) {
             logger.error("Error updating cloud region in catalogdb", e);
             throw new CloudException("Error updating cloud region in Catalog: " + e.getMessage(), e);
@@ -54,6 +59,7 @@ public class CloudRestImpl {
     public void deleteCloudRegion(String cloudRegionId) throws CloudException {
         try {
             catalogDBClient.deleteCloudSite(cloudRegionId);
+            cloudConfig.invalidateCloudSites();
         } catch (Exception e) {
             logger.error("Error deleting cloud region in catalogdb", e);
             throw new CloudException("Error deleting cloud region in Catalog: " + e.getMessage(), e);
@@ -112,6 +118,7 @@ public class CloudRestImpl {
             CloudSite existingCloudSite = catalogDBClient.getCloudSite(cloudSite.getRegionId());
             if (existingCloudSite == null) {
                 catalogDBClient.postCloudSite(cloudSite);
+                cloudConfig.invalidateCloudSites();
             }
         } catch (Exception e) {
             logger.error("Error creating cloud site in Catalog Adapter: " + e.getMessage(), e);
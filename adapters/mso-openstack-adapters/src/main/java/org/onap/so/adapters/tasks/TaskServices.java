@@ -21,12 +21,12 @@
 package org.onap.so.adapters.tasks;
 
 import javax.annotation.PostConstruct;
-import org.camunda.bpm.client.ExternalTaskClient;
 import org.onap.so.adapters.tasks.inventory.CreateInventoryTask;
 import org.onap.so.adapters.tasks.inventory.DeleteInventoryTask;
 import org.onap.so.adapters.tasks.orchestration.PollService;
 import org.onap.so.adapters.tasks.orchestration.RollbackService;
 import org.onap.so.adapters.tasks.orchestration.StackService;
+import org.onap.so.utils.ExternalTaskDispatcher;
 import org.onap.so.utils.ExternalTaskServiceUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
@@ -39,6 +39,9 @@ public class TaskServices {
     @Autowired
     private ExternalTaskServiceUtils externalTaskServiceUtils;
 
+    @Autowired
+    private ExternalTaskDispatcher externalTaskDispatcher;
+
     @Autowired
     private CreateInventoryTask createInventory;
 
@@ -56,47 +59,32 @@ public class TaskServices {
 
     @PostConstruct
     public void createtAAIInventory() throws Exception {
-        for (int i = 0; i < externalTaskServiceUtils.getMaxClients(); i++) {
-            ExternalTaskClient client = externalTaskServiceUtils.createExternalTaskClient();
-            client.subscribe("InventoryCreate").lockDuration(externalTaskServiceUtils.getLockDurationMedium())
-                    .handler(createInventory::executeExternalTask).open();
-        }
+        externalTaskDispatcher.subscribe("InventoryCreate", externalTaskServiceUtils.getLockDurationMedium(),
+                createInventory::executeExternalTask);
     }
 
     @PostConstruct
     public void deleteAAIInventory() throws Exception {
-        for (int i = 0; i < externalTaskServiceUtils.getMaxClients(); i++) {
-            externalTaskServiceUtils.createExternalTaskClient().subscribe("InventoryDelete")
-                    .lockDuration(externalTaskServiceUtils.getLockDurationMedium())
-                    .handler(deleteInventory::executeExternalTask).open();
-        }
+        externalTaskDispatcher.subscribe("InventoryDelete", externalTaskServiceUtils.getLockDurationMedium(),
+                deleteInventory::executeExternalTask);
     }
 
     @PostConstruct
     public void openstackInvoker() throws Exception {
-        for (int i = 0; i < externalTaskServiceUtils.getMaxClients(); i++) {
-            ExternalTaskClient client = externalTaskServiceUtils.createExternalTaskClient();
-            client.subscribe("OpenstackAdapterInvoke").lockDuration(externalTaskServiceUtils.getLockDurationShort())
-                    .handler(stackService::executeExternalTask).open();
-        }
+        externalTaskDispatcher.subscribe("OpenstackAdapterInvoke", externalTaskServiceUtils.getLockDurationShort(),
+                stackService::executeExternalTask);
     }
 
     @PostConstruct
     public void openstackPoller() throws Exception {
-        for (int i = 0; i < externalTaskServiceUtils.getMaxClients(); i++) {
-            ExternalTaskClient client = externalTaskServiceUtils.createExternalTaskClient();
-            client.subscribe("OpenstackAdapterPolling").lockDuration(externalTaskServiceUtils.getLockDurationMedium())
-                    .handler(pollService::executeExternalTask).open();
-        }
+        externalTaskDispatcher.subscribe("OpenstackAdapterPolling", externalTaskServiceUtils.getLockDurationMedium(),
+                pollService::executeExternalTask);
     }
 
     @PostConstruct
     public void openstackRollback() throws Exception {
-        for (int i = 0; i < externalTaskServiceUtils.getMaxClients(); i++) {
-            ExternalTaskClient client = externalTaskServiceUtils.createExternalTaskClient();
-            client.subscribe("OpenstackAdapterRollback").lockDuration(externalTaskServiceUtils.getLockDurationShort())
-                    .handler(rollbackService::executeExternalTask).open();
-        }
+        externalTaskDispatcher.subscribe("OpenstackAdapterRollback", externalTaskServiceUtils.getLockDurationShort(),
+                rollbackService::executeExternalTask);
     }
 
 }
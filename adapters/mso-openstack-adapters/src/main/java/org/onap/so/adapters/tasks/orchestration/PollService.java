@@ -28,6 +28,9 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import javax.xml.XMLConstants;
 import javax.xml.bind.JAXB;
 import javax.xml.parsers.DocumentBuilder;
@@ -62,11 +65,14 @@ import org.onap.so.openstack.beans.StackInfo;
 import org.onap.so.openstack.beans.VnfRollback;
 import org.onap.so.openstack.exceptions.MsoException;
 import org.onap.so.openstack.mappers.StackInfoMapper;
+import org.onap.so.openstack.utils.HeatStackPoller;
 import org.onap.so.openstack.utils.MsoHeatUtils;
+import org.onap.so.utils.ExternalTaskDispatcher;
 import org.onap.so.utils.ExternalTaskUtils;
 import org.onap.so.utils.RetrySequenceLevel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
@@ -86,12 +92,18 @@ public class PollService extends ExternalTaskUtils {
     @Autowired
     private MsoHeatUtils msoHeatUtils;
 
+    @Autowired
+    private HeatStackPoller heatStackPoller;
+
     @Autowired
     private VnfAdapterUtils vnfAdapterUtils;
 
     @Autowired
     private AuditMDCSetup mdcSetup;
 
+    @Autowired
+    private ExternalTaskDispatcher externalTaskDispatcher;
+
     public PollService() {
         super(RetrySequenceLevel.SHORT);
     }
@@ -99,88 +111,41 @@ public class PollService extends ExternalTaskUtils {
     public void executeExternalTask(ExternalTask externalTask, ExternalTaskService externalTaskService) {
         mdcSetup.setupMDC(externalTask);
         logger.debug("Starting External Task Poll Service");
-        Map<String, Object> variables = new HashMap<>();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
         MutableBoolean success = new MutableBoolean();
-        String errorMessage = null;
-        Optional<String> response = Optional.empty();
-        boolean isMulticloud = false;
+        MutableBoolean isMulticloud = new MutableBoolean();
+        // the poller's threads only poll, the stacks are post processed and the task finished on the topic's workers,
+        // also when polling failed
+        Executor completions = externalTaskDispatcher.getCompletionExecutor(externalTask.getTopicName());
+        CompletableFuture<Optional<String>> response;
         try {
-            String xmlRequest = externalTask.getVariable("openstackAdapterTaskRequest");
-            if (xmlRequest != null) {
-                Optional<String> requestType = findRequestType(xmlRequest);
-                if ("createVolumeGroupRequest".equals(requestType.get())) {
-                    CreateVolumeGroupRequest req =
-                            JAXB.unmarshal(new StringReader(xmlRequest), CreateVolumeGroupRequest.class);
-                    isMulticloud = vnfAdapterUtils.isMulticloudMode(null, req.getCloudSiteId());
-                    response = determineCreateVolumeGroupStatus(req, externalTask, success, isMulticloud);
-                } else if ("createVfModuleRequest".equals(requestType.get())) {
-                    CreateVfModuleRequest req =
-                            JAXB.unmarshal(new StringReader(xmlRequest), CreateVfModuleRequest.class);
-                    isMulticloud = vnfAdapterUtils.isMulticloudMode(null, req.getCloudSiteId());
-                    response = determineCreateVfModuleStatus(req, externalTask, success, isMulticloud);
-                } else if ("deleteVfModuleRequest".equals(requestType.get())) {
-                    logger.debug("Executing External Task Poll Service for Delete Vf Module");
-                    String stackId = externalTask.getVariable("stackId");
-                    DeleteVfModuleRequest req =
-                            JAXB.unmarshal(new StringReader(xmlRequest), DeleteVfModuleRequest.class);
-                    isMulticloud = vnfAdapterUtils.isMulticloudMode(null, req.getCloudSiteId());
-                    if (!isMulticloud) {
-                        int timeoutMinutes = msoHeatUtils.getVfHeatTimeoutValue(req.getModelCustomizationUuid(), false);
-                        StackInfo stack = pollDeleteResource(timeoutMinutes, req.getCloudSiteId(), req.getTenantId(),
-                                stackId, success);
-                        DeleteVfModuleResponse deleteResponse =
-                                new DeleteVfModuleResponse(req.getVnfId(), req.getVfModuleId(), Boolean.TRUE,
-                                        req.getMessageId(), vnfAdapterImpl.copyStringOutputs(stack.getOutputs()));
-                        response = Optional.of(deleteResponse.toXmlString());
-                    }
-                } else if ("deleteVolumeGroupRequest".equals(requestType.get())) {
-                    logger.debug("Executing External Task Poll Service for Delete Volume Group");
-                    String stackId = externalTask.getVariable("stackId");
-                    DeleteVolumeGroupRequest req =
-                            JAXB.unmarshal(new StringReader(xmlRequest), DeleteVolumeGroupRequest.class);
-                    isMulticloud = vnfAdapterUtils.isMulticloudMode(null, req.getCloudSiteId());
-                    if (!isMulticloud) {
-                        pollDeleteResource(118, req.getCloudSiteId(), req.getTenantId(), stackId, success);
-                        DeleteVolumeGroupResponse deleteResponse =
-                                new DeleteVolumeGroupResponse(true, req.getMessageId());
-                        response = Optional.of(deleteResponse.toXmlString());
-                    }
-                } else if ("createNetworkRequest".equals(requestType.get())) {
-                    CreateNetworkRequest req = JAXB.unmarshal(new StringReader(xmlRequest), CreateNetworkRequest.class);
-                    response = determineCreateNetworkStatus(req, externalTask, success);
-                } else if ("deleteNetworkRequest".equals(requestType.get())) {
-                    logger.debug("Executing External Task Poll Service for Delete Network");
-                    String stackId = externalTask.getVariable("stackId");
-                    DeleteNetworkRequest req = JAXB.unmarshal(new StringReader(xmlRequest), DeleteNetworkRequest.class);
-                    pollDeleteResource(118, req.getCloudSiteId(), req.getTenantId(), stackId, success);
-                    DeleteNetworkResponse deleteResponse =
-                            new DeleteNetworkResponse(req.getNetworkId(), true, req.getMessageId());
-                    response = Optional.of(deleteResponse.toXmlString());
-                } else if ("updateNetworkRequest".equals(requestType.get())) {
-                    UpdateNetworkRequest req = JAXB.unmarshal(new StringReader(xmlRequest), UpdateNetworkRequest.class);
-                    pollUpdateResource(req.getCloudSiteId(), req.getTenantId(), externalTask, success);
-                    UpdateNetworkResponse updateResponse =
-                            new UpdateNetworkResponse(req.getNetworkId(), null, null, req.getMessageId());
-                    response = Optional.of(updateResponse.toXmlString());
-                } else if ("rollbackNetworkRequest".equals(requestType.get())) {
-                    logger.debug("Executing External Task Poll Service for Rollback Network");
-                    String stackId = externalTask.getVariable("stackId");
-                    RollbackNetworkRequest req =
-                            JAXB.unmarshal(new StringReader(xmlRequest), RollbackNetworkRequest.class);
-                    pollDeleteResource(118, req.getNetworkRollback().getCloudId(),
-                            req.getNetworkRollback().getTenantId(), stackId, success);
-                }
-            }
+            response = determineStatus(externalTask, success, isMulticloud, completions);
         } catch (Exception e) {
-            logger.error("Error during External Task Poll Service", e);
-            errorMessage = e.toString();
-            variables.put("openstackAdapterErrorMessage", errorMessage);
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+        response.whenCompleteAsync((result, e) -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            completeTask(externalTask, externalTaskService, success, isMulticloud.booleanValue(), result, e);
+        }, completions);
+    }
+
+    protected void completeTask(ExternalTask externalTask, ExternalTaskService externalTaskService,
+            MutableBoolean success, boolean isMulticloud, Optional<String> response, Throwable error) {
+        Map<String, Object> variables = new HashMap<>();
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause()
+                    : error;
+            logger.error("Error during External Task Poll Service", cause);
+            variables.put("openstackAdapterErrorMessage", cause.toString());
         }
 
         if (isMulticloud) {
             success.setTrue();
         }
-        if (response.isPresent()) {
+        if (response != null && response.isPresent()) {
             variables.put("WorkflowResponse", response.get());
         }
         variables.put("OpenstackPollSuccess", success.booleanValue());
@@ -206,120 +171,223 @@ public class PollService extends ExternalTaskUtils {
         }
     }
 
-    private Optional<String> determineCreateVolumeGroupStatus(CreateVolumeGroupRequest req, ExternalTask externalTask,
-            MutableBoolean success, boolean isMulticloud) throws MsoException {
+    private CompletableFuture<Optional<String>> determineStatus(ExternalTask externalTask, MutableBoolean success,
+            MutableBoolean isMulticloud, Executor completions) throws MsoException {
+        String xmlRequest = externalTask.getVariable("openstackAdapterTaskRequest");
+        if (xmlRequest != null) {
+            Optional<String> requestType = findRequestType(xmlRequest);
+            if ("createVolumeGroupRequest".equals(requestType.get())) {
+                CreateVolumeGroupRequest req =
+                        JAXB.unmarshal(new StringReader(xmlRequest), CreateVolumeGroupRequest.class);
+                isMulticloud.setValue(vnfAdapterUtils.isMulticloudMode(null, req.getCloudSiteId()));
+                return determineCreateVolumeGroupStatus(req, externalTask, success, isMulticloud.booleanValue(),
+                        completions);
+            } else if ("createVfModuleRequest".equals(requestType.get())) {
+                CreateVfModuleRequest req = JAXB.unmarshal(new StringReader(xmlRequest), CreateVfModuleRequest.class);
+                isMulticloud.setValue(vnfAdapterUtils.isMulticloudMode(null, req.getCloudSiteId()));
+                return determineCreateVfModuleStatus(req, externalTask, success, isMulticloud.booleanValue(),
+                        completions);
+            } else if ("deleteVfModuleRequest".equals(requestType.get())) {
+                logger.debug("Executing External Task Poll Service for Delete Vf Module");
+                String stackId = externalTask.getVariable("stackId");
+                DeleteVfModuleRequest req = JAXB.unmarshal(new StringReader(xmlRequest), DeleteVfModuleRequest.class);
+                isMulticloud.setValue(vnfAdapterUtils.isMulticloudMode(null, req.getCloudSiteId()));
+                if (!isMulticloud.booleanValue()) {
+                    int timeoutMinutes = msoHeatUtils.getVfHeatTimeoutValue(req.getModelCustomizationUuid(), false);
+                    return pollDeleteResource(timeoutMinutes, req.getCloudSiteId(), req.getTenantId(), stackId,
+                            success, completions).thenApply(stack -> {
+                                DeleteVfModuleResponse deleteResponse = new DeleteVfModuleResponse(req.getVnfId(),
+                                        req.getVfModuleId(), Boolean.TRUE, req.getMessageId(),
+                                        vnfAdapterImpl.copyStringOutputs(stack.getOutputs()));
+                                return Optional.of(deleteResponse.toXmlString());
+                            });
+                }
+            } else if ("deleteVolumeGroupRequest".equals(requestType.get())) {
+                logger.debug("Executing External Task Poll Service for Delete Volume Group");
+                String stackId = externalTask.getVariable("stackId");
+                DeleteVolumeGroupRequest req =
+                        JAXB.unmarshal(new StringReader(xmlRequest), DeleteVolumeGroupRequest.class);
+                isMulticloud.setValue(vnfAdapterUtils.isMulticloudMode(null, req.getCloudSiteId()));
+                if (!isMulticloud.booleanValue()) {
+                    return pollDeleteResource(118, req.getCloudSiteId(), req.getTenantId(), stackId, success,
+                            completions).thenApply(stack -> {
+                                DeleteVolumeGroupResponse deleteResponse =
+                                        new DeleteVolumeGroupResponse(true, req.getMessageId());
+                                return Optional.of(deleteResponse.toXmlString());
+                            });
+                }
+            } else if ("createNetworkRequest".equals(requestType.get())) {
+                CreateNetworkRequest req = JAXB.unmarshal(new StringReader(xmlRequest), CreateNetworkRequest.class);
+                return determineCreateNetworkStatus(req, externalTask, success, completions);
+            } else if ("deleteNetworkRequest".equals(requestType.get())) {
+                logger.debug("Executing External Task Poll Service for Delete Network");
+                String stackId = externalTask.getVariable("stackId");
+                DeleteNetworkRequest req = JAXB.unmarshal(new StringReader(xmlRequest), DeleteNetworkRequest.class);
+                return pollDeleteResource(118, req.getCloudSiteId(), req.getTenantId(), stackId, success, completions)
+                        .thenApply(stack -> {
+                            DeleteNetworkResponse deleteResponse =
+                                    new DeleteNetworkResponse(req.getNetworkId(), true, req.getMessageId());
+                            return Optional.of(deleteResponse.toXmlString());
+                        });
+            } else if ("updateNetworkRequest".equals(requestType.get())) {
+                UpdateNetworkRequest req = JAXB.unmarshal(new StringReader(xmlRequest), UpdateNetworkRequest.class);
+                return pollUpdateResource(req.getCloudSiteId(), req.getTenantId(), externalTask, success, completions)
+                        .thenApply(stack -> {
+                            UpdateNetworkResponse updateResponse =
+                                    new UpdateNetworkResponse(req.getNetworkId(), null, null, req.getMessageId());
+                            return Optional.of(updateResponse.toXmlString());
+                        });
+            } else if ("rollbackNetworkRequest".equals(requestType.get())) {
+                logger.debug("Executing External Task Poll Service for Rollback Network");
+                String stackId = externalTask.getVariable("stackId");
+                RollbackNetworkRequest req = JAXB.unmarshal(new StringReader(xmlRequest), RollbackNetworkRequest.class);
+                return pollDeleteResource(118, req.getNetworkRollback().getCloudId(),
+                        req.getNetworkRollback().getTenantId(), stackId, success, completions)
+                                .thenApply(stack -> Optional.<String>empty());
+            }
+        }
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    private CompletableFuture<Optional<String>> determineCreateVolumeGroupStatus(CreateVolumeGroupRequest req,
+            ExternalTask externalTask, MutableBoolean success, boolean isMulticloud, Executor completions) {
         boolean pollRollbackStatus = externalTask.getVariable("PollRollbackStatus");
         String stackId = externalTask.getVariable("stackId");
         if (pollRollbackStatus) {
             logger.debug("Executing External Task Poll Service for Rollback Volume Group");
             if (!isMulticloud) {
-                pollDeleteResource(118, req.getCloudSiteId(), req.getTenantId(), stackId, success);
+                return pollDeleteResource(118, req.getCloudSiteId(), req.getTenantId(), stackId, success,
+                        completions).thenApply(stack -> Optional.<String>empty());
             }
-            return Optional.empty();
+            return CompletableFuture.completedFuture(Optional.empty());
         } else {
             logger.debug("Executing External Task Poll Service for Create Volume Group");
-            Map<String, String> outputs = new HashMap<String, String>();
+            CompletableFuture<Map<String, String>> outputs =
+                    CompletableFuture.completedFuture(new HashMap<String, String>());
             if (!isMulticloud) {
                 int timeoutMinutes = msoHeatUtils.getVfHeatTimeoutValue(req.getModelCustomizationUuid(), true);
-                StackInfo stack =
-                        pollCreateResource(timeoutMinutes, req.getCloudSiteId(), req.getTenantId(), stackId, success);
-                outputs = vnfAdapterImpl.copyStringOutputs(stack.getOutputs());
+                outputs = pollCreateResource(timeoutMinutes, req.getCloudSiteId(), req.getTenantId(), stackId,
+                        success, completions).thenApply(stack -> vnfAdapterImpl.copyStringOutputs(stack.getOutputs()));
             }
-            VolumeGroupRollback rb = new VolumeGroupRollback(req.getVolumeGroupId(), stackId, true, req.getTenantId(),
-                    req.getCloudOwner(), req.getCloudSiteId(), req.getMsoRequest(), req.getMessageId());
-            CreateVolumeGroupResponse createResponse = new CreateVolumeGroupResponse(req.getVolumeGroupId(), stackId,
-                    true, outputs, rb, req.getMessageId());
-            return Optional.of(createResponse.toXmlString());
+            return outputs.thenApply(stackOutputs -> {
+                VolumeGroupRollback rb = new VolumeGroupRollback(req.getVolumeGroupId(), stackId, true,
+                        req.getTenantId(), req.getCloudOwner(), req.getCloudSiteId(), req.getMsoRequest(),
+                        req.getMessageId());
+                CreateVolumeGroupResponse createResponse = new CreateVolumeGroupResponse(req.getVolumeGroupId(),
+                        stackId, true, stackOutputs, rb, req.getMessageId());
+                return Optional.of(createResponse.toXmlString());
+            });
         }
     }
 
-    private Optional<String> determineCreateVfModuleStatus(CreateVfModuleRequest req, ExternalTask externalTask,
-            MutableBoolean success, boolean isMulticloud) throws MsoException {
+    private CompletableFuture<Optional<String>> determineCreateVfModuleStatus(CreateVfModuleRequest req,
+            ExternalTask externalTask, MutableBoolean success, boolean isMulticloud, Executor completions) {
         String stackId = externalTask.getVariable("stackId");
         boolean pollRollbackStatus = externalTask.getVariable("PollRollbackStatus");
         int timeoutMinutes = msoHeatUtils.getVfHeatTimeoutValue(req.getModelCustomizationUuid(), false);
         if (pollRollbackStatus) {
             logger.debug("Executing External Task Poll Service for Rollback Vf Module");
             if (!isMulticloud) {
-                pollDeleteResource(timeoutMinutes, req.getCloudSiteId(), req.getTenantId(), stackId, success);
+                return pollDeleteResource(timeoutMinutes, req.getCloudSiteId(), req.getTenantId(), stackId,
+                        success, completions).thenApply(stack -> Optional.<String>empty());
             }
-            return Optional.empty();
+            return CompletableFuture.completedFuture(Optional.empty());
         } else {
             logger.debug("Executing External Task Poll Service for Create Vf Module");
-            Map<String, String> outputs = new HashMap<String, String>();
+            CompletableFuture<Map<String, String>> outputs =
+                    CompletableFuture.completedFuture(new HashMap<String, String>());
             if (!isMulticloud) {
-                StackInfo stack =
-                        pollCreateResource(timeoutMinutes, req.getCloudSiteId(), req.getTenantId(), stackId, success);
-                outputs = vnfAdapterImpl.copyStringOutputs(stack.getOutputs());
-
+                outputs = pollCreateResource(timeoutMinutes, req.getCloudSiteId(), req.getTenantId(), stackId,
+                        success, completions).thenApply(stack -> vnfAdapterImpl.copyStringOutputs(stack.getOutputs()));
             }
-            VfModuleRollback modRollback = new VfModuleRollback(buildVnfRollback(req, stackId, isMulticloud),
-                    req.getVfModuleId(), stackId, req.getMessageId());
-            CreateVfModuleResponse createResponse = new CreateVfModuleResponse(req.getVnfId(), req.getVfModuleId(),
-                    stackId, Boolean.TRUE, outputs, modRollback, req.getMessageId());
-            return Optional.of(createResponse.toXmlString());
+            return outputs.thenApply(stackOutputs -> {
+                VfModuleRollback modRollback = new VfModuleRollback(buildVnfRollback(req, stackId, isMulticloud),
+                        req.getVfModuleId(), stackId, req.getMessageId());
+                CreateVfModuleResponse createResponse = new CreateVfModuleResponse(req.getVnfId(),
+                        req.getVfModuleId(), stackId, Boolean.TRUE, stackOutputs, modRollback, req.getMessageId());
+                return Optional.of(createResponse.toXmlString());
+            });
         }
     }
 
-    private Optional<String> determineCreateNetworkStatus(CreateNetworkRequest req, ExternalTask externalTask,
-            MutableBoolean success) throws MsoException {
+    private CompletableFuture<Optional<String>> determineCreateNetworkStatus(CreateNetworkRequest req,
+            ExternalTask externalTask, MutableBoolean success, Executor completions) {
         String stackId = externalTask.getVariable("stackId");
         boolean pollRollbackStatus = externalTask.getVariable("PollRollbackStatus");
         int timeoutMinutes =
                 msoHeatUtils.getNetworkHeatTimeoutValue(req.getModelCustomizationUuid(), req.getNetworkType());
         if (pollRollbackStatus) {
             logger.debug("Executing External Task Poll Service for Rollback Network");
-            pollDeleteResource(timeoutMinutes, req.getCloudSiteId(), req.getTenantId(), stackId, success);
-            return Optional.empty();
+            return pollDeleteResource(timeoutMinutes, req.getCloudSiteId(), req.getTenantId(), stackId, success,
+                    completions).thenApply(stack -> Optional.<String>empty());
         } else {
             logger.debug("Executing External Task Poll Service for Create Network");
             boolean os3Nw = externalTask.getVariable("os3Nw");
-            StackInfo stack =
-                    pollCreateResource(timeoutMinutes, req.getCloudSiteId(), req.getTenantId(), stackId, success);
-            String networkFqdn = "";
-            String neutronNetworkId = "";
-            Map<String, String> subnetMap = new HashMap<>();
-            if (stack.getOutputs() != null) {
-                networkFqdn = (String) stack.getOutputs().get("network_fqdn");
-                neutronNetworkId = (String) stack.getOutputs().get("network_id");
-                subnetMap = networkAdapterImpl.buildSubnetMap(stack.getOutputs(), req.getSubnets(), os3Nw);
-            }
-            CreateNetworkResponse response = new CreateNetworkResponse(req.getNetworkId(), neutronNetworkId, stackId,
-                    networkFqdn, true, subnetMap, buildNetworkRollback(req, stackId), req.getMessageId());
-            return Optional.of(response.toXmlString());
-
+            return pollCreateResource(timeoutMinutes, req.getCloudSiteId(), req.getTenantId(), stackId, success,
+                    completions).thenApply(stack -> {
+                        String networkFqdn = "";
+                        String neutronNetworkId = "";
+                        Map<String, String> subnetMap = new HashMap<>();
+                        if (stack.getOutputs() != null) {
+                            networkFqdn = (String) stack.getOutputs().get("network_fqdn");
+                            neutronNetworkId = (String) stack.getOutputs().get("network_id");
+                            subnetMap = networkAdapterImpl.buildSubnetMap(stack.getOutputs(), req.getSubnets(), os3Nw);
+                        }
+                        CreateNetworkResponse response = new CreateNetworkResponse(req.getNetworkId(),
+                                neutronNetworkId, stackId, networkFqdn, true, subnetMap,
+                                buildNetworkRollback(req, stackId), req.getMessageId());
+                        return Optional.of(response.toXmlString());
+                    });
         }
     }
 
-    private StackInfo pollCreateResource(int pollingTimeout, String cloudSiteId, String tenantId, String stackId,
-            MutableBoolean success) throws MsoException {
+    private CompletableFuture<StackInfo> pollCreateResource(int pollingTimeout, String cloudSiteId, String tenantId,
+            String stackId, MutableBoolean success, Executor completions) {
         Stack currentStack = createCurrentStack(stackId);
-        Stack stack = msoHeatUtils.pollStackForStatus(pollingTimeout, currentStack, "CREATE_IN_PROGRESS", cloudSiteId,
-                tenantId, false);
-        msoHeatUtils.postProcessStackCreate(stack, false, 0, false, cloudSiteId, tenantId, null);
-        success.setTrue();
-        return new StackInfoMapper(stack).map();
+        return heatStackPoller
+                .pollStackForStatus(pollingTimeout, currentStack, "CREATE_IN_PROGRESS", cloudSiteId, tenantId, false)
+                .thenApplyAsync(stack -> {
+                    try {
+                        msoHeatUtils.postProcessStackCreate(stack, false, 0, false, cloudSiteId, tenantId, null);
+                    } catch (MsoException e) {
+                        throw new CompletionException(e);
+                    }
+                    success.setTrue();
+                    return new StackInfoMapper(stack).map();
+                }, completions);
     }
 
-    private StackInfo pollDeleteResource(int pollingTimeout, String cloudSiteId, String tenantId, String stackId,
-            MutableBoolean success) throws MsoException {
+    private CompletableFuture<StackInfo> pollDeleteResource(int pollingTimeout, String cloudSiteId, String tenantId,
+            String stackId, MutableBoolean success, Executor completions) {
         Stack currentStack = createCurrentStack(stackId);
-        Stack stack = msoHeatUtils.pollStackForStatus(pollingTimeout, currentStack, "DELETE_IN_PROGRESS", cloudSiteId,
-                tenantId, true);
-        if (stack != null) { // if stack is null it was not found and no need to do post process
-            msoHeatUtils.postProcessStackDelete(stack);
-        }
-        success.setTrue();
-        return new StackInfoMapper(stack).map();
+        return heatStackPoller
+                .pollStackForStatus(pollingTimeout, currentStack, "DELETE_IN_PROGRESS", cloudSiteId, tenantId, true)
+                .thenApplyAsync(stack -> {
+                    if (stack != null) { // if stack is null it was not found and no need to do post process
+                        try {
+                            msoHeatUtils.postProcessStackDelete(stack);
+                        } catch (MsoException e) {
+                            throw new CompletionException(e);
+                        }
+                    }
+                    success.setTrue();
+                    return new StackInfoMapper(stack).map();
+                }, completions);
     }
 
-    private void pollUpdateResource(String cloudSiteId, String tenantId, ExternalTask externalTask,
-            MutableBoolean success) throws MsoException {
+    private CompletableFuture<Stack> pollUpdateResource(String cloudSiteId, String tenantId, ExternalTask externalTask,
+            MutableBoolean success, Executor completions) {
         Stack currentStack = createCurrentStack(externalTask.getVariable("stackId"));
-        Stack stack =
-                msoHeatUtils.pollStackForStatus(1, currentStack, "UPDATE_IN_PROGRESS", cloudSiteId, tenantId, false);
-        msoHeatUtils.postProcessStackUpdate(stack);
-        success.setTrue();
+        return heatStackPoller.pollStackForStatus(1, currentStack, "UPDATE_IN_PROGRESS", cloudSiteId, tenantId, false)
+                .thenApplyAsync(stack -> {
+                    try {
+                        msoHeatUtils.postProcessStackUpdate(stack);
+                    } catch (MsoException e) {
+                        throw new CompletionException(e);
+                    }
+                    success.setTrue();
+                    return stack;
+                }, completions);
     }
 
     protected Optional<String> findRequestType(final String xmlString) {
@@ -21,6 +21,7 @@ import org.onap.aaiclient.client.aai.AAIResourcesClient;
 import org.onap.aaiclient.client.aai.entities.uri.AAIResourceUri;
 import org.onap.aaiclient.client.aai.entities.uri.AAIUriFactory;
 import org.onap.aaiclient.client.generated.fluentbuilders.AAIFluentTypeBuilder;
+import org.onap.so.cloud.CloudConfig;
 import org.onap.so.db.catalog.beans.CloudSite;
 import org.onap.so.db.catalog.client.CatalogDbClient;
 import org.onap.so.db.catalog.data.repository.NetworkTechnologyReferenceRepository;
@@ -39,6 +40,9 @@ public class CloudRegionRestImplTest {
     @Mock
     private AAIResourcesClient aaiResClientMock;
 
+    @Mock
+    private CloudConfig cloudConfigMock;
+
     @Mock
     private NetworkTechnologyReferenceRepository ntRepoMock;
 
@@ -101,6 +105,7 @@ public class CloudRegionRestImplTest {
         ArgumentCaptor<Optional<Object>> actualCloudRegion = ArgumentCaptor.forClass(Optional.class);
         verify(catalogDbClientMock, times(1)).getCloudSite("region1");
         verify(catalogDbClientMock, times(1)).postCloudSite(cloudSite);
+        verify(cloudConfigMock, times(1)).invalidateCloudSites();
         verify(aaiResClientMock, times(1)).createIfNotExists(Mockito.eq(uri), Mockito.any());
         verify(aaiResClientMock, times(1)).createIfNotExists(actualURI.capture(), actualCloudRegion.capture());
         assertThat((CloudRegion) actualCloudRegion.getValue().get(), sameBeanAs(testCloudRegion));
@@ -111,6 +116,7 @@ public class CloudRegionRestImplTest {
         when(catalogDbClientMock.updateCloudSite(cloudSite)).thenReturn(cloudSite);
         cloudRestImpl.updateCloudRegion(cloudSite);
         verify(catalogDbClientMock, times(1)).updateCloudSite(cloudSite);
+        verify(cloudConfigMock, times(1)).invalidateCloudSites();
     }
 
     @Test
@@ -118,6 +124,7 @@ public class CloudRegionRestImplTest {
         doNothing().when(catalogDbClientMock).deleteCloudSite("region1");
         cloudRestImpl.deleteCloudRegion(cloudSite.getRegionId());
         verify(catalogDbClientMock, times(1)).deleteCloudSite("region1");
+        verify(cloudConfigMock, times(1)).invalidateCloudSites();
     }
 
 }
@@ -7,17 +7,23 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.onap.so.adapters.tasks.orchestration.PollService;
 import org.onap.so.adapters.vnf.VnfAdapterUtils;
 import org.onap.so.logging.tasks.AuditMDCSetup;
 import org.onap.so.openstack.exceptions.MsoException;
+import org.onap.so.openstack.utils.HeatStackPoller;
 import org.onap.so.openstack.utils.MsoHeatUtils;
+import org.onap.so.utils.ExternalTaskDispatcher;
 import com.woorea.openstack.heat.model.Stack;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -34,12 +40,18 @@ public class PollServiceTest {
     @Mock
     private MsoHeatUtils msoHeatUtils;
 
+    @Mock
+    private HeatStackPoller heatStackPoller;
+
     @Mock
     private VnfAdapterUtils vnfAdapterUtils;
 
     @Mock
     private AuditMDCSetup mdcSetup;
 
+    @Mock
+    private ExternalTaskDispatcher externalTaskDispatcher;
+
     @InjectMocks
     private PollService pollService;
 
@@ -52,16 +64,19 @@ public class PollServiceTest {
         Mockito.when(mockExternalTask.getVariable("openstackAdapterTaskRequest")).thenReturn(xmlString);
         Mockito.when(mockExternalTask.getVariable("PollRollbackStatus")).thenReturn(false);
         Mockito.when(mockExternalTask.getVariable("stackId")).thenReturn("stackId/stack123");
-        Mockito.when(msoHeatUtils.pollStackForStatus(eq(118), any(Stack.class), eq("CREATE_IN_PROGRESS"),
-                eq("regionOne"), eq("0422ffb57ba042c0800a29dc85ca70f8"), eq(false))).thenReturn(new Stack());
+        Mockito.when(heatStackPoller.pollStackForStatus(eq(118), any(Stack.class), eq("CREATE_IN_PROGRESS"),
+                eq("regionOne"), eq("0422ffb57ba042c0800a29dc85ca70f8"), eq(false)))
+                .thenReturn(CompletableFuture.completedFuture(new Stack()));
         Mockito.when(msoHeatUtils.getVfHeatTimeoutValue(any(), eq(false))).thenReturn(118);
+        Mockito.when(externalTaskDispatcher.getCompletionExecutor(any())).thenReturn(Runnable::run);
         // Mockito.doNothing().when(msoHeatUtils).postProcessStackCreate(Mockito.any(), Mockito.any(), Mockito.any(),
         // Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
 
         pollService.executeExternalTask(mockExternalTask, mockExternalTaskService);
 
-        Mockito.verify(msoHeatUtils).pollStackForStatus(eq(118), any(Stack.class), eq("CREATE_IN_PROGRESS"),
+        Mockito.verify(heatStackPoller).pollStackForStatus(eq(118), any(Stack.class), eq("CREATE_IN_PROGRESS"),
                 eq("regionOne"), eq("0422ffb57ba042c0800a29dc85ca70f8"), eq(false));
+        Mockito.verify(mockExternalTaskService).complete(eq(mockExternalTask), any());
         Mockito.verify(msoHeatUtils).getVfHeatTimeoutValue(any(), eq(false));
 
     }
@@ -74,16 +89,85 @@ public class PollServiceTest {
         Mockito.when(mockExternalTask.getVariable("openstackAdapterTaskRequest")).thenReturn(xmlString);
         Mockito.when(mockExternalTask.getVariable("PollRollbackStatus")).thenReturn(true);
         Mockito.when(mockExternalTask.getVariable("stackId")).thenReturn("stackId/stack123");
-        Mockito.when(msoHeatUtils.pollStackForStatus(eq(118), any(), eq("DELETE_IN_PROGRESS"), eq("regionOne"),
-                eq("0422ffb57ba042c0800a29dc85ca70f8"), eq(true))).thenReturn(new Stack());
+        Mockito.when(heatStackPoller.pollStackForStatus(eq(118), any(), eq("DELETE_IN_PROGRESS"), eq("regionOne"),
+                eq("0422ffb57ba042c0800a29dc85ca70f8"), eq(true)))
+                .thenReturn(CompletableFuture.completedFuture(new Stack()));
         Mockito.doNothing().when(msoHeatUtils).postProcessStackDelete(Mockito.any());
         Mockito.when(msoHeatUtils.getVfHeatTimeoutValue(any(), eq(false))).thenReturn(118);
+        Mockito.when(externalTaskDispatcher.getCompletionExecutor(any())).thenReturn(Runnable::run);
 
         pollService.executeExternalTask(mockExternalTask, mockExternalTaskService);
 
-        Mockito.verify(msoHeatUtils).pollStackForStatus(eq(118), any(), eq("DELETE_IN_PROGRESS"), eq("regionOne"),
+        Mockito.verify(heatStackPoller).pollStackForStatus(eq(118), any(), eq("DELETE_IN_PROGRESS"), eq("regionOne"),
                 eq("0422ffb57ba042c0800a29dc85ca70f8"), eq(true));
         Mockito.verify(msoHeatUtils).getVfHeatTimeoutValue(any(), eq(false));
     }
 
+    @Test
+    public void testExecuteExternalTask_completesOnTopicWorkers() throws MsoException, IOException {
+        String xmlString =
+                new String(Files.readAllBytes(Paths.get(RESOURCE_PATH + "/vnfAdapterTaskRequestCreate.xml")));
+        CompletableFuture<Stack> polled = new CompletableFuture<>();
+        List<Runnable> completions = new ArrayList<>();
+
+        Mockito.when(mockExternalTask.getTopicName()).thenReturn("OpenstackAdapterPolling");
+        Mockito.when(mockExternalTask.getVariable("openstackAdapterTaskRequest")).thenReturn(xmlString);
+        Mockito.when(mockExternalTask.getVariable("PollRollbackStatus")).thenReturn(true);
+        Mockito.when(mockExternalTask.getVariable("stackId")).thenReturn("stackId/stack123");
+        Mockito.when(heatStackPoller.pollStackForStatus(eq(118), any(), eq("DELETE_IN_PROGRESS"), eq("regionOne"),
+                eq("0422ffb57ba042c0800a29dc85ca70f8"), eq(true))).thenReturn(polled);
+        Mockito.when(msoHeatUtils.getVfHeatTimeoutValue(any(), eq(false))).thenReturn(118);
+        Mockito.when(externalTaskDispatcher.getCompletionExecutor("OpenstackAdapterPolling"))
+                .thenReturn(completions::add);
+
+        pollService.executeExternalTask(mockExternalTask, mockExternalTaskService);
+        polled.complete(new Stack());
+
+        Mockito.verify(msoHeatUtils, Mockito.never()).postProcessStackDelete(any());
+        Mockito.verify(mockExternalTaskService, Mockito.never()).complete(eq(mockExternalTask), any());
+        assertEquals(1, completions.size());
+
+        completions.get(0).run();
+
+        Mockito.verify(msoHeatUtils).postProcessStackDelete(any());
+        Mockito.verify(mockExternalTaskService, Mockito.never()).complete(eq(mockExternalTask), any());
+        assertEquals(2, completions.size());
+
+        completions.get(1).run();
+
+        Mockito.verify(mockExternalTaskService).complete(eq(mockExternalTask), any());
+    }
+
+    @Test
+    public void testExecuteExternalTask_failedPollCompletesOnTopicWorkers() throws MsoException, IOException {
+        String xmlString =
+                new String(Files.readAllBytes(Paths.get(RESOURCE_PATH + "/vnfAdapterTaskRequestCreate.xml")));
+        CompletableFuture<Stack> polled = new CompletableFuture<>();
+        List<Runnable> completions = new ArrayList<>();
+
+        Mockito.when(mockExternalTask.getTopicName()).thenReturn("OpenstackAdapterPolling");
+        Mockito.when(mockExternalTask.getRetries()).thenReturn(null);
+        Mockito.when(mockExternalTask.getVariable("openstackAdapterTaskRequest")).thenReturn(xmlString);
+        Mockito.when(mockExternalTask.getVariable("PollRollbackStatus")).thenReturn(true);
+        Mockito.when(mockExternalTask.getVariable("stackId")).thenReturn("stackId/stack123");
+        Mockito.when(heatStackPoller.pollStackForStatus(eq(118), any(), eq("DELETE_IN_PROGRESS"), eq("regionOne"),
+                eq("0422ffb57ba042c0800a29dc85ca70f8"), eq(true))).thenReturn(polled);
+        Mockito.when(msoHeatUtils.getVfHeatTimeoutValue(any(), eq(false))).thenReturn(118);
+        Mockito.when(externalTaskDispatcher.getCompletionExecutor("OpenstackAdapterPolling"))
+                .thenReturn(completions::add);
+
+        pollService.executeExternalTask(mockExternalTask, mockExternalTaskService);
+        polled.completeExceptionally(new IllegalStateException("Stack polling timed out"));
+
+        Mockito.verify(mockExternalTaskService, Mockito.never()).handleFailure(eq(mockExternalTask), any(), any(),
+                Mockito.anyInt(), Mockito.anyLong());
+        assertEquals(1, completions.size());
+
+        completions.get(0).run();
+
+        Mockito.verify(msoHeatUtils, Mockito.never()).postProcessStackDelete(any());
+        Mockito.verify(mockExternalTaskService).handleFailure(mockExternalTask, "errorMessage", "errorDetails", 2,
+                10000);
+    }
+
 }
@@ -38,9 +38,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
 import net.javacrumbs.shedlock.core.SchedulerLock;
 
 @Component
@@ -52,11 +54,16 @@ public class ArchiveInfraRequestsScheduler {
     private InfraActiveRequestsRepository infraActiveRepo;
     @Autowired
     private ArchivedInfraRequestsRepository archivedInfraRepo;
+    @Autowired
+    private InfraRequestsBulkArchiver bulkArchiver;
 
 
     @Value("${mso.infra-requests.archived.period}")
     private int archivedPeriod;
 
+    @Value("${mso.infra-requests.archived.bulk.enabled:true}")
+    private boolean bulkEnabled;
+
     /**
      * Runs the scheduler nightly [Seconds] [Minutes] [Hours] [Day of month] [Month] [Day of week] [Year]
      * 
@@ -77,6 +84,16 @@ public class ArchiveInfraRequestsScheduler {
         logger.debug("Date before 6 months: " + (calendar.get(Calendar.MONTH) + 1) + "-" + calendar.get(Calendar.DATE)
                 + "-" + calendar.get(Calendar.YEAR));
 
+        if (bulkEnabled) {
+            try {
+                long archived = bulkArchiver.archive(archivingDate);
+                logger.debug("End of archiveInfraRequestsScheduler, {} requests archived", archived);
+                return;
+            } catch (DataAccessException | TransactionException e) {
+                throw new ScheduledTaskException(ErrorCode.DataError, e.getMessage(), e);
+            }
+        }
+
         List<InfraActiveRequests> requestsByEndTime = new ArrayList<>();
 
         PageRequest pageRequest = PageRequest.of(0, 100); // Could use sorting here
@@ -0,0 +1,48 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.adapters.requestsdb;
+
+import org.onap.so.db.request.beans.InfraActiveRequests;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.rest.core.annotation.HandleAfterCreate;
+import org.springframework.data.rest.core.annotation.HandleAfterSave;
+import org.springframework.data.rest.core.annotation.RepositoryEventHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Releases the instances held by a request as soon as its final status is saved through the repository rest api
+ */
+@Component
+@RepositoryEventHandler
+public class InFlightRequestEventHandler {
+
+    @Autowired
+    private InFlightRequestRegistry inFlightRequestRegistry;
+
+    @HandleAfterCreate
+    @HandleAfterSave
+    public void handleAfterSave(InfraActiveRequests request) {
+        if (request.getRequestId() != null && request.getRequestStatus() != null
+                && !InFlightRequestRegistry.IN_FLIGHT_STATUSES.contains(request.getRequestStatus())) {
+            inFlightRequestRegistry.release(request.getRequestId());
+        }
+    }
+}
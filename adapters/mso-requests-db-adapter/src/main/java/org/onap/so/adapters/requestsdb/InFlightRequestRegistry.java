@@ -0,0 +1,209 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.adapters.requestsdb;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import org.onap.so.db.request.beans.InfraActiveRequests;
+import org.onap.so.db.request.data.repository.InfraActiveRequestsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Registers which request is working on an instance, so duplicate requests are detected with one insert into the
+ * in_flight_request table instead of a query over infra_active_requests. The instance key is the primary key of the
+ * table, so only one request can hold an instance across all adapter instances.
+ *
+ * A request claiming an instance held by a request that has ended takes the instance over. Claims of ended requests,
+ * and claims of requests that were never saved, are also removed by a periodic sweep.
+ */
+@Component
+public class InFlightRequestRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(InFlightRequestRegistry.class);
+
+    protected static final String IN_FLIGHT_REQUEST = "in_flight_request";
+    protected static final List<String> IN_FLIGHT_STATUSES =
+            Arrays.asList("PENDING", "IN_PROGRESS", "TIMEOUT", "PENDING_MANUAL_TASK");
+
+    private static final String IN_FLIGHT = "'PENDING', 'IN_PROGRESS', 'TIMEOUT', 'PENDING_MANUAL_TASK'";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Map<String, String> INSTANCE_IDS = new HashMap<>();
+
+    static {
+        INSTANCE_IDS.put("service", "serviceInstanceId");
+        INSTANCE_IDS.put("vnf", "vnfInstanceId");
+        INSTANCE_IDS.put("vfModule", "vfModuleInstanceId");
+        INSTANCE_IDS.put("volumeGroup", "volumeGroupInstanceId");
+        INSTANCE_IDS.put("network", "networkInstanceId");
+        INSTANCE_IDS.put("configuration", "configurationInstanceId");
+        INSTANCE_IDS.put("operationalEnvironment", "operationalEnvironmentId");
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private InfraActiveRequestsRepository infraActiveRequestsRepository;
+
+    @Value("${mso.infra-requests.in-flight.claim-grace-period:300}")
+    private int claimGracePeriod = 300;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private Counter claimed;
+    private Counter conflicts;
+    private Counter takenOver;
+
+    @PostConstruct
+    protected void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        claimed = Counter.builder("so.requestdb.inflight.claims").tag("result", "claimed")
+                .register(Metrics.globalRegistry);
+        conflicts = Counter.builder("so.requestdb.inflight.claims").tag("result", "conflict")
+                .register(Metrics.globalRegistry);
+        takenOver = Counter.builder("so.requestdb.inflight.claims").tag("result", "taken-over")
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Claims the instance for the request
+     *
+     * @return null when the request holds the instance, otherwise the request working on it. A request that claimed
+     *         the instance but has not been saved yet is returned with its request id, a PENDING status and no start
+     *         time.
+     */
+    public InfraActiveRequests claim(Map<String, String> instanceIdMap, String instanceName, String requestScope,
+            String requestId) {
+        String instanceKey = instanceKey(instanceIdMap, instanceName, requestScope);
+        if (instanceKey == null) {
+            return null;
+        }
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (jdbcTemplate.update("INSERT IGNORE INTO " + IN_FLIGHT_REQUEST
+                    + " (INSTANCE_KEY, REQUEST_ID, REQUEST_SCOPE) VALUES (?, ?, ?)", instanceKey, requestId,
+                    requestScope) == 1) {
+                claimed.increment();
+                return null;
+            }
+            List<Map<String, Object>> holders = jdbcTemplate.queryForList(
+                    "SELECT REQUEST_ID, TIMESTAMPDIFF(SECOND, CREATED_TIME, NOW()) AS AGE FROM " + IN_FLIGHT_REQUEST
+                            + " WHERE INSTANCE_KEY = ?",
+                    instanceKey);
+            if (holders.isEmpty()) {
+                // released since the insert, try again
+                continue;
+            }
+            String holderId = (String) holders.get(0).get("REQUEST_ID");
+            long age = ((Number) holders.get(0).get("AGE")).longValue();
+            if (holderId.equals(requestId)) {
+                return null;
+            }
+            InfraActiveRequests holder = infraActiveRequestsRepository.findOneByRequestId(holderId);
+            if (holder != null && IN_FLIGHT_STATUSES.contains(holder.getRequestStatus())) {
+                conflicts.increment();
+                return holder;
+            }
+            if (holder == null && age < claimGracePeriod) {
+                conflicts.increment();
+                return submitted(holderId, requestScope);
+            }
+            if (jdbcTemplate.update("UPDATE " + IN_FLIGHT_REQUEST
+                    + " SET REQUEST_ID = ?, REQUEST_SCOPE = ?, CREATED_TIME = NOW() WHERE INSTANCE_KEY = ? "
+                    + "AND REQUEST_ID = ?", requestId, requestScope, instanceKey, holderId) == 1) {
+                logger.debug("Request {} took {} over from ended request {}", requestId, instanceKey, holderId);
+                takenOver.increment();
+                return null;
+            }
+        }
+        logger.warn("Could not claim {} for request {}, falling back to the duplicate query", instanceKey, requestId);
+        return infraActiveRequestsRepository.checkInstanceNameDuplicate(instanceIdMap, instanceName, requestScope);
+    }
+
+    /**
+     * Releases the instances held by the request
+     */
+    public int release(String requestId) {
+        return jdbcTemplate.update("DELETE FROM " + IN_FLIGHT_REQUEST + " WHERE REQUEST_ID = ?", requestId);
+    }
+
+    /**
+     * Releases the instances held by a request that failed before it was saved. A request that was saved and is still
+     * in flight keeps its instances.
+     */
+    public int releaseUnsaved(String requestId) {
+        return jdbcTemplate.update("DELETE f FROM " + IN_FLIGHT_REQUEST
+                + " f LEFT JOIN infra_active_requests r ON r.REQUEST_ID = f.REQUEST_ID WHERE f.REQUEST_ID = ? "
+                + "AND (r.REQUEST_ID IS NULL OR r.REQUEST_STATUS NOT IN (" + IN_FLIGHT + "))", requestId);
+    }
+
+    /**
+     * Removes the claims of requests that have ended, and of requests that were never saved
+     */
+    @Scheduled(fixedDelayString = "${mso.infra-requests.in-flight.sweep-interval:60000}")
+    public int sweep() {
+        int removed = jdbcTemplate.update("DELETE f FROM " + IN_FLIGHT_REQUEST
+                + " f LEFT JOIN infra_active_requests r ON r.REQUEST_ID = f.REQUEST_ID WHERE (r.REQUEST_ID IS NULL "
+                + "AND f.CREATED_TIME < NOW() - INTERVAL ? SECOND) OR r.REQUEST_STATUS NOT IN (" + IN_FLIGHT + ")",
+                claimGracePeriod);
+        if (removed > 0) {
+            logger.debug("Removed {} claims of ended requests", removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Same instance lookup as the duplicate query: by name when one is given, by the id of the scope otherwise
+     *
+     * @return null when the request does not refer to an instance
+     */
+    protected static String instanceKey(Map<String, String> instanceIdMap, String instanceName,
+            String requestScope) {
+        String idName = INSTANCE_IDS.get(requestScope);
+        if (idName == null) {
+            return null;
+        }
+        if (instanceName != null && !instanceName.isEmpty()) {
+            return requestScope + ":name:" + instanceName;
+        }
+        String instanceId = instanceIdMap != null ? instanceIdMap.get(idName) : null;
+        return instanceId != null ? requestScope + ":id:" + instanceId : null;
+    }
+
+    private static InfraActiveRequests submitted(String requestId, String requestScope) {
+        InfraActiveRequests request = new InfraActiveRequests();
+        request.setRequestId(requestId);
+        request.setRequestScope(requestScope);
+        request.setRequestStatus("PENDING");
+        return request;
+    }
+}
@@ -24,8 +24,13 @@ import java.util.List;
 import java.util.Map;
 import org.onap.so.db.request.beans.InfraActiveRequests;
 import org.onap.so.db.request.data.controller.InstanceNameDuplicateCheckRequest;
+import org.onap.so.db.request.data.controller.RequestStatusUpdate;
 import org.onap.so.db.request.data.repository.InfraActiveRequestsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -34,23 +39,88 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 public class InfraActiveRequestsRepositoryCustomController {
 
+    public static final String NDJSON = "application/x-ndjson";
+    private static final int STREAM_PAGE_SIZE = 500;
+
     @Autowired
     InfraActiveRequestsRepository infraActiveRequestsRepository;
 
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private InFlightRequestRegistry inFlightRequestRegistry;
+
     @PostMapping(value = "/infraActiveRequests/getCloudOrchestrationFiltersFromInfraActive")
     public List<InfraActiveRequests> getCloudOrchestrationFiltersFromInfraActive(
-            @RequestBody Map<String, String> orchestrationMap) {
-        return infraActiveRequestsRepository.getCloudOrchestrationFiltersFromInfraActive(orchestrationMap);
+            @RequestBody Map<String, String> orchestrationMap,
+            @RequestParam(value = "afterStartTime", required = false) Long afterStartTime,
+            @RequestParam(value = "afterRequestId", required = false) String afterRequestId,
+            @RequestParam(value = "maxResult", required = false) Integer maxResult) {
+        return infraActiveRequestsRepository.getCloudOrchestrationFiltersFromInfraActive(orchestrationMap,
+                afterStartTime, afterRequestId, maxResult);
     }
 
     @PostMapping(value = "/infraActiveRequests/getOrchestrationFiltersFromInfraActive")
     public List<InfraActiveRequests> getOrchestrationFiltersFromInfraActive(
-            @RequestBody Map<String, List<String>> orchestrationMap) {
-        return infraActiveRequestsRepository.getOrchestrationFiltersFromInfraActive(orchestrationMap);
+            @RequestBody Map<String, List<String>> orchestrationMap,
+            @RequestParam(value = "afterStartTime", required = false) Long afterStartTime,
+            @RequestParam(value = "afterRequestId", required = false) String afterRequestId,
+            @RequestParam(value = "maxResult", required = false) Integer maxResult) {
+        return infraActiveRequestsRepository.getOrchestrationFiltersFromInfraActive(orchestrationMap, afterStartTime,
+                afterRequestId, maxResult);
+    }
+
+    /**
+     * Streams every request matching the filters as newline delimited json, reading them page by page so neither side
+     * holds the whole result set
+     */
+    @PostMapping(value = "/infraActiveRequests/v1/getOrchestrationFiltersFromInfraActive/stream")
+    public ResponseEntity<StreamingResponseBody> streamOrchestrationFiltersFromInfraActive(
+            @RequestBody Map<String, List<String>> orchestrationMap,
+            @RequestParam(value = "pageSize", required = false) Integer pageSize) {
+        int limit = pageSize != null && pageSize > 0 ? pageSize : STREAM_PAGE_SIZE;
+        StreamingResponseBody body = out -> {
+            Long afterStartTime = null;
+            String afterRequestId = null;
+            List<InfraActiveRequests> page;
+            do {
+                page = infraActiveRequestsRepository.getOrchestrationFiltersFromInfraActive(orchestrationMap,
+                        afterStartTime, afterRequestId, limit);
+                if (page == null) {
+                    break;
+                }
+                for (InfraActiveRequests request : page) {
+                    out.write(mapper.writeValueAsBytes(request));
+                    out.write('\n');
+                }
+                out.flush();
+                if (!page.isEmpty()) {
+                    InfraActiveRequests last = page.get(page.size() - 1);
+                    afterStartTime = last.getStartTime() != null ? last.getStartTime().getTime() : null;
+                    afterRequestId = last.getRequestId();
+                }
+            } while (page.size() == limit);
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @GetMapping(value = "/infraActiveRequests/v1/getRequestListFromInfraActive")
+    public List<InfraActiveRequests> getRequestListFromInfraActive(
+            @RequestParam("queryAttributeName") String queryAttributeName,
+            @RequestParam("queryValue") String queryValue,
+            @RequestParam(value = "requestType", required = false) String requestType,
+            @RequestParam(value = "afterStartTime", required = false) Long afterStartTime,
+            @RequestParam(value = "afterRequestId", required = false) String afterRequestId,
+            @RequestParam(value = "maxResult", required = false) Integer maxResult) {
+        return infraActiveRequestsRepository.getRequestListFromInfraActive(queryAttributeName, queryValue,
+                requestType, afterStartTime, afterRequestId, maxResult);
     }
 
     @GetMapping(value = "/infraActiveRequests/checkVnfIdStatus/{operationalEnvironmentId}")
@@ -68,6 +138,41 @@ public class InfraActiveRequestsRepositoryCustomController {
                 instanceNameDuplicateCheckRequest.getRequestScope());
     }
 
+    /**
+     * Claims the instance for the request given in the body, returning the request already working on it, if any
+     */
+    @PostMapping(value = "/infraActiveRequests/v1/claimInstance")
+    public InfraActiveRequests claimInstance(
+            @RequestBody InstanceNameDuplicateCheckRequest instanceNameDuplicateCheckRequest) {
+        return inFlightRequestRegistry.claim(instanceNameDuplicateCheckRequest.getInstanceIdMap(),
+                instanceNameDuplicateCheckRequest.getInstanceName(),
+                instanceNameDuplicateCheckRequest.getRequestScope(), instanceNameDuplicateCheckRequest.getRequestId());
+    }
+
+    /**
+     * Releases the instances claimed by a request that failed before it was saved
+     */
+    @DeleteMapping(value = "/infraActiveRequests/v1/releaseInstances/{requestId}")
+    public void releaseInstances(@PathVariable("requestId") String requestId) {
+        inFlightRequestRegistry.releaseUnsaved(requestId);
+    }
+
+    /**
+     * Updates only the status columns set in the body, without reading or writing the request and response bodies
+     */
+    @PatchMapping(value = "/infraActiveRequests/v1/updateRequestStatus/{requestId}")
+    public ResponseEntity<Void> updateRequestStatus(@PathVariable("requestId") String requestId,
+            @RequestBody RequestStatusUpdate update) {
+        if (infraActiveRequestsRepository.updateRequestStatus(requestId, update) == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        if (update.getRequestStatus() != null
+                && !InFlightRequestRegistry.IN_FLIGHT_STATUSES.contains(update.getRequestStatus())) {
+            inFlightRequestRegistry.release(requestId);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping(value = "/infraActiveRequests/v1/getInfraActiveRequests")
     public List<InfraActiveRequests> getInfraActiveRequests(@RequestBody Map<String, String[]> filters,
             @RequestParam("from") long startTime, @RequestParam("to") long endTime,
@@ -0,0 +1,228 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.adapters.requestsdb;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Moves finished (or stale unfinished) requests together with their cloud_api_requests and request_processing_data
+ * rows into the archive tables with set based statements.
+ *
+ * Requests are walked in chunks of chunkSize request ids. Each chunk is copied with REPLACE INTO ... SELECT and removed
+ * with DELETE over the same request id range in its own transaction, so locks on the active tables are only held for
+ * one chunk. When maxRowsPerSecond is set, the archiver sleeps between chunks to stay under that rate.
+ */
+@Component
+public class InfraRequestsBulkArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(InfraRequestsBulkArchiver.class);
+
+    protected static final String INFRA_ACTIVE_REQUESTS = "infra_active_requests";
+    protected static final String ARCHIVED_INFRA_REQUESTS = "archived_infra_requests";
+    protected static final String CLOUD_API_REQUESTS = "cloud_api_requests";
+    protected static final String ARCHIVED_CLOUD_API_REQUESTS = "archived_cloud_api_requests";
+    protected static final String REQUEST_PROCESSING_DATA = "request_processing_data";
+    protected static final String ARCHIVED_REQUEST_PROCESSING_DATA = "archived_request_processing_data";
+
+    private static final String ARCHIVABLE = "(END_TIME < ? OR (END_TIME IS NULL AND START_TIME < ?))";
+    private static final String CHUNK = "REQUEST_ID BETWEEN ? AND ? AND " + ARCHIVABLE;
+    private static final String CHUNK_CHILDREN =
+            "SO_REQUEST_ID IN (SELECT REQUEST_ID FROM " + INFRA_ACTIVE_REQUESTS + " WHERE " + CHUNK + ")";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${mso.infra-requests.archived.bulk.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${mso.infra-requests.archived.bulk.max-rows-per-second:0}")
+    private int maxRowsPerSecond;
+
+    @Value("${mso.infra-requests.archived.bulk.transaction-timeout:60}")
+    private int transactionTimeout = 60;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicLong archivedRequests = new AtomicLong();
+    private final AtomicLong archivedCloudApiRequests = new AtomicLong();
+    private final AtomicLong archivedRequestProcessingData = new AtomicLong();
+    private final AtomicLong pendingRequests = new AtomicLong();
+    private final AtomicLong rowsPerSecond = new AtomicLong();
+
+    @PostConstruct
+    protected void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setTimeout(transactionTimeout);
+
+        FunctionCounter.builder("so.requestdb.archive.rows", archivedRequests, AtomicLong::get)
+                .tag("table", INFRA_ACTIVE_REQUESTS).register(Metrics.globalRegistry);
+        FunctionCounter.builder("so.requestdb.archive.rows", archivedCloudApiRequests, AtomicLong::get)
+                .tag("table", CLOUD_API_REQUESTS).register(Metrics.globalRegistry);
+        FunctionCounter.builder("so.requestdb.archive.rows", archivedRequestProcessingData, AtomicLong::get)
+                .tag("table", REQUEST_PROCESSING_DATA).register(Metrics.globalRegistry);
+        Gauge.builder("so.requestdb.archive.pending", pendingRequests, AtomicLong::get)
+                .register(Metrics.globalRegistry);
+        Gauge.builder("so.requestdb.archive.rows.per.second", rowsPerSecond, AtomicLong::get)
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Archives every request that ended before the archiving date, or that started before it and never ended
+     *
+     * @return the number of archived requests, the requests left when the run is interrupted are reported as pending
+     */
+    public long archive(Date archivingDate) {
+        Timestamp cutoff = new Timestamp(archivingDate.getTime());
+        String requestColumns = sharedColumns(INFRA_ACTIVE_REQUESTS, ARCHIVED_INFRA_REQUESTS);
+        String cloudApiColumns = sharedColumns(CLOUD_API_REQUESTS, ARCHIVED_CLOUD_API_REQUESTS);
+        String processingDataColumns = sharedColumns(REQUEST_PROCESSING_DATA, ARCHIVED_REQUEST_PROCESSING_DATA);
+
+        long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + INFRA_ACTIVE_REQUESTS + " WHERE " + ARCHIVABLE, Long.class, cutoff, cutoff);
+        pendingRequests.set(total);
+        logger.info("{} requests to be archived", total);
+
+        long started = System.nanoTime();
+        long archived = 0;
+        String lastRequestId = "";
+        List<String> requestIds;
+        do {
+            requestIds = jdbcTemplate.queryForList(
+                    "SELECT REQUEST_ID FROM " + INFRA_ACTIVE_REQUESTS + " WHERE REQUEST_ID > ? AND " + ARCHIVABLE
+                            + " ORDER BY REQUEST_ID LIMIT ?",
+                    String.class, lastRequestId, cutoff, cutoff, chunkSize);
+            if (requestIds.isEmpty()) {
+                break;
+            }
+            Object[] chunk = {requestIds.get(0), requestIds.get(requestIds.size() - 1), cutoff, cutoff};
+            archived += transactionTemplate.execute(
+                    status -> archiveChunk(chunk, requestColumns, cloudApiColumns, processingDataColumns));
+            lastRequestId = requestIds.get(requestIds.size() - 1);
+
+            long elapsed = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            rowsPerSecond.set(archived * 1000 / elapsed);
+            pendingRequests.set(Math.max(0, total - archived));
+            logger.info("Archived {} of {} requests, {} rows/s", archived, total, rowsPerSecond.get());
+            if (!throttle(archived, elapsed)) {
+                logger.warn("Archiving interrupted after {} of {} requests", archived, total);
+                return archived;
+            }
+        } while (requestIds.size() == chunkSize);
+
+        pendingRequests.set(0);
+        return archived;
+    }
+
+    protected int archiveChunk(Object[] chunk, String requestColumns, String cloudApiColumns,
+            String processingDataColumns) {
+        copy(INFRA_ACTIVE_REQUESTS, ARCHIVED_INFRA_REQUESTS, requestColumns, CHUNK, chunk);
+        copy(CLOUD_API_REQUESTS, ARCHIVED_CLOUD_API_REQUESTS, cloudApiColumns, CHUNK_CHILDREN, chunk);
+        copy(REQUEST_PROCESSING_DATA, ARCHIVED_REQUEST_PROCESSING_DATA, processingDataColumns, CHUNK_CHILDREN,
+                chunk);
+
+        archivedCloudApiRequests.addAndGet(delete(CLOUD_API_REQUESTS, CHUNK_CHILDREN, chunk));
+        archivedRequestProcessingData.addAndGet(delete(REQUEST_PROCESSING_DATA, CHUNK_CHILDREN, chunk));
+        int requests = delete(INFRA_ACTIVE_REQUESTS, CHUNK, chunk);
+        archivedRequests.addAndGet(requests);
+        return requests;
+    }
+
+    /**
+     * Sleeps until the archived rows are within maxRowsPerSecond
+     *
+     * @return false when interrupted
+     */
+    protected boolean throttle(long archived, long elapsedMillis) {
+        if (maxRowsPerSecond <= 0) {
+            return true;
+        }
+        long wait = archived * 1000 / maxRowsPerSecond - elapsedMillis;
+        if (wait > 0) {
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void copy(String source, String target, String columns, String where, Object[] chunk) {
+        // REPLACE keeps the same merge semantics as saving archived entities, so a rerun never fails on a duplicate
+        jdbcTemplate.update("REPLACE INTO " + target + " (" + columns + ") SELECT " + columns + " FROM " + source
+                + " WHERE " + where, chunk);
+    }
+
+    private int delete(String table, String where, Object[] chunk) {
+        return jdbcTemplate.update("DELETE FROM " + table + " WHERE " + where, chunk);
+    }
+
+    /**
+     * Columns present in both tables, in the order of the source table. The archive tables do not follow every column
+     * change of the active tables, so the column lists are read from the schema instead of being hard coded.
+     */
+    protected String sharedColumns(String source, String target) {
+        Set<String> targetColumns = new HashSet<>(columns(target));
+        return columns(source).stream().filter(targetColumns::contains).map(column -> "`" + column + "`")
+                .collect(Collectors.joining(", "));
+    }
+
+    private List<String> columns(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT UPPER(COLUMN_NAME) FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() "
+                        + "AND TABLE_NAME = ? ORDER BY ORDINAL_POSITION",
+                String.class, table);
+    }
+
+    public long getPendingRequests() {
+        return pendingRequests.get();
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond.get();
+    }
+}
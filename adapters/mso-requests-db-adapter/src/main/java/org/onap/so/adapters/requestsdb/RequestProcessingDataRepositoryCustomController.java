@@ -0,0 +1,51 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.adapters.requestsdb;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.onap.so.db.request.beans.RequestProcessingData;
+import org.onap.so.db.request.data.repository.RequestProcessingDataRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class RequestProcessingDataRepositoryCustomController {
+
+    @Autowired
+    private RequestProcessingDataRepository requestProcessingDataRepository;
+
+    /**
+     * Returns the external processing data of all given requests in one query, ordered by grouping id like
+     * findBySoRequestIdAndIsDataInternalOrderByGroupingIdDesc
+     */
+    @PostMapping(value = "/requestProcessingData/v1/getExternalRequestProcessingData")
+    public List<RequestProcessingData> getExternalRequestProcessingData(@RequestBody List<String> soRequestIds) {
+        if (soRequestIds == null || soRequestIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(requestProcessingDataRepository
+                .findBySoRequestIdInAndIsDataInternalOrderByGroupingIdDesc(soRequestIds, false));
+    }
+}
@@ -0,0 +1,24 @@
+use requestdb;
+
+CREATE TABLE IF NOT EXISTS archived_cloud_api_requests(
+`ID` INT(13) NOT NULL,
+`REQUEST_BODY` LONGTEXT NOT NULL,
+`CLOUD_IDENTIFIER` VARCHAR(200) NULL,
+`SO_REQUEST_ID` VARCHAR(45) NOT NULL,
+`CREATE_TIME` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+PRIMARY KEY (`ID`),
+INDEX `archived_cloud_api_requests__so_request_id_idx` (`SO_REQUEST_ID` ASC))
+ENGINE = InnoDB DEFAULT CHARSET=latin1;
+
+CREATE TABLE IF NOT EXISTS archived_request_processing_data (
+  `ID` INT(11) NOT NULL,
+  `SO_REQUEST_ID` VARCHAR(50) NOT NULL,
+  `GROUPING_ID` VARCHAR(100) NULL,
+  `NAME` VARCHAR(200) NOT NULL,
+  `VALUE` LONGTEXT,
+  `TAG` VARCHAR(200) NOT NULL,
+  `CREATE_TIME` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `IS_DATA_INTERNAL` TINYINT NOT NULL DEFAULT '0',
+  PRIMARY KEY (`ID`),
+  INDEX `archived_request_processing_data__so_request_id_idx` (`SO_REQUEST_ID` ASC)
+) ENGINE = InnoDB DEFAULT CHARSET = latin1;
@@ -0,0 +1,10 @@
+use requestdb;
+
+CREATE TABLE IF NOT EXISTS in_flight_request (
+  `INSTANCE_KEY` VARCHAR(300) NOT NULL,
+  `REQUEST_ID` VARCHAR(45) NOT NULL,
+  `REQUEST_SCOPE` VARCHAR(50) NULL,
+  `CREATED_TIME` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`INSTANCE_KEY`),
+  INDEX `in_flight_request__request_id_idx` (`REQUEST_ID` ASC)
+) ENGINE = InnoDB DEFAULT CHARSET = latin1;
@@ -21,14 +21,21 @@
 package org.onap.so.adapters.requestsdb;
 
 import static org.junit.Assert.assertEquals;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
+import javax.sql.DataSource;
 import org.junit.Test;
 import org.onap.so.db.request.beans.InfraActiveRequests;
+import org.onap.so.db.request.beans.RequestProcessingData;
 import org.onap.so.db.request.data.repository.ArchivedInfraRequestsRepository;
 import org.onap.so.db.request.data.repository.InfraActiveRequestsRepository;
+import org.onap.so.db.request.data.repository.RequestProcessingDataRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 public class ArchiveInfraRequestsSchedulerTest extends RequestsAdapterBase {
@@ -42,6 +49,18 @@ public class ArchiveInfraRequestsSchedulerTest extends RequestsAdapterBase {
     @Autowired
     private ArchivedInfraRequestsRepository archivedRepo;
 
+    @Autowired
+    private RequestProcessingDataRepository requestProcessingDataRepo;
+
+    @Autowired
+    private InfraRequestsBulkArchiver bulkArchiver;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Value("${mso.infra-requests.archived.period}")
     private int archivedPeriod;
 
@@ -71,4 +90,70 @@ public class ArchiveInfraRequestsSchedulerTest extends RequestsAdapterBase {
                 archivedRepo.findById(requestId2).orElseThrow(() -> new Exception("Request Not Found")).getRequestId());
     }
 
+    @Test
+    @Transactional
+    public void testBulkArchiveInfraRequests() {
+        iarRepo.saveAndFlush(request("bulkRequestId1", "1999-12-01 10:00:00", "1999-12-01 10:05:00"));
+        iarRepo.saveAndFlush(request("bulkRequestId2", "1999-12-02 10:00:00", null));
+        iarRepo.saveAndFlush(request("bulkRequestId3", "1999-12-03 10:00:00", "2000-01-02 10:00:00"));
+
+        RequestProcessingData data = new RequestProcessingData();
+        data.setSoRequestId("bulkRequestId1");
+        data.setGroupingId("bulkGroupingId");
+        data.setName("requestAction");
+        data.setValue("assign");
+        data.setTag("pincFabricConfigRequest");
+        data.setIsDataInternal(false);
+        requestProcessingDataRepo.saveAndFlush(data);
+
+        assertEquals(2, bulkArchiver.archive(Timestamp.valueOf("2000-01-01 00:00:00")));
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertEquals(1, count(jdbcTemplate, "infra_active_requests"));
+        assertEquals(2, count(jdbcTemplate, "archived_infra_requests"));
+        assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM request_processing_data WHERE SO_REQUEST_ID = 'bulkRequestId1'", Integer.class));
+        assertEquals("assign", jdbcTemplate.queryForObject(
+                "SELECT VALUE FROM archived_request_processing_data WHERE SO_REQUEST_ID = 'bulkRequestId1'",
+                String.class));
+        assertEquals(0, bulkArchiver.getPendingRequests());
+    }
+
+    @Test
+    @Transactional
+    public void testBulkArchiveInterrupted() {
+        iarRepo.saveAndFlush(request("bulkRequestId1", "1999-12-01 10:00:00", "1999-12-01 10:05:00"));
+        iarRepo.saveAndFlush(request("bulkRequestId2", "1999-12-02 10:00:00", "1999-12-02 10:05:00"));
+
+        InfraRequestsBulkArchiver interruptedArchiver = new InfraRequestsBulkArchiver() {
+            @Override
+            protected boolean throttle(long archived, long elapsedMillis) {
+                return false;
+            }
+        };
+        ReflectionTestUtils.setField(interruptedArchiver, "dataSource", dataSource);
+        ReflectionTestUtils.setField(interruptedArchiver, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(interruptedArchiver, "chunkSize", 1);
+        interruptedArchiver.init();
+
+        assertEquals(1, interruptedArchiver.archive(Timestamp.valueOf("2000-01-01 00:00:00")));
+
+        assertEquals(1, count(new JdbcTemplate(dataSource), "infra_active_requests"));
+        assertEquals(1, interruptedArchiver.getPendingRequests());
+    }
+
+    private InfraActiveRequests request(String requestId, String startTime, String endTime) {
+        InfraActiveRequests request = new InfraActiveRequests();
+        request.setRequestId(requestId);
+        request.setStartTime(Timestamp.valueOf(startTime));
+        if (endTime != null) {
+            request.setEndTime(Timestamp.valueOf(endTime));
+        }
+        return request;
+    }
+
+    private int count(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE REQUEST_ID LIKE 'bulkRequestId%'", Integer.class);
+    }
 }
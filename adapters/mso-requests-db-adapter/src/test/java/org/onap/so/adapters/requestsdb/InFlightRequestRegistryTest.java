@@ -0,0 +1,124 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2017 - 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.adapters.requestsdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.After;
+import org.junit.Test;
+import org.onap.so.db.request.beans.InfraActiveRequests;
+import org.onap.so.db.request.data.repository.InfraActiveRequestsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class InFlightRequestRegistryTest extends RequestsAdapterBase {
+
+    @Autowired
+    private InFlightRequestRegistry inFlightRequestRegistry;
+
+    @Autowired
+    private InfraActiveRequestsRepository infraActiveRequestsRepository;
+
+    private final String firstRequestId = UUID.randomUUID().toString();
+    private final String secondRequestId = UUID.randomUUID().toString();
+    private final String instanceName = "inFlightTest-" + UUID.randomUUID();
+
+    @After
+    public void after() {
+        inFlightRequestRegistry.release(firstRequestId);
+        inFlightRequestRegistry.release(secondRequestId);
+        if (infraActiveRequestsRepository.findOneByRequestId(firstRequestId) != null) {
+            infraActiveRequestsRepository.deleteById(firstRequestId);
+        }
+    }
+
+    @Test
+    public void claimTest() {
+        assertNull(inFlightRequestRegistry.claim(new HashMap<>(), instanceName, "service", firstRequestId));
+        assertNull(inFlightRequestRegistry.claim(new HashMap<>(), instanceName, "service", firstRequestId));
+
+        InfraActiveRequests holder =
+                inFlightRequestRegistry.claim(new HashMap<>(), instanceName, "service", secondRequestId);
+        assertEquals(firstRequestId, holder.getRequestId());
+        assertEquals("PENDING", holder.getRequestStatus());
+        assertNull(holder.getStartTime());
+    }
+
+    @Test
+    public void claimInFlightRequestTest() {
+        saveRequest("IN_PROGRESS");
+        assertNull(inFlightRequestRegistry.claim(new HashMap<>(), instanceName, "service", firstRequestId));
+
+        InfraActiveRequests holder =
+                inFlightRequestRegistry.claim(new HashMap<>(), instanceName, "service", secondRequestId);
+        assertEquals(firstRequestId, holder.getRequestId());
+        assertEquals("IN_PROGRESS", holder.getRequestStatus());
+    }
+
+    @Test
+    public void takeOverEndedRequestTest() {
+        saveRequest("IN_PROGRESS");
+        assertNull(inFlightRequestRegistry.claim(new HashMap<>(), instanceName, "service", firstRequestId));
+        saveRequest("COMPLETE");
+
+        assertNull(inFlightRequestRegistry.claim(new HashMap<>(), instanceName, "service", secondRequestId));
+        assertEquals(0, inFlightRequestRegistry.release(firstRequestId));
+        assertEquals(1, inFlightRequestRegistry.release(secondRequestId));
+    }
+
+    @Test
+    public void releaseUnsavedTest() {
+        assertNull(inFlightRequestRegistry.claim(new HashMap<>(), instanceName, "service", firstRequestId));
+        assertEquals(1, inFlightRequestRegistry.releaseUnsaved(firstRequestId));
+
+        saveRequest("IN_PROGRESS");
+        assertNull(inFlightRequestRegistry.claim(new HashMap<>(), instanceName, "service", firstRequestId));
+        assertEquals(0, inFlightRequestRegistry.releaseUnsaved(firstRequestId));
+        assertEquals(firstRequestId, inFlightRequestRegistry
+                .claim(new HashMap<>(), instanceName, "service", secondRequestId).getRequestId());
+    }
+
+    @Test
+    public void instanceKeyTest() {
+        Map<String, String> instanceIdMap = new HashMap<>();
+        instanceIdMap.put("vnfInstanceId", "vnfId");
+
+        assertEquals("vnf:name:vnfName", InFlightRequestRegistry.instanceKey(instanceIdMap, "vnfName", "vnf"));
+        assertEquals("vnf:id:vnfId", InFlightRequestRegistry.instanceKey(instanceIdMap, null, "vnf"));
+        assertNull(InFlightRequestRegistry.instanceKey(instanceIdMap, null, "service"));
+        assertNull(InFlightRequestRegistry.instanceKey(instanceIdMap, "name", "unknown"));
+    }
+
+    private void saveRequest(String requestStatus) {
+        InfraActiveRequests request = infraActiveRequestsRepository.findOneByRequestId(firstRequestId);
+        if (request == null) {
+            request = new InfraActiveRequests();
+            request.setRequestId(firstRequestId);
+            request.setServiceInstanceName(instanceName);
+            request.setRequestScope("service");
+            request.setRequestAction("createInstance");
+        }
+        request.setRequestStatus(requestStatus);
+        infraActiveRequestsRepository.saveAndFlush(request);
+    }
+}
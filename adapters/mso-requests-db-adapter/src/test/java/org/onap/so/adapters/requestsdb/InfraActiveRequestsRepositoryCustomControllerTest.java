@@ -25,20 +25,27 @@ import static com.shazam.shazamcrest.matcher.Matchers.sameBeanAs;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import java.io.IOException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import javax.ws.rs.core.MediaType;
 import org.junit.Before;
 import org.junit.Test;
 import org.onap.so.db.request.beans.InfraActiveRequests;
 import org.onap.so.db.request.data.controller.InstanceNameDuplicateCheckRequest;
+import org.onap.so.db.request.data.controller.RequestStatusUpdate;
+import org.onap.so.db.request.data.repository.InfraActiveRequestsRepository;
 import org.onap.so.serviceinstancebeans.ModelType;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.server.LocalServerPort;
@@ -49,6 +56,8 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.util.UriComponentsBuilder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Transactional
 public class InfraActiveRequestsRepositoryCustomControllerTest extends RequestsAdapterBase {
@@ -59,6 +68,9 @@ public class InfraActiveRequestsRepositoryCustomControllerTest extends RequestsA
     @Value("${mso.adapters.requestDb.auth}")
     private String msoAdaptersAuth;
 
+    @Autowired
+    private InfraActiveRequestsRepository infraActiveRequestsRepository;
+
     private String createURLWithPort(String uri) {
         return "http://localhost:" + port + uri;
     }
@@ -198,6 +210,78 @@ public class InfraActiveRequestsRepositoryCustomControllerTest extends RequestsA
         verifyInfraActiveRequests();
     }
 
+    @Test
+    public void getOrchestrationFiltersFromInfraActivePagedTest() {
+        Set<String> expected = new HashSet<>();
+        expected.add(infraActiveRequests.getRequestId());
+        expected.add(saveRequestForSameServiceInstance());
+        expected.add(saveRequestForSameServiceInstance());
+
+        Map<String, List<String>> requestMap = new HashMap<>();
+        requestMap.put("serviceInstanceId", Arrays.asList("EQUALS", infraActiveRequests.getServiceInstanceId()));
+        HttpEntity<Map<String, List<String>>> entityList = new HttpEntity<>(requestMap, headers);
+
+        Set<String> found = new HashSet<>();
+        InfraActiveRequests last = null;
+        for (int page = 0; page < 3; page++) {
+            UriComponentsBuilder builder = UriComponentsBuilder
+                    .fromHttpUrl(createURLWithPort("/infraActiveRequests/getOrchestrationFiltersFromInfraActive"))
+                    .queryParam("maxResult", 1);
+            if (last != null) {
+                if (last.getStartTime() != null) {
+                    builder.queryParam("afterStartTime", last.getStartTime().getTime());
+                }
+                builder.queryParam("afterRequestId", last.getRequestId());
+            }
+            ResponseEntity<List<InfraActiveRequests>> response = restTemplate.exchange(builder.toUriString(),
+                    HttpMethod.POST, entityList, new ParameterizedTypeReference<List<InfraActiveRequests>>() {});
+            assertEquals(200, response.getStatusCodeValue());
+            assertEquals(1, response.getBody().size());
+            last = response.getBody().get(0);
+            found.add(last.getRequestId());
+        }
+
+        assertEquals(expected, found);
+    }
+
+    @Test
+    public void streamOrchestrationFiltersFromInfraActiveTest() throws IOException {
+        saveRequestForSameServiceInstance();
+
+        Map<String, List<String>> requestMap = new HashMap<>();
+        requestMap.put("serviceInstanceId", Arrays.asList("EQUALS", infraActiveRequests.getServiceInstanceId()));
+        HttpEntity<Map<String, List<String>>> entityList = new HttpEntity<>(requestMap, headers);
+        UriComponentsBuilder builder = UriComponentsBuilder
+                .fromHttpUrl(
+                        createURLWithPort("/infraActiveRequests/v1/getOrchestrationFiltersFromInfraActive/stream"))
+                .queryParam("pageSize", 1);
+
+        ResponseEntity<String> response =
+                restTemplate.exchange(builder.toUriString(), HttpMethod.POST, entityList, String.class);
+
+        assertEquals(200, response.getStatusCodeValue());
+        String[] lines = response.getBody().split("\n");
+        assertEquals(2, lines.length);
+        ObjectMapper mapper =
+                new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        Set<String> found = new HashSet<>();
+        for (String line : lines) {
+            found.add(mapper.readValue(line, InfraActiveRequests.class).getRequestId());
+        }
+        assertTrue(found.contains(infraActiveRequests.getRequestId()));
+        assertEquals(2, found.size());
+    }
+
+    private String saveRequestForSameServiceInstance() {
+        InfraActiveRequests request = new InfraActiveRequests();
+        request.setRequestId(UUID.randomUUID().toString());
+        request.setServiceInstanceId(infraActiveRequests.getServiceInstanceId());
+        request.setRequestScope("service");
+        request.setRequestStatus("COMPLETE");
+        saveInfraActiveRequest(request);
+        return request.getRequestId();
+    }
+
     @Test
     public void checkVnfIdStatusTest() {
 
@@ -216,6 +300,24 @@ public class InfraActiveRequestsRepositoryCustomControllerTest extends RequestsA
         verifyInfraActiveRequests();
     }
 
+    @Test
+    public void updateRequestStatusTest() {
+        RequestStatusUpdate update = new RequestStatusUpdate();
+        update.setFlowStatus("Execution of AssignServiceInstanceBB has completed successfully");
+        update.setProgress(52L);
+        update.setLastModifiedBy("CamundaBPMN");
+
+        assertEquals(1, infraActiveRequestsRepository.updateRequestStatus(infraActiveRequests.getRequestId(), update));
+        assertEquals(0, infraActiveRequestsRepository.updateRequestStatus(UUID.randomUUID().toString(), update));
+
+        infraActiveRequestsResponse =
+                infraActiveRequestsRepository.findOneByRequestId(infraActiveRequests.getRequestId());
+        assertEquals(update.getFlowStatus(), infraActiveRequestsResponse.getFlowStatus());
+        assertEquals(update.getProgress(), infraActiveRequestsResponse.getProgress());
+        assertEquals("CamundaBPMN", infraActiveRequestsResponse.getLastModifiedBy());
+        verifyInfraActiveRequests();
+    }
+
     @Test
     public void checkInstanceNameDuplicateTest() {
 
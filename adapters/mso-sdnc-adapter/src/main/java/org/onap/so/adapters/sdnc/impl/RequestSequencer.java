@@ -0,0 +1,82 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.adapters.sdnc.impl;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.onap.logging.filter.base.ErrorCode;
+import org.onap.so.logger.LoggingAnchor;
+import org.onap.so.logger.MessageEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the requests of one service instance one after the other, so e.g. an activate is only sent to SDNC once the
+ * create before it has been answered. Requests of different service instances run concurrently.
+ */
+@Component
+public class RequestSequencer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestSequencer.class);
+
+    private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    /**
+     * Starts the task once every task submitted before with the same key has completed, successfully or not. Tasks
+     * without a key are started right away.
+     *
+     * @param key the service instance id
+     * @param task starts the work and returns its completion
+     * @return completed when the task has completed
+     */
+    public CompletableFuture<Void> submit(String key, Supplier<? extends CompletionStage<?>> task) {
+        if (key == null || key.isEmpty()) {
+            return run(task);
+        }
+        CompletableFuture<Void> next =
+                tails.compute(key, (k, tail) -> tail == null ? run(task) : tail.thenCompose(v -> run(task)));
+        next.whenComplete((v, e) -> tails.remove(key, next));
+        return next;
+    }
+
+    /**
+     * @return the number of service instances with queued or running requests
+     */
+    public int size() {
+        return tails.size();
+    }
+
+    private static CompletableFuture<Void> run(Supplier<? extends CompletionStage<?>> task) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        try {
+            task.get().whenComplete((result, e) -> done.complete(null));
+        } catch (RuntimeException e) {
+            logger.error(LoggingAnchor.FOUR, MessageEnum.RA_SEND_REQUEST_SDNC_ERR.toString(), "SDNC",
+                    ErrorCode.UnknownError.getValue(), "Exception starting sequenced request", e);
+            done.complete(null);
+        }
+        return done;
+    }
+}
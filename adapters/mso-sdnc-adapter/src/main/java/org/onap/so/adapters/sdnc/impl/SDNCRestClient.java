@@ -24,20 +24,30 @@
 
 package org.onap.so.adapters.sdnc.impl;
 
-import java.io.BufferedReader;
-import java.io.DataOutputStream;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.xml.XMLConstants;
 import javax.xml.bind.DatatypeConverter;
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.ws.BindingProvider;
 import javax.xml.ws.handler.MessageContext;
@@ -55,15 +65,28 @@ import org.onap.so.adapters.sdnc.client.SDNCCallbackAdapterService;
 import org.onap.so.logger.MessageEnum;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-
+import org.xml.sax.InputSource;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Sends the requests of the SDNC adapter SOAP interface to SDNC and the SDNC responses back to BPMN.
+ *
+ * Requests of the same service instance are sent one after the other through the {@link RequestSequencer}. SDNC is
+ * called with a shared, non-blocking HTTP client that keeps its connections open between requests, so no thread is
+ * held while waiting for SDNC. The BPMN callbacks are sent from a bounded pool.
+ */
 @Component
 public class SDNCRestClient {
 
@@ -73,27 +96,47 @@ public class SDNCRestClient {
     @Autowired
     private MapRequestTunables tunablesMapper;
 
+    @Autowired
+    private RequestSequencer sequencer;
+
+    @Value("${org.onap.so.adapters.sdnc.callback-pool-size:10}")
+    private int callbackPoolSize = 10;
+
     private static Logger logger = LoggerFactory.getLogger(SDNCRestClient.class);
 
-    private static final String EXCEPTION_MSG = "Exception while evaluate xpath";
     private static final String CAMUNDA = "Camunda";
+    private static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+    private static final String EXCEPTION_MSG = "Exception while evaluate xpath";
+
+    private HttpClient httpClient;
+    private ExecutorService callbackExecutor;
+    private SDNCCallbackAdapterService callbackService;
+
+    @PostConstruct
+    protected void init() {
+        int connectTimeout = env.getProperty(Constants.SDNC_CONNECTTIME_PROP, Integer.class, DEFAULT_CONNECT_TIMEOUT);
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeout)).build();
+        AtomicInteger threadCount = new AtomicInteger();
+        callbackExecutor = Executors.newFixedThreadPool(callbackPoolSize, runnable -> {
+            Thread thread = new Thread(runnable, "sdnc-callback-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        if (callbackExecutor != null) {
+            callbackExecutor.shutdown();
+        }
+    }
 
     @Async
     public void executeRequest(SDNCAdapterRequest bpelRequest) {
 
         logger.debug("BPEL Request: {}", bpelRequest);
 
-        // Added delay to allow completion of create request to SDNC
-        // before executing activate of create request.
-        try {
-            Thread.sleep(5000);
-        } catch (InterruptedException e) {
-            logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "SDNC",
-                    ErrorCode.UnknownError.getValue(), "Exception processing request to SDNC", e);
-
-            Thread.currentThread().interrupt();
-        }
-
         String bpelReqId = bpelRequest.getRequestHeader().getRequestId();
         String callbackUrl = bpelRequest.getRequestHeader().getCallbackUrl();
         String msoAction = bpelRequest.getRequestHeader().getMsoAction();
@@ -120,161 +163,173 @@ public class SDNCRestClient {
             Document reqDoc = node.getOwnerDocument();
             sdncReqBody = Utils.genSdncPutReq(reqDoc, rt);
         }
-        SDNCResponse sdncResp = getSdncResp(sdncReqBody, rt);
-        logger.debug("Got the SDNC Response: {}", sdncResp.getSdncRespXml());
-        sendRespToBpel(callbackUrl, sdncResp);
+
+        // the create of a service instance must be answered by SDNC before its activate is sent
+        String reqBody = sdncReqBody;
+        RequestTunables tunables = rt;
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        sequencer.submit(bpelRequest.getRequestHeader().getSvcInstanceId(),
+                () -> getSdncRespAsync(reqBody, tunables).thenAcceptAsync(sdncResp -> {
+                    if (mdc != null) {
+                        MDC.setContextMap(mdc);
+                    }
+                    try {
+                        logger.debug("Got the SDNC Response: {}", sdncResp.getSdncRespXml());
+                        sendRespToBpel(callbackUrl, sdncResp);
+                    } finally {
+                        MDC.clear();
+                    }
+                }, callbackExecutor));
     }
 
     public SDNCResponse getSdncResp(String sdncReqBody, RequestTunables rt) {
+        return getSdncRespAsync(sdncReqBody, rt).join();
+    }
+
+    /**
+     * Sends the request to SDNC without blocking the calling thread
+     *
+     * @return completed with the SDNC response, or with an error response when SDNC could not be reached
+     */
+    public CompletableFuture<SDNCResponse> getSdncRespAsync(String sdncReqBody, RequestTunables rt) {
 
-        URL url;
-        HttpURLConnection con = null;
-        DataOutputStream out = null;
-        BufferedReader in = null;
         SDNCResponse sdncResp = new SDNCResponse(rt.getReqId());
-        StringBuilder response = new StringBuilder();
 
         logger.info("{} :\n {} {}", MessageEnum.RA_SEND_REQUEST_SDNC.name(), rt.toString(), "SDNC");
         logger.trace("SDNC Request Body:{} \n", sdncReqBody);
 
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        CompletableFuture<HttpResponse<String>> response;
         try {
-
-            url = new URL(rt.getSdncUrl());
-
-            con = (HttpURLConnection) url.openConnection();
-            con.setConnectTimeout(Integer.parseInt(env.getProperty(Constants.SDNC_CONNECTTIME_PROP)));
-            con.setReadTimeout(Integer.parseInt(rt.getTimeout()));
-            con.setRequestProperty("Accept", "application/yang.data+xml"); // for response in xml
-            String userCredentials = CryptoUtils.decrypt(env.getProperty(Constants.SDNC_AUTH_PROP),
-                    env.getProperty(Constants.ENCRYPTION_KEY_PROP));
-
-            String basicAuth = "Basic " + DatatypeConverter.printBase64Binary(userCredentials.getBytes());
-            con.setRequestProperty("Authorization", basicAuth);
-            con.setRequestMethod(rt.getReqMethod());
-            String msoAction = rt.getMsoAction();
-
-            // Add request headers
-            if ("POST".equals(rt.getReqMethod()) || "PUT".equals(rt.getReqMethod())) {
-                if (Constants.MSO_ACTION_MDONS.equals(msoAction)) {
-                    con.setRequestProperty("Content-type", "application/json");
-                } else {
-                    con.setRequestProperty("Content-type", "application/xml");
-                }
-                con.setRequestProperty("Content-length", String.valueOf(sdncReqBody.length()));
-                con.setDoOutput(true);
-                out = new DataOutputStream(con.getOutputStream());
-                out.writeBytes(sdncReqBody);
-                out.flush();
-                out.close();
+            response = httpClient.sendAsync(buildRequest(sdncReqBody, rt), HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response.handle((httpResponse, e) -> {
+            if (e != null) {
+                sample.stop(requestTimer(rt, "error"));
+                return errorResponse(sdncResp, e instanceof CompletionException ? e.getCause() : e);
             }
+            sample.stop(requestTimer(rt, Integer.toString(httpResponse.statusCode())));
 
             // Get response
-            sdncResp.setRespCode(con.getResponseCode());
-            sdncResp.setRespMsg(con.getResponseMessage());
-
-            if (con.getResponseCode() >= 200 && con.getResponseCode() <= 299) {
-                in = new BufferedReader(new InputStreamReader(con.getInputStream()));
-                String inputLine;
-                // Not parsing the response -it contains a responseHdr section and data section
-                while ((inputLine = in.readLine()) != null) {
-                    response.append(inputLine);
+            int respCode = httpResponse.statusCode();
+            HttpStatus status = HttpStatus.resolve(respCode);
+            sdncResp.setRespCode(respCode);
+            String respMsg = status == null ? null : status.getReasonPhrase();
+
+            // Not parsing the response -it contains a responseHdr section and data section
+            if (respCode >= 200 && respCode <= 299 && httpResponse.body() != null) {
+                sdncResp.setSdncRespXml(httpResponse.body().replaceAll("[\r\n]", ""));
+            } else {
+                sdncResp.setSdncRespXml("");
+                String sdncErrMsg = parseErrors(httpResponse.body());
+                if (!sdncErrMsg.isEmpty()) {
+                    respMsg = respMsg + sdncErrMsg;
                 }
-                in.close();
             }
-
-            sdncResp.setSdncRespXml(response.toString());
+            sdncResp.setRespMsg(respMsg);
             logger.info("{} :\n {} {}", MessageEnum.RA_RESPONSE_FROM_SDNC.name(), sdncResp.toString(), "SDNC");
-            return (sdncResp);
-        } catch (Exception e) {
-            logger.error(LoggingAnchor.FOUR, MessageEnum.RA_EXCEPTION_COMMUNICATE_SDNC.toString(), "SDNC",
-                    ErrorCode.BusinessProcessError.getValue(), "Exception processing request to SDNC", e);
-            // default
-            sdncResp.setRespCode(HttpURLConnection.HTTP_INTERNAL_ERROR);
-            String respMsg = "Error processing request to SDNC. ";
-            StringBuilder sdncErrMsg = new StringBuilder();
-
-            if (e instanceof java.net.SocketTimeoutException) {
-                sdncResp.setRespCode(HttpURLConnection.HTTP_CLIENT_TIMEOUT);
-                respMsg = "Request to SDNC timed out. ";
-            }
-            if (con != null) {
-                try { // e1
-                    if (con.getResponseCode() != HttpURLConnection.HTTP_OK) // seen in SocketException connection reset
-                        sdncResp.setRespCode(con.getResponseCode());
-                    respMsg = respMsg + con.getResponseMessage() + ". ";
-                    InputStream is = con.getErrorStream();
-                    if (is != null) {
-                        XPathFactory xpathFactory = XPathFactory.newInstance();
-                        XPath xpath = xpathFactory.newXPath();
-                        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-                        dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-                        dbf.setFeature("http://xml.org/sax/features/external-general-entities", false);
-                        dbf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-                        DocumentBuilder db;
-                        Document doc = null;
-                        try { // e2
-                            db = dbf.newDocumentBuilder();
-                            doc = db.parse(is);
-                            NodeList errors = (NodeList) xpath.evaluate("errors/error", doc, XPathConstants.NODESET);
-                            for (int i = 0; i < errors.getLength(); i++) {
-                                Element error = (Element) errors.item(i);
-                                String eType = null;
-                                try {
-                                    eType = xpath.evaluate("error-type", error);
-                                    sdncErrMsg = new StringBuilder(". SDNC Returned-[error-type:" + eType);
-                                } catch (Exception e3) {
-                                    logger.error(LoggingAnchor.SIX, MessageEnum.RA_EVALUATE_XPATH_ERROR.toString(),
-                                            "error-type", error.toString(), "SDNC", ErrorCode.DataError.getValue(),
-                                            EXCEPTION_MSG, e3);
-                                }
-
-                                String eTag = null;
-                                try {
-                                    eTag = xpath.evaluate("error-tag", error);
-                                    sdncErrMsg.append(", error-tag:").append(eTag);
-                                } catch (Exception e3) {
-                                    logger.error(LoggingAnchor.SIX, MessageEnum.RA_EVALUATE_XPATH_ERROR.toString(),
-                                            "error-tag", error.toString(), "SDNC", ErrorCode.DataError.getValue(),
-                                            EXCEPTION_MSG, e3);
-                                }
-
-                                String eMsg = null;
-                                try {
-                                    eMsg = xpath.evaluate("error-message", error);
-                                    sdncErrMsg.append(", error-message:").append(eMsg).append("]");
-                                } catch (Exception e3) {
-                                    logger.error(LoggingAnchor.SIX, MessageEnum.RA_EVALUATE_XPATH_ERROR.toString(),
-                                            "error-message", error.toString(), "SDNC", ErrorCode.DataError.getValue(),
-                                            EXCEPTION_MSG, e3);
-                                }
-                            }
-                        } catch (Exception e2) {
-                            logger.error(LoggingAnchor.FOUR, MessageEnum.RA_ANALYZE_ERROR_EXC.toString(), "SDNC",
-                                    ErrorCode.DataError.getValue(), "Exception while analyse error", e2);
-                        }
-                    } // is != null
-                } catch (Exception e1) {
-                    logger.error(LoggingAnchor.FOUR, MessageEnum.RA_ERROR_GET_RESPONSE_SDNC.toString(), "SDNC",
-                            ErrorCode.BusinessProcessError.getValue(), "Exception while get SDNC response", e1);
-                }
-            } // con != null
+            return sdncResp;
+        });
+    }
 
-            if (e.getMessage() != null) {
-                respMsg = respMsg + e.getMessage();
-            }
-            respMsg = respMsg + sdncErrMsg;
+    private HttpRequest buildRequest(String sdncReqBody, RequestTunables rt) throws GeneralSecurityException {
+        String userCredentials = CryptoUtils.decrypt(env.getProperty(Constants.SDNC_AUTH_PROP),
+                env.getProperty(Constants.ENCRYPTION_KEY_PROP));
+        String basicAuth = "Basic " + DatatypeConverter.printBase64Binary(userCredentials.getBytes());
 
-            sdncResp.setRespMsg(respMsg);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(rt.getSdncUrl()))
+                .timeout(Duration.ofMillis(Integer.parseInt(rt.getTimeout())))
+                .header("Accept", "application/yang.data+xml") // for response in xml
+                .header("Authorization", basicAuth);
 
-            logger.error(LoggingAnchor.FOUR, MessageEnum.RA_EXCEPTION_COMMUNICATE_SDNC.toString(), "SDNC",
-                    ErrorCode.AvailabilityError.getValue(), "Exception while communicate with SDNC", e);
+        // Add request headers
+        if ("POST".equals(rt.getReqMethod()) || "PUT".equals(rt.getReqMethod())) {
+            if (Constants.MSO_ACTION_MDONS.equals(rt.getMsoAction())) {
+                builder.header("Content-type", "application/json");
+            } else {
+                builder.header("Content-type", "application/xml");
+            }
+            builder.method(rt.getReqMethod(), HttpRequest.BodyPublishers.ofString(sdncReqBody));
+        } else {
+            builder.method(rt.getReqMethod(), HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
 
-            return sdncResp;
-        } finally {
-            if (con != null) {
-                con.disconnect();
+    /**
+     * Reads the errors/error elements of an SDNC error response
+     *
+     * @return the error type, tag and message of each error, empty when the body holds none
+     */
+    protected String parseErrors(String body) {
+        StringBuilder sdncErrMsg = new StringBuilder();
+        if (body == null || body.trim().isEmpty()) {
+            return sdncErrMsg.toString();
+        }
+        XPath xpath = XPathFactory.newInstance().newXPath();
+        try {
+            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+            dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            dbf.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            dbf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            Document doc = dbf.newDocumentBuilder().parse(new InputSource(new StringReader(body)));
+            NodeList errors = (NodeList) xpath.evaluate("errors/error", doc, XPathConstants.NODESET);
+            for (int i = 0; i < errors.getLength(); i++) {
+                Element error = (Element) errors.item(i);
+                try {
+                    String eType = xpath.evaluate("error-type", error);
+                    sdncErrMsg = new StringBuilder(". SDNC Returned-[error-type:" + eType);
+                } catch (Exception e) {
+                    logger.error(LoggingAnchor.SIX, MessageEnum.RA_EVALUATE_XPATH_ERROR.toString(), "error-type",
+                            error.toString(), "SDNC", ErrorCode.DataError.getValue(), EXCEPTION_MSG, e);
+                }
+                try {
+                    sdncErrMsg.append(", error-tag:").append(xpath.evaluate("error-tag", error));
+                } catch (Exception e) {
+                    logger.error(LoggingAnchor.SIX, MessageEnum.RA_EVALUATE_XPATH_ERROR.toString(), "error-tag",
+                            error.toString(), "SDNC", ErrorCode.DataError.getValue(), EXCEPTION_MSG, e);
+                }
+                try {
+                    sdncErrMsg.append(", error-message:").append(xpath.evaluate("error-message", error)).append("]");
+                } catch (Exception e) {
+                    logger.error(LoggingAnchor.SIX, MessageEnum.RA_EVALUATE_XPATH_ERROR.toString(), "error-message",
+                            error.toString(), "SDNC", ErrorCode.DataError.getValue(), EXCEPTION_MSG, e);
+                }
             }
+        } catch (Exception e) {
+            logger.error(LoggingAnchor.FOUR, MessageEnum.RA_ANALYZE_ERROR_EXC.toString(), "SDNC",
+                    ErrorCode.DataError.getValue(), "Exception while analyse error", e);
         }
+        return sdncErrMsg.toString();
+    }
+
+    private SDNCResponse errorResponse(SDNCResponse sdncResp, Throwable e) {
+        logger.error(LoggingAnchor.FOUR, MessageEnum.RA_EXCEPTION_COMMUNICATE_SDNC.toString(), "SDNC",
+                ErrorCode.BusinessProcessError.getValue(), "Exception processing request to SDNC", e);
+        // default
+        sdncResp.setRespCode(HttpURLConnection.HTTP_INTERNAL_ERROR);
+        String respMsg = "Error processing request to SDNC. ";
+
+        if (e instanceof HttpTimeoutException) {
+            sdncResp.setRespCode(HttpURLConnection.HTTP_CLIENT_TIMEOUT);
+            respMsg = "Request to SDNC timed out. ";
+        }
+        if (e.getMessage() != null) {
+            respMsg = respMsg + e.getMessage();
+        }
+        sdncResp.setRespMsg(respMsg);
+
+        logger.error(LoggingAnchor.FOUR, MessageEnum.RA_EXCEPTION_COMMUNICATE_SDNC.toString(), "SDNC",
+                ErrorCode.AvailabilityError.getValue(), "Exception while communicate with SDNC", e);
+
+        return sdncResp;
+    }
+
+    private Timer requestTimer(RequestTunables rt, String status) {
+        return Timer.builder("so.sdnc.adapter.request").tag("method", String.valueOf(rt.getReqMethod()))
+                .tag("status", status).register(Metrics.globalRegistry);
     }
 
     public void sendRespToBpel(String bpelUrl, SDNCResponse sdncResp) {
@@ -297,9 +352,7 @@ public class SDNCRestClient {
 
             }
 
-            SDNCCallbackAdapterService cbSvc = new SDNCCallbackAdapterService();
-
-            SDNCCallbackAdapterPortType cbPort = cbSvc.getSDNCCallbackAdapterSoapHttpPort();
+            SDNCCallbackAdapterPortType cbPort = getCallbackService().getSDNCCallbackAdapterSoapHttpPort();
 
             BindingProvider bp = (BindingProvider) cbPort;
 
@@ -327,7 +380,8 @@ public class SDNCRestClient {
             }
 
             logger.debug("Invoking Bpel Callback. BpelCallbackUrl: {}", bpelUrl);
-            cbPort.sdncAdapterCallback(cbReq);
+            Timer.builder("so.sdnc.adapter.callback").register(Metrics.globalRegistry)
+                    .record(() -> cbPort.sdncAdapterCallback(cbReq));
 
         } catch (Exception e) {
             error = "Error sending BpelCallback request" + e.getMessage();
@@ -336,4 +390,14 @@ public class SDNCRestClient {
         }
         logger.info("{} : {}", MessageEnum.RA_CALLBACK_BPEL_COMPLETE.name(), CAMUNDA);
     }
+
+    /**
+     * The callback service is created once, reading the callback WSDL is expensive
+     */
+    private synchronized SDNCCallbackAdapterService getCallbackService() {
+        if (callbackService == null) {
+            callbackService = new SDNCCallbackAdapterService();
+        }
+        return callbackService;
+    }
 }
@@ -21,7 +21,7 @@
 package org.onap.so.adapters.sdnc.tasks;
 
 import javax.annotation.PostConstruct;
-import org.camunda.bpm.client.ExternalTaskClient;
+import org.onap.so.utils.ExternalTaskDispatcher;
 import org.onap.so.utils.ExternalTaskServiceUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
@@ -34,24 +34,21 @@ public class TaskServices {
     @Autowired
     private ExternalTaskServiceUtils externalTaskServiceUtils;
 
+    @Autowired
+    private ExternalTaskDispatcher externalTaskDispatcher;
+
     @Autowired
     private SDNCService service;
 
     @PostConstruct
     public void post() throws Exception {
-        for (int i = 0; i < externalTaskServiceUtils.getMaxClients(); i++) {
-            ExternalTaskClient client = externalTaskServiceUtils.createExternalTaskClient();
-            client.subscribe("sdncPost").lockDuration(externalTaskServiceUtils.getLockDurationLong())
-                    .handler(service::executePostTask).open();
-        }
+        externalTaskDispatcher.subscribe("sdncPost", externalTaskServiceUtils.getLockDurationLong(),
+                service::executePostTask);
     }
 
     @PostConstruct
     public void get() throws Exception {
-        for (int i = 0; i < externalTaskServiceUtils.getMaxClients(); i++) {
-            ExternalTaskClient client = externalTaskServiceUtils.createExternalTaskClient();
-            client.subscribe("sdncGet").lockDuration(externalTaskServiceUtils.getLockDurationLong())
-                    .handler(service::executeGetTask).open();
-        }
+        externalTaskDispatcher.subscribe("sdncGet", externalTaskServiceUtils.getLockDurationLong(),
+                service::executeGetTask);
     }
 }
@@ -0,0 +1,77 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.adapters.sdnc.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Test;
+
+public class RequestSequencerTest {
+
+    private final RequestSequencer sequencer = new RequestSequencer();
+
+    @Test
+    public void sameServiceInstanceInOrderTest() {
+        List<String> started = new ArrayList<>();
+        CompletableFuture<Void> create = new CompletableFuture<>();
+
+        sequencer.submit("si-1", () -> {
+            started.add("create");
+            return create;
+        });
+        CompletableFuture<Void> activated = sequencer.submit("si-1", () -> {
+            started.add("activate");
+            return CompletableFuture.completedFuture(null);
+        });
+
+        assertEquals(Arrays.asList("create"), started);
+        assertFalse(activated.isDone());
+
+        create.completeExceptionally(new RuntimeException("create failed"));
+
+        assertEquals(Arrays.asList("create", "activate"), started);
+        assertTrue(activated.isDone());
+        assertEquals(0, sequencer.size());
+    }
+
+    @Test
+    public void otherServiceInstanceNotBlockedTest() {
+        List<String> started = new ArrayList<>();
+
+        sequencer.submit("si-1", () -> new CompletableFuture<>());
+        sequencer.submit("si-2", () -> {
+            started.add("si-2");
+            return CompletableFuture.completedFuture(null);
+        });
+        sequencer.submit(null, () -> {
+            started.add("none");
+            return CompletableFuture.completedFuture(null);
+        });
+
+        assertEquals(Arrays.asList("si-2", "none"), started);
+        assertEquals(1, sequencer.size());
+    }
+}
@@ -25,6 +25,7 @@ package org.onap.so.adapters.sdnc.impl;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import org.apache.http.HttpStatus;
@@ -54,6 +55,43 @@ public class SDNCRestClientTest extends BaseTest {
         assertNotNull(response);
     }
 
+    @Test
+    public void getSdncRespTest() {
+
+        RequestTunables rt = new RequestTunables("", "", "", "");
+        rt.setTimeout("1000");
+        rt.setReqMethod("POST");
+        rt.setSdncUrl("http://localhost:" + wireMockPort + "/sdnc");
+
+        wireMockServer.stubFor(post(urlPathEqualTo("/sdnc")).willReturn(aResponse()
+                .withHeader("Content-Type", "application/xml").withBody("<output>\n</output>").withStatus(200)));
+
+        SDNCResponse response = sdncClient.getSdncResp("<input/>", rt);
+        assertEquals(200, response.getRespCode());
+        assertEquals("<output></output>", response.getSdncRespXml());
+    }
+
+    @Test
+    public void getSdncRespErrorTest() {
+
+        RequestTunables rt = new RequestTunables("", "", "", "");
+        rt.setTimeout("1000");
+        rt.setReqMethod("POST");
+        rt.setSdncUrl("http://localhost:" + wireMockPort + "/sdnc");
+
+        wireMockServer.stubFor(post(urlPathEqualTo("/sdnc")).willReturn(aResponse()
+                .withHeader("Content-Type", "application/xml")
+                .withBody("<errors><error><error-type>application</error-type><error-tag>data-missing</error-tag>"
+                        + "<error-message>service instance not found</error-message></error></errors>")
+                .withStatus(HttpStatus.SC_NOT_FOUND)));
+
+        SDNCResponse response = sdncClient.getSdncResp("<input/>", rt);
+        assertEquals(HttpStatus.SC_NOT_FOUND, response.getRespCode());
+        assertEquals("Not Found. SDNC Returned-[error-type:application, error-tag:data-missing, "
+                + "error-message:service instance not found]", response.getRespMsg());
+        assertEquals("", response.getSdncRespXml());
+    }
+
     @Test
     public void executeRequestInterrupted() {
         Thread.currentThread().interrupt();
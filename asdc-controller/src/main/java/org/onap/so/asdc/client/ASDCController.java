@@ -37,8 +37,14 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.onap.logging.filter.base.ErrorCode;
 import org.onap.logging.ref.slf4j.ONAPLogConstants;
 import org.onap.sdc.api.IDistributionClient;
@@ -128,6 +134,9 @@ public class ASDCController {
     @Autowired
     DeployActivitySpecs deployActivitySpecs;
 
+    @Autowired
+    private DistributionPipeline pipeline;
+
     public ASDCController() {
         this("");
     }
@@ -151,7 +160,7 @@ public class ASDCController {
         return asdcConfig;
     }
 
-    public int getNbOfNotificationsOngoing() {
+    public synchronized int getNbOfNotificationsOngoing() {
         return nbOfNotificationsOngoing;
     }
 
@@ -163,7 +172,7 @@ public class ASDCController {
         this.distributionClient = distributionClient;
     }
 
-    protected void changeControllerStatus(ASDCControllerStatus newControllerStatus) {
+    protected synchronized void changeControllerStatus(ASDCControllerStatus newControllerStatus) {
         switch (newControllerStatus) {
 
             case BUSY:
@@ -191,7 +200,7 @@ public class ASDCController {
         }
     }
 
-    public ASDCControllerStatus getControllerStatus() {
+    public synchronized ASDCControllerStatus getControllerStatus() {
         return this.controllerStatus;
     }
 
@@ -478,7 +487,10 @@ public class ASDCController {
                 resourceStructure.getResourceInstance().getResourceUUID(), "ASDC");
         try {
             resourceStructure.prepareInstall();
-            toscaInstaller.installTheResource(toscaResourceStructure, resourceStructure);
+            pipeline.install(() -> {
+                toscaInstaller.installTheResource(toscaResourceStructure, resourceStructure);
+                return null;
+            });
 
         } catch (ArtifactInstallerException e) {
             logger.info(LoggingAnchor.SIX, MessageEnum.ASDC_ARTIFACT_DOWNLOAD_FAIL.toString(),
@@ -750,6 +762,7 @@ public class ASDCController {
         DistributionStatusEnum deployStatus = DistributionStatusEnum.DEPLOY_OK;
         String errorMessage = null;
         boolean serviceDeployed = false;
+        DistributionPipeline.Downloads downloads = pipeline.newDownloads();
 
         try {
             this.processCsarServiceArtifacts(iNotif, toscaResourceStructure);
@@ -764,6 +777,9 @@ public class ASDCController {
                 return;
             }
 
+            Map<IResourceInstance, PreparedVfResource> vfResourcesPrepared = new IdentityHashMap<>();
+            boolean vfResourcesPreparing = false;
+
             for (IResourceInstance resource : iNotif.getResources()) {
 
                 String resourceType = resource.getResourceType();
@@ -771,7 +787,9 @@ public class ASDCController {
 
                 logger.info("Processing Resource Type: {}, Model UUID: {}", resourceType, resource.getResourceUUID());
 
-                resourceStructure = getResourceStructure(iNotif, resource, resourceType);
+                PreparedVfResource prepared = vfResourcesPrepared.get(resource);
+                resourceStructure =
+                        prepared != null ? prepared.structure : getResourceStructure(iNotif, resource, resourceType);
 
                 try {
 
@@ -782,31 +800,18 @@ public class ASDCController {
 
                         if ("VF".equals(resourceType)) {
                             hasVFResource = true;
-                            for (IArtifactInfo artifact : resource.getArtifacts()) {
-                                IDistributionClientDownloadResult resultArtifact =
-                                        this.downloadTheArtifact(artifact, iNotif.getDistributionID());
-                                if (resultArtifact == null) {
-                                    continue;
-                                }
-
-                                if (ASDCConfiguration.VF_MODULES_METADATA.equals(artifact.getArtifactType())) {
-                                    logger.debug("VF_MODULE_ARTIFACT: "
-                                            + new String(resultArtifact.getArtifactPayload(), StandardCharsets.UTF_8));
-                                    logger.debug(ASDCNotificationLogging
-                                            .dumpVfModuleMetaDataList(((VfResourceStructure) resourceStructure)
-                                                    .decodeVfModuleArtifact(resultArtifact.getArtifactPayload())));
-                                }
-                                if (!ASDCConfiguration.WORKFLOW.equals(artifact.getArtifactType())) {
-                                    resourceStructure.addArtifactToStructure(distributionClient, artifact,
-                                            resultArtifact);
-                                } else {
-                                    writeArtifactToFile(artifact, resultArtifact);
-                                    logger.debug(
-                                            "Adding workflow artifact to structure: " + artifact.getArtifactName());
-                                    resourceStructure.addWorkflowArtifactToStructure(artifact, resultArtifact);
-                                }
-
+                            if (!vfResourcesPreparing) {
+                                // the first VF resource to deploy, the following ones are downloaded and parsed
+                                // in the background while the resources before them are installed
+                                prepareVfResources(iNotif, resource, resourceStructure, downloads,
+                                        vfResourcesPrepared);
+                                vfResourcesPreparing = true;
+                            }
+                            if (prepared == null) {
+                                prepared = prepareVfResource(iNotif, resource, resourceStructure, downloads);
+                                vfResourcesPrepared.put(resource, prepared);
                             }
+                            await(prepared.parsed, downloads);
 
                             // Deploy VF resource and artifacts
                             logger.debug("Preparing to deploy Service: {}", iNotif.getServiceUUID());
@@ -815,6 +820,8 @@ public class ASDCController {
                             this.deployResourceStructure(resourceStructure, toscaResourceStructure);
                             serviceDeployed = true;
                         }
+                    } else if (prepared != null) {
+                        prepared.cancel();
                     }
 
                 } catch (ArtifactInstallerException e) {
@@ -845,6 +852,147 @@ public class ASDCController {
             logger.error(LoggingAnchor.SIX, MessageEnum.ASDC_GENERAL_EXCEPTION_ARG.toString(),
                     "Exception caught during Installation of artifact", "ASDC", "processResourceNotification",
                     ErrorCode.BusinessProcessError.getValue(), "Exception in processResourceNotification", e);
+        } finally {
+            downloads.cancel();
+        }
+    }
+
+    /**
+     * Starts downloading and parsing the artifacts of the given VF resource and of the VF resources following it in
+     * the notification. The following resources are checked the way they will be once the given one is deployed, the
+     * ones already deployed are left out.
+     */
+    private void prepareVfResources(INotificationData iNotif, IResourceInstance first,
+            ResourceStructure firstStructure, DistributionPipeline.Downloads downloads,
+            Map<IResourceInstance, PreparedVfResource> vfResourcesPrepared) {
+        boolean following = false;
+        for (IResourceInstance resource : iNotif.getResources()) {
+            following = following || resource == first;
+            if (!following || !"VF".equals(resource.getResourceType())) {
+                continue;
+            }
+            ResourceStructure resourceStructure = firstStructure;
+            if (resource != first) {
+                resourceStructure = getResourceStructure(iNotif, resource, "VF");
+                if (isResourceDeployed(resourceStructure)) {
+                    continue;
+                }
+            }
+            vfResourcesPrepared.put(resource, prepareVfResource(iNotif, resource, resourceStructure, downloads));
+        }
+    }
+
+    private boolean isResourceDeployed(ResourceStructure resourceStructure) {
+        try {
+            return toscaInstaller.isResourceDeployed(resourceStructure, true);
+        } catch (RuntimeException e) {
+            logger.debug("Unable to check whether resource {} is deployed, downloading it ahead",
+                    resourceStructure.getResourceInstance().getResourceUUID(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Downloads the artifacts of a VF resource in parallel and adds them to its structure in notification order once
+     * they are all downloaded
+     */
+    private PreparedVfResource prepareVfResource(INotificationData iNotif, IResourceInstance resource,
+            ResourceStructure resourceStructure, DistributionPipeline.Downloads downloads) {
+        List<IArtifactInfo> artifacts = resource.getArtifacts();
+        List<CompletableFuture<IDistributionClientDownloadResult>> artifactDownloads = new ArrayList<>();
+        for (IArtifactInfo artifact : artifacts) {
+            artifactDownloads
+                    .add(downloads.download(() -> this.downloadTheArtifact(artifact, iNotif.getDistributionID())));
+        }
+        CompletableFuture<Void> parsed = CompletableFuture
+                .allOf(artifactDownloads.toArray(new CompletableFuture[0]))
+                .thenCompose(downloaded -> pipeline.parse(() -> {
+                    for (int i = 0; i < artifacts.size(); i++) {
+                        addArtifactToStructure(resourceStructure, artifacts.get(i), artifactDownloads.get(i).join());
+                    }
+                    return null;
+                }));
+        return new PreparedVfResource(resourceStructure, artifactDownloads, parsed);
+    }
+
+    /**
+     * A VF resource whose artifacts are being downloaded and parsed ahead of its deployment
+     */
+    private static class PreparedVfResource {
+
+        private final ResourceStructure structure;
+        private final List<CompletableFuture<IDistributionClientDownloadResult>> downloads;
+        private final CompletableFuture<Void> parsed;
+
+        private PreparedVfResource(ResourceStructure structure,
+                List<CompletableFuture<IDistributionClientDownloadResult>> downloads, CompletableFuture<Void> parsed) {
+            this.structure = structure;
+            this.downloads = downloads;
+            this.parsed = parsed;
+        }
+
+        private void cancel() {
+            downloads.forEach(download -> download.cancel(false));
+            parsed.cancel(false);
+        }
+    }
+
+    private void addArtifactToStructure(ResourceStructure resourceStructure, IArtifactInfo artifact,
+            IDistributionClientDownloadResult resultArtifact) throws UnsupportedEncodingException {
+        if (resultArtifact == null) {
+            return;
+        }
+
+        if (ASDCConfiguration.VF_MODULES_METADATA.equals(artifact.getArtifactType())) {
+            logger.debug(
+                    "VF_MODULE_ARTIFACT: " + new String(resultArtifact.getArtifactPayload(), StandardCharsets.UTF_8));
+            logger.debug(ASDCNotificationLogging.dumpVfModuleMetaDataList(((VfResourceStructure) resourceStructure)
+                    .decodeVfModuleArtifact(resultArtifact.getArtifactPayload())));
+        }
+        if (!ASDCConfiguration.WORKFLOW.equals(artifact.getArtifactType())) {
+            resourceStructure.addArtifactToStructure(distributionClient, artifact, resultArtifact);
+        } else {
+            writeArtifactToFile(artifact, resultArtifact);
+            logger.debug("Adding workflow artifact to structure: " + artifact.getArtifactName());
+            resourceStructure.addWorkflowArtifactToStructure(artifact, resultArtifact);
+        }
+    }
+
+    /**
+     * Waits for downloads and parsing started ahead, rethrowing the exception they failed with. When they were
+     * cancelled because another download of the distribution failed, that failure is rethrown.
+     */
+    private <T> T await(CompletableFuture<T> future, DistributionPipeline.Downloads downloads)
+            throws ASDCDownloadException, UnsupportedEncodingException {
+        try {
+            return await(future);
+        } catch (CancellationException e) {
+            Throwable failure = downloads.getFailure();
+            if (failure instanceof CompletionException) {
+                return await(CompletableFuture.failedFuture(failure));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for a download or parsing started on the pipeline, rethrowing the exception it failed with
+     */
+    private <T> T await(CompletableFuture<T> future) throws ASDCDownloadException, UnsupportedEncodingException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ASDCDownloadException) {
+                throw (ASDCDownloadException) cause;
+            }
+            if (cause instanceof UnsupportedEncodingException) {
+                throw (UnsupportedEncodingException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
         }
     }
 
@@ -881,6 +1029,17 @@ public class ASDCController {
 
         List<IArtifactInfo> serviceArtifacts = iNotif.getServiceArtifacts();
 
+        // download all service artifacts in parallel, then handle them in notification order
+        Map<IArtifactInfo, CompletableFuture<IDistributionClientDownloadResult>> downloads = new IdentityHashMap<>();
+        for (IArtifactInfo artifact : serviceArtifacts) {
+            if (artifact.getArtifactType().equals(ASDCConfiguration.TOSCA_CSAR)
+                    || artifact.getArtifactType().equals(ASDCConfiguration.WORKFLOW)
+                    || artifact.getArtifactType().equals(ASDCConfiguration.OTHER)) {
+                downloads.put(artifact,
+                        pipeline.download(() -> this.downloadTheArtifact(artifact, iNotif.getDistributionID())));
+            }
+        }
+
         for (IArtifactInfo artifact : serviceArtifacts) {
 
             if (artifact.getArtifactType().equals(ASDCConfiguration.TOSCA_CSAR)) {
@@ -889,12 +1048,14 @@ public class ASDCController {
 
                     toscaResourceStructure.setToscaArtifact(artifact);
 
-                    IDistributionClientDownloadResult resultArtifact =
-                            this.downloadTheArtifact(artifact, iNotif.getDistributionID());
+                    IDistributionClientDownloadResult resultArtifact = await(downloads.get(artifact));
 
                     writeArtifactToFile(artifact, resultArtifact);
 
-                    toscaResourceStructure.updateResourceStructure(artifact);
+                    pipeline.parseNow(() -> {
+                        toscaResourceStructure.updateResourceStructure(artifact);
+                        return null;
+                    });
 
                     toscaResourceStructure.setServiceVersion(iNotif.getServiceVersion());
 
@@ -911,8 +1072,7 @@ public class ASDCController {
 
                 try {
 
-                    IDistributionClientDownloadResult resultArtifact =
-                            this.downloadTheArtifact(artifact, iNotif.getDistributionID());
+                    IDistributionClientDownloadResult resultArtifact = await(downloads.get(artifact));
 
                     writeArtifactToFile(artifact, resultArtifact);
 
@@ -930,8 +1090,7 @@ public class ASDCController {
                 }
             } else if (artifact.getArtifactType().equals(ASDCConfiguration.OTHER)) {
                 try {
-                    IDistributionClientDownloadResult resultArtifact =
-                            this.downloadTheArtifact(artifact, iNotif.getDistributionID());
+                    IDistributionClientDownloadResult resultArtifact = await(downloads.get(artifact));
 
                     writeArtifactToFile(artifact, resultArtifact);
 
@@ -939,7 +1098,7 @@ public class ASDCController {
 
                     toscaResourceStructure.setServiceVersion(iNotif.getServiceVersion());
 
-                } catch (ASDCDownloadException e) {
+                } catch (ASDCDownloadException | UnsupportedEncodingException e) {
                     logger.error(LoggingAnchor.SIX, MessageEnum.ASDC_GENERAL_EXCEPTION_ARG.toString(),
                             "Exception caught during processCsarServiceArtifacts", "ASDC",
                             "processCsarServiceArtifacts", ErrorCode.BusinessProcessError.getValue(),
@@ -995,11 +1154,18 @@ public class ASDCController {
 
                     ResourceStructure resourceStructure = new VfResourceStructure(iNotif, new ResourceInstance());
                     resourceStructure.setResourceType(ResourceType.OTHER);
-                    toscaInstaller.installNsstService(toscaResourceStructure, (VfResourceStructure) resourceStructure,
-                            artifactContent);
+                    String workflowContent = artifactContent;
+                    pipeline.install(() -> {
+                        toscaInstaller.installNsstService(toscaResourceStructure,
+                                (VfResourceStructure) resourceStructure, workflowContent);
+                        return null;
+                    });
                 } else {
                     logger.debug("serviceArtifact is null");
-                    toscaInstaller.installNsstService(toscaResourceStructure, null, null);
+                    pipeline.install(() -> {
+                        toscaInstaller.installNsstService(toscaResourceStructure, null, null);
+                        return null;
+                    });
                 }
 
             }
@@ -40,15 +40,19 @@ public final class ASDCNotificationCallBack implements INotificationCallback {
     @Autowired
     private ASDCController asdcController;
 
+    @Autowired
+    private DistributionPipeline pipeline;
+
     protected static final Logger logger = LoggerFactory.getLogger(ASDCNotificationCallBack.class);
 
     /**
-     * This method can be called multiple times at the same moment. The controller must be thread safe !
+     * This method can be called multiple times at the same moment. The controller must be thread safe ! The
+     * notification is processed on the distribution pipeline, concurrently with the distributions of other services.
      */
     @Override
     public void activateCallback(INotificationData iNotif) {
         String event = "Receive a callback notification in ASDC, nb of resources: " + iNotif.getResources().size();
         logger.debug(event);
-        asdcController.treatNotification(iNotif);
+        pipeline.dispatch(iNotif.getServiceInvariantUUID(), () -> asdcController.treatNotification(iNotif));
     }
 }
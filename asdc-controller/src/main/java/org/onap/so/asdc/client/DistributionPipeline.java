@@ -0,0 +1,295 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.asdc.client;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.onap.logging.filter.base.ErrorCode;
+import org.onap.so.logger.LoggingAnchor;
+import org.onap.so.logger.MessageEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Executors for the stages of a distribution: artifacts are downloaded on a bounded pool, the downloaded CSAR and heat
+ * artifacts are parsed on a second pool, and the catalog DB installs run one at a time. Distributions of different
+ * services are processed concurrently, distributions of the same service one after the other.
+ *
+ * The time spent in each stage is recorded in the so.asdc.distribution.stage timer, tagged with the stage. When the
+ * pipeline has not been started, every stage runs on the calling thread.
+ */
+@Component
+public class DistributionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistributionPipeline.class);
+
+    protected static final String DOWNLOAD = "download";
+    protected static final String PARSE = "parse";
+    protected static final String INSTALL = "install";
+
+    @FunctionalInterface
+    public interface Stage<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    @Value("${mso.asdc.pipeline.download-threads:4}")
+    private int downloadThreads = 4;
+
+    @Value("${mso.asdc.pipeline.parse-threads:0}")
+    private int parseThreads;
+
+    @Value("${mso.asdc.pipeline.concurrent-distributions:4}")
+    private int concurrentDistributions = 4;
+
+    private final ReentrantLock installLock = new ReentrantLock(true);
+    private final Map<String, CompletableFuture<Void>> distributions = new ConcurrentHashMap<>();
+
+    private ExecutorService downloadExecutor;
+    private ExecutorService parseExecutor;
+    private ExecutorService distributionExecutor;
+
+    @PostConstruct
+    protected void start() {
+        downloadExecutor = newExecutor("asdc-download", downloadThreads);
+        parseExecutor = newExecutor("asdc-parse",
+                parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors());
+        distributionExecutor = newExecutor("asdc-distribution", concurrentDistributions);
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        for (ExecutorService executor : new ExecutorService[] {distributionExecutor, parseExecutor,
+                downloadExecutor}) {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Downloads an artifact on the download pool
+     *
+     * @return completed with the result of the download, or exceptionally with a {@link CompletionException} holding
+     *         the exception thrown by the download
+     */
+    public <T> CompletableFuture<T> download(Stage<T, ? extends Exception> download) {
+        return submit(DOWNLOAD, download, downloadExecutor);
+    }
+
+    /**
+     * @return a group for the downloads of one distribution, the first of them failing cancels the others
+     */
+    public Downloads newDownloads() {
+        return new Downloads();
+    }
+
+    /**
+     * Parses downloaded artifacts on the parse pool
+     *
+     * @return completed with the result of the parsing, or exceptionally with a {@link CompletionException} holding
+     *         the exception thrown by the parsing
+     */
+    public <T> CompletableFuture<T> parse(Stage<T, ? extends Exception> parse) {
+        return submit(PARSE, parse, parseExecutor);
+    }
+
+    /**
+     * Records the time of a parsing done on the calling thread
+     */
+    public <T, E extends Exception> T parseNow(Stage<T, E> parse) throws E {
+        return record(PARSE, parse);
+    }
+
+    /**
+     * Runs a catalog DB install on the calling thread, once no other install is running
+     */
+    public <T, E extends Exception> T install(Stage<T, E> install) throws E {
+        installLock.lock();
+        try {
+            return record(INSTALL, install);
+        } finally {
+            installLock.unlock();
+        }
+    }
+
+    /**
+     * Processes the distribution once every distribution dispatched before with the same key has been processed. Keys
+     * are service invariant UUIDs, distributions without a key are processed right away.
+     *
+     * @return completed when the distribution has been processed
+     */
+    public CompletableFuture<Void> dispatch(String key, Runnable distribution) {
+        if (distributionExecutor == null) {
+            distribution.run();
+            return CompletableFuture.completedFuture(null);
+        }
+        if (key == null || key.isEmpty()) {
+            return process(distribution);
+        }
+        CompletableFuture<Void> next = distributions.compute(key,
+                (k, tail) -> tail == null ? process(distribution) : tail.thenCompose(v -> process(distribution)));
+        next.whenComplete((v, e) -> distributions.remove(key, next));
+        return next;
+    }
+
+    /**
+     * @return the number of services with queued or running distributions
+     */
+    public int size() {
+        return distributions.size();
+    }
+
+    /**
+     * The downloads started ahead for one distribution. Once one of them fails, the downloads that have not started
+     * yet are cancelled and no new download is started, so a broken distribution does not keep fetching artifacts it
+     * will never install.
+     */
+    public class Downloads {
+
+        private final Queue<CompletableFuture<?>> started = new ConcurrentLinkedQueue<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        /**
+         * Downloads an artifact on the download pool, unless a download of the group has already failed
+         *
+         * @return completed like {@link DistributionPipeline#download}, or exceptionally with the first failure of the
+         *         group
+         */
+        public <T> CompletableFuture<T> download(Stage<T, ? extends Exception> download) {
+            if (failure.get() != null) {
+                return CompletableFuture.failedFuture(failure.get());
+            }
+            CompletableFuture<T> future = DistributionPipeline.this.download(download);
+            started.add(future);
+            future.whenComplete((result, e) -> {
+                if (e != null && !(e instanceof CancellationException) && failure.compareAndSet(null, e)) {
+                    cancel();
+                }
+            });
+            if (failure.get() != null) {
+                future.cancel(false);
+            }
+            return future;
+        }
+
+        /**
+         * @return the exception the first failed download completed with, null when none failed
+         */
+        public Throwable getFailure() {
+            return failure.get();
+        }
+
+        /**
+         * Cancels the downloads of the group that have not completed, the ones already running finish in the
+         * background
+         */
+        public void cancel() {
+            started.forEach(future -> future.cancel(false));
+        }
+    }
+
+    private CompletableFuture<Void> process(Runnable distribution) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return CompletableFuture.runAsync(() -> {
+            Map<String, String> previousContext = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                distribution.run();
+            } catch (RuntimeException e) {
+                logger.error(LoggingAnchor.FIVE, MessageEnum.ASDC_GENERAL_EXCEPTION_ARG.toString(),
+                        "Exception caught during the notification processing", "ASDC", "dispatch",
+                        ErrorCode.BusinessProcessError.getValue(), e);
+            } finally {
+                setContext(previousContext);
+            }
+        }, distributionExecutor);
+    }
+
+    private <T> CompletableFuture<T> submit(String stage, Stage<T, ? extends Exception> task,
+            ExecutorService executor) {
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(record(stage, task));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(new CompletionException(e));
+            }
+        }
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return CompletableFuture.supplyAsync(() -> {
+            Map<String, String> previousContext = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                return record(stage, task);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                setContext(previousContext);
+            }
+        }, executor);
+    }
+
+    private <T, E extends Exception> T record(String stage, Stage<T, E> task) throws E {
+        long start = System.nanoTime();
+        try {
+            return task.run();
+        } finally {
+            Timer.builder("so.asdc.distribution.stage").tag("stage", stage).register(Metrics.globalRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+
+    private static ExecutorService newExecutor(String name, int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -348,6 +348,22 @@ public class ToscaResourceInstaller {
         }
     }
 
+    /**
+     * Tells whether {@link #isResourceAlreadyDeployed} would find the resource deployed, without recording a component
+     * status for it
+     */
+    public boolean isResourceDeployed(ResourceStructure vfResourceStructure, boolean serviceDeployed) {
+        boolean status = false;
+        try {
+            status = vfResourceStructure.isDeployedSuccessfully();
+        } catch (RuntimeException e) {
+            logger.debug("Exception :", e);
+        }
+        Service existingService =
+                serviceRepo.findOneByModelUUID(vfResourceStructure.getNotification().getServiceUUID());
+        return status || existingService != null && !serviceDeployed;
+    }
+
     public void installTheComponentStatus(IStatusData iStatus) throws ArtifactInstallerException {
         logger.debug("Entering installTheComponentStatus for distributionId {} and ComponentName {}",
                 iStatus.getDistributionID(), iStatus.getComponentName());
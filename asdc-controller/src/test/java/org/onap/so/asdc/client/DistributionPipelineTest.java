@@ -0,0 +1,157 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.asdc.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onap.so.asdc.client.exceptions.ASDCDownloadException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class DistributionPipelineTest {
+
+    private DistributionPipeline pipeline;
+
+    @Before
+    public void before() {
+        pipeline = new DistributionPipeline();
+        pipeline.start();
+    }
+
+    @After
+    public void after() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void downloadFailureTest() {
+        ASDCDownloadException exception = new ASDCDownloadException("download failed");
+        CompletableFuture<Object> download = pipeline.download(() -> {
+            throw exception;
+        });
+
+        try {
+            download.join();
+        } catch (CompletionException e) {
+            assertSame(exception, e.getCause());
+            return;
+        }
+        throw new AssertionError("download did not fail");
+    }
+
+    @Test
+    public void downloadFailureCancelsGroupTest() throws Exception {
+        pipeline.shutdown();
+        pipeline = new DistributionPipeline();
+        ReflectionTestUtils.setField(pipeline, "downloadThreads", 1);
+        pipeline.start();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger downloaded = new AtomicInteger();
+        ASDCDownloadException exception = new ASDCDownloadException("download failed");
+
+        DistributionPipeline.Downloads downloads = pipeline.newDownloads();
+        CompletableFuture<Object> first = downloads.download(() -> {
+            await(release);
+            return downloaded.incrementAndGet();
+        });
+        CompletableFuture<Object> failed = downloads.download(() -> {
+            throw exception;
+        });
+        CompletableFuture<Object> queued = downloads.download(downloaded::incrementAndGet);
+        release.countDown();
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS));
+        assertTrue(failed.handle((result, e) -> e).get(5, TimeUnit.SECONDS) instanceof CompletionException);
+        assertTrue(queued.handle((result, e) -> e).get(5, TimeUnit.SECONDS) instanceof CancellationException);
+        assertSame(exception, downloads.getFailure().getCause());
+        assertTrue(downloads.download(downloaded::incrementAndGet).isCompletedExceptionally());
+        assertEquals(1, downloaded.get());
+    }
+
+    @Test
+    public void notStartedTest() {
+        DistributionPipeline notStarted = new DistributionPipeline();
+        Thread caller = Thread.currentThread();
+
+        assertSame(caller, notStarted.parse(Thread::currentThread).join());
+        AtomicInteger processed = new AtomicInteger();
+        assertTrue(notStarted.dispatch("service", processed::incrementAndGet).isDone());
+        assertEquals(1, processed.get());
+    }
+
+    @Test
+    public void sameServiceSequencedTest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> processed = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Void> first = pipeline.dispatch("service", () -> {
+            await(release);
+            processed.add("first");
+        });
+        CompletableFuture<Void> second = pipeline.dispatch("service", () -> processed.add("second"));
+        CompletableFuture<Void> other = pipeline.dispatch("other", () -> processed.add("other"));
+
+        other.get(5, TimeUnit.SECONDS);
+        assertFalse(second.isDone());
+        release.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("other", "first", "second"), processed);
+    }
+
+    @Test
+    public void installSerializedTest() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CompletableFuture<?>[] installs = new CompletableFuture[8];
+        for (int i = 0; i < installs.length; i++) {
+            installs[i] = pipeline.parse(() -> pipeline.install(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                running.decrementAndGet();
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(installs).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, maxRunning.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
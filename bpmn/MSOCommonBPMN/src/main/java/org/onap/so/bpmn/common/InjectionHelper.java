@@ -21,6 +21,7 @@
 package org.onap.so.bpmn.common;
 
 import org.onap.aaiclient.client.aai.AAICommonObjectMapperProvider;
+import org.onap.aaiclient.client.aai.AAIDSLQueryClient;
 import org.onap.aaiclient.client.aai.AAIQueryClient;
 import org.onap.aaiclient.client.aai.AAIResourcesClient;
 import org.onap.aaiclient.client.aai.entities.AAIResultWrapper;
@@ -49,6 +50,10 @@ public class InjectionHelper {
         return new AAIQueryClient();
     }
 
+    public AAIDSLQueryClient getAaiDSLQueryClient() {
+        return new AAIDSLQueryClient();
+    }
+
     public AAICommonObjectMapperProvider getAaiCommonObjectMapperProvider() {
         return new AAICommonObjectMapperProvider();
     }
@@ -89,6 +89,15 @@ public class FlowManipulatorListenerRunner extends ListenerRunner {
         } while (isBuildingBlockSkipped(sequenceBeforeFlowManipulator, execution));
     }
 
+    /**
+     * @return true when post flow manipulators run after the building block
+     */
+    public boolean hasPostFlowManipulators(ExecuteBuildingBlock buildingBlock, BuildingBlockExecution execution) {
+        return !filterListeners(postflowManipulators,
+                (item -> item.shouldRunFor(buildingBlock.getBuildingBlock().getBpmnFlowName(), false, execution)))
+                        .isEmpty();
+    }
+
     private boolean isBuildingBlockSkipped(int sequenceBeforeFlowManipulator, BuildingBlockExecution execution) {
         return sequenceBeforeFlowManipulator != (int) execution.getVariable(BBConstants.G_CURRENT_SEQUENCE);
     }
@@ -23,6 +23,9 @@ package org.onap.so.bpmn.common.workflow.context;
 
 
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.DelayQueue;
 import java.util.concurrent.TimeUnit;
 import org.onap.so.logger.LoggingAnchor;
@@ -53,6 +56,10 @@ public class WorkflowContextHolder {
      * Delay Queue which holds workflow context holder objects
      */
     private final DelayQueue<WorkflowContext> responseQueue = new DelayQueue<>();
+    /**
+     * Requests waiting for their workflow context to be put in the queue
+     */
+    private final Map<String, CompletableFuture<WorkflowContext>> awaiting = new ConcurrentHashMap<>();
     private final TimeoutThread timeoutThread = new TimeoutThread();
 
     private WorkflowContextHolder() {
@@ -75,6 +82,38 @@ public class WorkflowContextHolder {
     public void put(WorkflowContext context) {
         logger.debug("{} Adding context to the queue: {}", logMarker, context.getRequestId());
         responseQueue.put(context);
+        CompletableFuture<WorkflowContext> waiting = awaiting.remove(context.getRequestId());
+        if (waiting != null) {
+            waiting.complete(context);
+        }
+    }
+
+    /**
+     * Returns a future completed with the workflow context of the request as soon as it is put in the queue
+     * 
+     * @param requestId
+     * @return
+     */
+    public CompletableFuture<WorkflowContext> awaitWorkflowContext(String requestId) {
+        CompletableFuture<WorkflowContext> waiting =
+                awaiting.computeIfAbsent(requestId, id -> new CompletableFuture<>());
+        WorkflowContext context = getWorkflowContext(requestId);
+        if (context != null) {
+            awaiting.remove(requestId, waiting);
+            waiting.complete(context);
+        }
+        return waiting;
+    }
+
+    /**
+     * Stops waiting for the workflow context of the request, e.g. after a timeout
+     * 
+     * @param requestId
+     * @param waiting the future returned by {@link #awaitWorkflowContext(String)}
+     */
+    public void cancelAwait(String requestId, CompletableFuture<WorkflowContext> waiting) {
+        awaiting.remove(requestId, waiting);
+        waiting.cancel(false);
     }
 
     public void remove(WorkflowContext context) {
@@ -29,6 +29,7 @@ public class ExecuteBuildingBlock extends BuildingBlockBase<ExecuteBuildingBlock
     private ConfigurationResourceKeys configurationResourceKeys;
     private Boolean homing = false;
     private String oldVolumeGroupName;
+    private String executionBranch;
     private static final long serialVersionUID = 3L;
 
     public BuildingBlock getBuildingBlock() {
@@ -66,4 +67,13 @@ public class ExecuteBuildingBlock extends BuildingBlockBase<ExecuteBuildingBlock
         this.oldVolumeGroupName = oldVolumeGroupName;
         return this;
     }
+
+    public String getExecutionBranch() {
+        return executionBranch;
+    }
+
+    public ExecuteBuildingBlock setExecutionBranch(String executionBranch) {
+        this.executionBranch = executionBranch;
+        return this;
+    }
 }
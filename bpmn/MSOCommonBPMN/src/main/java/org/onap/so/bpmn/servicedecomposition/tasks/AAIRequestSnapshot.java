@@ -0,0 +1,156 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.servicedecomposition.tasks;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.onap.so.bpmn.servicedecomposition.entities.ExecuteBuildingBlock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Keeps the A&AI objects read by {@link BBInputSetupUtils} while a building block is set up, so the setup does not
+ * reload the same customer, service instance, vnfs and vf modules.
+ *
+ * A building block that creates, deletes, relates or updates A&AI objects may change any object cached for the
+ * request, the parent service instance and generic vnf included, so the snapshot is cleared before the next building
+ * block reads. Only after the read only building blocks in READ_ONLY_BUILDING_BLOCKS is the snapshot reused by the
+ * building block that directly follows on this node (same or next gCurrentSequence). Anything else, e.g. the previous
+ * building block running on another node or a rollback, starts a fresh snapshot as well.
+ */
+@Component
+public class AAIRequestSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(AAIRequestSnapshot.class);
+
+    protected static final Set<String> READ_ONLY_BUILDING_BLOCKS = new HashSet<>(Arrays.asList("AAICheckVnfInMaintBB",
+            "GenericVnfHealthCheckBB", "SDNOVnfHealthCheckBB", "HealthCheckBB"));
+
+    @Value("${mso.bpmn.aai.snapshot.enabled:true}")
+    private boolean enabled = true;
+
+    private final Cache<String, Snapshot> snapshots =
+            CacheBuilder.newBuilder().maximumSize(500).expireAfterAccess(30, TimeUnit.MINUTES).build();
+
+    private final ThreadLocal<Snapshot> current = new ThreadLocal<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Makes the snapshot of the building block's request the one used by reads on this thread until {@link #close()}
+     *
+     * @param executeBB the building block about to be set up
+     * @param sequence the gCurrentSequence of the building block, snapshots are not used when it is unknown
+     */
+    public void open(ExecuteBuildingBlock executeBB, Object sequence) {
+        current.remove();
+        if (!enabled || executeBB == null || executeBB.getRequestId() == null || !(sequence instanceof Integer)) {
+            return;
+        }
+        int currentSequence = (Integer) sequence;
+        Snapshot snapshot = snapshots.asMap().computeIfAbsent(executeBB.getRequestId(), id -> new Snapshot());
+        synchronized (snapshot) {
+            if (snapshot.sequence != null && snapshot.sequence != currentSequence
+                    && snapshot.sequence + 1 != currentSequence) {
+                logger.debug("Discarding A&AI snapshot of request {}, building blocks ran elsewhere",
+                        executeBB.getRequestId());
+                snapshot.objects.clear();
+            } else if (!snapshot.readOnly) {
+                snapshot.objects.clear();
+            }
+            snapshot.sequence = currentSequence;
+            snapshot.readOnly = isReadOnly(executeBB);
+        }
+        current.set(snapshot);
+    }
+
+    public void close() {
+        current.remove();
+    }
+
+    public void discard(String requestId) {
+        snapshots.invalidate(requestId);
+    }
+
+    /**
+     * Returns the object cached under the uri in the current snapshot, or loads and caches it. Without an open snapshot
+     * the loader is always called. Missing objects are not cached.
+     */
+    public <T> T read(String uri, Supplier<T> loader) {
+        return read(uri, loader, loaded -> true);
+    }
+
+    /**
+     * Same as {@link #read(String, Supplier)}, but only caches loaded objects accepted by cacheable
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(String uri, Supplier<T> loader, Predicate<T> cacheable) {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            return loader.get();
+        }
+        Object cached = snapshot.objects.get(uri);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return (T) cached;
+        }
+        misses.incrementAndGet();
+        T loaded = loader.get();
+        if (loaded != null && cacheable.test(loaded)) {
+            snapshot.objects.put(uri, loaded);
+        }
+        return loaded;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return true when the building block does not write to A&AI
+     */
+    protected boolean isReadOnly(ExecuteBuildingBlock executeBB) {
+        return executeBB.getBuildingBlock() != null
+                && READ_ONLY_BUILDING_BLOCKS.contains(executeBB.getBuildingBlock().getBpmnFlowName());
+    }
+
+    protected static class Snapshot {
+        private final Map<String, Object> objects = new ConcurrentHashMap<>();
+        private boolean readOnly;
+        private Integer sequence;
+    }
+}
@@ -45,6 +45,7 @@ import org.onap.aaiclient.client.aai.entities.uri.AAIResourceUri;
 import org.onap.aaiclient.client.aai.entities.uri.AAIUriFactory;
 import org.onap.aaiclient.client.generated.fluentbuilders.AAIFluentTypeBuilder;
 import org.onap.aaiclient.client.generated.fluentbuilders.AAIFluentTypeBuilder.Types;
+import org.onap.so.bpmn.common.BBConstants;
 import org.onap.so.bpmn.common.BuildingBlockExecution;
 import org.onap.so.bpmn.common.DelegateExecutionImpl;
 import org.onap.so.bpmn.servicedecomposition.bbobjects.CloudRegion;
@@ -145,6 +146,9 @@ public class BBInputSetup implements JavaDelegate {
     @Autowired
     private ExceptionBuilder exceptionUtil;
 
+    @Autowired
+    private AAIRequestSnapshot aaiRequestSnapshot;
+
     private ObjectMapper mapper = new ObjectMapper();
 
     public BBInputSetupUtils getBbInputSetupUtils() {
@@ -183,6 +187,7 @@ public class BBInputSetup implements JavaDelegate {
         try {
             GeneralBuildingBlock outputBB = null;
             ExecuteBuildingBlock executeBB = this.getExecuteBBFromExecution(execution);
+            aaiRequestSnapshot.open(executeBB, execution.getVariable(BBConstants.G_CURRENT_SEQUENCE));
             String resourceId = executeBB.getResourceId();
             String requestAction = executeBB.getRequestAction();
             String vnfType = executeBB.getVnfType();
@@ -220,6 +225,8 @@ public class BBInputSetup implements JavaDelegate {
         } catch (Exception e) {
             logger.error("Exception occurred", e);
             exceptionUtil.buildAndThrowWorkflowException(execution, 7000, e.getMessage());
+        } finally {
+            aaiRequestSnapshot.close();
         }
     }
 
@@ -52,6 +52,14 @@ import org.onap.aaiclient.client.aai.entities.uri.AAIResourceUri;
 import org.onap.aaiclient.client.aai.entities.uri.AAIUriFactory;
 import org.onap.aaiclient.client.generated.fluentbuilders.AAIFluentTypeBuilder;
 import org.onap.aaiclient.client.generated.fluentbuilders.AAIFluentTypeBuilder.Types;
+import org.onap.aaiclient.client.graphinventory.entities.DSLQuery;
+import org.onap.aaiclient.client.graphinventory.entities.DSLQueryBuilder;
+import org.onap.aaiclient.client.graphinventory.entities.DSLStartNode;
+import org.onap.aaiclient.client.graphinventory.entities.Node;
+import org.onap.aaiclient.client.graphinventory.entities.ResourceAndUrl;
+import org.onap.aaiclient.client.graphinventory.entities.Start;
+import org.onap.aaiclient.client.graphinventory.entities.TraversalBuilder;
+import org.onap.aaiclient.client.graphinventory.entities.__;
 import org.onap.aaiclient.client.graphinventory.entities.uri.Depth;
 import org.onap.so.bpmn.common.InjectionHelper;
 import org.onap.so.bpmn.servicedecomposition.bbobjects.Customer;
@@ -77,6 +85,7 @@ import org.onap.so.serviceinstancebeans.RequestDetails;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -102,6 +111,12 @@ public class BBInputSetupUtils {
     @Autowired
     protected InjectionHelper injectionHelper;
 
+    @Autowired
+    protected AAIRequestSnapshot aaiRequestSnapshot;
+
+    @Value("${mso.workflow.aai.subgraph-query.enabled:true}")
+    protected boolean subgraphQueryEnabled = true;
+
     public RelatedInstance getRelatedInstanceByType(RequestDetails requestDetails, ModelType modelType) {
         if (requestDetails.getRelatedInstanceList() != null) {
             for (RelatedInstanceList relatedInstanceList : requestDetails.getRelatedInstanceList()) {
@@ -285,17 +300,17 @@ public class BBInputSetupUtils {
     }
 
     public InstanceGroup getAAIInstanceGroup(String instanceGroupId) {
-        return injectionHelper.getAaiClient()
-                .get(InstanceGroup.class,
-                        AAIUriFactory.createResourceUri(AAIFluentTypeBuilder.network().instanceGroup(instanceGroupId)))
-                .orElse(null);
+        AAIResourceUri uri =
+                AAIUriFactory.createResourceUri(AAIFluentTypeBuilder.network().instanceGroup(instanceGroupId));
+        return aaiRequestSnapshot.read(uri.build().toString(),
+                () -> injectionHelper.getAaiClient().get(InstanceGroup.class, uri).orElse(null));
     }
 
     public org.onap.aai.domain.yang.Customer getAAICustomer(String globalSubscriberId) {
-        return injectionHelper.getAaiClient()
-                .get(org.onap.aai.domain.yang.Customer.class,
-                        AAIUriFactory.createResourceUri(AAIFluentTypeBuilder.business().customer(globalSubscriberId)))
-                .orElse(null);
+        AAIResourceUri uri =
+                AAIUriFactory.createResourceUri(AAIFluentTypeBuilder.business().customer(globalSubscriberId));
+        return aaiRequestSnapshot.read(uri.build().toString(), () -> injectionHelper.getAaiClient()
+                .get(org.onap.aai.domain.yang.Customer.class, uri).orElse(null));
     }
 
     public ServiceSubscription getAAIServiceSubscription(String globalSubscriberId, String subscriptionServiceType) {
@@ -304,27 +319,53 @@ public class BBInputSetupUtils {
                 || subscriptionServiceType.equals("")) {
             return null;
         } else {
-            return injectionHelper
-                    .getAaiClient().get(ServiceSubscription.class, AAIUriFactory.createResourceUri(AAIFluentTypeBuilder
-                            .business().customer(globalSubscriberId).serviceSubscription(subscriptionServiceType)))
-                    .orElse(null);
+            AAIResourceUri uri = AAIUriFactory.createResourceUri(AAIFluentTypeBuilder.business()
+                    .customer(globalSubscriberId).serviceSubscription(subscriptionServiceType));
+            return aaiRequestSnapshot.read(uri.build().toString(),
+                    () -> injectionHelper.getAaiClient().get(ServiceSubscription.class, uri).orElse(null));
         }
 
     }
 
     public ServiceInstance getAAIServiceInstanceById(String serviceInstanceId) {
-        return injectionHelper.getAaiClient()
-                .get(ServiceInstance.class, AAIUriFactory
-                        .createResourceUri(Types.SERVICE_INSTANCE.getFragment(serviceInstanceId)).depth(Depth.TWO))
-                .orElse(null);
+        AAIResourceUri uri = AAIUriFactory.createResourceUri(Types.SERVICE_INSTANCE.getFragment(serviceInstanceId))
+                .depth(Depth.TWO);
+        return aaiRequestSnapshot.read(uri.build().toString(),
+                () -> injectionHelper.getAaiClient().get(ServiceInstance.class, uri).orElse(null));
+    }
+
+    /**
+     * Reads the vnfs, vf modules, volume groups, networks, pnfs, configurations and collection of the service instance
+     * with one A&AI DSL query
+     *
+     * @return empty when the query is disabled or A&AI could not run it
+     */
+    public Optional<List<ResourceAndUrl<AAIResultWrapper>>> getAAIServiceInstanceSubgraph(String serviceInstanceId) {
+        if (!subgraphQueryEnabled) {
+            return Optional.empty();
+        }
+        DSLQueryBuilder<Start, Node> builder = TraversalBuilder
+                .fragment(new DSLStartNode(Types.SERVICE_INSTANCE, __.key("service-instance-id", serviceInstanceId)))
+                .union(__.node(Types.GENERIC_VNF).output(),
+                        __.node(Types.GENERIC_VNF).to(__.node(Types.VF_MODULE).output()),
+                        __.node(Types.GENERIC_VNF).to(__.node(Types.VOLUME_GROUP).output()),
+                        __.node(Types.L3_NETWORK).output(), __.node(Types.PNF).output(),
+                        __.node(Types.CONFIGURATION).output(), __.node(Types.COLLECTION).output());
+        try {
+            return Optional
+                    .of(injectionHelper.getAaiDSLQueryClient().getResourceAndUrl(new DSLQuery(builder.build())));
+        } catch (Exception e) {
+            logger.warn("Could not query the subgraph of service instance {} in A&AI", serviceInstanceId, e);
+            return Optional.empty();
+        }
     }
 
     protected ServiceInstance getAAIServiceInstanceByIdAndCustomer(String globalCustomerId, String serviceType,
             String serviceInstanceId) {
-        return injectionHelper.getAaiClient().get(ServiceInstance.class,
-                AAIUriFactory.createResourceUri(AAIFluentTypeBuilder.business().customer(globalCustomerId)
-                        .serviceSubscription(serviceType).serviceInstance(serviceInstanceId)).depth(Depth.TWO))
-                .orElse(null);
+        AAIResourceUri uri = AAIUriFactory.createResourceUri(AAIFluentTypeBuilder.business().customer(globalCustomerId)
+                .serviceSubscription(serviceType).serviceInstance(serviceInstanceId)).depth(Depth.TWO);
+        return aaiRequestSnapshot.read(uri.build().toString(),
+                () -> injectionHelper.getAaiClient().get(ServiceInstance.class, uri).orElse(null));
     }
 
     public org.onap.aai.domain.yang.ServiceInstance getAAIServiceInstanceByName(String serviceInstanceName,
@@ -359,13 +400,15 @@ public class BBInputSetupUtils {
     }
 
     public AAIResultWrapper getAAIResourceDepthOne(AAIResourceUri aaiResourceUri) {
-        AAIResourceUri clonedUri = aaiResourceUri.clone();
-        return this.injectionHelper.getAaiClient().get(clonedUri.depth(Depth.ONE));
+        AAIResourceUri clonedUri = aaiResourceUri.clone().depth(Depth.ONE);
+        return aaiRequestSnapshot.read(clonedUri.build().toString(),
+                () -> this.injectionHelper.getAaiClient().get(clonedUri), wrapper -> !wrapper.isEmpty());
     }
 
     public AAIResultWrapper getAAIResourceDepthTwo(AAIResourceUri aaiResourceUri) {
-        AAIResourceUri clonedUri = aaiResourceUri.clone();
-        return this.injectionHelper.getAaiClient().get(clonedUri.depth(Depth.TWO));
+        AAIResourceUri clonedUri = aaiResourceUri.clone().depth(Depth.TWO);
+        return aaiRequestSnapshot.read(clonedUri.build().toString(),
+                () -> this.injectionHelper.getAaiClient().get(clonedUri), wrapper -> !wrapper.isEmpty());
     }
 
     public Configuration getAAIConfiguration(String configurationId) {
@@ -401,12 +444,13 @@ public class BBInputSetupUtils {
     }
 
     private <T> T getConcreteAAIResource(Class<T> clazz, AAIFluentSingleType type) {
-        return injectionHelper.getAaiClient().get(clazz, AAIUriFactory.createResourceUri(type).depth(Depth.ONE))
-                .orElseGet(() -> {
+        AAIResourceUri uri = AAIUriFactory.createResourceUri(type).depth(Depth.ONE);
+        return aaiRequestSnapshot.read(uri.build().toString(),
+                () -> injectionHelper.getAaiClient().get(clazz, uri).orElseGet(() -> {
                     logger.debug("No resource of type: {} matched by ids: {}", type.build().typeName(),
                             Arrays.toString(type.values()));
                     return null;
-                });
+                }));
     }
 
     public Optional<ServiceInstance> getRelatedServiceInstanceFromInstanceGroup(String instanceGroupId)
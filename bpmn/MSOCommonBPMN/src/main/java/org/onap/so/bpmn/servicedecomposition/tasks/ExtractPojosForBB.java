@@ -25,10 +25,18 @@ package org.onap.so.bpmn.servicedecomposition.tasks;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.persistence.Id;
 import org.onap.so.bpmn.common.BuildingBlockExecution;
+import org.onap.so.bpmn.servicedecomposition.bbobjects.Customer;
 import org.onap.so.bpmn.servicedecomposition.bbobjects.GenericVnf;
 import org.onap.so.bpmn.servicedecomposition.bbobjects.ServiceInstance;
 import org.onap.so.bpmn.servicedecomposition.entities.GeneralBuildingBlock;
@@ -38,12 +46,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import com.google.common.base.CaseFormat;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
+/**
+ * Resolves the building block objects referenced by the lookup map. Every object of a {@link GeneralBuildingBlock} is
+ * indexed by resource key and id the first time the building block is used, so repeated lookups do not walk the
+ * lists. An index entry is only trusted while the object still sits at the same position of the same list with the
+ * same id; anything else falls back to a list scan and rebuilds the index on the next lookup.
+ */
 @Component
 public class ExtractPojosForBB {
 
     private static final Logger logger = LoggerFactory.getLogger(ExtractPojosForBB.class);
 
+    private static final Map<Class<?>, List<Method>> idAccessors = new ConcurrentHashMap<>();
+
+    // weak keys compare by identity, a new or deserialized building block gets its own index
+    private final Cache<GeneralBuildingBlock, PojoIndex> indexes =
+            CacheBuilder.newBuilder().weakKeys().maximumSize(1000).build();
+
     public <T> T extractByKey(BuildingBlockExecution execution, ResourceKey key) throws BBObjectNotFoundException {
         Optional<T> result = Optional.empty();
         GeneralBuildingBlock gBBInput = execution.getGeneralBuildingBlock();
@@ -57,42 +79,42 @@ public class ExtractPojosForBB {
                     break;
                 case GENERIC_VNF_ID:
                     serviceInstance = extractByKey(execution, ResourceKey.SERVICE_INSTANCE_ID);
-                    result = lookupObjectInList(serviceInstance.getVnfs(), value);
+                    result = lookupObject(gBBInput, key, serviceInstance.getVnfs(), value);
                     break;
                 case PNF:
                     serviceInstance = extractByKey(execution, ResourceKey.SERVICE_INSTANCE_ID);
-                    result = lookupObjectInList(serviceInstance.getPnfs(), value);
+                    result = lookupObject(gBBInput, key, serviceInstance.getPnfs(), value);
                     break;
                 case NETWORK_ID:
                     serviceInstance = extractByKey(execution, ResourceKey.SERVICE_INSTANCE_ID);
-                    result = lookupObjectInList(serviceInstance.getNetworks(), value);
+                    result = lookupObject(gBBInput, key, serviceInstance.getNetworks(), value);
                     break;
                 case VOLUME_GROUP_ID:
                     vnf = extractByKey(execution, ResourceKey.GENERIC_VNF_ID);
-                    result = lookupObjectInList(vnf.getVolumeGroups(), value);
+                    result = lookupObject(gBBInput, key, vnf.getVolumeGroups(), value);
                     break;
                 case VF_MODULE_ID:
                     vnf = extractByKey(execution, ResourceKey.GENERIC_VNF_ID);
-                    result = lookupObjectInList(vnf.getVfModules(), value);
+                    result = lookupObject(gBBInput, key, vnf.getVfModules(), value);
                     break;
                 case ALLOTTED_RESOURCE_ID:
                     serviceInstance = extractByKey(execution, ResourceKey.SERVICE_INSTANCE_ID);
-                    result = lookupObjectInList(serviceInstance.getAllottedResources(), value);
+                    result = lookupObject(gBBInput, key, serviceInstance.getAllottedResources(), value);
                     break;
                 case CONFIGURATION_ID:
                     serviceInstance = extractByKey(execution, ResourceKey.SERVICE_INSTANCE_ID);
-                    result = lookupObjectInList(serviceInstance.getConfigurations(), value);
+                    result = lookupObject(gBBInput, key, serviceInstance.getConfigurations(), value);
                     break;
                 case VPN_ID:
-                    result = lookupObjectInList(gBBInput.getCustomer().getVpnBindings(), value);
+                    result = lookupObject(gBBInput, key, gBBInput.getCustomer().getVpnBindings(), value);
                     break;
                 case VPN_BONDING_LINK_ID:
                     serviceInstance = extractByKey(execution, ResourceKey.SERVICE_INSTANCE_ID);
-                    result = lookupObjectInList(serviceInstance.getVpnBondingLinks(), value);
+                    result = lookupObject(gBBInput, key, serviceInstance.getVpnBondingLinks(), value);
                     break;
                 case INSTANCE_GROUP_ID:
                     serviceInstance = extractByKey(execution, ResourceKey.SERVICE_INSTANCE_ID);
-                    result = lookupObjectInList(serviceInstance.getInstanceGroups(), value);
+                    result = lookupObject(gBBInput, key, serviceInstance.getInstanceGroups(), value);
                     break;
             }
         } catch (Exception e) { // convert all other exceptions to object not found
@@ -108,11 +130,60 @@ public class ExtractPojosForBB {
         if (gBBInput.getCustomer().getServiceSubscription() == null && gBBInput.getServiceInstance() != null) {
             return Optional.of((T) gBBInput.getServiceInstance());
         } else if (gBBInput.getCustomer().getServiceSubscription() != null) {
-            return lookupObjectInList(gBBInput.getCustomer().getServiceSubscription().getServiceInstances(), value);
+            return lookupObject(gBBInput, ResourceKey.SERVICE_INSTANCE_ID,
+                    gBBInput.getCustomer().getServiceSubscription().getServiceInstances(), value);
         }
         return Optional.empty();
     }
 
+    private <T> Optional<T> lookupObject(GeneralBuildingBlock gBBInput, ResourceKey key, List<?> list, String value)
+            throws Exception {
+        PojoIndex index = indexes.get(gBBInput, () -> buildIndex(gBBInput));
+        IndexEntry entry = index.get(key, value);
+        if (entry != null && entry.isAt(list) && getIds(entry.object).contains(value)) {
+            return Optional.of((T) entry.object);
+        }
+        Optional<T> result = lookupObjectInList(list, value);
+        if (result.isPresent()) {
+            indexes.invalidate(gBBInput);
+        }
+        return result;
+    }
+
+    protected PojoIndex buildIndex(GeneralBuildingBlock gBBInput) throws ReflectiveOperationException {
+        PojoIndex index = new PojoIndex();
+        Customer customer = gBBInput.getCustomer();
+        if (customer != null) {
+            index.add(ResourceKey.VPN_ID, customer.getVpnBindings());
+            if (customer.getServiceSubscription() != null) {
+                index.add(ResourceKey.SERVICE_INSTANCE_ID, customer.getServiceSubscription().getServiceInstances());
+                for (ServiceInstance serviceInstance : customer.getServiceSubscription().getServiceInstances()) {
+                    addServiceInstance(index, serviceInstance);
+                }
+            } else if (gBBInput.getServiceInstance() != null) {
+                addServiceInstance(index, gBBInput.getServiceInstance());
+            }
+        }
+        return index;
+    }
+
+    private void addServiceInstance(PojoIndex index, ServiceInstance serviceInstance)
+            throws ReflectiveOperationException {
+        index.add(ResourceKey.GENERIC_VNF_ID, serviceInstance.getVnfs());
+        index.add(ResourceKey.PNF, serviceInstance.getPnfs());
+        index.add(ResourceKey.NETWORK_ID, serviceInstance.getNetworks());
+        index.add(ResourceKey.ALLOTTED_RESOURCE_ID, serviceInstance.getAllottedResources());
+        index.add(ResourceKey.CONFIGURATION_ID, serviceInstance.getConfigurations());
+        index.add(ResourceKey.VPN_BONDING_LINK_ID, serviceInstance.getVpnBondingLinks());
+        index.add(ResourceKey.INSTANCE_GROUP_ID, serviceInstance.getInstanceGroups());
+        if (serviceInstance.getVnfs() != null) {
+            for (GenericVnf vnf : serviceInstance.getVnfs()) {
+                index.add(ResourceKey.VOLUME_GROUP_ID, vnf.getVolumeGroups());
+                index.add(ResourceKey.VF_MODULE_ID, vnf.getVfModules());
+            }
+        }
+    }
+
     private <T> Optional<T> lookupObjectInList(List<?> list, String value)
             throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
         Optional<T> result = Optional.empty();
@@ -127,16 +198,84 @@ public class ExtractPojosForBB {
 
     private <T> Optional<T> findValue(Object obj, String value)
             throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
-        for (Field field : obj.getClass().getDeclaredFields()) {
-            if (field.isAnnotationPresent(Id.class)) {
-                String fieldName = field.getName();
-                fieldName = CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, fieldName);
-                String fieldValue = (String) obj.getClass().getMethod("get" + fieldName).invoke(obj);
-                if (fieldValue.equals(value)) {
-                    return Optional.of((T) obj);
-                }
+        for (Method accessor : getIdAccessors(obj.getClass())) {
+            String fieldValue = (String) accessor.invoke(obj);
+            if (fieldValue.equals(value)) {
+                return Optional.of((T) obj);
             }
         }
         return Optional.empty();
     }
+
+    private static List<String> getIds(Object obj) throws ReflectiveOperationException {
+        List<String> ids = new ArrayList<>();
+        for (Method accessor : getIdAccessors(obj.getClass())) {
+            Object id = accessor.invoke(obj);
+            if (id != null) {
+                ids.add(id.toString());
+            }
+        }
+        return ids;
+    }
+
+    private static List<Method> getIdAccessors(Class<?> clazz) throws NoSuchMethodException {
+        List<Method> accessors = idAccessors.get(clazz);
+        if (accessors == null) {
+            accessors = new ArrayList<>();
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class)) {
+                    String fieldName = CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, field.getName());
+                    accessors.add(clazz.getMethod("get" + fieldName));
+                }
+            }
+            accessors = Collections.unmodifiableList(accessors);
+            idAccessors.put(clazz, accessors);
+        }
+        return accessors;
+    }
+
+    protected static class PojoIndex {
+        private final Map<ResourceKey, Map<String, IndexEntry>> entries = new EnumMap<>(ResourceKey.class);
+
+        protected void add(ResourceKey key, List<?> list) throws ReflectiveOperationException {
+            if (list == null) {
+                return;
+            }
+            Map<String, IndexEntry> byId = entries.computeIfAbsent(key, k -> new HashMap<>());
+            for (int i = 0; i < list.size(); i++) {
+                Object obj = list.get(i);
+                if (obj == null) {
+                    continue;
+                }
+                for (String id : getIds(obj)) {
+                    byId.putIfAbsent(id, new IndexEntry(obj, list, i));
+                }
+            }
+        }
+
+        protected IndexEntry get(ResourceKey key, String id) {
+            Map<String, IndexEntry> byId = entries.get(key);
+            return byId == null || id == null ? null : byId.get(id);
+        }
+
+        protected int size() {
+            return entries.values().stream().mapToInt(Map::size).sum();
+        }
+    }
+
+    protected static class IndexEntry {
+        private final Object object;
+        private final List<?> list;
+        private final int position;
+
+        protected IndexEntry(Object object, List<?> list, int position) {
+            this.object = object;
+            this.list = list;
+            this.position = position;
+        }
+
+        protected boolean isAt(List<?> candidate) {
+            return candidate == list && position < candidate.size() && candidate.get(position) == object;
+        }
+    }
 }
@@ -23,6 +23,7 @@ package org.onap.so.bpmn.common;
 
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Assert;
 import org.junit.Test;
 import org.onap.so.bpmn.common.workflow.context.WorkflowCallbackResponse;
@@ -65,4 +66,35 @@ public class WorkflowContextHolderTest {
 
     }
 
+    @Test
+    public void testAwaitWorkflowContext() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        WorkflowContextHolder contextHolder = WorkflowContextHolder.getInstance();
+
+        CompletableFuture<WorkflowContext> waiting = contextHolder.awaitWorkflowContext(requestId);
+        Assert.assertFalse(waiting.isDone());
+
+        WorkflowCallbackResponse callbackResponse = new WorkflowCallbackResponse();
+        callbackResponse.setStatusCode(202);
+        contextHolder.processCallback("testAsyncProcess", "process-instance-id", requestId, callbackResponse);
+
+        Assert.assertTrue(waiting.isDone());
+        Assert.assertEquals(202, waiting.get().getWorkflowResponse().getMessageCode());
+        // a context put before waiting for it is returned right away
+        Assert.assertSame(waiting.get(), contextHolder.awaitWorkflowContext(requestId).getNow(null));
+        contextHolder.remove(waiting.get());
+    }
+
+    @Test
+    public void testCancelAwait() {
+        String requestId = UUID.randomUUID().toString();
+        WorkflowContextHolder contextHolder = WorkflowContextHolder.getInstance();
+
+        CompletableFuture<WorkflowContext> waiting = contextHolder.awaitWorkflowContext(requestId);
+        contextHolder.cancelAwait(requestId, waiting);
+
+        Assert.assertTrue(waiting.isCancelled());
+        Assert.assertFalse(contextHolder.awaitWorkflowContext(requestId).isCancelled());
+    }
+
 }
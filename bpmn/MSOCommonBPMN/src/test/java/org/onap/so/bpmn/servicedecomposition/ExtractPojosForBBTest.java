@@ -21,6 +21,7 @@
 package org.onap.so.bpmn.servicedecomposition;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import java.util.HashMap;
 import java.util.List;
 import org.camunda.bpm.engine.impl.pvm.runtime.ExecutionImpl;
@@ -206,6 +207,62 @@ public class ExtractPojosForBBTest extends BaseTest {
         assertEquals(extractServPend.getServiceInstanceId(), serviceInstancePend.getServiceInstanceId());
     }
 
+    @Test
+    public void manyVfModulesTest() throws BBObjectNotFoundException {
+        GenericVnf vnf = setCustomerWithVnf();
+        for (int i = 0; i < 500; i++) {
+            VfModule vfModule = new VfModule();
+            vfModule.setVfModuleId("vfModule" + i);
+            vnf.getVfModules().add(vfModule);
+        }
+        for (int i = 499; i >= 0; i--) {
+            lookupKeyMap.put(ResourceKey.VF_MODULE_ID, "vfModule" + i);
+            VfModule vfModule = extractPojos.extractByKey(execution, ResourceKey.VF_MODULE_ID);
+            assertSame(vnf.getVfModules().get(i), vfModule);
+        }
+    }
+
+    @Test
+    public void changedBuildingBlockTest() throws BBObjectNotFoundException {
+        GenericVnf vnf = setCustomerWithVnf();
+        VfModule first = new VfModule();
+        first.setVfModuleId("first");
+        vnf.getVfModules().add(first);
+        lookupKeyMap.put(ResourceKey.VF_MODULE_ID, "first");
+        assertSame(first, extractPojos.extractByKey(execution, ResourceKey.VF_MODULE_ID));
+
+        VfModule added = new VfModule();
+        added.setVfModuleId("added");
+        vnf.getVfModules().add(added);
+        lookupKeyMap.put(ResourceKey.VF_MODULE_ID, "added");
+        assertSame(added, extractPojos.extractByKey(execution, ResourceKey.VF_MODULE_ID));
+
+        VfModule replacement = new VfModule();
+        replacement.setVfModuleId("first");
+        vnf.getVfModules().set(0, replacement);
+        lookupKeyMap.put(ResourceKey.VF_MODULE_ID, "first");
+        assertSame(replacement, extractPojos.extractByKey(execution, ResourceKey.VF_MODULE_ID));
+
+        vnf.getVfModules().remove(replacement);
+        expectedException.expect(BBObjectNotFoundException.class);
+        extractPojos.extractByKey(execution, ResourceKey.VF_MODULE_ID);
+    }
+
+    private GenericVnf setCustomerWithVnf() {
+        Customer customer = new Customer();
+        customer.setServiceSubscription(new ServiceSubscription());
+        ServiceInstance serviceInstance = new ServiceInstance();
+        serviceInstance.setServiceInstanceId("serviceInstanceId");
+        GenericVnf vnf = new GenericVnf();
+        vnf.setVnfId("vnfId");
+        serviceInstance.getVnfs().add(vnf);
+        customer.getServiceSubscription().getServiceInstances().add(serviceInstance);
+        gBBInput.setCustomer(customer);
+        lookupKeyMap.put(ResourceKey.SERVICE_INSTANCE_ID, "serviceInstanceId");
+        lookupKeyMap.put(ResourceKey.GENERIC_VNF_ID, "vnfId");
+        return vnf;
+    }
+
     private void assertThrowsBBObjectNotFoundForResource_WhenServiceEmpty(ResourceKey key)
             throws BBObjectNotFoundException {
         expectedException.expect(BBObjectNotFoundException.class);
@@ -0,0 +1,121 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.servicedecomposition.tasks;
+
+import static org.junit.Assert.assertEquals;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.onap.so.bpmn.servicedecomposition.entities.BuildingBlock;
+import org.onap.so.bpmn.servicedecomposition.entities.ExecuteBuildingBlock;
+
+public class AAIRequestSnapshotTest {
+
+    private static final String SERVICE_URI = "/business/customers/customer/cust/service-subscriptions"
+            + "/service-subscription/type/service-instances/service-instance/si-id?depth=2";
+    private static final String VNF_URI = "/network/generic-vnfs/generic-vnf/vnf-id?depth=1";
+
+    private AAIRequestSnapshot snapshot;
+    private AtomicInteger loads;
+
+    @Before
+    public void before() {
+        snapshot = new AAIRequestSnapshot();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void reuseWithinBuildingBlockTest() {
+        snapshot.open(executeBB("req-1", "AssignVnfBB"), 0);
+        read(SERVICE_URI);
+        read(SERVICE_URI);
+        snapshot.close();
+
+        assertEquals(1, loads.get());
+        assertEquals(1, snapshot.getHits());
+    }
+
+    @Test
+    public void reuseAfterReadOnlyBuildingBlockTest() {
+        snapshot.open(executeBB("req-1", "GenericVnfHealthCheckBB"), 0);
+        read(SERVICE_URI);
+        read(VNF_URI);
+        snapshot.close();
+
+        snapshot.open(executeBB("req-1", "ActivateVnfBB"), 1);
+        read(VNF_URI);
+        read(SERVICE_URI);
+        snapshot.close();
+
+        assertEquals(2, loads.get());
+        assertEquals(2, snapshot.getHits());
+    }
+
+    @Test
+    public void writeBuildingBlockClearsSnapshotTest() {
+        snapshot.open(executeBB("req-1", "AssignVnfBB"), 0);
+        read(SERVICE_URI);
+        read(VNF_URI);
+        snapshot.close();
+
+        // the service instance now has a relationship to the new vnf
+        snapshot.open(executeBB("req-1", "AssignVfModuleBB"), 1);
+        read(VNF_URI);
+        read(SERVICE_URI);
+        snapshot.close();
+
+        assertEquals(4, loads.get());
+        assertEquals(0, snapshot.getHits());
+    }
+
+    @Test
+    public void discardOnSequenceGapTest() {
+        snapshot.open(executeBB("req-1", "GenericVnfHealthCheckBB"), 0);
+        read(SERVICE_URI);
+        snapshot.close();
+
+        snapshot.open(executeBB("req-1", "GenericVnfHealthCheckBB"), 3);
+        read(SERVICE_URI);
+        snapshot.close();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void noOpenSnapshotTest() {
+        read(SERVICE_URI);
+        read(SERVICE_URI);
+        snapshot.open(executeBB("req-1", "GenericVnfHealthCheckBB"), null);
+        read(SERVICE_URI);
+
+        assertEquals(3, loads.get());
+        assertEquals(0, snapshot.getMisses());
+    }
+
+    private String read(String uri) {
+        return snapshot.read(uri, () -> uri + loads.incrementAndGet());
+    }
+
+    private ExecuteBuildingBlock executeBB(String requestId, String bpmnFlowName) {
+        return new ExecuteBuildingBlock().setRequestId(requestId).setResourceId("vnf-id")
+                .setBuildingBlock(new BuildingBlock().setBpmnFlowName(bpmnFlowName));
+    }
+}
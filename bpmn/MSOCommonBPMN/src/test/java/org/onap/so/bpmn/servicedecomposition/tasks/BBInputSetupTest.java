@@ -155,6 +155,9 @@ public class BBInputSetupTest {
     @Mock
     private CloudInfoFromAAI SPY_cloudInfoFromAAI;
 
+    @Mock
+    private AAIRequestSnapshot aaiRequestSnapshot;
+
     @Spy
     private BBInputSetupMapperLayer bbInputSetupMapperLayer;
 
@@ -25,13 +25,16 @@ package org.onap.so.bpmn.servicedecomposition.tasks;
 import static com.shazam.shazamcrest.MatcherAssert.assertThat;
 import static com.shazam.shazamcrest.matcher.Matchers.sameBeanAs;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import java.io.File;
@@ -39,6 +42,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -51,6 +55,7 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.onap.aai.domain.yang.CloudRegion;
 import org.onap.aai.domain.yang.Configuration;
@@ -65,16 +70,21 @@ import org.onap.aai.domain.yang.ServiceInstances;
 import org.onap.aai.domain.yang.VolumeGroup;
 import org.onap.aai.domain.yang.VolumeGroups;
 import org.onap.aai.domain.yang.VpnBinding;
+import org.onap.aaiclient.client.aai.AAIDSLQueryClient;
 import org.onap.aaiclient.client.aai.AAIResourcesClient;
+import org.onap.aaiclient.client.aai.entities.AAIResultWrapper;
 import org.onap.aaiclient.client.aai.entities.uri.AAIPluralResourceUri;
 import org.onap.aaiclient.client.aai.entities.uri.AAIResourceUri;
 import org.onap.aaiclient.client.aai.entities.uri.AAIUriFactory;
 import org.onap.aaiclient.client.generated.fluentbuilders.AAIFluentTypeBuilder;
 import org.onap.aaiclient.client.generated.fluentbuilders.AAIFluentTypeBuilder.Types;
+import org.onap.aaiclient.client.graphinventory.entities.DSLQuery;
+import org.onap.aaiclient.client.graphinventory.entities.ResourceAndUrl;
 import org.onap.aaiclient.client.graphinventory.entities.uri.Depth;
 import org.onap.so.bpmn.common.InjectionHelper;
 import org.onap.so.bpmn.servicedecomposition.bbobjects.Customer;
 import org.onap.so.bpmn.servicedecomposition.bbobjects.ServiceSubscription;
+import org.onap.so.bpmn.servicedecomposition.entities.BuildingBlock;
 import org.onap.so.bpmn.servicedecomposition.entities.ExecuteBuildingBlock;
 import org.onap.so.bpmn.servicedecomposition.tasks.exceptions.MultipleObjectsFoundException;
 import org.onap.so.bpmn.servicedecomposition.tasks.exceptions.NoServiceInstanceFoundException;
@@ -111,6 +121,9 @@ public class BBInputSetupUtilsTest {
     @Mock
     protected InjectionHelper MOCK_injectionHelper;
 
+    @Spy
+    protected AAIRequestSnapshot aaiRequestSnapshot = new AAIRequestSnapshot();
+
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
@@ -274,6 +287,28 @@ public class BBInputSetupUtilsTest {
         assertThat(bbInputSetupUtils.getAAIServiceInstanceById(serviceInstanceId), sameBeanAs(expectedServiceInstance));
     }
 
+    @Test
+    public void getAAIServiceInstanceByIdRereadAfterCreateTest() {
+        ServiceInstance expectedServiceInstance = new ServiceInstance();
+        doReturn(Optional.of(expectedServiceInstance)).when(MOCK_aaiResourcesClient).get(eq(ServiceInstance.class),
+                isA(AAIResourceUri.class));
+
+        aaiRequestSnapshot.open(new ExecuteBuildingBlock().setRequestId("requestId").setResourceId("vnfId")
+                .setBuildingBlock(new BuildingBlock().setBpmnFlowName("AssignVnfBB")), 0);
+        bbInputSetupUtils.getAAIServiceInstanceById("serviceInstanceId");
+        bbInputSetupUtils.getAAIServiceInstanceById("serviceInstanceId");
+        aaiRequestSnapshot.close();
+        verify(MOCK_aaiResourcesClient, times(1)).get(eq(ServiceInstance.class), isA(AAIResourceUri.class));
+
+        // AssignVnfBB related the new vnf to the service instance, the next building block reads it again
+        aaiRequestSnapshot.open(new ExecuteBuildingBlock().setRequestId("requestId").setResourceId("vfModuleId")
+                .setBuildingBlock(new BuildingBlock().setBpmnFlowName("AssignVfModuleBB")), 1);
+        bbInputSetupUtils.getAAIServiceInstanceById("serviceInstanceId");
+        aaiRequestSnapshot.close();
+
+        verify(MOCK_aaiResourcesClient, times(2)).get(eq(ServiceInstance.class), isA(AAIResourceUri.class));
+    }
+
     @Test
     public void getAAIServiceInstanceById_ifEmptyReturnNull() {
         doReturn(Optional.empty()).when(MOCK_aaiResourcesClient).get(eq(ServiceInstance.class),
@@ -282,6 +317,25 @@ public class BBInputSetupUtilsTest {
         assertNull(bbInputSetupUtils.getAAIServiceInstanceById("any"));
     }
 
+    @Test
+    public void getAAIServiceInstanceSubgraphTest() throws IOException {
+        AAIDSLQueryClient dslQueryClient = Mockito.mock(AAIDSLQueryClient.class);
+        List<ResourceAndUrl<AAIResultWrapper>> expected = new ArrayList<>();
+        doReturn(dslQueryClient).when(MOCK_injectionHelper).getAaiDSLQueryClient();
+        doReturn(expected).when(dslQueryClient).getResourceAndUrl(isA(DSLQuery.class));
+
+        assertSame(expected, bbInputSetupUtils.getAAIServiceInstanceSubgraph("serviceInstanceId").get());
+    }
+
+    @Test
+    public void getAAIServiceInstanceSubgraph_ifQueryFailsReturnEmpty() throws IOException {
+        AAIDSLQueryClient dslQueryClient = Mockito.mock(AAIDSLQueryClient.class);
+        doReturn(dslQueryClient).when(MOCK_injectionHelper).getAaiDSLQueryClient();
+        doThrow(new IOException("unsupported")).when(dslQueryClient).getResourceAndUrl(isA(DSLQuery.class));
+
+        assertFalse(bbInputSetupUtils.getAAIServiceInstanceSubgraph("serviceInstanceId").isPresent());
+    }
+
     @Test
     public void getAAIServiceInstanceByIdAndCustomerTest() {
         final String globalCustomerId = "globalCustomerId";
@@ -55,11 +55,18 @@ public class CallbackHandlerService {
 
     private RuntimeService runtimeService;
 
-    @Autowired
+    private PendingCallbackBuffer pendingCallbackBuffer;
+
     public CallbackHandlerService(RuntimeService runtimeService) {
         this.runtimeService = runtimeService;
     }
 
+    @Autowired
+    public CallbackHandlerService(RuntimeService runtimeService, PendingCallbackBuffer pendingCallbackBuffer) {
+        this.runtimeService = runtimeService;
+        this.pendingCallbackBuffer = pendingCallbackBuffer;
+    }
+
     /**
      * Parameterized callback handler.
      */
@@ -114,8 +121,10 @@ public class CallbackHandlerService {
     }
 
     /**
-     * Performs message correlation. Waits a limited amount of time for a process to become ready for correlation. The
-     * return value indicates whether or not a process was found to receive the message. Due to the synchronous nature
+     * Performs message correlation. Waits a limited amount of time for a process to become ready for correlation. When
+     * the pending callback buffer is enabled and no process is waiting yet, the message is parked in the buffer instead
+     * of polling, and is delivered as soon as the process subscribes to it. The return value indicates whether or not a
+     * process was found to receive the message, or the message was parked. Due to the synchronous nature
      * of message injection in Camunda, by the time this method returns, one of 3 things will have happened: (1) the
      * process received the message and ended, (2) the process received the message and reached an activity that
      * suspended, or (3) an exception occurred during correlation or while the process was executing. Correlation
@@ -150,6 +159,17 @@ public class CallbackHandlerService {
                 }
             }
 
+            if (pendingCallbackBuffer != null && pendingCallbackBuffer.isEnabled() && correlationValue != null) {
+                if (correlateWaiting(messageEventName, correlationVariable, correlationValue, variables, logMarker)) {
+                    return true;
+                }
+                if (pendingCallbackBuffer.park(messageEventName, correlationVariable, correlationValue, timeout,
+                        () -> correlateWaiting(messageEventName, correlationVariable, correlationValue, variables,
+                                logMarker))) {
+                    return true;
+                }
+            }
+
             long now = System.currentTimeMillis();
             long fastPollEndTime = now + (FAST_POLL_DUR_SECONDS * 1000);
             long endTime = now + (timeout * 1000);
@@ -187,130 +207,174 @@ public class CallbackHandlerService {
                 }
             }
 
-            if (waitingProcesses == null) {
-                waitingProcesses = new ArrayList<Execution>(0);
-            }
+            return deliver(messageEventName, correlationVariable, correlationValue, variables, logMarker,
+                    waitingProcesses, queryCount, queryFailCount, queryException);
+        } catch (Exception e) {
+            // This must be an exception from the flow itself. Log it, but don't
+            // report it back to the client.
+            String msg = "Caught " + e.getClass().getSimpleName() + " after receiving " + messageEventName + " with "
+                    + correlationVariable + " = '" + correlationValue + "': " + e;
+            logger.debug(msg);
+            logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "BPMN CORRELATION ERROR -",
+                    ErrorCode.UnknownError.getValue(), msg, e);
+        }
 
-            int count = waitingProcesses.size();
+        return true;
+    }
 
-            List<ExecInfo> execInfoList = new ArrayList<>(count);
-            for (Execution execution : waitingProcesses) {
-                execInfoList.add(new ExecInfo(execution));
-            }
+    /**
+     * Correlates the message if a process is already waiting for it, without waiting for one.
+     *
+     * @return true if a process was waiting for the message
+     */
+    protected boolean correlateWaiting(String messageEventName, String correlationVariable, String correlationValue,
+            Map<String, Object> variables, String logMarker) {
+        List<Execution> waitingProcesses;
+        try {
+            waitingProcesses = runtimeService.createExecutionQuery().messageEventSubscriptionName(messageEventName)
+                    .processVariableValueEquals(correlationVariable, correlationValue).list();
+        } catch (Exception e) {
+            logger.debug(logMarker + " Execution query failed attempting to correlate " + messageEventName + " with "
+                    + correlationVariable + " = '" + correlationValue + "'", e);
+            return false;
+        }
+        if (waitingProcesses == null || waitingProcesses.isEmpty()) {
+            return false;
+        }
+        try {
+            return deliver(messageEventName, correlationVariable, correlationValue, variables, logMarker,
+                    waitingProcesses, 1, 0, null);
+        } catch (Exception e) {
+            String msg = "Caught " + e.getClass().getSimpleName() + " after receiving " + messageEventName + " with "
+                    + correlationVariable + " = '" + correlationValue + "': " + e;
+            logger.debug(msg);
+            logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "BPMN CORRELATION ERROR -",
+                    ErrorCode.UnknownError.getValue(), msg, e);
+            return true;
+        }
+    }
 
-            logger.debug(logMarker + " Found " + count + " process(es) waiting" + " for " + messageEventName + " with "
-                    + correlationVariable + " = '" + correlationValue + "': " + execInfoList);
+    /**
+     * Delivers the message to the waiting process.
+     *
+     * @return false if no process is waiting for the message
+     */
+    private boolean deliver(String messageEventName, String correlationVariable, String correlationValue,
+            Map<String, Object> variables, String logMarker, List<Execution> waitingProcesses, int queryCount,
+            int queryFailCount, Exception queryException) {
+        if (waitingProcesses == null) {
+            waitingProcesses = new ArrayList<Execution>(0);
+        }
 
-            if (count == 0) {
-                if (queryFailCount > 0) {
-                    String msg =
-                            queryFailCount + "/" + queryCount + " execution queries failed attempting to correlate "
-                                    + messageEventName + " with " + correlationVariable + " = '" + correlationValue
-                                    + "'; last exception was:" + queryException;
-                    logger.debug(msg);
-                    logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "BPMN",
-                            ErrorCode.UnknownError.getValue(), msg, queryException);
-                }
+        int count = waitingProcesses.size();
 
-                return false;
-            }
+        List<ExecInfo> execInfoList = new ArrayList<>(count);
+        for (Execution execution : waitingProcesses) {
+            execInfoList.add(new ExecInfo(execution));
+        }
 
-            if (count > 1) {
-                // Only one process should be waiting. Throw an exception back to the client.
-                throw new MismatchingMessageCorrelationException(messageEventName,
-                        "more than 1 process is waiting with " + correlationVariable + " = '" + correlationValue + "'");
-            }
+        logger.debug(logMarker + " Found " + count + " process(es) waiting" + " for " + messageEventName + " with "
+                + correlationVariable + " = '" + correlationValue + "': " + execInfoList);
 
-            // We prototyped an asynchronous solution, i.e. resuming the process
-            // flow in a separate thread, but this affected too many existing tests,
-            // and we went back to the synchronous solution. The synchronous solution
-            // has some troublesome characteristics though. For example, the
-            // resumed flow may send request #2 to a remote system before MSO has
-            // acknowledged the notification associated with request #1.
-
-            try {
-                logger.debug(logMarker + " Running " + execInfoList.get(0) + " to receive " + messageEventName
-                        + " with " + correlationVariable + " = '" + correlationValue + "'");
-
-                @SuppressWarnings("unused")
-                MessageCorrelationResult result = runtimeService.createMessageCorrelation(messageEventName)
-                        .setVariables(variables).processInstanceVariableEquals(correlationVariable, correlationValue)
-                        .correlateWithResult();
-
-            } catch (MismatchingMessageCorrelationException e) {
-                // A correlation exception occurred even after we identified
-                // one waiting process. Throw it back to the client.
-                throw e;
-            } catch (OptimisticLockingException ole) {
-
-                String msg = "Caught " + ole.getClass().getSimpleName() + " after receiving " + messageEventName
-                        + " with " + correlationVariable + " = '" + correlationValue + "': " + ole;
+        if (count == 0) {
+            if (queryFailCount > 0) {
+                String msg = queryFailCount + "/" + queryCount + " execution queries failed attempting to correlate "
+                        + messageEventName + " with " + correlationVariable + " = '" + correlationValue
+                        + "'; last exception was:" + queryException;
                 logger.debug(msg);
-                logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(),
-                        "BPMN CORRELATION ERROR -", ErrorCode.UnknownError.getValue(), msg, ole);
-
-                // Retry for OptimisticLocking Exceptions
-                int retryCount = 0;
-                String retryStr = UrnPropertiesReader.getVariable("mso.bpmn.optimisticlockingexception.retrycount");
-                if (retryStr != null) {
-                    try {
-                        retryCount = Integer.parseInt(retryStr);
-                    } catch (NumberFormatException e) {
-                        // Ignore
-                    }
+                logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "BPMN",
+                        ErrorCode.UnknownError.getValue(), msg, queryException);
+            }
+
+            return false;
+        }
+
+        if (count > 1) {
+            // Only one process should be waiting. Throw an exception back to the client.
+            throw new MismatchingMessageCorrelationException(messageEventName,
+                    "more than 1 process is waiting with " + correlationVariable + " = '" + correlationValue + "'");
+        }
+
+        // We prototyped an asynchronous solution, i.e. resuming the process
+        // flow in a separate thread, but this affected too many existing tests,
+        // and we went back to the synchronous solution. The synchronous solution
+        // has some troublesome characteristics though. For example, the
+        // resumed flow may send request #2 to a remote system before MSO has
+        // acknowledged the notification associated with request #1.
+
+        try {
+            logger.debug(logMarker + " Running " + execInfoList.get(0) + " to receive " + messageEventName + " with "
+                    + correlationVariable + " = '" + correlationValue + "'");
+
+            @SuppressWarnings("unused")
+            MessageCorrelationResult result = runtimeService.createMessageCorrelation(messageEventName)
+                    .setVariables(variables).processInstanceVariableEquals(correlationVariable, correlationValue)
+                    .correlateWithResult();
+
+        } catch (MismatchingMessageCorrelationException e) {
+            // A correlation exception occurred even after we identified
+            // one waiting process. Throw it back to the client.
+            throw e;
+        } catch (OptimisticLockingException ole) {
+
+            String msg = "Caught " + ole.getClass().getSimpleName() + " after receiving " + messageEventName + " with "
+                    + correlationVariable + " = '" + correlationValue + "': " + ole;
+            logger.debug(msg);
+            logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "BPMN CORRELATION ERROR -",
+                    ErrorCode.UnknownError.getValue(), msg, ole);
+
+            // Retry for OptimisticLocking Exceptions
+            int retryCount = 0;
+            String retryStr = UrnPropertiesReader.getVariable("mso.bpmn.optimisticlockingexception.retrycount");
+            if (retryStr != null) {
+                try {
+                    retryCount = Integer.parseInt(retryStr);
+                } catch (NumberFormatException e) {
+                    // Ignore
                 }
+            }
+
+            logger.debug("Retry correlate for OptimisticLockingException, retryCount:{}", retryCount);
 
-                logger.debug("Retry correlate for OptimisticLockingException, retryCount:{}", retryCount);
-
-                for (; retryCount > 0; retryCount--) {
-
-                    try {
-                        Thread.sleep(SLOW_POLL_INT_MS);
-
-                        @SuppressWarnings("unused")
-                        MessageCorrelationResult result =
-                                runtimeService.createMessageCorrelation(messageEventName).setVariables(variables)
-                                        .processInstanceVariableEquals(correlationVariable, correlationValue)
-                                        .correlateWithResult();
-                        retryCount = 0;
-                        logger.debug("OptimisticLockingException retry was successful, seting retryCount: {}",
-                                retryCount);
-                    } catch (OptimisticLockingException olex) {
-                        // oleFlag = ex instanceof org.camunda.bpm.engine.OptimisticLockingException;
-                        String strMsg = "Received exception, OptimisticLockingException retry failed, retryCount:"
-                                + retryCount + " | exception returned: " + olex;
-                        logger.debug(strMsg);
-                        logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "BPMN",
-                                ErrorCode.UnknownError.getValue(), strMsg, olex);
-                    } catch (Exception excep) {
-                        retryCount = 0;
-                        // oleFlag = ex instanceof org.camunda.bpm.engine.OptimisticLockingException;
-                        String strMsg = "Received exception, OptimisticLockingException retry failed, retryCount:"
-                                + retryCount + " | exception returned: " + excep;
-                        logger.debug(strMsg);
-                        logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "BPMN",
-                                ErrorCode.UnknownError.getValue(), strMsg, excep);
-                    }
+            for (; retryCount > 0; retryCount--) {
 
+                try {
+                    Thread.sleep(SLOW_POLL_INT_MS);
+
+                    @SuppressWarnings("unused")
+                    MessageCorrelationResult result = runtimeService.createMessageCorrelation(messageEventName)
+                            .setVariables(variables)
+                            .processInstanceVariableEquals(correlationVariable, correlationValue)
+                            .correlateWithResult();
+                    retryCount = 0;
+                    logger.debug("OptimisticLockingException retry was successful, seting retryCount: {}", retryCount);
+                } catch (OptimisticLockingException olex) {
+                    // oleFlag = ex instanceof org.camunda.bpm.engine.OptimisticLockingException;
+                    String strMsg = "Received exception, OptimisticLockingException retry failed, retryCount:"
+                            + retryCount + " | exception returned: " + olex;
+                    logger.debug(strMsg);
+                    logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "BPMN",
+                            ErrorCode.UnknownError.getValue(), strMsg, olex);
+                } catch (Exception excep) {
+                    retryCount = 0;
+                    // oleFlag = ex instanceof org.camunda.bpm.engine.OptimisticLockingException;
+                    String strMsg = "Received exception, OptimisticLockingException retry failed, retryCount:"
+                            + retryCount + " | exception returned: " + excep;
+                    logger.debug(strMsg);
+                    logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "BPMN",
+                            ErrorCode.UnknownError.getValue(), strMsg, excep);
                 }
 
-            } catch (Exception e) {
-                // This must be an exception from the flow itself. Log it, but don't
-                // report it back to the client.
-                String msg = "Caught " + e.getClass().getSimpleName() + " running " + execInfoList.get(0)
-                        + " after receiving " + messageEventName + " with " + correlationVariable + " = '"
-                        + correlationValue + "': " + e;
-                logger.debug(msg);
-                logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "BPMN",
-                        ErrorCode.UnknownError.getValue(), msg, e);
             }
+
         } catch (Exception e) {
             // This must be an exception from the flow itself. Log it, but don't
             // report it back to the client.
-            String msg = "Caught " + e.getClass().getSimpleName() + " after receiving " + messageEventName + " with "
-                    + correlationVariable + " = '" + correlationValue + "': " + e;
+            String msg = "Caught " + e.getClass().getSimpleName() + " running " + execInfoList.get(0)
+                    + " after receiving " + messageEventName + " with " + correlationVariable + " = '"
+                    + correlationValue + "': " + e;
             logger.debug(msg);
-            logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "BPMN CORRELATION ERROR -",
+            logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "BPMN",
                     ErrorCode.UnknownError.getValue(), msg, e);
         }
 
@@ -0,0 +1,355 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.common.workflow.service;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.onap.logging.filter.base.ErrorCode;
+import org.onap.so.logger.LoggingAnchor;
+import org.onap.so.logger.MessageEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Parks callbacks that arrive before their process is waiting for them, keyed by message event name and correlation
+ * value, so the callback can be acknowledged right away instead of holding the request thread while polling.
+ *
+ * Parked callbacks are delivered after the transaction that creates a matching message subscription commits (see
+ * {@link org.onap.so.bpmn.core.plugins.PendingCallbackPlugin}). Subscriptions created on another node are picked up by
+ * a slow sweep, which retries at most sweepBatchSize keys per run, in turn. Callbacks of the same key are delivered one
+ * at a time, in arrival order. A callback that is still parked after the correlation timeout is dropped and logged as
+ * an error.
+ */
+@Component
+public class PendingCallbackBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingCallbackBuffer.class);
+
+    @Value("${mso.correlation.buffer.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${mso.correlation.buffer.maxSize:10000}")
+    private int maxSize = 10000;
+
+    @Value("${mso.correlation.buffer.sweepInterval:5000}")
+    private long sweepInterval = 5000;
+
+    @Value("${mso.correlation.buffer.sweepBatchSize:100}")
+    private int sweepBatchSize = 100;
+
+    @Value("${mso.correlation.buffer.deliveryThreads:4}")
+    private int deliveryThreads = 4;
+
+    private final Map<Key, Deque<PendingCallback>> pending = new ConcurrentHashMap<>();
+    // parked keys by correlation variable and value, so a subscribing execution only reads the variables in use
+    private final Map<String, Map<String, Set<Key>>> parkedKeys = new ConcurrentHashMap<>();
+    // parked keys in the order the sweep retries them
+    private final Queue<Map.Entry<Key, Deque<PendingCallback>>> retries = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private ExecutorService deliveryExecutor;
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    protected void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        deliveryExecutor = Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "pending-callback-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pending-callback-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepInterval, sweepInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        if (deliveryExecutor != null) {
+            deliveryExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Parks a callback until a process waits for it
+     *
+     * @param messageEventName the message event name
+     * @param correlationVariable the process variable used as the correlator
+     * @param correlationValue the correlation value
+     * @param timeoutSeconds how long the callback may stay parked
+     * @param delivery tries to deliver the callback, returns false when no process is waiting for it yet
+     * @return false when the buffer is full and the callback was not parked
+     */
+    public boolean park(String messageEventName, String correlationVariable, String correlationValue,
+            long timeoutSeconds, BooleanSupplier delivery) {
+        if (size.incrementAndGet() > maxSize) {
+            size.decrementAndGet();
+            logger.warn("Pending callback buffer is full, not parking {} with {} = '{}'", messageEventName,
+                    correlationVariable, correlationValue);
+            return false;
+        }
+        Key key = new Key(messageEventName, correlationVariable, correlationValue);
+        PendingCallback callback = new PendingCallback(delivery,
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds), MDC.getCopyOfContextMap());
+        pending.compute(key, (k, callbacks) -> {
+            Deque<PendingCallback> queue = callbacks;
+            if (queue == null) {
+                queue = new ConcurrentLinkedDeque<>();
+                index(key);
+                retries.add(new AbstractMap.SimpleImmutableEntry<>(key, queue));
+            }
+            queue.addLast(callback);
+            return queue;
+        });
+        logger.debug("Parked {} with {} = '{}' until a process is waiting for it", messageEventName,
+                correlationVariable, correlationValue);
+        // the process may have started waiting between the caller's check and parking
+        scheduleDelivery(key);
+        return true;
+    }
+
+    /**
+     * Called when the execution is about to subscribe to a message. Parked callbacks correlated to the execution are
+     * delivered once the current transaction, and with it the subscription, has been committed.
+     */
+    public void onSubscription(DelegateExecution execution) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Key> matching = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Set<Key>>> entry : parkedKeys.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            Object correlationValue = execution.getVariable(entry.getKey());
+            Set<Key> keys = correlationValue == null ? null : entry.getValue().get(correlationValue);
+            if (keys != null) {
+                matching.addAll(keys);
+            }
+        }
+        if (matching.isEmpty()) {
+            return;
+        }
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext == null) {
+            matching.forEach(this::scheduleDelivery);
+        } else {
+            commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED,
+                    context -> matching.forEach(this::scheduleDelivery));
+        }
+    }
+
+    protected void scheduleDelivery(Key key) {
+        if (deliveryExecutor == null) {
+            deliver(key);
+        } else {
+            deliveryExecutor.execute(() -> deliver(key));
+        }
+    }
+
+    /**
+     * Delivers the parked callbacks of the key in order, until one finds no waiting process
+     */
+    protected void deliver(Key key) {
+        Deque<PendingCallback> callbacks = pending.get(key);
+        if (callbacks == null) {
+            return;
+        }
+        synchronized (callbacks) {
+            PendingCallback callback;
+            while ((callback = callbacks.peekFirst()) != null) {
+                Map<String, String> previousContext = MDC.getCopyOfContextMap();
+                try {
+                    if (callback.mdc != null) {
+                        MDC.setContextMap(callback.mdc);
+                    }
+                    if (!callback.delivery.getAsBoolean()) {
+                        return;
+                    }
+                } catch (Exception e) {
+                    logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_GENERAL_EXCEPTION.toString(), "BPMN",
+                            ErrorCode.UnknownError.getValue(), "Caught " + e.getClass().getSimpleName()
+                                    + " delivering parked " + key + ": " + e,
+                            e);
+                } finally {
+                    restore(previousContext);
+                }
+                remove(key, callback);
+                logger.debug("Delivered parked {}", key);
+            }
+        }
+    }
+
+    /**
+     * Drops expired callbacks, then retries up to sweepBatchSize parked keys, for subscriptions this node did not see
+     * being created. The keys not retried in this run are retried first in the next one.
+     */
+    protected void sweep() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Key, Deque<PendingCallback>> entry : pending.entrySet()) {
+            Deque<PendingCallback> callbacks = entry.getValue();
+            synchronized (callbacks) {
+                PendingCallback callback;
+                while ((callback = callbacks.peekFirst()) != null && callback.expiresAt <= now) {
+                    remove(entry.getKey(), callback);
+                    logger.error(LoggingAnchor.FOUR, MessageEnum.BPMN_CALLBACK_EXCEPTION.toString(), "BPMN",
+                            ErrorCode.UnknownError.getValue(), "No process is waiting for " + entry.getKey());
+                }
+            }
+        }
+        int scheduled = 0;
+        for (int remaining = retries.size(); remaining > 0 && scheduled < sweepBatchSize; remaining--) {
+            Map.Entry<Key, Deque<PendingCallback>> parked = retries.poll();
+            if (parked == null) {
+                break;
+            }
+            // entries of keys that have since been delivered or dropped are left out
+            if (pending.get(parked.getKey()) == parked.getValue()) {
+                retries.add(parked);
+                scheduleDelivery(parked.getKey());
+                scheduled++;
+            }
+        }
+    }
+
+    private void remove(Key key, PendingCallback callback) {
+        pending.computeIfPresent(key, (k, queue) -> {
+            if (queue.remove(callback)) {
+                size.decrementAndGet();
+            }
+            if (queue.isEmpty()) {
+                unindex(key);
+                return null;
+            }
+            return queue;
+        });
+    }
+
+    private void index(Key key) {
+        parkedKeys.computeIfAbsent(key.correlationVariable, variable -> new ConcurrentHashMap<>())
+                .compute(key.correlationValue, (value, keys) -> {
+                    Set<Key> indexed = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+                    indexed.add(key);
+                    return indexed;
+                });
+    }
+
+    private void unindex(Key key) {
+        Map<String, Set<Key>> byValue = parkedKeys.get(key.correlationVariable);
+        if (byValue != null) {
+            byValue.computeIfPresent(key.correlationValue, (value, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private void restore(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+
+    protected static class Key {
+        private final String messageEventName;
+        private final String correlationVariable;
+        private final String correlationValue;
+
+        protected Key(String messageEventName, String correlationVariable, String correlationValue) {
+            this.messageEventName = messageEventName;
+            this.correlationVariable = correlationVariable;
+            this.correlationValue = correlationValue;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return Objects.equals(messageEventName, key.messageEventName)
+                    && Objects.equals(correlationVariable, key.correlationVariable)
+                    && Objects.equals(correlationValue, key.correlationValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(messageEventName, correlationVariable, correlationValue);
+        }
+
+        @Override
+        public String toString() {
+            return messageEventName + " with " + correlationVariable + " = '" + correlationValue + "'";
+        }
+    }
+
+    private static class PendingCallback {
+        private final BooleanSupplier delivery;
+        private final long expiresAt;
+        private final Map<String, String> mdc;
+
+        private PendingCallback(BooleanSupplier delivery, long expiresAt, Map<String, String> mdc) {
+            this.delivery = delivery;
+            this.expiresAt = expiresAt;
+            this.mdc = mdc;
+        }
+    }
+}
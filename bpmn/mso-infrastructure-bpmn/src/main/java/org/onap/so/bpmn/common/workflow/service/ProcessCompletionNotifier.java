@@ -0,0 +1,67 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.common.workflow.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets callers wait for a process instance to end without polling. The end is signalled by
+ * {@link org.onap.so.bpmn.core.plugins.ProcessCompletionPlugin} once the transaction ending the process instance has
+ * been committed, so its history is readable when the returned future completes.
+ */
+public class ProcessCompletionNotifier {
+
+    private static final ProcessCompletionNotifier instance = new ProcessCompletionNotifier();
+
+    private final Map<String, CompletableFuture<String>> awaiting = new ConcurrentHashMap<>();
+
+    public static ProcessCompletionNotifier getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns a future completed with the process instance id when the process instance ends. The caller must check
+     * whether the process instance already ended after calling this method.
+     */
+    public CompletableFuture<String> await(String processInstanceId) {
+        return awaiting.computeIfAbsent(processInstanceId, id -> new CompletableFuture<>());
+    }
+
+    public boolean isAwaited(String processInstanceId) {
+        return awaiting.containsKey(processInstanceId);
+    }
+
+    public void ended(String processInstanceId) {
+        CompletableFuture<String> waiting = awaiting.remove(processInstanceId);
+        if (waiting != null) {
+            waiting.complete(processInstanceId);
+        }
+    }
+
+    public void cancel(String processInstanceId) {
+        CompletableFuture<String> waiting = awaiting.remove(processInstanceId);
+        if (waiting != null) {
+            waiting.cancel(false);
+        }
+    }
+}
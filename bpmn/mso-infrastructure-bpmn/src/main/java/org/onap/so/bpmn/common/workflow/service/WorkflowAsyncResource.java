@@ -26,11 +26,19 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.Provider;
 import org.camunda.bpm.engine.ProcessEngineServices;
@@ -69,7 +77,6 @@ public class WorkflowAsyncResource extends ProcessEngineAwareService {
 
     private static final WorkflowContextHolder contextHolder = WorkflowContextHolder.getInstance();
 
-    long workflowPollInterval = 1000;
     private static final String ASYNC_WAIT_TIME = "mso.workflow.async.waitTime";
 
     @Autowired
@@ -89,53 +96,110 @@ public class WorkflowAsyncResource extends ProcessEngineAwareService {
     protected static final long DEFAULT_WAIT_TIME = 60000; // default wait time
 
     /**
-     * Asynchronous JAX-RS method that starts a process instance.
+     * Asynchronous JAX-RS method that starts a process instance. The server thread is released while waiting for the
+     * process to produce its response.
      * 
      * @param processKey the process key
      * @param variableMap input variables to the process
-     * @return
+     * @param asyncResponse resumed with the response
      */
-
     @POST
     @Path("/services/{processKey}")
     @Operation(description = "Starts a new process with the appropriate process Key. Aysnc fall outs are only logged")
     @Produces("application/json")
     @Consumes("application/json")
-    public Response startProcessInstanceByKey(@PathParam("processKey") String processKey, VariableMapImpl variableMap) {
+    public void startProcessInstanceByKey(@PathParam("processKey") String processKey, VariableMapImpl variableMap,
+            @Suspended AsyncResponse asyncResponse) {
+        Map<String, Object> inputVariables = getInputVariables(variableMap);
+        String requestId = getRequestId(inputVariables);
+        try {
+            MDC.put(ONAPLogConstants.MDCs.REQUEST_ID, requestId);
+            processor.startProcess(processKey, variableMap);
+            awaitResponse(inputVariables).whenComplete((response, e) -> {
+                if (e == null) {
+                    asyncResponse.resume(buildResponse(response));
+                } else {
+                    asyncResponse.resume(buildErrorResponse(requestId, unwrap(e)));
+                }
+            });
+        } catch (Exception e) {
+            asyncResponse.resume(buildErrorResponse(requestId, e));
+        }
+    }
+
+    /**
+     * Starts a process instance and blocks until the process has produced its response.
+     * 
+     * @param processKey the process key
+     * @param variableMap input variables to the process
+     * @return
+     */
+    public Response startProcessInstanceByKey(String processKey, VariableMapImpl variableMap) {
         Map<String, Object> inputVariables = getInputVariables(variableMap);
         try {
             MDC.put(ONAPLogConstants.MDCs.REQUEST_ID, getRequestId(inputVariables));
             processor.startProcess(processKey, variableMap);
-            WorkflowResponse response = waitForResponse(inputVariables);
-            if (response.getMessageCode() == 500) {
-                return Response.status(500).entity(response).build();
-            } else {
-                return Response.status(202).entity(response).build();
-            }
-        } catch (WorkflowProcessorException e) {
-            WorkflowResponse response = e.getWorkflowResponse();
-            return Response.status(500).entity(response).build();
+            return buildResponse(waitForResponse(inputVariables));
         } catch (Exception e) {
-            WorkflowResponse response = buildUnkownError(getRequestId(inputVariables), e.getMessage());
+            return buildErrorResponse(getRequestId(inputVariables), e);
+        }
+    }
+
+    private Response buildResponse(WorkflowResponse response) {
+        if (response.getMessageCode() == 500) {
             return Response.status(500).entity(response).build();
+        } else {
+            return Response.status(202).entity(response).build();
         }
     }
 
+    private Response buildErrorResponse(String requestId, Throwable e) {
+        if (e instanceof WorkflowProcessorException) {
+            return Response.status(500).entity(((WorkflowProcessorException) e).getWorkflowResponse()).build();
+        }
+        return Response.status(500).entity(buildUnkownError(requestId, e.getMessage())).build();
+    }
+
     protected WorkflowResponse waitForResponse(Map<String, Object> inputVariables) throws Exception {
+        try {
+            return awaitResponse(inputVariables).get();
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+
+    /**
+     * Returns a future completed with the response of the request as soon as the process hands it to the workflow
+     * context holder, or completed exceptionally when no response is handed over within the wait time.
+     */
+    protected CompletableFuture<WorkflowResponse> awaitResponse(Map<String, Object> inputVariables) {
         String requestId = getRequestId(inputVariables);
-        long currentWaitTime = 0;
         long waitTime = getWaitTime();
         logger.debug("WorkflowAsyncResource.waitForResponse using timeout: " + waitTime);
-        while (waitTime > currentWaitTime) {
-            Thread.sleep(workflowPollInterval);
-            currentWaitTime = currentWaitTime + workflowPollInterval;
-            WorkflowContext foundContext = contextHolder.getWorkflowContext(requestId);
-            if (foundContext != null) {
-                contextHolder.remove(foundContext);
-                return buildResponse(foundContext);
+        CompletableFuture<WorkflowContext> waiting = contextHolder.awaitWorkflowContext(requestId);
+        return waiting.orTimeout(waitTime, TimeUnit.MILLISECONDS).handle((foundContext, e) -> {
+            if (e != null) {
+                contextHolder.cancelAwait(requestId, waiting);
+                Throwable cause = unwrap(e);
+                if (cause instanceof TimeoutException || cause instanceof CancellationException) {
+                    throw new CompletionException(new Exception(
+                            "TimeOutOccured in WorkflowAsyncResource.waitForResponse for time " + waitTime + "ms"));
+                }
+                throw new CompletionException(cause);
             }
+            contextHolder.remove(foundContext);
+            return foundContext.getWorkflowResponse();
+        });
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
         }
-        throw new Exception("TimeOutOccured in WorkflowAsyncResource.waitForResponse for time " + waitTime + "ms");
+        return cause;
     }
 
     private WorkflowResponse buildUnkownError(String requestId, String error) {
@@ -146,10 +210,6 @@ public class WorkflowAsyncResource extends ProcessEngineAwareService {
         return response;
     }
 
-    private WorkflowResponse buildResponse(WorkflowContext foundContext) {
-        return foundContext.getWorkflowResponse();
-    }
-
     protected static String getOrCreate(Map<String, Object> inputVariables, String key) {
         String value = Objects.toString(inputVariables.get(key), null);
         if (value == null) {
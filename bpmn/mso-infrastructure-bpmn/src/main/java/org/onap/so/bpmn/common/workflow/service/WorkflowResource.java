@@ -26,19 +26,27 @@ package org.onap.so.bpmn.common.workflow.service;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
-import javax.ws.rs.core.Context;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Response;
-import javax.ws.rs.core.UriInfo;
 import org.onap.so.logger.LoggingAnchor;
 import org.camunda.bpm.engine.HistoryService;
-import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.ProcessEngineServices;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
@@ -68,143 +76,185 @@ public class WorkflowResource extends ProcessEngineAwareService {
     private static final String LOGMARKER = "[WRKFLOW-RESOURCE]";
 
     private static final int DEFAULT_WAIT_TIME = 30000;
+    private static final long END_RECHECK_INTERVAL = 5000;
+    private static final int PROCESS_THREADS = 50;
+    private static final int PROCESS_QUEUE_CAPACITY = 200;
+
+    private static final AtomicInteger processThreadCount = new AtomicInteger();
+    // bounded so a burst of requests queues up to PROCESS_QUEUE_CAPACITY and is then refused with an error response
+    private static final ThreadPoolExecutor processExecutor = new ThreadPoolExecutor(PROCESS_THREADS,
+            PROCESS_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(PROCESS_QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "workflow-resource-" + processThreadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+
+    static {
+        processExecutor.allowCoreThreadTimeOut(true);
+    }
+    private static final ScheduledExecutorService recheckScheduler =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "workflow-resource-recheck");
+                thread.setDaemon(true);
+                return thread;
+            });
 
-    @Context
-    private UriInfo uriInfo = null;
+    private final ProcessCompletionNotifier completionNotifier = ProcessCompletionNotifier.getInstance();
 
     /**
      * Starts the process instance and responds to client synchronously If the request does not contain
      * mso-service-request-timeout then it waits for the value specified in DEFAULT_WAIT_TIME Note: value specified in
-     * mso-service-request-timeout is in seconds During polling time, if there is an exception encountered in the
-     * process execution then polling is stopped and the error response is returned to the client
+     * mso-service-request-timeout is in seconds. The server thread is released while the process runs, the response is
+     * resumed once the process has ended or the wait time has elapsed. If there is an exception encountered in the
+     * process execution then the error response is returned to the client
      * 
      * @param processKey
      * @param variableMap
-     * @return
+     * @param asyncResponse
      */
     @POST
     @Path("/services/{processKey}")
     @Operation(description = "Starts a new process with the appropriate process synchronously")
     @Produces("application/json")
     @Consumes("application/json")
-    public Response startProcessInstanceByKey(@PathParam("processKey") String processKey, VariableMapImpl variableMap) {
+    public void startProcessInstanceByKey(@PathParam("processKey") String processKey, VariableMapImpl variableMap,
+            @Suspended AsyncResponse asyncResponse) {
+        startProcess(processKey, variableMap).thenAccept(asyncResponse::resume);
+    }
+
+    /**
+     * Starts the process instance and blocks until the response is available, see
+     * {@link #startProcessInstanceByKey(String, VariableMapImpl, AsyncResponse)}
+     * 
+     * @param processKey
+     * @param variableMap
+     * @return
+     */
+    public Response startProcessInstanceByKey(String processKey, VariableMapImpl variableMap) {
+        return startProcess(processKey, variableMap).join();
+    }
 
+    /**
+     * Starts the process instance in the background. The returned future is completed with the response built from
+     * the process history once the process has ended, with an error response if the process could not be executed or
+     * too many processes are already waiting to start, or with a timeout response after the wait time.
+     */
+    protected CompletableFuture<Response> startProcess(String processKey, VariableMapImpl variableMap) {
         Map<String, Object> inputVariables = getInputVariables(variableMap);
         setLogContext(processKey, inputVariables);
 
-        WorkflowResponse workflowResponse = new WorkflowResponse();
         long startTime = System.currentTimeMillis();
-        ProcessInstance processInstance = null;
+        long waitTime = getWaitTime(inputVariables);
+        logger.debug(LOGMARKER + "WorkflowResource.startProcessInstanceByKey using timeout: " + waitTime);
 
+        AtomicReference<ProcessInstance> processInstance = new AtomicReference<>();
+        CompletableFuture<String> started;
         try {
-            // Kickoff the process
-            ProcessThread thread = new ProcessThread(inputVariables, processKey);
-            thread.start();
-
-            Map<String, Object> responseMap = null;
-
-            // wait for process to be completed
-            long waitTime = getWaitTime(inputVariables);
-            long now = System.currentTimeMillis();
-            long start = now;
-            long endTime = start + waitTime;
-            long pollingInterval = 500;
-
-            // TEMPORARY LOGIC FOR UNIT TEST REFACTORING
-            // If this is a unit test (method is invoked directly), wait a max
-            // of 5 seconds after process ended for a result. In production,
-            // wait up to 60 seconds.
-            long timeToWaitAfterProcessEnded = uriInfo == null ? 5000 : 60000;
-            AtomicLong timeProcessEnded = new AtomicLong(0);
-            boolean endedWithNoResponse = false;
-            logger.debug(LOGMARKER + "WorkflowResource.startProcessInstanceByKey using timeout: " + waitTime);
-            while (now <= endTime) {
-                Thread.sleep(pollingInterval);
-
-                now = System.currentTimeMillis();
-
-                // Increase the polling interval over time
-
-                long elapsed = now - start;
-
-                if (elapsed > 60000) {
-                    pollingInterval = 5000;
-                } else if (elapsed > 10000) {
-                    pollingInterval = 1000;
-                }
-                Exception exception = thread.getException();
-                if (exception != null) {
-                    throw new Exception(exception);
-                }
-
-                processInstance = thread.getProcessInstance();
-
-                if (processInstance == null) {
-                    logger.debug("{} process has not been created yet", LOGMARKER + processKey);
-                    continue;
-                }
-
-                String processInstanceId = processInstance.getId();
-                workflowResponse.setProcessInstanceID(processInstanceId);
-
-                responseMap = getResponseMap(processInstance, processKey, timeProcessEnded);
-
-                if (responseMap == null) {
-                    logger.debug("{} has not produced a response yet", LOGMARKER + processKey);
-
-                    if (timeProcessEnded.longValue() != 0) {
-                        long elapsedSinceEnded = System.currentTimeMillis() - timeProcessEnded.longValue();
+            started = CompletableFuture.supplyAsync(() -> {
+                setLogContext(processKey, inputVariables);
+                // Note that this method doesn't return until the process suspends itself or finishes
+                RuntimeService runtimeService = getProcessEngineServices().getRuntimeService();
+                processInstance.set(runtimeService.startProcessInstanceByKey(processKey, inputVariables));
+                return processInstance.get().getId();
+            }, processExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(buildErrorResponse(processKey, null, e, startTime));
+        }
+        CompletableFuture<Response> response = started.thenCompose(this::awaitEnd)
+                .thenApply(processInstanceId -> buildResponse(processKey, processInstanceId, startTime))
+                .exceptionally(e -> buildErrorResponse(processKey, processInstance.get(), unwrap(e), startTime));
 
-                        if (elapsedSinceEnded > timeToWaitAfterProcessEnded) {
-                            endedWithNoResponse = true;
-                            break;
-                        }
-                    }
-                } else {
-                    processResponseMap(workflowResponse, responseMap);
-                    recordEvents(processKey, workflowResponse, startTime);
-                    return Response.status(workflowResponse.getMessageCode()).entity(workflowResponse).build();
-                }
+        return response.completeOnTimeout(null, waitTime, TimeUnit.MILLISECONDS).thenApply(result -> {
+            if (result != null) {
+                return result;
             }
-
             // if we dont get response after waiting then send timeout response
+            return buildTimeoutResponse(processKey, processInstance.get(), startTime);
+        });
+    }
 
-            String state;
-            String processInstanceId;
-
-            if (processInstance == null) {
-                processInstanceId = "N/A";
-                state = "NOT STARTED";
-            } else {
-                processInstanceId = processInstance.getProcessInstanceId();
-                state = isProcessEnded(processInstanceId) ? "ENDED" : "NOT ENDED";
+    /**
+     * Returns a future completed with the process instance id once the process instance has ended. The end is
+     * signalled by the {@link ProcessCompletionNotifier}, the process state is also rechecked every
+     * END_RECHECK_INTERVAL in case the end happened on an engine that does not notify.
+     */
+    private CompletableFuture<String> awaitEnd(String processInstanceId) {
+        CompletableFuture<String> ended = completionNotifier.await(processInstanceId);
+        if (isProcessEnded(processInstanceId)) {
+            completionNotifier.ended(processInstanceId);
+            return ended;
+        }
+        ScheduledFuture<?> recheck = recheckScheduler.scheduleWithFixedDelay(() -> {
+            if (isProcessEnded(processInstanceId)) {
+                completionNotifier.ended(processInstanceId);
             }
+        }, END_RECHECK_INTERVAL, END_RECHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        ended.whenComplete((id, e) -> recheck.cancel(false));
+        return ended;
+    }
 
+    private Response buildResponse(String processKey, String processInstanceId, long startTime) {
+        WorkflowResponse workflowResponse = new WorkflowResponse();
+        workflowResponse.setProcessInstanceID(processInstanceId);
+        Map<String, Object> responseMap = getResponseMap(processInstanceId, processKey);
+        if (responseMap == null) {
+            logger.debug("{} ended without producing a response", LOGMARKER + processKey);
             workflowResponse.setMessage("Fail");
-            if (endedWithNoResponse) {
-                workflowResponse.setResponse("Process ended without producing a response");
-            } else {
-                workflowResponse.setResponse("Request timed out, process state: " + state);
-            }
-            workflowResponse.setProcessInstanceID(processInstanceId);
-            recordEvents(processKey, workflowResponse, startTime);
+            workflowResponse.setResponse("Process ended without producing a response");
             workflowResponse.setMessageCode(500);
-            return Response.status(500).entity(workflowResponse).build();
-        } catch (Exception ex) {
-            logger.debug(LOGMARKER + "Exception in startProcessInstance by key", ex);
-            workflowResponse.setMessage("Fail");
-            workflowResponse.setResponse("Error occurred while executing the process: " + ex.getMessage());
-            if (processInstance != null)
-                workflowResponse.setProcessInstanceID(processInstance.getId());
+        } else {
+            processResponseMap(workflowResponse, responseMap);
+        }
+        recordEvents(processKey, workflowResponse, startTime);
+        return Response.status(workflowResponse.getMessageCode()).entity(workflowResponse).build();
+    }
 
-            logger.error(LoggingAnchor.FIVE, MessageEnum.BPMN_GENERAL_EXCEPTION_ARG.toString(), "BPMN",
-                    MDC.get(processKey), ErrorCode.UnknownError.getValue(), LOGMARKER + workflowResponse.getMessage()
-                            + " for processKey: " + processKey + " with response: " + workflowResponse.getResponse());
+    private Response buildTimeoutResponse(String processKey, ProcessInstance processInstance, long startTime) {
+        String state;
+        String processInstanceId;
 
-            workflowResponse.setMessageCode(500);
-            recordEvents(processKey, workflowResponse, startTime);
-            return Response.status(500).entity(workflowResponse).build();
+        if (processInstance == null) {
+            processInstanceId = "N/A";
+            state = "NOT STARTED";
+        } else {
+            processInstanceId = processInstance.getProcessInstanceId();
+            completionNotifier.cancel(processInstanceId);
+            state = isProcessEnded(processInstanceId) ? "ENDED" : "NOT ENDED";
         }
+
+        WorkflowResponse workflowResponse = new WorkflowResponse();
+        workflowResponse.setMessage("Fail");
+        workflowResponse.setResponse("Request timed out, process state: " + state);
+        workflowResponse.setProcessInstanceID(processInstanceId);
+        recordEvents(processKey, workflowResponse, startTime);
+        workflowResponse.setMessageCode(500);
+        return Response.status(500).entity(workflowResponse).build();
+    }
+
+    private Response buildErrorResponse(String processKey, ProcessInstance processInstance, Throwable ex,
+            long startTime) {
+        logger.debug(LOGMARKER + "Exception in startProcessInstance by key", ex);
+        WorkflowResponse workflowResponse = new WorkflowResponse();
+        workflowResponse.setMessage("Fail");
+        workflowResponse.setResponse("Error occurred while executing the process: " + ex);
+        if (processInstance != null)
+            workflowResponse.setProcessInstanceID(processInstance.getId());
+
+        logger.error(LoggingAnchor.FIVE, MessageEnum.BPMN_GENERAL_EXCEPTION_ARG.toString(), "BPMN",
+                MDC.get(processKey), ErrorCode.UnknownError.getValue(), LOGMARKER + workflowResponse.getMessage()
+                        + " for processKey: " + processKey + " with response: " + workflowResponse.getResponse());
+
+        workflowResponse.setMessageCode(500);
+        recordEvents(processKey, workflowResponse, startTime);
+        return Response.status(500).entity(workflowResponse).build();
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
     }
 
     /**
@@ -290,67 +340,6 @@ public class WorkflowResource extends ProcessEngineAwareService {
         }
     }
 
-    /**
-     * @version 1.0 Triggers the workflow in a separate thread
-     */
-    private class ProcessThread extends Thread {
-        private final Map<String, Object> inputVariables;
-        private final String processKey;
-        private final String businessKey;
-        private ProcessInstance processInstance = null;
-        private Exception exception = null;
-
-        public ProcessThread(Map<String, Object> inputVariables, String processKey) {
-            this.inputVariables = inputVariables;
-            this.processKey = processKey;
-            this.businessKey = UUID.randomUUID().toString();
-        }
-
-        /**
-         * If an exception occurs when starting the process instance, it may be obtained by calling this method. Note
-         * that exceptions are only recorded while the process is executing in its original thread. Once a process is
-         * suspended, exception recording stops.
-         * 
-         * @return the exception, or null if none has occurred
-         */
-        public Exception getException() {
-            return exception;
-        }
-
-
-        public ProcessInstance getProcessInstance() {
-            return this.processInstance;
-        }
-
-        /**
-         * Sets the process instance exception.
-         * 
-         * @param exception the exception
-         */
-        private void setException(Exception exception) {
-            this.exception = exception;
-        }
-
-        public void run() {
-            setLogContext(processKey, inputVariables);
-
-            try {
-
-                RuntimeService runtimeService = getProcessEngineServices().getRuntimeService();
-
-                // Note that this method doesn't return until the process suspends
-                // itself or finishes. We provide a business key so we can identify
-                // the process instance immediately.
-                processInstance = runtimeService.startProcessInstanceByKey(processKey, inputVariables);
-
-            } catch (Exception e) {
-                logger.debug(LOGMARKER + "ProcessThread caught an exception executing " + processKey + ": " + e);
-                setException(e);
-            }
-        }
-
-    }
-
     private Map<String, Object> getInputVariables(VariableMapImpl variableMap) {
         VariableMap inputVariables = Variables.createVariables();
         @SuppressWarnings("unchecked")
@@ -376,172 +365,143 @@ public class WorkflowResource extends ProcessEngineAwareService {
     }
 
     /**
-     * Attempts to get a response map from the specified process instance.
+     * Attempts to get a response map from the specified ended process instance. The history variables of the process
+     * instance are read with a single query.
      * 
      * @return the response map, or null if it is unavailable
      */
-    private Map<String, Object> getResponseMap(ProcessInstance processInstance, String processKey,
-            AtomicLong timeProcessEnded) {
+    private Map<String, Object> getResponseMap(String processInstanceId, String processKey) {
 
         String responseMapVariable = processKey + "ResponseMap";
-        String processInstanceId = processInstance.getId();
-
-        // Query the runtime service to see if a response map is ready.
-
-        /*
-         * RuntimeService runtimeService = getProcessEngineServices().getRuntimeService(); List<Execution> executions =
-         * runtimeService.createExecutionQuery() .processInstanceId(processInstanceId).list();
-         * 
-         * for (Execution execution : executions) {
-         * 
-         * @SuppressWarnings("unchecked") Map<String, Object> responseMap = (Map<String, Object>)
-         * getVariableFromExecution(runtimeService, execution.getId(), responseMapVariable);
-         * 
-         * if (responseMap != null) { msoLogger.debug(LOGMARKER + "Obtained " + responseMapVariable + " from process " +
-         * processInstanceId + " execution " + execution.getId()); return responseMap; } }
-         */
+
         // Querying history seem to return consistent results compared to querying the runtime service
+        Map<String, HistoricVariableInstance> history = getVariablesFromHistory(processInstanceId);
 
-        boolean alreadyEnded = timeProcessEnded.longValue() != 0;
+        @SuppressWarnings("unchecked")
+        Map<String, Object> responseMap = (Map<String, Object>) getValue(history, responseMapVariable);
 
-        if (alreadyEnded || isProcessEnded(processInstance.getId())) {
-            if (!alreadyEnded) {
-                timeProcessEnded.set(System.currentTimeMillis());
-            }
+        if (responseMap != null) {
+            logger.debug(LOGMARKER + "Obtained " + responseMapVariable + " from process " + processInstanceId
+                    + " history");
+            return responseMap;
+        }
 
-            // Query the history service to see if a response map exists.
+        // Query the history service for old-style response variables.
 
-            HistoryService historyService = getProcessEngineServices().getHistoryService();
-            @SuppressWarnings("unchecked")
-            Map<String, Object> responseMap = (Map<String, Object>) getVariableFromHistory(historyService,
-                    processInstance.getId(), responseMapVariable);
+        String prefix = (String) getValue(history, "prefix");
 
-            if (responseMap != null) {
-                logger.debug(LOGMARKER + "Obtained " + responseMapVariable + " from process " + processInstanceId
-                        + " history");
-                return responseMap;
-            }
+        if (prefix != null) {
 
-            // Query the history service for old-style response variables.
+            // Check for 'WorkflowResponse' variable
+            Object workflowResponseObject = getValue(history, "WorkflowResponse");
+            String workflowResponse = workflowResponseObject == null ? null : String.valueOf(workflowResponseObject);
+            logger.debug(LOGMARKER + "WorkflowResponse: " + workflowResponse);
 
-            String prefix = (String) getVariableFromHistory(historyService, processInstanceId, "prefix");
+            if (workflowResponse != null) {
+                Object responseCodeObject = getValue(history, prefix + "ResponseCode");
+                String responseCode = responseCodeObject == null ? null : String.valueOf(responseCodeObject);
+                logger.debug(LOGMARKER + prefix + "ResponseCode: " + responseCode);
+                responseMap = new HashMap<>();
+                responseMap.put("WorkflowResponse", workflowResponse);
+                responseMap.put("ResponseCode", responseCode);
+                responseMap.put("Status", "Success");
+                return responseMap;
+            }
 
-            if (prefix != null) {
 
-                // Check for 'WorkflowResponse' variable
-                Object workflowResponseObject =
-                        getVariableFromHistory(historyService, processInstanceId, "WorkflowResponse");
-                String workflowResponse =
-                        workflowResponseObject == null ? null : String.valueOf(workflowResponseObject);
-                logger.debug(LOGMARKER + "WorkflowResponse: " + workflowResponse);
+            // Check for 'WorkflowException' variable
+            WorkflowException workflowException = null;
+            String workflowExceptionText = null;
 
-                if (workflowResponse != null) {
-                    Object responseCodeObject =
-                            getVariableFromHistory(historyService, processInstanceId, prefix + "ResponseCode");
-                    String responseCode = responseCodeObject == null ? null : String.valueOf(responseCodeObject);
-                    logger.debug(LOGMARKER + prefix + "ResponseCode: " + responseCode);
+            Object workflowExceptionObject = getValue(history, "WorkflowException");
+            if (workflowExceptionObject != null) {
+                if (workflowExceptionObject instanceof WorkflowException) {
+                    workflowException = (WorkflowException) workflowExceptionObject;
+                    workflowExceptionText = workflowException.toString();
                     responseMap = new HashMap<>();
-                    responseMap.put("WorkflowResponse", workflowResponse);
-                    responseMap.put("ResponseCode", responseCode);
-                    responseMap.put("Status", "Success");
+                    responseMap.put("WorkflowException", workflowExceptionText);
+                    responseMap.put("ResponseCode", workflowException.getErrorCode());
+                    responseMap.put("Status", "Fail");
                     return responseMap;
-                }
-
-
-                // Check for 'WorkflowException' variable
-                WorkflowException workflowException = null;
-                String workflowExceptionText = null;
-
-                Object workflowExceptionObject =
-                        getVariableFromHistory(historyService, processInstanceId, "WorkflowException");
-                if (workflowExceptionObject != null) {
-                    if (workflowExceptionObject instanceof WorkflowException) {
-                        workflowException = (WorkflowException) workflowExceptionObject;
-                        workflowExceptionText = workflowException.toString();
-                        responseMap = new HashMap<>();
-                        responseMap.put("WorkflowException", workflowExceptionText);
-                        responseMap.put("ResponseCode", workflowException.getErrorCode());
-                        responseMap.put("Status", "Fail");
-                        return responseMap;
-                    } else if (workflowExceptionObject instanceof String) {
-                        Object object =
-                                getVariableFromHistory(historyService, processInstanceId, prefix + "ResponseCode");
-                        String responseCode = object == null ? null : String.valueOf(object);
-                        workflowExceptionText = (String) workflowExceptionObject;
-                        responseMap = new HashMap<>();
-                        responseMap.put("WorkflowException", workflowExceptionText);
-                        responseMap.put("ResponseCode", responseCode);
-                        responseMap.put("Status", "Fail");
-                        return responseMap;
-                    }
-
-                }
-                logger.debug(LOGMARKER + "WorkflowException: " + workflowExceptionText);
-
-                // BEGIN LEGACY SUPPORT. TODO: REMOVE THIS CODE
-                Object object = getVariableFromHistory(historyService, processInstanceId, processKey + "Response");
-                String response = object == null ? null : String.valueOf(object);
-                logger.debug(LOGMARKER + processKey + "Response: " + response);
-
-                if (response != null) {
-                    object = getVariableFromHistory(historyService, processInstanceId, prefix + "ResponseCode");
+                } else if (workflowExceptionObject instanceof String) {
+                    Object object = getValue(history, prefix + "ResponseCode");
                     String responseCode = object == null ? null : String.valueOf(object);
-                    logger.debug(LOGMARKER + prefix + "ResponseCode: " + responseCode);
+                    workflowExceptionText = (String) workflowExceptionObject;
                     responseMap = new HashMap<>();
-                    responseMap.put("Response", response);
+                    responseMap.put("WorkflowException", workflowExceptionText);
                     responseMap.put("ResponseCode", responseCode);
-                    responseMap.put("Status", "Success");
+                    responseMap.put("Status", "Fail");
                     return responseMap;
                 }
 
-                object = getVariableFromHistory(historyService, processInstanceId, prefix + "ErrorResponse");
-                String errorResponse = object == null ? null : String.valueOf(object);
-                logger.debug(LOGMARKER + prefix + "ErrorResponse: " + errorResponse);
+            }
+            logger.debug(LOGMARKER + "WorkflowException: " + workflowExceptionText);
+
+            // BEGIN LEGACY SUPPORT. TODO: REMOVE THIS CODE
+            Object object = getValue(history, processKey + "Response");
+            String response = object == null ? null : String.valueOf(object);
+            logger.debug(LOGMARKER + processKey + "Response: " + response);
+
+            if (response != null) {
+                object = getValue(history, prefix + "ResponseCode");
+                String responseCode = object == null ? null : String.valueOf(object);
+                logger.debug(LOGMARKER + prefix + "ResponseCode: " + responseCode);
+                responseMap = new HashMap<>();
+                responseMap.put("Response", response);
+                responseMap.put("ResponseCode", responseCode);
+                responseMap.put("Status", "Success");
+                return responseMap;
+            }
 
-                if (errorResponse != null) {
-                    object = getVariableFromHistory(historyService, processInstanceId, prefix + "ResponseCode");
-                    String responseCode = object == null ? null : String.valueOf(object);
-                    logger.debug(LOGMARKER + prefix + "ResponseCode: " + responseCode);
-                    responseMap = new HashMap<>();
-                    responseMap.put("Response", errorResponse);
-                    responseMap.put("ResponseCode", responseCode);
-                    responseMap.put("Status", "Fail");
-                    return responseMap;
-                }
-                // END LEGACY SUPPORT. TODO: REMOVE THIS CODE
+            object = getValue(history, prefix + "ErrorResponse");
+            String errorResponse = object == null ? null : String.valueOf(object);
+            logger.debug(LOGMARKER + prefix + "ErrorResponse: " + errorResponse);
+
+            if (errorResponse != null) {
+                object = getValue(history, prefix + "ResponseCode");
+                String responseCode = object == null ? null : String.valueOf(object);
+                logger.debug(LOGMARKER + prefix + "ResponseCode: " + responseCode);
+                responseMap = new HashMap<>();
+                responseMap.put("Response", errorResponse);
+                responseMap.put("ResponseCode", responseCode);
+                responseMap.put("Status", "Fail");
+                return responseMap;
             }
+            // END LEGACY SUPPORT. TODO: REMOVE THIS CODE
         }
         return null;
     }
 
     /**
-     * Gets a variable value from the specified execution.
+     * Gets the variables of the specified historical process instance by name.
      * 
-     * @return the variable value, or null if the variable could not be obtained
+     * @return the variables, empty if they could not be obtained
      */
-    private Object getVariableFromExecution(RuntimeService runtimeService, String executionId, String variableName) {
+    private Map<String, HistoricVariableInstance> getVariablesFromHistory(String processInstanceId) {
+        Map<String, HistoricVariableInstance> variables = new HashMap<>();
         try {
-            return runtimeService.getVariable(executionId, variableName);
-        } catch (ProcessEngineException e) {
-            // Most likely cause is that the execution no longer exists.
-            logger.debug("Error retrieving execution " + executionId + " variable " + variableName + ": " + e);
-            return null;
+            HistoryService historyService = getProcessEngineServices().getHistoryService();
+            for (HistoricVariableInstance v : historyService.createHistoricVariableInstanceQuery()
+                    .processInstanceId(processInstanceId).list()) {
+                variables.put(v.getName(), v);
+            }
+        } catch (Exception e) {
+            logger.debug("Error retrieving process {} variables from history: ", processInstanceId, e);
         }
+        return variables;
     }
 
     /**
-     * Gets a variable value from specified historical process instance.
+     * Gets a variable value from the historical variables, values are only deserialized when asked for.
      * 
      * @return the variable value, or null if the variable could not be obtained
      */
-    private Object getVariableFromHistory(HistoryService historyService, String processInstanceId,
-            String variableName) {
+    private Object getValue(Map<String, HistoricVariableInstance> variables, String variableName) {
+        HistoricVariableInstance v = variables.get(variableName);
         try {
-            HistoricVariableInstance v = historyService.createHistoricVariableInstanceQuery()
-                    .processInstanceId(processInstanceId).variableName(variableName).singleResult();
             return v == null ? null : v.getValue();
         } catch (Exception e) {
-            logger.debug("Error retrieving process {} variable {} from history: ", processInstanceId, variableName, e);
+            logger.debug("Error retrieving variable {} from history: ", variableName, e);
             return null;
         }
     }
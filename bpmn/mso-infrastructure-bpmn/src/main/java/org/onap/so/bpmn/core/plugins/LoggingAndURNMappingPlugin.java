@@ -24,6 +24,8 @@ package org.onap.so.bpmn.core.plugins;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.ExecutionListener;
@@ -55,9 +57,14 @@ public class LoggingAndURNMappingPlugin extends AbstractProcessEnginePlugin {
     public static final String SERVICE_INSTANCE_ID = "ServiceInstanceId";
     public static final String SERVICE_NAME = "ServiceName";
 
+    private static final String IS_DEBUG_LOG_ENABLED = "isDebugLogEnabled";
+
     @Autowired
     private LoggingParseListener loggingParseListener;
 
+    // process definitions are immutable, their names are looked up once per definition id
+    private final Map<String, String> processNames = new ConcurrentHashMap<>();
+
     @Override
     public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
         List<BpmnParseListener> preParseListeners = processEngineConfiguration.getCustomPreBPMNParseListeners();
@@ -284,18 +291,16 @@ public class LoggingAndURNMappingPlugin extends AbstractProcessEnginePlugin {
 
         @Override
         public void notify(DelegateExecution execution) throws Exception {
-            // required for legacy groovy processing in camunda
-            execution.setVariable("isDebugLogEnabled", "true");
+            // required for legacy groovy processing in camunda, written once per process instance
+            if (!"true".equals(execution.getVariable(IS_DEBUG_LOG_ENABLED))) {
+                execution.setVariable(IS_DEBUG_LOG_ENABLED, "true");
+            }
             if (!isBlank(execution.getCurrentActivityName())) {
                 try {
 
                     String id = execution.getId();
                     if (id != null) {
-                        RepositoryService repositoryService =
-                                execution.getProcessEngineServices().getRepositoryService();
-                        String processName = repositoryService.createProcessDefinitionQuery()
-                                .processDefinitionId(execution.getProcessDefinitionId()).singleResult().getName();
-
+                        String processName = getProcessName(execution);
 
                         String requestId = (String) execution.getVariable("mso-request-id");
                         String svcid = (String) execution.getVariable("mso-service-instance-id");
@@ -313,6 +318,20 @@ public class LoggingAndURNMappingPlugin extends AbstractProcessEnginePlugin {
             }
         }
 
+        private String getProcessName(DelegateExecution execution) {
+            String processDefinitionId = execution.getProcessDefinitionId();
+            String processName = processNames.get(processDefinitionId);
+            if (processName == null) {
+                RepositoryService repositoryService = execution.getProcessEngineServices().getRepositoryService();
+                processName = repositoryService.createProcessDefinitionQuery().processDefinitionId(processDefinitionId)
+                        .singleResult().getName();
+                if (processName != null) {
+                    processNames.put(processDefinitionId, processName);
+                }
+            }
+            return processName;
+        }
+
         private boolean isBlank(Object object) {
             return object == null || "".equals(object.toString().trim());
         }
@@ -0,0 +1,96 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.core.plugins;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.onap.so.bpmn.common.workflow.service.PendingCallbackBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds a listener to the start of every receive task, intermediate message catch event and event based gateway, which
+ * hands parked callbacks for the execution over to the {@link PendingCallbackBuffer}.
+ */
+@Component
+public class PendingCallbackPlugin extends AbstractProcessEnginePlugin {
+
+    @Autowired
+    private PendingCallbackBuffer pendingCallbackBuffer;
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        List<BpmnParseListener> postParseListeners = processEngineConfiguration.getCustomPostBPMNParseListeners();
+        if (postParseListeners == null) {
+            postParseListeners = new ArrayList<>();
+            processEngineConfiguration.setCustomPostBPMNParseListeners(postParseListeners);
+        }
+        postParseListeners.add(new PendingCallbackParseListener(new PendingCallbackListener(pendingCallbackBuffer)));
+    }
+
+    public static class PendingCallbackParseListener extends AbstractBpmnParseListener {
+        private final ExecutionListener listener;
+
+        public PendingCallbackParseListener(ExecutionListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void parseReceiveTask(Element receiveTaskElement, ScopeImpl scope, ActivityImpl activity) {
+            activity.addListener(ExecutionListener.EVENTNAME_START, listener);
+        }
+
+        @Override
+        public void parseIntermediateMessageCatchEventDefinition(Element messageEventDefinition,
+                ActivityImpl nestedActivity) {
+            nestedActivity.addListener(ExecutionListener.EVENTNAME_START, listener);
+        }
+
+        @Override
+        public void parseEventBasedGateway(Element eventBasedGwElement, ScopeImpl scope, ActivityImpl activity) {
+            activity.addListener(ExecutionListener.EVENTNAME_START, listener);
+        }
+    }
+
+    public static class PendingCallbackListener implements ExecutionListener {
+        private final PendingCallbackBuffer pendingCallbackBuffer;
+
+        public PendingCallbackListener(PendingCallbackBuffer pendingCallbackBuffer) {
+            this.pendingCallbackBuffer = pendingCallbackBuffer;
+        }
+
+        @Override
+        public void notify(DelegateExecution execution) {
+            if (pendingCallbackBuffer.isEnabled()) {
+                pendingCallbackBuffer.onSubscription(execution);
+            }
+        }
+    }
+}
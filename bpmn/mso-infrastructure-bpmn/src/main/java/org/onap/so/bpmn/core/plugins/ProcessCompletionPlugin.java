@@ -0,0 +1,82 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.core.plugins;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.onap.so.bpmn.common.workflow.service.ProcessCompletionNotifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds a listener to the end of every process, which signals the {@link ProcessCompletionNotifier} after the ending
+ * transaction commits.
+ */
+@Component
+public class ProcessCompletionPlugin extends AbstractProcessEnginePlugin {
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        List<BpmnParseListener> postParseListeners = processEngineConfiguration.getCustomPostBPMNParseListeners();
+        if (postParseListeners == null) {
+            postParseListeners = new ArrayList<>();
+            processEngineConfiguration.setCustomPostBPMNParseListeners(postParseListeners);
+        }
+        postParseListeners.add(new ProcessCompletionParseListener());
+    }
+
+    public static class ProcessCompletionParseListener extends AbstractBpmnParseListener {
+        private final ExecutionListener listener = new ProcessCompletionListener();
+
+        @Override
+        public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
+            processDefinition.addListener(ExecutionListener.EVENTNAME_END, listener);
+        }
+    }
+
+    public static class ProcessCompletionListener implements ExecutionListener {
+        @Override
+        public void notify(DelegateExecution execution) {
+            String processInstanceId = execution.getProcessInstanceId();
+            ProcessCompletionNotifier notifier = ProcessCompletionNotifier.getInstance();
+            if (!notifier.isAwaited(processInstanceId)) {
+                return;
+            }
+            CommandContext commandContext = Context.getCommandContext();
+            if (commandContext == null) {
+                notifier.ended(processInstanceId);
+            } else {
+                commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED,
+                        context -> notifier.ended(processInstanceId));
+            }
+        }
+    }
+}
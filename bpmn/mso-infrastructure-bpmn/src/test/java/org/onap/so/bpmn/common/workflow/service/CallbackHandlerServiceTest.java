@@ -83,6 +83,20 @@ public class CallbackHandlerServiceTest {
         assertThat(callbackResult).isExactlyInstanceOf(CallbackError.class);
     }
 
+    @Test
+    public void callbackParked_noWaitingProcesses() {
+        // given
+        mockRuntimeService(Collections.emptyList());
+        PendingCallbackBuffer buffer = new PendingCallbackBuffer();
+        testedObject = new CallbackHandlerService(runtimeServiceMock, buffer);
+        // when
+        CallbackResult callbackResult = testedObject.handleCallback(METHOD_NAME, MESSAGE, EVENT_NAME, MESSAGE_VARIABLE,
+                CORRELATION_VARIABLE, CORRELATION_VALUE, LOG_MARKER, new HashMap<>());
+        // then
+        assertThat(callbackResult).isExactlyInstanceOf(CallbackSuccess.class);
+        assertThat(buffer.size()).isEqualTo(1);
+    }
+
     private void mockRuntimeService(List<Execution> waitingProcesses) {
         ExecutionQuery executionQueryMock = mock(ExecutionQueryImpl.class);
         when(runtimeServiceMock.createExecutionQuery()).thenReturn(executionQueryMock);
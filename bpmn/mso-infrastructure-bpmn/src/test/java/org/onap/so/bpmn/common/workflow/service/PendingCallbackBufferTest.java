@@ -0,0 +1,154 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.common.workflow.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class PendingCallbackBufferTest {
+
+    private static final String EVENT_NAME = "eventNameTest";
+    private static final String CORRELATION_VARIABLE = "corrVarTest";
+    private static final String CORRELATION_VALUE = "corrValueTest";
+
+    private PendingCallbackBuffer buffer;
+    private AtomicBoolean waiting;
+    private List<String> delivered;
+
+    @Before
+    public void before() {
+        buffer = new PendingCallbackBuffer();
+        waiting = new AtomicBoolean();
+        delivered = new ArrayList<>();
+    }
+
+    @Test
+    public void deliverOnSubscriptionTest() {
+        assertTrue(park("first", 60));
+        assertTrue(park("second", 60));
+        assertEquals(2, buffer.size());
+        assertTrue(delivered.isEmpty());
+
+        waiting.set(true);
+        buffer.onSubscription(execution(CORRELATION_VALUE));
+
+        assertEquals(0, buffer.size());
+        assertEquals("first", delivered.get(0));
+        assertEquals("second", delivered.get(1));
+    }
+
+    @Test
+    public void otherExecutionTest() {
+        park("first", 60);
+
+        waiting.set(true);
+        buffer.onSubscription(execution("otherValue"));
+
+        assertEquals(1, buffer.size());
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    public void sweepTest() {
+        park("expired", 0);
+        park("first", 60);
+
+        buffer.sweep();
+        assertEquals(1, buffer.size());
+
+        waiting.set(true);
+        buffer.sweep();
+        assertEquals(0, buffer.size());
+        assertEquals("first", delivered.get(0));
+        assertEquals(1, delivered.size());
+    }
+
+    @Test
+    public void sweepBatchTest() {
+        ReflectionTestUtils.setField(buffer, "sweepBatchSize", 1);
+        park("first", 60);
+        park("otherValue", "second", 60);
+
+        waiting.set(true);
+        buffer.sweep();
+        assertEquals(1, buffer.size());
+        assertEquals(1, delivered.size());
+
+        buffer.sweep();
+        assertEquals(0, buffer.size());
+        assertEquals(2, delivered.size());
+    }
+
+    @Test
+    public void subscriptionReadsParkedVariablesOnlyTest() {
+        park("first", 60);
+
+        waiting.set(true);
+        DelegateExecution execution = execution(CORRELATION_VALUE);
+        buffer.onSubscription(execution);
+
+        assertEquals("first", delivered.get(0));
+
+        // once delivered, nothing is parked and the execution variables are not read any more
+        buffer.onSubscription(execution);
+        assertEquals(1, delivered.size());
+        verify(execution, times(1)).getVariable(CORRELATION_VARIABLE);
+    }
+
+    @Test
+    public void fullBufferTest() {
+        ReflectionTestUtils.setField(buffer, "maxSize", 1);
+        assertTrue(park("first", 60));
+        assertFalse(park("second", 60));
+        assertEquals(1, buffer.size());
+    }
+
+    private boolean park(String message, long timeoutSeconds) {
+        return park(CORRELATION_VALUE, message, timeoutSeconds);
+    }
+
+    private boolean park(String correlationValue, String message, long timeoutSeconds) {
+        return buffer.park(EVENT_NAME, CORRELATION_VARIABLE, correlationValue, timeoutSeconds, () -> {
+            if (waiting.get()) {
+                delivered.add(message);
+            }
+            return waiting.get();
+        });
+    }
+
+    private DelegateExecution execution(String correlationValue) {
+        DelegateExecution execution = mock(DelegateExecution.class);
+        when(execution.getVariable(CORRELATION_VARIABLE)).thenReturn(correlationValue);
+        return execution;
+    }
+}
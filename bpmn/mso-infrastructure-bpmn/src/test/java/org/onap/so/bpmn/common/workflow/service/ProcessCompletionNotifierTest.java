@@ -0,0 +1,55 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.common.workflow.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Test;
+
+public class ProcessCompletionNotifierTest {
+
+    private final ProcessCompletionNotifier notifier = ProcessCompletionNotifier.getInstance();
+
+    @Test
+    public void endedCompletesAwaitTest() {
+        CompletableFuture<String> ended = notifier.await("instance-1");
+        assertTrue(notifier.isAwaited("instance-1"));
+        assertFalse(ended.isDone());
+
+        notifier.ended("instance-1");
+
+        assertEquals("instance-1", ended.getNow(null));
+        assertFalse(notifier.isAwaited("instance-1"));
+    }
+
+    @Test
+    public void cancelTest() {
+        CompletableFuture<String> ended = notifier.await("instance-2");
+
+        notifier.cancel("instance-2");
+        notifier.ended("instance-2");
+
+        assertTrue(ended.isCancelled());
+        assertFalse(notifier.isAwaited("instance-2"));
+    }
+}
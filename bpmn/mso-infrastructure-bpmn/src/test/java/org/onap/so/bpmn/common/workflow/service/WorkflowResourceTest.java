@@ -0,0 +1,132 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.common.workflow.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.Response;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineServices;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.history.HistoricVariableInstanceQuery;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+import org.camunda.bpm.engine.variable.impl.VariableMapImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.onap.so.bpmn.common.workflow.context.WorkflowResponse;
+
+public class WorkflowResourceTest {
+
+    private static final String PROCESS_KEY = "testProcess";
+    private static final String PROCESS_INSTANCE_ID = "workflow-resource-instance";
+
+    private final ProcessCompletionNotifier notifier = ProcessCompletionNotifier.getInstance();
+    private final WorkflowResource workflowResource = new WorkflowResource();
+
+    @Before
+    public void before() {
+        ProcessInstance processInstance = mock(ProcessInstance.class);
+        when(processInstance.getId()).thenReturn(PROCESS_INSTANCE_ID);
+
+        ProcessInstanceQuery processInstanceQuery = mock(ProcessInstanceQuery.class);
+        when(processInstanceQuery.processInstanceId(PROCESS_INSTANCE_ID)).thenReturn(processInstanceQuery);
+        // the process is still running until the notifier reports its end
+        when(processInstanceQuery.singleResult()).thenReturn(processInstance);
+
+        RuntimeService runtimeService = mock(RuntimeService.class);
+        when(runtimeService.startProcessInstanceByKey(eq(PROCESS_KEY), anyMap())).thenReturn(processInstance);
+        when(runtimeService.createProcessInstanceQuery()).thenReturn(processInstanceQuery);
+
+        Map<String, Object> responseMap = new HashMap<>();
+        responseMap.put("Response", "processed");
+        responseMap.put("ResponseCode", "200");
+        responseMap.put("Status", "Success");
+        HistoricVariableInstance responseVariable = mock(HistoricVariableInstance.class);
+        when(responseVariable.getName()).thenReturn(PROCESS_KEY + "ResponseMap");
+        when(responseVariable.getValue()).thenReturn(responseMap);
+
+        HistoricVariableInstanceQuery variableQuery = mock(HistoricVariableInstanceQuery.class);
+        when(variableQuery.processInstanceId(PROCESS_INSTANCE_ID)).thenReturn(variableQuery);
+        when(variableQuery.list()).thenReturn(Collections.singletonList(responseVariable));
+
+        HistoryService historyService = mock(HistoryService.class);
+        when(historyService.createHistoricVariableInstanceQuery()).thenReturn(variableQuery);
+
+        ProcessEngineServices processEngineServices = mock(ProcessEngineServices.class);
+        when(processEngineServices.getRuntimeService()).thenReturn(runtimeService);
+        when(processEngineServices.getHistoryService()).thenReturn(historyService);
+        workflowResource.setProcessEngineServices4junit(processEngineServices);
+    }
+
+    @Test
+    public void resumedWhenProcessEndsTest() throws Exception {
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+
+        workflowResource.startProcessInstanceByKey(PROCESS_KEY, variableMap(), asyncResponse);
+
+        for (int i = 0; i < 500 && !notifier.isAwaited(PROCESS_INSTANCE_ID); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(notifier.isAwaited(PROCESS_INSTANCE_ID));
+        verify(asyncResponse, never()).resume(any(Response.class));
+
+        notifier.ended(PROCESS_INSTANCE_ID);
+
+        ArgumentCaptor<Response> response = ArgumentCaptor.forClass(Response.class);
+        verify(asyncResponse, timeout(5000)).resume(response.capture());
+        assertEquals(200, response.getValue().getStatus());
+        WorkflowResponse workflowResponse = (WorkflowResponse) response.getValue().getEntity();
+        assertEquals(PROCESS_INSTANCE_ID, workflowResponse.getProcessInstanceID());
+        assertEquals("Success", workflowResponse.getMessage());
+        assertEquals("processed", workflowResponse.getResponse());
+    }
+
+    private VariableMapImpl variableMap() {
+        Map<String, Object> requestId = new HashMap<>();
+        requestId.put("value", "workflow-resource-request");
+        requestId.put("type", "String");
+        Map<String, Object> timeout = new HashMap<>();
+        timeout.put("value", "30");
+        timeout.put("type", "String");
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("mso-request-id", requestId);
+        variables.put("mso-service-request-timeout", timeout);
+        VariableMapImpl variableMap = new VariableMapImpl();
+        variableMap.put("variables", variables);
+        return variableMap;
+    }
+}
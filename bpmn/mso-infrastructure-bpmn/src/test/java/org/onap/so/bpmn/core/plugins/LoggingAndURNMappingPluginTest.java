@@ -0,0 +1,100 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.core.plugins;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.camunda.bpm.engine.ProcessEngineServices;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.repository.ProcessDefinitionQuery;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.onap.so.bpmn.core.plugins.LoggingAndURNMappingPlugin.LoggingExecutionListener;
+import org.slf4j.MDC;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LoggingAndURNMappingPluginTest {
+
+    @Mock
+    private DelegateExecution execution;
+
+    @Mock
+    private ProcessEngineServices processEngineServices;
+
+    @Mock
+    private RepositoryService repositoryService;
+
+    @Mock
+    private ProcessDefinitionQuery processDefinitionQuery;
+
+    @Mock
+    private ProcessDefinition processDefinition;
+
+    private LoggingExecutionListener listener;
+
+    @Before
+    public void before() {
+        listener = new LoggingAndURNMappingPlugin().new LoggingExecutionListener("START");
+        when(execution.getCurrentActivityName()).thenReturn("Activity");
+        when(execution.getId()).thenReturn("executionId");
+        when(execution.getProcessDefinitionId()).thenReturn("processDefinitionId");
+        when(execution.getProcessEngineServices()).thenReturn(processEngineServices);
+        when(processEngineServices.getRepositoryService()).thenReturn(repositoryService);
+        when(repositoryService.createProcessDefinitionQuery()).thenReturn(processDefinitionQuery);
+        when(processDefinitionQuery.processDefinitionId("processDefinitionId")).thenReturn(processDefinitionQuery);
+        when(processDefinitionQuery.singleResult()).thenReturn(processDefinition);
+        when(processDefinition.getName()).thenReturn("processName");
+    }
+
+    @After
+    public void after() {
+        MDC.clear();
+    }
+
+    @Test
+    public void processNameCachedTest() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            listener.notify(execution);
+        }
+
+        verify(processDefinitionQuery, times(1)).singleResult();
+        assertEquals("processName", MDC.get(LoggingAndURNMappingPlugin.SERVICE_NAME));
+    }
+
+    @Test
+    public void debugLogEnabledSetOnceTest() throws Exception {
+        when(execution.getVariable("isDebugLogEnabled")).thenReturn(null, "true");
+
+        listener.notify(execution);
+        listener.notify(execution);
+        listener.notify(execution);
+
+        verify(execution, times(1)).setVariable("isDebugLogEnabled", "true");
+    }
+}
@@ -0,0 +1,102 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.infrastructure.bpmn.process;
+
+import static org.camunda.bpm.engine.test.assertions.bpmn.BpmnAwareTests.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.junit.Test;
+import org.onap.so.bpmn.BaseBPMNTest;
+import org.onap.so.bpmn.common.BBConstants;
+import org.onap.so.bpmn.servicedecomposition.entities.BuildingBlock;
+import org.onap.so.bpmn.servicedecomposition.entities.ExecuteBuildingBlock;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class WorkflowActionBBParallelBatchTest extends BaseBPMNTest {
+
+    @Autowired
+    private ManagementService managementService;
+
+    @Test
+    public void parallelBatchWithOneFailure() throws Exception {
+        variables.put("isTopLevelFlow", false);
+        variables.put("isRollbackNeeded", false);
+        ExecuteBuildingBlock assignVnf1 = new ExecuteBuildingBlock()
+                .setBuildingBlock(new BuildingBlock().setBpmnFlowName("AssignVnfBB").setKey("vnf1"));
+        ExecuteBuildingBlock assignVnf2 = new ExecuteBuildingBlock()
+                .setBuildingBlock(new BuildingBlock().setBpmnFlowName("AssignVnfBB").setKey("vnf2"));
+        doAnswer(invocation -> {
+            DelegateExecution execution = invocation.getArgument(0);
+            execution.setVariable("flowsToExecute", new ArrayList<>(Arrays.asList(assignVnf1, assignVnf2)));
+            execution.setVariable("buildingBlock", assignVnf1);
+            execution.setVariable("completed", false);
+            execution.setVariable("parallelBatch", true);
+            execution.setVariable("buildingBlocks", new ArrayList<>(Arrays.asList(assignVnf1, assignVnf2)));
+            execution.setVariable("batchSequences", new ArrayList<>(Arrays.asList(0, 1)));
+            execution.setVariable(BBConstants.G_CURRENT_SEQUENCE, 2);
+            return null;
+        }).when(workflowActionBBTasks).selectBB(any(DelegateExecution.class));
+        Map<Object, Object> recorded = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            DelegateExecution execution = invocation.getArgument(0);
+            recorded.put(execution.getVariable("loopCounter"), execution.getVariable("handlingCode"));
+            return invocation.callRealMethod();
+        }).when(workflowActionBBTasks).recordBatchResult(any(DelegateExecution.class));
+        doCallRealMethod().when(workflowActionBBTasks).collectBatchResults(any(DelegateExecution.class));
+
+        Map<String, String> map = new HashMap<>();
+        map.put("handlingCode", "${buildingBlock.buildingBlock.key == 'vnf2' ? 'Rollback' : 'Success'}");
+        mockSubprocess("ExecuteBuildingBlock", "Mocked ExecuteBuildingBlock", "GenericStub", map);
+
+        ProcessInstance pi = runtimeService.startProcessInstanceByKey("WorkflowActionBB", variables);
+        executeJobs(pi);
+
+        assertThat(pi).isEnded().hasPassedInOrder("Start_WorkflowActionBB", "Task_RetrieveBBExectuionList",
+                "ExclusiveGateway_isTopLevelFlow", "Task_SelectBB", "SubProcess_ExecuteBatch",
+                "Task_CollectBatchResults", "ExclusiveGateway_Finished", "Task_RollbackExecutionPath",
+                "Task_UpdateRequestToFailed", "End_RollbackFailed");
+        assertThat(pi).hasPassed("Call_ExecuteBatchBB", "Task_RecordBatchResult").hasNotPassed("Call_ExecuteBB");
+        assertEquals("Success", recorded.get(0));
+        assertEquals("Rollback", recorded.get(1));
+    }
+
+    private void executeJobs(ProcessInstance pi) {
+        List<Job> jobs = managementService.createJobQuery().processInstanceId(pi.getId()).executable().list();
+        while (!jobs.isEmpty()) {
+            for (Job job : jobs) {
+                managementService.executeJob(job.getId());
+            }
+            jobs = managementService.createJobQuery().processInstanceId(pi.getId()).executable().list();
+        }
+    }
+}
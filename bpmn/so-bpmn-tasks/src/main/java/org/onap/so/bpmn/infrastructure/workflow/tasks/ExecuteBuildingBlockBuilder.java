@@ -94,6 +94,8 @@ public class ExecuteBuildingBlockBuilder {
         List<ExecuteBuildingBlock> mainFlows = buildExecuteBuildingBlockListRaw(flow, plan.getResource(), requestId,
                 apiVersion, resourceId, requestAction, vnfType, workflowResourceIds, requestDetails, replaceVnf);
 
+        String branch = plan.getBranch();
+        mainFlows.forEach(ebb -> ebb.setExecutionBranch(branch));
         plan.pushBlockToCache(mainFlows);
 
         for (ExecutionGroup nestedGroup : plan.getNestedExecutions()) {
@@ -0,0 +1,81 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.infrastructure.workflow.tasks;
+
+import java.util.List;
+import org.onap.so.bpmn.servicedecomposition.entities.ExecuteBuildingBlock;
+
+/**
+ * Dependencies between the building blocks of a flow, read from the execution branches the
+ * {@link ExecuteBuildingBlockBuilder} records from the {@link ExecutionPlan}.
+ *
+ * A building block depends on the building blocks of its own resource and of the resources above it. Building blocks
+ * of resources in different groups, or of different processing priorities, keep the order of the flow. Building blocks
+ * without an execution branch depend on every other building block.
+ */
+final class ExecutionGraph {
+
+    static final String SEPARATOR = "/";
+
+    private ExecutionGraph() {}
+
+    static boolean independent(ExecuteBuildingBlock first, ExecuteBuildingBlock second) {
+        String firstBranch = first.getExecutionBranch();
+        String secondBranch = second.getExecutionBranch();
+        if (firstBranch == null || secondBranch == null) {
+            return false;
+        }
+        String[] firstPath = firstBranch.isEmpty() ? new String[0] : firstBranch.split(SEPARATOR);
+        String[] secondPath = secondBranch.isEmpty() ? new String[0] : secondBranch.split(SEPARATOR);
+        int common = 0;
+        while (common < firstPath.length && common < secondPath.length
+                && firstPath[common].equals(secondPath[common])) {
+            common++;
+        }
+        if (common == firstPath.length || common == secondPath.length) {
+            // same resource, or one resource is above the other
+            return false;
+        }
+        String[] firstSegment = firstPath[common].split(":", 3);
+        String[] secondSegment = secondPath[common].split(":", 3);
+        return firstSegment[0].equals(secondSegment[0]) && firstSegment[1].equals(secondSegment[1]);
+    }
+
+    /**
+     * Looks for the first building block from the index on that can run next to the building blocks of the batch,
+     * i.e. is independent of the batch and of every building block before it that has not run yet
+     *
+     * @return the index of the building block, -1 when there is none
+     */
+    static int nextReady(List<ExecuteBuildingBlock> flowsToExecute, List<ExecuteBuildingBlock> batch, int from) {
+        for (int candidate = from; candidate < flowsToExecute.size(); candidate++) {
+            ExecuteBuildingBlock ebb = flowsToExecute.get(candidate);
+            if (ebb.getExecutionBranch() == null) {
+                return -1;
+            }
+            if (batch.stream().allMatch(running -> independent(running, ebb)) && flowsToExecute
+                    .subList(from, candidate).stream().allMatch(pending -> independent(pending, ebb))) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+}
@@ -32,11 +32,13 @@ import java.util.stream.Collectors;
 
 class ExecutionPlan extends ExecutionCollection<ExecutionGroup> {
     private final Resource resource;
+    private final ExecutionGroup group;
     private ExecutionGroup currentGroup = null;
 
     public ExecutionPlan(Resource resource, ExecutionGroup group) {
         super(resource != null ? resource.getResourceType() : WorkflowType.SERVICE);
         this.resource = resource;
+        this.group = group;
         if (group != null) {
             group.addNestedPlans(Collections.singletonList(this));
         }
@@ -55,6 +57,19 @@ class ExecutionPlan extends ExecutionCollection<ExecutionGroup> {
         return resource;
     }
 
+    /**
+     * The path of the plan from the root plan, one "type:priority:resourceId" segment per resource. Plans whose paths
+     * branch off in the same group, between resources of the same processing priority, do not depend on each other.
+     */
+    String getBranch() {
+        if (resource == null || group == null) {
+            return "";
+        }
+        String branch = group.getPlan().getBranch();
+        String segment = type.name() + ":" + resource.getProcessingPriority() + ":" + resource.getResourceId();
+        return branch.isEmpty() ? segment : branch + ExecutionGraph.SEPARATOR + segment;
+    }
+
     protected String getName() {
         return super.getName() + "["
                 + (resource != null ? (resource.getProcessingPriority() + ", " + resource.getResourceId()) : "") + "]";
@@ -93,11 +108,17 @@ class ExecutionPlan extends ExecutionCollection<ExecutionGroup> {
 
 
 class ExecutionGroup extends ExecutionCollection<ExecutionPlan> {
+    private final ExecutionPlan plan;
 
     public ExecutionGroup(WorkflowType groupType, ExecutionPlan plan) {
         super(groupType);
+        this.plan = plan;
         plan.addNestedPlans(Collections.singletonList(this));
     }
+
+    ExecutionPlan getPlan() {
+        return plan;
+    }
 }
 
 
@@ -0,0 +1,161 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.infrastructure.workflow.tasks;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.onap.so.db.request.client.RequestsDbClient;
+import org.onap.so.db.request.data.controller.RequestStatusUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the status columns of infra active requests through the narrow status update of the requests db adapter.
+ *
+ * Progress updates are written in the background. When they pile up for a request only the latest one is written,
+ * the older ones are dropped. Other updates are written right away, once the progress updates of the request
+ * submitted before them have been written, so a late progress update never overwrites a final status.
+ */
+@Component
+public class RequestStatusWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestStatusWriter.class);
+
+    @Autowired
+    private RequestsDbClient requestDbclient;
+
+    @Value("${mso.workflow.status-writer.threads:4}")
+    private int threads = 4;
+
+    @Value("${mso.workflow.status-writer.flush-timeout:30}")
+    private long flushTimeout = 30;
+
+    private final Map<String, RequestStatusUpdate> pending = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Void>> writes = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    protected void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "request-status-writer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes the progress of the request in the background, replacing its progress update not written yet, if any
+     */
+    public void submitProgress(String requestId, RequestStatusUpdate update) {
+        if (executor == null) {
+            write(requestId, update);
+            return;
+        }
+        if (pending.put(requestId, update) != null) {
+            logger.debug("Replaced the progress update of request {} not written yet", requestId);
+            return;
+        }
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        CompletableFuture<Void> next = writes.compute(requestId, (k, tail) -> tail == null
+                ? CompletableFuture.runAsync(() -> writePending(k, context), executor)
+                : tail.thenRunAsync(() -> writePending(k, context), executor));
+        next.whenComplete((v, e) -> writes.remove(requestId, next));
+    }
+
+    /**
+     * Writes the update on the calling thread, after the progress updates submitted before it
+     */
+    public void update(String requestId, RequestStatusUpdate update) {
+        flush(requestId);
+        requestDbclient.updateRequestStatus(requestId, update);
+    }
+
+    /**
+     * Waits until the progress updates of the request submitted so far have been written
+     */
+    public void flush(String requestId) {
+        CompletableFuture<Void> tail = writes.get(requestId);
+        if (tail == null) {
+            return;
+        }
+        try {
+            tail.get(flushTimeout, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Progress updates of request {} were not written before the next update", requestId, e);
+        }
+    }
+
+    private void writePending(String requestId, Map<String, String> context) {
+        RequestStatusUpdate update = pending.remove(requestId);
+        if (update == null) {
+            return;
+        }
+        Map<String, String> previousContext = MDC.getCopyOfContextMap();
+        setContext(context);
+        try {
+            write(requestId, update);
+        } finally {
+            setContext(previousContext);
+        }
+    }
+
+    private void write(String requestId, RequestStatusUpdate update) {
+        try {
+            requestDbclient.updateRequestStatus(requestId, update);
+        } catch (Exception e) {
+            logger.warn(
+                    "Bpmn Flow Statistics was unable to update Request Db with the new completion percentage. Competion percentage may be invalid.",
+                    e);
+        }
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.onap.so.bpmn.servicedecomposition.entities.ExecuteBuildingBlock;
 import org.onap.so.constants.Status;
 import org.onap.so.db.request.beans.InfraActiveRequests;
 import org.onap.so.db.request.client.RequestsDbClient;
+import org.onap.so.db.request.data.controller.RequestStatusUpdate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,11 +56,13 @@ public class WorkflowActionBBFailure {
     private RequestsDbClient requestDbclient;
     @Autowired
     private WorkflowAction workflowAction;
+    @Autowired
+    private RequestStatusWriter requestStatusWriter;
 
     protected void updateRequestErrorStatusMessage(DelegateExecution execution) {
         try {
             String requestId = (String) execution.getVariable("mso-request-id");
-            InfraActiveRequests request = requestDbclient.getInfraActiveRequestbyRequestId(requestId);
+            RequestStatusUpdate request = new RequestStatusUpdate();
             String errorMsg = "";
             Optional<String> errorMsgOp = retrieveErrorMessage(execution);
             if (errorMsgOp.isPresent()) {
@@ -76,7 +79,7 @@ public class WorkflowActionBBFailure {
             request.setProgress(Long.valueOf(100));
             request.setLastModifiedBy("CamundaBPMN");
             request.setEndTime(new Timestamp(System.currentTimeMillis()));
-            requestDbclient.updateInfraActiveRequests(request);
+            requestStatusWriter.update(requestId, request);
         } catch (Exception e) {
             logger.error(
                     "Failed to update Request db with the status message after retry or rollback has been initialized.",
@@ -87,6 +90,7 @@ public class WorkflowActionBBFailure {
     public void updateRequestStatusToFailed(DelegateExecution execution) {
         try {
             String requestId = (String) execution.getVariable("mso-request-id");
+            requestStatusWriter.flush(requestId);
             InfraActiveRequests request = requestDbclient.getInfraActiveRequestbyRequestId(requestId);
             String rollbackErrorMsg = "";
             String errorMsg = "";
@@ -22,7 +22,9 @@ package org.onap.so.bpmn.infrastructure.workflow.tasks;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -55,6 +57,7 @@ import org.onap.so.db.catalog.beans.CvnfcConfigurationCustomization;
 import org.onap.so.db.catalog.client.CatalogDbClient;
 import org.onap.so.db.request.beans.InfraActiveRequests;
 import org.onap.so.db.request.client.RequestsDbClient;
+import org.onap.so.db.request.data.controller.RequestStatusUpdate;
 import org.onap.so.serviceinstancebeans.ModelType;
 import org.onap.so.serviceinstancebeans.RelatedInstance;
 import org.onap.so.serviceinstancebeans.RelatedInstanceList;
@@ -88,6 +91,16 @@ public class WorkflowActionBBTasks {
     private static final String VFMODULE = "VfModule";
     private static final String CONFIGURATION_PATTERN = "(Ad|De)(.*)FabricConfiguration(.*)";
     protected String maxRetries = "mso.rainyDay.maxRetries";
+    protected String parallelExecution = "mso.workflow.parallel-execution.enabled";
+    protected String maxParallelism = "mso.workflow.parallel-execution.max-parallelism";
+    private static final int DEFAULT_MAX_PARALLELISM = 4;
+    private static final String PARALLEL_BATCH = "parallelBatch";
+    private static final String BUILDING_BLOCKS = "buildingBlocks";
+    private static final String BATCH_SEQUENCES = "batchSequences";
+    private static final String BATCH_RESULT = "batchResult_";
+    private static final String[] BATCH_RESULT_VARIABLES = {"buildingBlock", HANDLINGCODE,
+            "WorkflowExceptionErrorMessage", "orchestrationStatusValidationResult", "RetryDuration", "StatusMessage",
+            "rollbackTargetState"};
     private static final String ROLLBACK_TO_ASSIGNED = "RollbackToAssigned";
     private static final String UNASSIGN = "Unassign";
     private static final String DELETE = "Delete";
@@ -109,6 +122,8 @@ public class WorkflowActionBBTasks {
     private FlowManipulatorListenerRunner flowManipulatorListenerRunner;
     @Autowired
     private RequestsDbListenerRunner requestsDbListener;
+    @Autowired
+    private RequestStatusWriter requestStatusWriter;
 
     public void selectBB(DelegateExecution execution) {
         try {
@@ -127,6 +142,9 @@ public class WorkflowActionBBTasks {
                 ExecuteBuildingBlock ebb = flowsToExecute.get(currentSequence);
                 execution.setVariable("buildingBlock", ebb);
                 execution.setVariable(BBConstants.G_CURRENT_SEQUENCE, currentSequence + 1);
+                if (isParallelExecution(execution)) {
+                    selectBatch(execution, flowsToExecute, currentSequence);
+                }
             } else {
                 completed = true;
             }
@@ -136,12 +154,162 @@ public class WorkflowActionBBTasks {
         }
     }
 
+    protected boolean isParallelExecution(DelegateExecution execution) {
+        return Boolean.parseBoolean(environment.getProperty(parallelExecution))
+                && !Boolean.TRUE.equals(execution.getVariable(BBConstants.G_ALACARTE))
+                && !Boolean.TRUE.equals(execution.getVariable("isRollback"));
+    }
+
+    /**
+     * Adds the building blocks that can run next to the selected one to a batch, up to the max parallelism. They are
+     * moved right behind the selected building block and their pre flow manipulators are run, so the executed
+     * building blocks stay at the front of the flow in an order that respects their dependencies, as retry and
+     * rollback expect. The batch ends at a building block a pre flow manipulator skips, it is left to the next
+     * selection.
+     */
+    protected void selectBatch(DelegateExecution execution, List<ExecuteBuildingBlock> flowsToExecute, int start) {
+        DelegateExecutionImpl bbExecution = new DelegateExecutionImpl(execution);
+        List<ExecuteBuildingBlock> batch = new ArrayList<>();
+        List<Integer> sequences = new ArrayList<>();
+        batch.add(flowsToExecute.get(start));
+        sequences.add(start);
+        int next = start + 1;
+        int max = getMaxParallelism();
+        if (flowManipulatorListenerRunner.hasPostFlowManipulators(batch.get(0), bbExecution)) {
+            max = 1;
+        }
+        while (batch.size() < max) {
+            int ready = ExecutionGraph.nextReady(flowsToExecute, batch, next);
+            if (ready < 0
+                    || flowManipulatorListenerRunner.hasPostFlowManipulators(flowsToExecute.get(ready), bbExecution)) {
+                break;
+            }
+            flowsToExecute.add(next, flowsToExecute.remove(ready));
+            execution.setVariable(BBConstants.G_CURRENT_SEQUENCE, next);
+            flowManipulatorListenerRunner.modifyFlows(flowsToExecute, bbExecution);
+            int sequence = (int) execution.getVariable(BBConstants.G_CURRENT_SEQUENCE);
+            if (sequence != next) {
+                // skipped by a flow manipulator, the sequential selection runs the manipulators again and skips it
+                execution.setVariable(BBConstants.G_CURRENT_SEQUENCE, next);
+                break;
+            }
+            batch.add(flowsToExecute.get(next));
+            sequences.add(next);
+            next++;
+        }
+        boolean parallel = batch.size() > 1;
+        if (parallel) {
+            logger.info("Executing {} building blocks in parallel: {}", batch.size(), batch.stream()
+                    .map(ebb -> ebb.getBuildingBlock().getBpmnFlowName()).collect(Collectors.joining(", ")));
+        }
+        execution.setVariable(BBConstants.G_CURRENT_SEQUENCE, parallel ? next : start + 1);
+        execution.setVariable("flowsToExecute", flowsToExecute);
+        execution.setVariable(PARALLEL_BATCH, parallel);
+        execution.setVariable(BUILDING_BLOCKS, parallel ? batch : null);
+        execution.setVariable(BATCH_SEQUENCES, parallel ? sequences : null);
+    }
+
+    protected int getMaxParallelism() {
+        try {
+            return Math.max(1, Integer.parseInt(environment.getProperty(maxParallelism)));
+        } catch (NumberFormatException ex) {
+            return DEFAULT_MAX_PARALLELISM;
+        }
+    }
+
+    /**
+     * Records the result of a building block of a parallel batch on the process instance, under the index of the
+     * building block in the batch
+     */
+    public void recordBatchResult(DelegateExecution execution) {
+        HashMap<String, Object> result = new HashMap<>();
+        for (String name : BATCH_RESULT_VARIABLES) {
+            result.put(name, execution.getVariable(name));
+        }
+        execution.getProcessInstance().setVariable(BATCH_RESULT + execution.getVariable("loopCounter"), result);
+    }
+
+    /**
+     * Hands the results of a parallel batch over to the post processing as if its building blocks had run one after
+     * the other. Failed building blocks are moved behind the successful ones, the worst one last, and its result is
+     * the one the request continues with: a retry starts again from the first failed building block, a rollback
+     * reverses every building block of the batch.
+     */
+    public void collectBatchResults(DelegateExecution execution) {
+        try {
+            List<ExecuteBuildingBlock> flowsToExecute =
+                    (List<ExecuteBuildingBlock>) execution.getVariable("flowsToExecute");
+            List<Integer> sequences = (List<Integer>) execution.getVariable(BATCH_SEQUENCES);
+            int end = (int) execution.getVariable(BBConstants.G_CURRENT_SEQUENCE);
+            Map<String, Object> selected = null;
+            int selectedIndex = -1;
+            List<Integer> failed = new ArrayList<>();
+            for (int i = 0; i < sequences.size(); i++) {
+                Map<String, Object> result = (Map<String, Object>) execution.getVariable(BATCH_RESULT + i);
+                execution.removeVariable(BATCH_RESULT + i);
+                if (result == null) {
+                    result = new HashMap<>();
+                    result.put("buildingBlock", flowsToExecute.get(sequences.get(i)));
+                    result.put(HANDLINGCODE, "Abort");
+                    result.put("WorkflowExceptionErrorMessage", "No result was recorded for building block "
+                            + flowsToExecute.get(sequences.get(i)).getBuildingBlock().getBpmnFlowName());
+                }
+                String handlingCode = (String) result.get(HANDLINGCODE);
+                if (!"Success".equals(handlingCode)) {
+                    failed.add(i);
+                }
+                if (selected == null || severity(handlingCode) > severity((String) selected.get(HANDLINGCODE))) {
+                    selected = result;
+                    selectedIndex = i;
+                }
+            }
+            if (!failed.isEmpty()) {
+                failed.remove(Integer.valueOf(selectedIndex));
+                failed.add(selectedIndex);
+                List<ExecuteBuildingBlock> failedBBs = new ArrayList<>();
+                for (int i : failed) {
+                    failedBBs.add(flowsToExecute.get(sequences.get(i)));
+                }
+                flowsToExecute.removeAll(failedBBs);
+                flowsToExecute.addAll(end - failedBBs.size(), failedBBs);
+                if ("Retry".equals(selected.get(HANDLINGCODE))) {
+                    execution.setVariable(BBConstants.G_CURRENT_SEQUENCE, end - failedBBs.size() + 1);
+                }
+                execution.setVariable("flowsToExecute", flowsToExecute);
+            }
+            for (String name : BATCH_RESULT_VARIABLES) {
+                execution.setVariable(name, selected.get(name));
+            }
+            execution.setVariable(PARALLEL_BATCH, false);
+            execution.removeVariable(BUILDING_BLOCKS);
+            execution.removeVariable(BATCH_SEQUENCES);
+        } catch (Exception ex) {
+            logger.error("Exception in collectBatchResults", ex);
+            workflowAction.buildAndThrowException(execution, "Failed to collect the results of the parallel batch");
+        }
+    }
+
+    private static int severity(String handlingCode) {
+        if ("Success".equals(handlingCode)) {
+            return 0;
+        } else if ("Retry".equals(handlingCode)) {
+            return 1;
+        } else if (handlingCode != null && handlingCode.startsWith("Rollback")) {
+            return 2;
+        }
+        return 3;
+    }
+
     public void updateFlowStatistics(DelegateExecution execution) {
         try {
             int currentSequence = (int) execution.getVariable(BBConstants.G_CURRENT_SEQUENCE);
+            if (Boolean.TRUE.equals(execution.getVariable(PARALLEL_BATCH))) {
+                // statistics of the first building block of the batch
+                currentSequence = ((List<Integer>) execution.getVariable(BATCH_SEQUENCES)).get(0) + 1;
+            }
             if (currentSequence > 1) {
-                InfraActiveRequests request = this.getUpdatedRequest(execution, currentSequence);
-                requestDbclient.updateInfraActiveRequests(request);
+                String requestId = (String) execution.getVariable(BBConstants.G_REQUEST_ID);
+                requestStatusWriter.submitProgress(requestId, this.getUpdatedRequest(execution, currentSequence));
             }
         } catch (Exception ex) {
             logger.warn(
@@ -150,11 +318,10 @@ public class WorkflowActionBBTasks {
         }
     }
 
-    protected InfraActiveRequests getUpdatedRequest(DelegateExecution execution, int currentSequence) {
+    protected RequestStatusUpdate getUpdatedRequest(DelegateExecution execution, int currentSequence) {
         List<ExecuteBuildingBlock> flowsToExecute =
                 (List<ExecuteBuildingBlock>) execution.getVariable("flowsToExecute");
-        String requestId = (String) execution.getVariable(BBConstants.G_REQUEST_ID);
-        InfraActiveRequests request = requestDbclient.getInfraActiveRequestbyRequestId(requestId);
+        RequestStatusUpdate request = new RequestStatusUpdate();
         ExecuteBuildingBlock completedBB = flowsToExecute.get(currentSequence - 2);
         ExecuteBuildingBlock nextBB = flowsToExecute.get(currentSequence - 1);
         int completedBBs = currentSequence - 1;
@@ -169,6 +336,20 @@ public class WorkflowActionBBTasks {
         return request;
     }
 
+    /**
+     * The status columns of the completed request, which the post completion listeners may have changed
+     */
+    protected RequestStatusUpdate getStatusUpdate(InfraActiveRequests request) {
+        RequestStatusUpdate update = new RequestStatusUpdate();
+        update.setRequestStatus(request.getRequestStatus());
+        update.setStatusMessage(request.getStatusMessage());
+        update.setFlowStatus(request.getFlowStatus());
+        update.setProgress(request.getProgress());
+        update.setEndTime(request.getEndTime());
+        update.setLastModifiedBy(request.getLastModifiedBy());
+        return update;
+    }
+
     protected Long getPercentProgress(int completedBBs, int totalBBs) {
         double ratio = (completedBBs / (totalBBs * 1.0));
         int percentProgress = (int) (ratio * 95);
@@ -237,6 +418,7 @@ public class WorkflowActionBBTasks {
     public void updateRequestStatusToComplete(DelegateExecution execution) {
         try {
             final String requestId = (String) execution.getVariable(BBConstants.G_REQUEST_ID);
+            requestStatusWriter.flush(requestId);
             InfraActiveRequests request = requestDbclient.getInfraActiveRequestbyRequestId(requestId);
             final String action = (String) execution.getVariable(BBConstants.G_ACTION);
             final boolean aLaCarte = (boolean) execution.getVariable(BBConstants.G_ALACARTE);
@@ -272,7 +454,7 @@ public class WorkflowActionBBTasks {
             request.setRequestStatus("COMPLETE");
             request.setLastModifiedBy("CamundaBPMN");
             requestsDbListener.post(request, new DelegateExecutionImpl(execution));
-            requestDbclient.updateInfraActiveRequests(request);
+            requestStatusWriter.update(requestId, getStatusUpdate(request));
         } catch (Exception ex) {
             workflowAction.buildAndThrowException(execution, "Error Updating Request Database", ex);
         }
@@ -294,10 +476,10 @@ public class WorkflowActionBBTasks {
         if ("Retry".equals(handlingCode)) {
             workflowActionBBFailure.updateRequestErrorStatusMessage(execution);
             try {
-                InfraActiveRequests request = requestDbclient.getInfraActiveRequestbyRequestId(requestId);
+                RequestStatusUpdate request = new RequestStatusUpdate();
                 request.setRetryStatusMessage(
                         "Retry " + nextCount + "/" + envMaxRetries + " will be started in " + retryDuration);
-                requestDbclient.updateInfraActiveRequests(request);
+                requestStatusWriter.update(requestId, request);
             } catch (Exception ex) {
                 logger.warn("Failed to update Request Db Infra Active Requests with Retry Status", ex);
             }
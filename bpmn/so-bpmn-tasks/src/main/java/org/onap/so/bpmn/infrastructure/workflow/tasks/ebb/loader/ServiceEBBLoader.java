@@ -28,15 +28,19 @@ import org.javatuples.Pair;
 import org.onap.aai.domain.yang.ComposedResource;
 import org.onap.aai.domain.yang.ComposedResources;
 import org.onap.aai.domain.yang.GenericVnf;
+import org.onap.aai.domain.yang.L3Network;
+import org.onap.aai.domain.yang.Pnf;
 import org.onap.aai.domain.yang.Relationship;
 import org.onap.aai.domain.yang.RelationshipData;
 import org.onap.aai.domain.yang.RelationshipList;
 import org.onap.aai.domain.yang.ServiceInstance;
+import org.onap.aai.domain.yang.VolumeGroup;
 import org.onap.aai.domain.yang.VpnBinding;
 import org.onap.aaiclient.client.aai.AAICommonObjectMapperProvider;
 import org.onap.aaiclient.client.aai.entities.AAIResultWrapper;
 import org.onap.aaiclient.client.aai.entities.Relationships;
 import org.onap.aaiclient.client.generated.fluentbuilders.AAIFluentTypeBuilder;
+import org.onap.aaiclient.client.graphinventory.entities.ResourceAndUrl;
 import org.onap.so.bpmn.infrastructure.workflow.tasks.Resource;
 import org.onap.so.bpmn.infrastructure.workflow.tasks.VrfBondingServiceException;
 import org.onap.so.bpmn.infrastructure.workflow.tasks.WorkflowType;
@@ -52,18 +56,33 @@ import org.onap.so.db.catalog.beans.CollectionNetworkResourceCustomization;
 import org.onap.so.db.catalog.beans.CollectionResourceCustomization;
 import org.onap.so.db.catalog.beans.CollectionResourceInstanceGroupCustomization;
 import org.onap.so.db.catalog.beans.InstanceGroup;
+import org.onap.so.db.catalog.beans.NetworkResourceCustomization;
+import org.onap.so.db.catalog.beans.VfModuleCustomization;
 import org.onap.so.db.catalog.client.CatalogDbClient;
 import org.onap.so.serviceinstancebeans.ModelType;
 import org.onap.so.serviceinstancebeans.RelatedInstance;
 import org.onap.so.serviceinstancebeans.ServiceInstancesRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import static org.onap.so.bpmn.infrastructure.workflow.tasks.WorkflowActionConstants.ACTIVATE_INSTANCE;
 import static org.onap.so.bpmn.infrastructure.workflow.tasks.WorkflowActionConstants.DEACTIVATE_INSTANCE;
 import static org.onap.so.bpmn.infrastructure.workflow.tasks.WorkflowActionConstants.DELETE_INSTANCE;
@@ -91,6 +110,11 @@ public class ServiceEBBLoader {
     private final BBInputSetup bbInputSetup;
     private final ExceptionBuilder exceptionBuilder;
 
+    @Value("${mso.workflow.aai.fetch-threads:8}")
+    private int fetchThreads = 8;
+
+    private ExecutorService fetchExecutor;
+
     public ServiceEBBLoader(UserParamsServiceTraversal userParamsServiceTraversal, CatalogDbClient catalogDbClient,
             VrfValidation vrfValidation, AAIConfigurationResources aaiConfigurationResources,
             WorkflowActionExtractResourcesAAI workflowActionUtils, BBInputSetupUtils bbInputSetupUtils,
@@ -105,6 +129,23 @@ public class ServiceEBBLoader {
         this.exceptionBuilder = exceptionBuilder;
     }
 
+    @PostConstruct
+    protected void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        fetchExecutor = Executors.newFixedThreadPool(fetchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "service-ebb-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        if (fetchExecutor != null) {
+            fetchExecutor.shutdownNow();
+        }
+    }
+
     public List<Resource> getResourceListForService(ServiceInstancesRequest sIRequest, String requestAction,
             DelegateExecution execution, String serviceInstanceId, String resourceId,
             List<Pair<WorkflowType, String>> aaiResourceIds) throws IOException, VrfBondingServiceException {
@@ -204,6 +245,24 @@ public class ServiceEBBLoader {
             List<Pair<WorkflowType, String>> aaiResourceIds) {
         try {
             ServiceInstance serviceInstanceAAI = bbInputSetupUtils.getAAIServiceInstanceById(resourceId);
+            Optional<List<ResourceAndUrl<AAIResultWrapper>>> subgraph =
+                    bbInputSetupUtils.getAAIServiceInstanceSubgraph(resourceId);
+            if (subgraph.isPresent()) {
+                var serviceResource =
+                        new Resource(WorkflowType.SERVICE, serviceInstanceAAI.getServiceInstanceId(), false, null);
+                serviceResource.setModelInvariantId(serviceInstanceAAI.getModelInvariantId());
+                serviceResource.setModelVersionId(serviceInstanceAAI.getModelVersionId());
+                List<Resource> subgraphResources = new ArrayList<>();
+                List<Pair<WorkflowType, String>> subgraphResourceIds = new ArrayList<>();
+                if (traverseServiceInstanceSubgraph(subgraphResources, serviceResource, subgraphResourceIds,
+                        subgraph.get())) {
+                    resourceList.add(serviceResource);
+                    traverseServiceInstanceChildService(resourceList, serviceResource, serviceInstanceAAI);
+                    resourceList.addAll(subgraphResources);
+                    aaiResourceIds.addAll(subgraphResourceIds);
+                    return;
+                }
+            }
             org.onap.so.bpmn.servicedecomposition.bbobjects.ServiceInstance serviceInstanceMSO =
                     bbInputSetup.getExistingServiceInstance(serviceInstanceAAI);
             var serviceResource =
@@ -237,19 +296,19 @@ public class ServiceEBBLoader {
                         serviceInstanceMSO.getCollection().getId(), false, serviceResource));
             }
             if (serviceInstanceMSO.getConfigurations() != null) {
+                Map<String, CompletableFuture<Optional<org.onap.aai.domain.yang.Configuration>>> aaiConfigs =
+                        new HashMap<>();
+                for (Configuration config : serviceInstanceMSO.getConfigurations()) {
+                    aaiConfigs.put(config.getConfigurationId(),
+                            fetch(() -> aaiConfigurationResources.getConfiguration(config.getConfigurationId())));
+                }
                 for (Configuration config : serviceInstanceMSO.getConfigurations()) {
                     Optional<org.onap.aai.domain.yang.Configuration> aaiConfig =
-                            aaiConfigurationResources.getConfiguration(config.getConfigurationId());
-                    if (aaiConfig.isPresent() && aaiConfig.get().getRelationshipList() != null) {
-                        for (Relationship relationship : aaiConfig.get().getRelationshipList().getRelationship()) {
-                            if (relationship.getRelatedTo().contains("vnfc")
-                                    || relationship.getRelatedTo().contains("vpn-binding")) {
-                                aaiResourceIds.add(new Pair<>(WorkflowType.CONFIGURATION, config.getConfigurationId()));
-                                resourceList.add(new Resource(WorkflowType.CONFIGURATION, config.getConfigurationId(),
-                                        false, serviceResource));
-                                break;
-                            }
-                        }
+                            aaiConfigs.get(config.getConfigurationId()).join();
+                    if (aaiConfig.isPresent() && isRelatedToVnfcOrVpnBinding(aaiConfig.get())) {
+                        aaiResourceIds.add(new Pair<>(WorkflowType.CONFIGURATION, config.getConfigurationId()));
+                        resourceList.add(new Resource(WorkflowType.CONFIGURATION, config.getConfigurationId(), false,
+                                serviceResource));
                     }
                 }
             }
@@ -266,15 +325,26 @@ public class ServiceEBBLoader {
         if (serviceInstanceMSO.getVnfs() == null) {
             return;
         }
+        Map<String, CompletableFuture<GenericVnf>> genericVnfs = new HashMap<>();
+        Map<String, CompletableFuture<org.onap.aai.domain.yang.VfModule>> aaiVfModules = new HashMap<>();
+        for (org.onap.so.bpmn.servicedecomposition.bbobjects.GenericVnf vnf : serviceInstanceMSO.getVnfs()) {
+            genericVnfs.put(vnf.getVnfId(), fetch(() -> bbInputSetupUtils.getAAIGenericVnf(vnf.getVnfId())));
+            if (vnf.getVfModules() != null) {
+                for (VfModule vfModule : vnf.getVfModules()) {
+                    aaiVfModules.put(vfModule.getVfModuleId(), fetch(
+                            () -> bbInputSetupUtils.getAAIVfModule(vnf.getVnfId(), vfModule.getVfModuleId())));
+                }
+            }
+        }
         for (org.onap.so.bpmn.servicedecomposition.bbobjects.GenericVnf vnf : serviceInstanceMSO.getVnfs()) {
             aaiResourceIds.add(new Pair<>(WorkflowType.VNF, vnf.getVnfId()));
-            GenericVnf genericVnf = bbInputSetupUtils.getAAIGenericVnf(vnf.getVnfId());
+            GenericVnf genericVnf = genericVnfs.get(vnf.getVnfId()).join();
             Resource vnfResource = new Resource(WorkflowType.VNF, vnf.getVnfId(), false, serviceResource);
             vnfResource.setVnfCustomizationId(genericVnf.getModelCustomizationId());
             vnfResource.setModelCustomizationId(genericVnf.getModelCustomizationId());
             vnfResource.setModelVersionId(genericVnf.getModelVersionId());
             resourceList.add(vnfResource);
-            traverseVnfModules(resourceList, vnfResource, aaiResourceIds, vnf);
+            traverseVnfModules(resourceList, vnfResource, aaiResourceIds, vnf, aaiVfModules);
             if (vnf.getVolumeGroups() != null) {
                 for (org.onap.so.bpmn.servicedecomposition.bbobjects.VolumeGroup volumeGroup : vnf.getVolumeGroups()) {
                     aaiResourceIds.add(new Pair<>(WorkflowType.VOLUMEGROUP, volumeGroup.getVolumeGroupId()));
@@ -303,6 +373,179 @@ public class ServiceEBBLoader {
         }
     }
 
+    /**
+     * Builds the resources below the service from the result of the subgraph query. The resources, their ids and their
+     * model ids are the same as when the related instances are read one by one.
+     *
+     * @return false when the result cannot be mapped, a volume group it holds is not related to one of its vnfs
+     */
+    protected boolean traverseServiceInstanceSubgraph(List<Resource> resourceList, Resource serviceResource,
+            List<Pair<WorkflowType, String>> aaiResourceIds, List<ResourceAndUrl<AAIResultWrapper>> subgraph) {
+        Map<String, GenericVnf> vnfs = new LinkedHashMap<>();
+        Map<String, List<org.onap.aai.domain.yang.VfModule>> vfModules = new HashMap<>();
+        Map<String, List<VolumeGroup>> volumeGroups = new HashMap<>();
+        List<Pnf> pnfs = new ArrayList<>();
+        List<L3Network> networks = new ArrayList<>();
+        List<org.onap.aai.domain.yang.Collection> collections = new ArrayList<>();
+        List<org.onap.aai.domain.yang.Configuration> configurations = new ArrayList<>();
+        for (ResourceAndUrl<AAIResultWrapper> result : subgraph) {
+            String[] url = result.getUrl().split("/");
+            String type = url[url.length - 2];
+            AAIResultWrapper wrapper = result.getWrapper();
+            if ("generic-vnf".equals(type)) {
+                wrapper.asBean(GenericVnf.class).ifPresent(vnf -> vnfs.put(vnf.getVnfId(), vnf));
+            } else if ("vf-module".equals(type)) {
+                wrapper.asBean(org.onap.aai.domain.yang.VfModule.class).ifPresent(vfModule -> vfModules
+                        .computeIfAbsent(UriUtils.decode(url[url.length - 4], "UTF-8"), id -> new ArrayList<>())
+                        .add(vfModule));
+            } else if ("volume-group".equals(type)) {
+                wrapper.asBean(VolumeGroup.class).ifPresent(volumeGroup -> volumeGroups
+                        .computeIfAbsent(relatedVnfId(volumeGroup), id -> new ArrayList<>()).add(volumeGroup));
+            } else if ("pnf".equals(type)) {
+                wrapper.asBean(Pnf.class).ifPresent(pnfs::add);
+            } else if ("l3-network".equals(type)) {
+                wrapper.asBean(L3Network.class).ifPresent(networks::add);
+            } else if ("collection".equals(type)) {
+                wrapper.asBean(org.onap.aai.domain.yang.Collection.class).ifPresent(collections::add);
+            } else if ("configuration".equals(type)) {
+                wrapper.asBean(org.onap.aai.domain.yang.Configuration.class).ifPresent(configurations::add);
+            }
+        }
+        for (Map.Entry<String, List<VolumeGroup>> entry : volumeGroups.entrySet()) {
+            if (!vnfs.containsKey(entry.getKey())) {
+                List<String> volumeGroupIds =
+                        entry.getValue().stream().map(VolumeGroup::getVolumeGroupId).collect(Collectors.toList());
+                logger.warn("Volume groups {} of service instance {} are not related to a vnf of the subgraph, "
+                        + "reading the related instances one by one", volumeGroupIds, serviceResource.getResourceId());
+                return false;
+            }
+        }
+        for (GenericVnf vnf : vnfs.values()) {
+            aaiResourceIds.add(new Pair<>(WorkflowType.VNF, vnf.getVnfId()));
+            Resource vnfResource = new Resource(WorkflowType.VNF, vnf.getVnfId(), false, serviceResource);
+            vnfResource.setVnfCustomizationId(vnf.getModelCustomizationId());
+            vnfResource.setModelCustomizationId(vnf.getModelCustomizationId());
+            vnfResource.setModelVersionId(vnf.getModelVersionId());
+            resourceList.add(vnfResource);
+            for (org.onap.aai.domain.yang.VfModule vfModule : vfModules.getOrDefault(vnf.getVnfId(),
+                    new ArrayList<>())) {
+                aaiResourceIds.add(new Pair<>(WorkflowType.VFMODULE, vfModule.getVfModuleId()));
+                Resource resource =
+                        new Resource(WorkflowType.VFMODULE, vfModule.getVfModuleId(), false, vnfResource);
+                resource.setModelCustomizationId(vfModule.getModelCustomizationId());
+                resource.setModelInvariantId(vfModule.getModelInvariantId());
+                resource.setBaseVfModule(isBaseVfModule(vfModule));
+                resourceList.add(resource);
+            }
+            for (VolumeGroup volumeGroup : volumeGroups.getOrDefault(vnf.getVnfId(), new ArrayList<>())) {
+                aaiResourceIds.add(new Pair<>(WorkflowType.VOLUMEGROUP, volumeGroup.getVolumeGroupId()));
+                resourceList.add(
+                        new Resource(WorkflowType.VOLUMEGROUP, volumeGroup.getVolumeGroupId(), false, vnfResource));
+            }
+        }
+        for (Pnf pnf : pnfs) {
+            aaiResourceIds.add(new Pair<>(WorkflowType.PNF, pnf.getPnfId()));
+            Resource resource = new Resource(WorkflowType.PNF, pnf.getPnfId(), false, serviceResource);
+            resource.setModelVersionId(pnf.getModelVersionId());
+            resource.setModelCustomizationId(pnf.getModelCustomizationId());
+            resourceList.add(resource);
+        }
+        for (L3Network network : networks) {
+            aaiResourceIds.add(new Pair<>(WorkflowType.NETWORK, network.getNetworkId()));
+            Resource networkResource =
+                    new Resource(WorkflowType.NETWORK, network.getNetworkId(), false, serviceResource);
+            NetworkResourceCustomization networkCustomization = network.getModelCustomizationId() == null ? null
+                    : catalogDbClient.getNetworkResourceCustomizationByModelCustomizationUUID(
+                            network.getModelCustomizationId());
+            if (networkCustomization != null && networkCustomization.getNetworkResource() != null) {
+                networkResource.setModelCustomizationId(networkCustomization.getModelCustomizationUUID());
+                networkResource.setModelVersionId(networkCustomization.getNetworkResource().getModelUUID());
+            } else {
+                logger.debug("No catalog network customization {} for network {}, using the model ids in A&AI",
+                        network.getModelCustomizationId(), network.getNetworkId());
+                networkResource.setModelCustomizationId(network.getModelCustomizationId());
+                networkResource.setModelVersionId(network.getModelVersionId());
+            }
+            resourceList.add(networkResource);
+        }
+        if (!collections.isEmpty()) {
+            logger.debug("found networkcollection");
+            aaiResourceIds.add(new Pair<>(WorkflowType.NETWORKCOLLECTION, collections.get(0).getCollectionId()));
+            resourceList.add(new Resource(WorkflowType.NETWORKCOLLECTION, collections.get(0).getCollectionId(),
+                    false, serviceResource));
+        }
+        for (org.onap.aai.domain.yang.Configuration config : configurations) {
+            if (isRelatedToVnfcOrVpnBinding(config)) {
+                aaiResourceIds.add(new Pair<>(WorkflowType.CONFIGURATION, config.getConfigurationId()));
+                resourceList.add(new Resource(WorkflowType.CONFIGURATION, config.getConfigurationId(), false,
+                        serviceResource));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The base flag of the vf module model in the catalog, the optional is-base-vf-module of A&AI when the catalog has
+     * no vf module for its model customization
+     */
+    private boolean isBaseVfModule(org.onap.aai.domain.yang.VfModule vfModule) {
+        VfModuleCustomization vfModuleCustomization = vfModule.getModelCustomizationId() == null ? null
+                : catalogDbClient.getVfModuleCustomizationByModelCuztomizationUUID(vfModule.getModelCustomizationId());
+        if (vfModuleCustomization != null && vfModuleCustomization.getVfModule() != null
+                && vfModuleCustomization.getVfModule().getIsBase() != null) {
+            return vfModuleCustomization.getVfModule().getIsBase();
+        }
+        logger.debug("No catalog vf module customization {} for vf module {}, using is-base-vf-module of A&AI",
+                vfModule.getModelCustomizationId(), vfModule.getVfModuleId());
+        return Boolean.TRUE.equals(vfModule.isIsBaseVfModule());
+    }
+
+    private String relatedVnfId(VolumeGroup volumeGroup) {
+        if (volumeGroup.getRelationshipList() != null) {
+            for (Relationship relationship : volumeGroup.getRelationshipList().getRelationship()) {
+                for (RelationshipData data : relationship.getRelationshipData()) {
+                    if ("generic-vnf.vnf-id".equals(data.getRelationshipKey())) {
+                        return data.getRelationshipValue();
+                    }
+                }
+            }
+        }
+        return "";
+    }
+
+    private boolean isRelatedToVnfcOrVpnBinding(org.onap.aai.domain.yang.Configuration config) {
+        if (config.getRelationshipList() != null) {
+            for (Relationship relationship : config.getRelationshipList().getRelationship()) {
+                if (relationship.getRelatedTo().contains("vnfc")
+                        || relationship.getRelatedTo().contains("vpn-binding")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs the A&AI read on the fetch pool, at most fetchThreads reads run at a time across requests. Reads run on the
+     * calling thread when the pool is not started.
+     */
+    protected <T> CompletableFuture<T> fetch(Supplier<T> read) {
+        if (fetchExecutor == null) {
+            return CompletableFuture.completedFuture(read.get());
+        }
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return CompletableFuture.supplyAsync(() -> {
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                return read.get();
+            } finally {
+                MDC.clear();
+            }
+        }, fetchExecutor);
+    }
+
     public void traverseServiceInstanceChildService(List<Resource> resourceList, Resource serviceResource,
             ServiceInstance serviceInstanceAAI) {
 
@@ -505,15 +748,15 @@ public class ServiceEBBLoader {
 
     private void traverseVnfModules(List<Resource> resourceList, Resource vnfResource,
             List<Pair<WorkflowType, String>> aaiResourceIds,
-            org.onap.so.bpmn.servicedecomposition.bbobjects.GenericVnf vnf) {
+            org.onap.so.bpmn.servicedecomposition.bbobjects.GenericVnf vnf,
+            Map<String, CompletableFuture<org.onap.aai.domain.yang.VfModule>> aaiVfModules) {
         if (vnf.getVfModules() == null) {
             return;
         }
         for (VfModule vfModule : vnf.getVfModules()) {
             aaiResourceIds.add(new Pair<>(WorkflowType.VFMODULE, vfModule.getVfModuleId()));
             Resource resource = new Resource(WorkflowType.VFMODULE, vfModule.getVfModuleId(), false, vnfResource);
-            org.onap.aai.domain.yang.VfModule aaiVfModule =
-                    bbInputSetupUtils.getAAIVfModule(vnf.getVnfId(), vfModule.getVfModuleId());
+            org.onap.aai.domain.yang.VfModule aaiVfModule = aaiVfModules.get(vfModule.getVfModuleId()).join();
             resource.setModelCustomizationId(aaiVfModule.getModelCustomizationId());
             resource.setModelInvariantId(aaiVfModule.getModelInvariantId());
             resource.setBaseVfModule(vfModule.getModelInfoVfModule().getIsBaseBoolean());
@@ -0,0 +1,105 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.infrastructure.workflow.tasks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.onap.so.bpmn.servicedecomposition.entities.BuildingBlock;
+import org.onap.so.bpmn.servicedecomposition.entities.ExecuteBuildingBlock;
+
+public class ExecutionGraphTest {
+
+    private ExecutionPlan service;
+    private ExecutionPlan vnf1;
+    private ExecutionPlan vnf2;
+    private ExecutionPlan baseVfModule;
+    private ExecutionPlan vfModule1;
+    private ExecutionPlan vfModule2;
+
+    @Before
+    public void before() {
+        Resource serviceResource = new Resource(WorkflowType.SERVICE, "service", false, null);
+        Resource vnf1Resource = new Resource(WorkflowType.VNF, "vnf1", false, serviceResource);
+        new Resource(WorkflowType.VNF, "vnf2", false, serviceResource);
+        new Resource(WorkflowType.VFMODULE, "base", false, vnf1Resource).setBaseVfModule(true);
+        new Resource(WorkflowType.VFMODULE, "vfModule1", false, vnf1Resource);
+        new Resource(WorkflowType.VFMODULE, "vfModule2", false, vnf1Resource);
+
+        service = ExecutionPlan.build(Collections.singletonList(serviceResource), true);
+        vnf1 = service.getNestedExecutions().get(0).getNestedExecutions().get(0);
+        vnf2 = service.getNestedExecutions().get(0).getNestedExecutions().get(1);
+        List<ExecutionPlan> vfModules = vnf1.getNestedExecutions().get(0).getNestedExecutions();
+        baseVfModule = vfModules.get(0);
+        vfModule1 = vfModules.get(1);
+        vfModule2 = vfModules.get(2);
+    }
+
+    @Test
+    public void branchTest() {
+        assertEquals("SERVICE:0:service/VNF:0:vnf1", vnf1.getBranch());
+        assertEquals("SERVICE:0:service/VNF:0:vnf1/VFMODULE:0:vfModule1", vfModule1.getBranch());
+    }
+
+    @Test
+    public void independentTest() {
+        assertTrue(ExecutionGraph.independent(ebb("AssignVnfBB", vnf1), ebb("AssignVnfBB", vnf2)));
+        assertTrue(ExecutionGraph.independent(ebb("CreateVfModuleBB", vfModule1), ebb("AssignVnfBB", vnf2)));
+        assertTrue(ExecutionGraph.independent(ebb("CreateVfModuleBB", vfModule1),
+                ebb("CreateVfModuleBB", vfModule2)));
+    }
+
+    @Test
+    public void dependentTest() {
+        assertFalse(ExecutionGraph.independent(ebb("AssignServiceInstanceBB", service), ebb("AssignVnfBB", vnf1)));
+        assertFalse(ExecutionGraph.independent(ebb("AssignVnfBB", vnf1), ebb("CreateVfModuleBB", vfModule1)));
+        assertFalse(ExecutionGraph.independent(ebb("AssignVnfBB", vnf1), ebb("ActivateVnfBB", vnf1)));
+        assertFalse(ExecutionGraph.independent(ebb("CreateVfModuleBB", baseVfModule),
+                ebb("CreateVfModuleBB", vfModule1)));
+        assertFalse(ExecutionGraph.independent(new ExecuteBuildingBlock()
+                .setBuildingBlock(new BuildingBlock().setBpmnFlowName("AssignVnfBB")), ebb("AssignVnfBB", vnf2)));
+    }
+
+    @Test
+    public void nextReadyTest() {
+        ExecuteBuildingBlock assignVnf1 = ebb("AssignVnfBB", vnf1);
+        ExecuteBuildingBlock createVfModule1 = ebb("CreateVfModuleBB", vfModule1);
+        ExecuteBuildingBlock assignVnf2 = ebb("AssignVnfBB", vnf2);
+        ExecuteBuildingBlock activateVnf2 = ebb("ActivateVnfBB", vnf2);
+        ExecuteBuildingBlock activateService = ebb("ActivateServiceInstanceBB", service);
+        List<ExecuteBuildingBlock> flowsToExecute =
+                Arrays.asList(assignVnf1, createVfModule1, assignVnf2, activateVnf2, activateService);
+
+        assertEquals(2, ExecutionGraph.nextReady(flowsToExecute, Collections.singletonList(assignVnf1), 1));
+        assertEquals(-1, ExecutionGraph.nextReady(flowsToExecute, Arrays.asList(assignVnf1, assignVnf2), 3));
+        assertEquals(3, ExecutionGraph.nextReady(flowsToExecute, Collections.singletonList(createVfModule1), 3));
+    }
+
+    private static ExecuteBuildingBlock ebb(String bbName, ExecutionPlan plan) {
+        return new ExecuteBuildingBlock().setBuildingBlock(new BuildingBlock().setBpmnFlowName(bbName))
+                .setExecutionBranch(plan.getBranch());
+    }
+}
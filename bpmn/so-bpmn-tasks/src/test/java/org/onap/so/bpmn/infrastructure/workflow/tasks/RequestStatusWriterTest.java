@@ -0,0 +1,110 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.bpmn.infrastructure.workflow.tasks;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.onap.so.db.request.client.RequestsDbClient;
+import org.onap.so.db.request.data.controller.RequestStatusUpdate;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RequestStatusWriterTest {
+
+    private static final String REQUEST_ID = "requestId";
+
+    @Mock
+    private RequestsDbClient requestsDbClient;
+
+    @InjectMocks
+    private RequestStatusWriter writer;
+
+    @Before
+    public void before() {
+        writer.start();
+    }
+
+    @After
+    public void after() {
+        writer.shutdown();
+    }
+
+    @Test
+    public void progressCoalescedTest() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).doNothing().when(requestsDbClient).updateRequestStatus(eq(REQUEST_ID), any(RequestStatusUpdate.class));
+
+        writer.submitProgress(REQUEST_ID, progress(10L));
+        writing.await(5, TimeUnit.SECONDS);
+        writer.submitProgress(REQUEST_ID, progress(20L));
+        writer.submitProgress(REQUEST_ID, progress(30L));
+        writer.submitProgress(REQUEST_ID, progress(40L));
+        release.countDown();
+        writer.flush(REQUEST_ID);
+
+        ArgumentCaptor<RequestStatusUpdate> captor = ArgumentCaptor.forClass(RequestStatusUpdate.class);
+        verify(requestsDbClient, times(2)).updateRequestStatus(eq(REQUEST_ID), captor.capture());
+        List<RequestStatusUpdate> updates = captor.getAllValues();
+        assertEquals(Long.valueOf(10), updates.get(0).getProgress());
+        assertEquals(Long.valueOf(40), updates.get(1).getProgress());
+    }
+
+    @Test
+    public void updateAfterProgressTest() {
+        RequestStatusUpdate progress = progress(50L);
+        RequestStatusUpdate complete = progress(100L);
+        complete.setRequestStatus("COMPLETE");
+
+        writer.submitProgress(REQUEST_ID, progress);
+        writer.update(REQUEST_ID, complete);
+
+        InOrder inOrder = inOrder(requestsDbClient);
+        inOrder.verify(requestsDbClient).updateRequestStatus(REQUEST_ID, progress);
+        inOrder.verify(requestsDbClient).updateRequestStatus(REQUEST_ID, complete);
+    }
+
+    private static RequestStatusUpdate progress(Long progress) {
+        RequestStatusUpdate update = new RequestStatusUpdate();
+        update.setProgress(progress);
+        return update;
+    }
+}
@@ -21,6 +21,9 @@
 package org.onap.so.bpmn.infrastructure.workflow.tasks;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.isA;
@@ -44,6 +47,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -55,6 +59,7 @@ import org.onap.so.bpmn.servicedecomposition.entities.BuildingBlock;
 import org.onap.so.bpmn.servicedecomposition.entities.ExecuteBuildingBlock;
 import org.onap.so.constants.Status;
 import org.onap.so.db.request.beans.InfraActiveRequests;
+import org.onap.so.db.request.data.controller.RequestStatusUpdate;
 
 public class WorkflowActionBBFailureTest extends BaseTaskTest {
 
@@ -68,6 +73,9 @@ public class WorkflowActionBBFailureTest extends BaseTaskTest {
     @Mock
     InfraActiveRequests reqMock;
 
+    @Mock
+    private RequestStatusWriter requestStatusWriter;
+
     private DelegateExecution execution;
 
     @Rule
@@ -240,12 +248,13 @@ public class WorkflowActionBBFailureTest extends BaseTaskTest {
         WorkflowException we = new WorkflowException("WorkflowAction", 1231, "Error Case");
         execution.setVariable("WorkflowException", we);
 
-        doReturn(reqMock).when(requestsDbClient).getInfraActiveRequestbyRequestId(reqId);
         workflowActionBBFailure.updateRequestErrorStatusMessage(execution);
-        Mockito.verify(reqMock, Mockito.times(1)).setStatusMessage("Error Case");
-        Mockito.verify(reqMock, Mockito.times(1)).setProgress(Long.valueOf(100));
-        Mockito.verify(reqMock, Mockito.times(1)).setLastModifiedBy("CamundaBPMN");
-        Mockito.verify(reqMock, Mockito.times(1)).setEndTime(any(Timestamp.class));
+        RequestStatusUpdate update = verifyStatusUpdate(reqId);
+        assertEquals("Error Case", update.getStatusMessage());
+        assertNull(update.getRollbackStatusMessage());
+        assertEquals(Long.valueOf(100), update.getProgress());
+        assertEquals("CamundaBPMN", update.getLastModifiedBy());
+        assertNotNull(update.getEndTime());
     }
 
     @Test
@@ -256,13 +265,13 @@ public class WorkflowActionBBFailureTest extends BaseTaskTest {
         execution.setVariable("WorkflowException", we);
         execution.setVariable("isRollback", true);
 
-        doReturn(reqMock).when(requestsDbClient).getInfraActiveRequestbyRequestId(reqId);
         workflowActionBBFailure.updateRequestErrorStatusMessage(execution);
-        Mockito.verify(reqMock, Mockito.times(0)).setStatusMessage("Error Case");
-        Mockito.verify(reqMock, Mockito.times(1)).setRollbackStatusMessage("Error Case");
-        Mockito.verify(reqMock, Mockito.times(1)).setProgress(Long.valueOf(100));
-        Mockito.verify(reqMock, Mockito.times(1)).setLastModifiedBy("CamundaBPMN");
-        Mockito.verify(reqMock, Mockito.times(1)).setEndTime(any(Timestamp.class));
+        RequestStatusUpdate update = verifyStatusUpdate(reqId);
+        assertNull(update.getStatusMessage());
+        assertEquals("Error Case", update.getRollbackStatusMessage());
+        assertEquals(Long.valueOf(100), update.getProgress());
+        assertEquals("CamundaBPMN", update.getLastModifiedBy());
+        assertNotNull(update.getEndTime());
     }
 
     @Test
@@ -273,13 +282,13 @@ public class WorkflowActionBBFailureTest extends BaseTaskTest {
         execution.setVariable("WorkflowException", we);
         execution.setVariable("isRollback", false);
 
-        doReturn(reqMock).when(requestsDbClient).getInfraActiveRequestbyRequestId(reqId);
         workflowActionBBFailure.updateRequestErrorStatusMessage(execution);
-        Mockito.verify(reqMock, Mockito.times(1)).setStatusMessage("Error Case");
-        Mockito.verify(reqMock, Mockito.times(0)).setRollbackStatusMessage("Error Case");
-        Mockito.verify(reqMock, Mockito.times(1)).setProgress(Long.valueOf(100));
-        Mockito.verify(reqMock, Mockito.times(1)).setLastModifiedBy("CamundaBPMN");
-        Mockito.verify(reqMock, Mockito.times(1)).setEndTime(any(Timestamp.class));
+        RequestStatusUpdate update = verifyStatusUpdate(reqId);
+        assertEquals("Error Case", update.getStatusMessage());
+        assertNull(update.getRollbackStatusMessage());
+        assertEquals(Long.valueOf(100), update.getProgress());
+        assertEquals("CamundaBPMN", update.getLastModifiedBy());
+        assertNotNull(update.getEndTime());
     }
 
     @Test
@@ -400,6 +409,9 @@ public class WorkflowActionBBFailureTest extends BaseTaskTest {
                 parentCorrelationId);
     }
 
-
-
+    private RequestStatusUpdate verifyStatusUpdate(String requestId) {
+        ArgumentCaptor<RequestStatusUpdate> captor = ArgumentCaptor.forClass(RequestStatusUpdate.class);
+        verify(requestStatusWriter).update(eq(requestId), captor.capture());
+        return captor.getValue();
+    }
 }
@@ -25,11 +25,14 @@ package org.onap.so.bpmn.infrastructure.workflow.tasks;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyObject;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
@@ -38,6 +41,7 @@ import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import org.camunda.bpm.engine.delegate.BpmnError;
@@ -60,6 +64,7 @@ import org.onap.aai.domain.yang.ServiceInstance;
 import org.onap.aai.domain.yang.VfModule;
 import org.onap.aai.domain.yang.VolumeGroup;
 import org.onap.so.bpmn.BaseTaskTest;
+import org.onap.so.bpmn.common.BuildingBlockExecution;
 import org.onap.so.bpmn.common.listener.flowmanipulator.FlowManipulatorListenerRunner;
 import org.onap.so.bpmn.core.WorkflowException;
 import org.onap.so.bpmn.servicedecomposition.entities.BuildingBlock;
@@ -71,6 +76,7 @@ import org.onap.so.db.catalog.beans.ConfigurationResource;
 import org.onap.so.db.catalog.beans.CvnfcConfigurationCustomization;
 import org.onap.so.db.catalog.beans.VnfResourceCustomization;
 import org.onap.so.db.request.beans.InfraActiveRequests;
+import org.onap.so.db.request.data.controller.RequestStatusUpdate;
 import org.onap.so.serviceinstancebeans.ModelInfo;
 import org.onap.so.serviceinstancebeans.ModelType;
 import org.onap.so.serviceinstancebeans.RelatedInstance;
@@ -105,6 +111,9 @@ public class WorkflowActionBBTasksTest extends BaseTaskTest {
     @Mock
     private FlowManipulatorListenerRunner flowManipulatorListenerRunner;
 
+    @Mock
+    private RequestStatusWriter requestStatusWriter;
+
     @Rule
     public ExpectedException thrown = ExpectedException.none();
 
@@ -216,6 +225,30 @@ public class WorkflowActionBBTasksTest extends BaseTaskTest {
                 execution.getVariable("finalStatusMessage"));
     }
 
+    @Test
+    public void updateFlowStatisticsTest() {
+        String reqId = "reqId123";
+        execution.setVariable("mso-request-id", reqId);
+        execution.setVariable("gCurrentSequence", 2);
+        List<ExecuteBuildingBlock> flowsToExecute = new ArrayList<>();
+        flowsToExecute.add(new ExecuteBuildingBlock()
+                .setBuildingBlock(new BuildingBlock().setBpmnFlowName("AssignServiceInstanceBB")));
+        flowsToExecute.add(new ExecuteBuildingBlock()
+                .setBuildingBlock(new BuildingBlock().setBpmnFlowName("ActivateServiceInstanceBB")));
+        execution.setVariable("flowsToExecute", flowsToExecute);
+
+        workflowActionBBTasks.updateFlowStatistics(execution);
+
+        ArgumentCaptor<RequestStatusUpdate> captor = ArgumentCaptor.forClass(RequestStatusUpdate.class);
+        verify(requestStatusWriter).submitProgress(eq(reqId), captor.capture());
+        assertEquals(Long.valueOf(52), captor.getValue().getProgress());
+        assertEquals("Execution of AssignServiceInstanceBB has completed successfully, next invoking "
+                + "ActivateServiceInstanceBB (Execution Path progress: BBs completed = 1; BBs remaining = 1).",
+                captor.getValue().getFlowStatus());
+        assertEquals("CamundaBPMN", captor.getValue().getLastModifiedBy());
+        verify(requestsDbClient, times(0)).getInfraActiveRequestbyRequestId(reqId);
+    }
+
     @Test
     public void rollbackExecutionPathTest() {
         execution.setVariable("handlingCode", "Rollback");
@@ -953,6 +986,24 @@ public class WorkflowActionBBTasksTest extends BaseTaskTest {
         assertEquals(0, execution.getVariable("gCurrentSequence"));
     }
 
+    @Test
+    public void checkRetryStatusUpdatesRetryStatusMessageTest() {
+        String reqId = "reqId123";
+        execution.setVariable("mso-request-id", reqId);
+        doReturn("6").when(environment).getProperty("mso.rainyDay.maxRetries");
+        execution.setVariable("handlingCode", "Retry");
+        execution.setVariable("RetryDuration", "PT1M");
+        execution.setVariable("retryCount", 1);
+        execution.setVariable("gCurrentSequence", 1);
+
+        workflowActionBBTasks.checkRetryStatus(execution);
+
+        ArgumentCaptor<RequestStatusUpdate> captor = ArgumentCaptor.forClass(RequestStatusUpdate.class);
+        verify(requestStatusWriter).update(eq(reqId), captor.capture());
+        assertEquals("Retry 2/6 will be started in PT1M", captor.getValue().getRetryStatusMessage());
+        assertEquals(null, captor.getValue().getProgress());
+    }
+
     @Test
     public void checkRetryStatusTestExceededMaxRetries() {
         String reqId = "reqId123";
@@ -1108,6 +1159,106 @@ public class WorkflowActionBBTasksTest extends BaseTaskTest {
         assertEquals("volumeGroupName", request.getVolumeGroupName());
     }
 
+    @Test
+    public void selectParallelBatchTest() {
+        prepareDelegateExecution();
+        execution.setVariable("aLaCarte", false);
+        doReturn("true").when(environment).getProperty("mso.workflow.parallel-execution.enabled");
+        doReturn("4").when(environment).getProperty("mso.workflow.parallel-execution.max-parallelism");
+        ExecuteBuildingBlock assignVnf1 = branchBB("AssignVnfBB", "SERVICE:0:service/VNF:0:vnf1");
+        ExecuteBuildingBlock activateVnf1 = branchBB("ActivateVnfBB", "SERVICE:0:service/VNF:0:vnf1");
+        ExecuteBuildingBlock assignVnf2 = branchBB("AssignVnfBB", "SERVICE:0:service/VNF:0:vnf2");
+        execution.setVariable("flowsToExecute", new ArrayList<>(Arrays.asList(assignVnf1, activateVnf1, assignVnf2)));
+
+        workflowActionBBTasks.selectBB(execution);
+
+        assertEquals(true, execution.getVariable("parallelBatch"));
+        assertEquals(Arrays.asList(assignVnf1, assignVnf2), execution.getVariable("buildingBlocks"));
+        assertEquals(Arrays.asList(0, 1), execution.getVariable("batchSequences"));
+        assertEquals(2, execution.getVariable("gCurrentSequence"));
+        assertEquals(Arrays.asList(assignVnf1, assignVnf2, activateVnf1), execution.getVariable("flowsToExecute"));
+    }
+
+    @Test
+    public void selectParallelBatchSkippedBBTest() {
+        prepareDelegateExecution();
+        execution.setVariable("aLaCarte", false);
+        doReturn("true").when(environment).getProperty("mso.workflow.parallel-execution.enabled");
+        doReturn("4").when(environment).getProperty("mso.workflow.parallel-execution.max-parallelism");
+        ExecuteBuildingBlock assignVnf1 = branchBB("AssignVnfBB", "SERVICE:0:service/VNF:0:vnf1");
+        ExecuteBuildingBlock assignVnf2 = branchBB("AssignVnfBB", "SERVICE:0:service/VNF:0:vnf2");
+        ExecuteBuildingBlock assignVnf3 = branchBB("AssignVnfBB", "SERVICE:0:service/VNF:0:vnf3");
+        execution.setVariable("flowsToExecute", new ArrayList<>(Arrays.asList(assignVnf1, assignVnf2, assignVnf3)));
+        doAnswer(invocation -> {
+            BuildingBlockExecution bbExecution = invocation.getArgument(1);
+            if ((int) bbExecution.getVariable("gCurrentSequence") == 1) {
+                bbExecution.setVariable("gCurrentSequence", 2);
+            }
+            return null;
+        }).when(flowManipulatorListenerRunner).modifyFlows(any(), any());
+
+        workflowActionBBTasks.selectBB(execution);
+
+        assertEquals(false, execution.getVariable("parallelBatch"));
+        assertNull(execution.getVariable("buildingBlocks"));
+        assertEquals(assignVnf1, execution.getVariable("buildingBlock"));
+        assertEquals(1, execution.getVariable("gCurrentSequence"));
+        assertEquals(Arrays.asList(assignVnf1, assignVnf2, assignVnf3), execution.getVariable("flowsToExecute"));
+    }
+
+    @Test
+    public void collectBatchResultsRetryTest() {
+        ExecuteBuildingBlock assignVnf1 = branchBB("AssignVnfBB", "SERVICE:0:service/VNF:0:vnf1");
+        ExecuteBuildingBlock assignVnf2 = branchBB("AssignVnfBB", "SERVICE:0:service/VNF:0:vnf2");
+        ExecuteBuildingBlock activateVnf1 = branchBB("ActivateVnfBB", "SERVICE:0:service/VNF:0:vnf1");
+        execution.setVariable("flowsToExecute", new ArrayList<>(Arrays.asList(assignVnf1, assignVnf2, activateVnf1)));
+        execution.setVariable("batchSequences", Arrays.asList(0, 1));
+        execution.setVariable("gCurrentSequence", 2);
+        execution.setVariable("parallelBatch", true);
+        execution.setVariable("batchResult_0", batchResult(assignVnf1, "Retry"));
+        execution.setVariable("batchResult_1", batchResult(assignVnf2, "Success"));
+
+        workflowActionBBTasks.collectBatchResults(execution);
+
+        assertEquals(Arrays.asList(assignVnf2, assignVnf1, activateVnf1), execution.getVariable("flowsToExecute"));
+        assertEquals(2, execution.getVariable("gCurrentSequence"));
+        assertEquals("Retry", execution.getVariable("handlingCode"));
+        assertEquals(assignVnf1, execution.getVariable("buildingBlock"));
+        assertEquals(false, execution.getVariable("parallelBatch"));
+        assertFalse(execution.hasVariable("batchResult_0"));
+    }
+
+    @Test
+    public void collectBatchResultsRollbackTest() {
+        ExecuteBuildingBlock assignVnf1 = branchBB("AssignVnfBB", "SERVICE:0:service/VNF:0:vnf1");
+        ExecuteBuildingBlock assignVnf2 = branchBB("AssignVnfBB", "SERVICE:0:service/VNF:0:vnf2");
+        ExecuteBuildingBlock assignVnf3 = branchBB("AssignVnfBB", "SERVICE:0:service/VNF:0:vnf3");
+        execution.setVariable("flowsToExecute", new ArrayList<>(Arrays.asList(assignVnf1, assignVnf2, assignVnf3)));
+        execution.setVariable("batchSequences", Arrays.asList(0, 1, 2));
+        execution.setVariable("gCurrentSequence", 3);
+        execution.setVariable("batchResult_0", batchResult(assignVnf1, "Rollback"));
+        execution.setVariable("batchResult_1", batchResult(assignVnf2, "Retry"));
+        execution.setVariable("batchResult_2", batchResult(assignVnf3, "Success"));
+
+        workflowActionBBTasks.collectBatchResults(execution);
+
+        assertEquals(Arrays.asList(assignVnf3, assignVnf2, assignVnf1), execution.getVariable("flowsToExecute"));
+        assertEquals(3, execution.getVariable("gCurrentSequence"));
+        assertEquals("Rollback", execution.getVariable("handlingCode"));
+    }
+
+    private ExecuteBuildingBlock branchBB(String bbName, String branch) {
+        return new ExecuteBuildingBlock().setBuildingBlock(new BuildingBlock().setBpmnFlowName(bbName))
+                .setExecutionBranch(branch);
+    }
+
+    private HashMap<String, Object> batchResult(ExecuteBuildingBlock ebb, String handlingCode) {
+        HashMap<String, Object> result = new HashMap<>();
+        result.put("buildingBlock", ebb);
+        result.put("handlingCode", handlingCode);
+        return result;
+    }
+
     private void prepareDelegateExecution() {
         execution.setVariable("mso-request-id", SAMPLE_MSO_REQUEST_ID);
         execution.setVariable("requestAction", SAMPLE_REQUEST_ACTION);
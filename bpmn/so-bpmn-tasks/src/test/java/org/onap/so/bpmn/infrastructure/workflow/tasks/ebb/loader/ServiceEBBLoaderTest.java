@@ -39,7 +39,9 @@ import org.onap.aai.domain.yang.Relationship;
 import org.onap.aai.domain.yang.RelationshipData;
 import org.onap.aai.domain.yang.RelationshipList;
 import org.onap.aai.domain.yang.ServiceInstance;
+import org.onap.aaiclient.client.aai.entities.AAIResultWrapper;
 import org.onap.aaiclient.client.aai.entities.Relationships;
+import org.onap.aaiclient.client.graphinventory.entities.ResourceAndUrl;
 import org.onap.so.bpmn.BaseTaskTest;
 import org.onap.so.bpmn.infrastructure.workflow.tasks.Resource;
 import org.onap.so.bpmn.infrastructure.workflow.tasks.VrfBondingServiceException;
@@ -54,7 +56,9 @@ import org.onap.so.db.catalog.beans.ConfigurationResourceCustomization;
 import org.onap.so.db.catalog.beans.Service;
 import org.onap.so.db.catalog.beans.CollectionResourceCustomization;
 import org.onap.so.db.catalog.beans.NetworkCollectionResourceCustomization;
+import org.onap.so.db.catalog.beans.NetworkResource;
 import org.onap.so.db.catalog.beans.NetworkResourceCustomization;
+import org.onap.so.db.catalog.beans.VfModuleCustomization;
 import org.onap.so.db.catalog.beans.CollectionResource;
 import org.onap.so.db.catalog.beans.CollectionResourceInstanceGroupCustomization;
 import org.onap.so.db.catalog.beans.InstanceGroup;
@@ -76,6 +80,8 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyList;
@@ -264,6 +270,162 @@ public class ServiceEBBLoaderTest extends BaseTaskTest {
         }
     }
 
+    @Test
+    public void traverseAAIServiceSubgraphTest() throws Exception {
+        List<Resource> resourceCounter = new ArrayList<>();
+        String resourceId = "si0";
+        List<Pair<WorkflowType, String>> aaiResourceIds = new ArrayList<>();
+
+        ServiceInstance serviceInstanceAAI = new ServiceInstance();
+        serviceInstanceAAI.setServiceInstanceId(resourceId);
+
+        org.onap.aai.domain.yang.GenericVnf vnf = new org.onap.aai.domain.yang.GenericVnf();
+        vnf.setVnfId("testVnfId1");
+        vnf.setModelCustomizationId("testVnfCustomizationId");
+
+        org.onap.aai.domain.yang.VfModule vfModule = new org.onap.aai.domain.yang.VfModule();
+        vfModule.setVfModuleId("testVfModuleId1");
+        vfModule.setModelCustomizationId("testVfModuleCustomizationId");
+        vfModule.setIsBaseVfModule(false);
+        VfModuleCustomization vfModuleCustomization = new VfModuleCustomization();
+        vfModuleCustomization.setVfModule(new org.onap.so.db.catalog.beans.VfModule());
+        vfModuleCustomization.getVfModule().setIsBase(true);
+
+        RelationshipData vnfData = new RelationshipData();
+        vnfData.setRelationshipKey("generic-vnf.vnf-id");
+        vnfData.setRelationshipValue("testVnfId1");
+        Relationship vnfRelationship = new Relationship();
+        vnfRelationship.setRelatedTo("generic-vnf");
+        vnfRelationship.getRelationshipData().add(vnfData);
+        org.onap.aai.domain.yang.VolumeGroup volumeGroup = new org.onap.aai.domain.yang.VolumeGroup();
+        volumeGroup.setVolumeGroupId("testVolumeGroupId1");
+        volumeGroup.setRelationshipList(new RelationshipList());
+        volumeGroup.getRelationshipList().getRelationship().add(vnfRelationship);
+
+        org.onap.aai.domain.yang.L3Network network = new org.onap.aai.domain.yang.L3Network();
+        network.setNetworkId("testNetworkId1");
+        network.setModelCustomizationId("testNetworkCustomizationId");
+        network.setModelVersionId("testNetworkModelVersionIdOfAAI");
+        NetworkResourceCustomization networkCustomization = new NetworkResourceCustomization();
+        networkCustomization.setModelCustomizationUUID("testNetworkCustomizationId");
+        networkCustomization.setNetworkResource(new NetworkResource());
+        networkCustomization.getNetworkResource().setModelUUID("testNetworkModelVersionId");
+
+        org.onap.aai.domain.yang.Collection collection = new org.onap.aai.domain.yang.Collection();
+        collection.setCollectionId("testId");
+
+        Relationship vnfcRelationship = new Relationship();
+        vnfcRelationship.setRelatedTo("vnfc");
+        org.onap.aai.domain.yang.Configuration configuration1 = new org.onap.aai.domain.yang.Configuration();
+        configuration1.setConfigurationId("testConfigurationId");
+        configuration1.setRelationshipList(new RelationshipList());
+        configuration1.getRelationshipList().getRelationship().add(vnfcRelationship);
+
+        Relationship vpnBindingRelationship = new Relationship();
+        vpnBindingRelationship.setRelatedTo("vpn-binding");
+        org.onap.aai.domain.yang.Configuration configuration2 = new org.onap.aai.domain.yang.Configuration();
+        configuration2.setConfigurationId("testConfigurationId2");
+        configuration2.setRelationshipList(new RelationshipList());
+        configuration2.getRelationshipList().getRelationship().add(vpnBindingRelationship);
+
+        org.onap.aai.domain.yang.Configuration configuration3 = new org.onap.aai.domain.yang.Configuration();
+        configuration3.setConfigurationId("testConfigurationId3");
+
+        List<ResourceAndUrl<AAIResultWrapper>> subgraph = new ArrayList<>();
+        subgraph.add(subgraphResult("/aai/v19/network/generic-vnfs/generic-vnf/testVnfId1", vnf));
+        subgraph.add(subgraphResult(
+                "/aai/v19/network/generic-vnfs/generic-vnf/testVnfId1/vf-modules/vf-module/testVfModuleId1",
+                vfModule));
+        subgraph.add(subgraphResult("/aai/v19/cloud-infrastructure/cloud-regions/cloud-region/cloudOwner/"
+                + "regionOne/volume-groups/volume-group/testVolumeGroupId1", volumeGroup));
+        subgraph.add(subgraphResult("/aai/v19/network/l3-networks/l3-network/testNetworkId1", network));
+        subgraph.add(subgraphResult("/aai/v19/network/collections/collection/testId", collection));
+        subgraph.add(subgraphResult("/aai/v19/network/configurations/configuration/testConfigurationId",
+                configuration1));
+        subgraph.add(subgraphResult("/aai/v19/network/configurations/configuration/testConfigurationId2",
+                configuration2));
+        subgraph.add(subgraphResult("/aai/v19/network/configurations/configuration/testConfigurationId3",
+                configuration3));
+
+        doReturn(serviceInstanceAAI).when(mockBbInputSetupUtils).getAAIServiceInstanceById(resourceId);
+        doReturn(Optional.of(subgraph)).when(mockBbInputSetupUtils).getAAIServiceInstanceSubgraph(resourceId);
+        doReturn(vfModuleCustomization).when(mockCatalogDbClient)
+                .getVfModuleCustomizationByModelCuztomizationUUID("testVfModuleCustomizationId");
+        doReturn(networkCustomization).when(mockCatalogDbClient)
+                .getNetworkResourceCustomizationByModelCustomizationUUID("testNetworkCustomizationId");
+
+        serviceEBBLoader.traverseAAIService(execution, resourceCounter, resourceId, aaiResourceIds);
+
+        assertEquals(8, resourceCounter.size());
+        assertEquals("testVnfCustomizationId", resourceCounter.get(1).getVnfCustomizationId());
+        assertTrue(resourceCounter.get(2).isBaseVfModule());
+        assertEquals("testVnfId1", resourceCounter.get(3).getParent().getResourceId());
+        assertEquals("testNetworkCustomizationId", resourceCounter.get(4).getModelCustomizationId());
+        assertEquals("testNetworkModelVersionId", resourceCounter.get(4).getModelVersionId());
+        assertThat(aaiResourceIds, sameBeanAs(getExpectedResourceIds()));
+        verify(mockBbInputSetup, never()).getExistingServiceInstance(any());
+        verify(mockBbInputSetupUtils, never()).getAAIGenericVnf(any());
+    }
+
+    @Test
+    public void traverseAAIServiceSubgraphVolumeGroupWithoutVnfTest() throws Exception {
+        List<Resource> resourceCounter = new ArrayList<>();
+        String resourceId = "si0";
+        List<Pair<WorkflowType, String>> aaiResourceIds = new ArrayList<>();
+
+        ServiceInstance serviceInstanceAAI = new ServiceInstance();
+        serviceInstanceAAI.setServiceInstanceId(resourceId);
+        org.onap.so.bpmn.servicedecomposition.bbobjects.ServiceInstance serviceInstance =
+                new org.onap.so.bpmn.servicedecomposition.bbobjects.ServiceInstance();
+        serviceInstance.setServiceInstanceId(resourceId);
+
+        org.onap.aai.domain.yang.VolumeGroup volumeGroup = new org.onap.aai.domain.yang.VolumeGroup();
+        volumeGroup.setVolumeGroupId("testVolumeGroupId1");
+        List<ResourceAndUrl<AAIResultWrapper>> subgraph = new ArrayList<>();
+        subgraph.add(subgraphResult("/aai/v19/cloud-infrastructure/cloud-regions/cloud-region/cloudOwner/"
+                + "regionOne/volume-groups/volume-group/testVolumeGroupId1", volumeGroup));
+
+        doReturn(serviceInstanceAAI).when(mockBbInputSetupUtils).getAAIServiceInstanceById(resourceId);
+        doReturn(Optional.of(subgraph)).when(mockBbInputSetupUtils).getAAIServiceInstanceSubgraph(resourceId);
+        doReturn(serviceInstance).when(mockBbInputSetup).getExistingServiceInstance(serviceInstanceAAI);
+
+        serviceEBBLoader.traverseAAIService(execution, resourceCounter, resourceId, aaiResourceIds);
+
+        assertEquals(1, resourceCounter.size());
+        assertEquals(WorkflowType.SERVICE, resourceCounter.get(0).getResourceType());
+        assertTrue(aaiResourceIds.isEmpty());
+        verify(mockBbInputSetup).getExistingServiceInstance(serviceInstanceAAI);
+    }
+
+    @Test
+    public void traverseServiceInstanceSubgraphEncodedVnfIdTest() {
+        List<Resource> resourceCounter = new ArrayList<>();
+        List<Pair<WorkflowType, String>> aaiResourceIds = new ArrayList<>();
+        Resource serviceResource = new Resource(WorkflowType.SERVICE, "si0", false, null);
+
+        org.onap.aai.domain.yang.GenericVnf vnf = new org.onap.aai.domain.yang.GenericVnf();
+        vnf.setVnfId("test Vnf/1");
+        org.onap.aai.domain.yang.VfModule vfModule = new org.onap.aai.domain.yang.VfModule();
+        vfModule.setVfModuleId("testVfModuleId1");
+
+        List<ResourceAndUrl<AAIResultWrapper>> subgraph = new ArrayList<>();
+        subgraph.add(subgraphResult("/aai/v19/network/generic-vnfs/generic-vnf/test%20Vnf%2F1", vnf));
+        subgraph.add(subgraphResult(
+                "/aai/v19/network/generic-vnfs/generic-vnf/test%20Vnf%2F1/vf-modules/vf-module/testVfModuleId1",
+                vfModule));
+
+        assertTrue(serviceEBBLoader.traverseServiceInstanceSubgraph(resourceCounter, serviceResource, aaiResourceIds,
+                subgraph));
+
+        assertEquals(2, resourceCounter.size());
+        assertEquals(WorkflowType.VFMODULE, resourceCounter.get(1).getResourceType());
+        assertEquals("test Vnf/1", resourceCounter.get(1).getParent().getResourceId());
+    }
+
+    private ResourceAndUrl<AAIResultWrapper> subgraphResult(String url, Object aaiObject) {
+        return new ResourceAndUrl<>(url, null, new AAIResultWrapper(aaiObject));
+    }
+
     @Test
     public void traverseVrfConfigurationTest() throws VrfBondingServiceException, JsonProcessingException {
         List<Resource> resource = new ArrayList<>();
@@ -30,7 +30,9 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import javax.ws.rs.client.Client;
@@ -54,6 +56,7 @@ import org.onap.so.logging.jaxrs.filter.SOMetricLogClientFilter;
 import org.onap.so.utils.CryptoUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
 import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.RetryPolicy;
@@ -135,9 +138,7 @@ public abstract class RestClient {
 
     protected Builder getBuilder(String method) {
 
-        if (webTarget == null) {
-            initializeClient(getClient());
-        }
+        initializeWebTarget();
         Builder builder = webTarget.request();
         initializeHeaderMap(headerMap);
         if (headerMap.containsKey("ALL")) {
@@ -154,6 +155,12 @@ public abstract class RestClient {
         return builder;
     }
 
+    private synchronized void initializeWebTarget() {
+        if (webTarget == null) {
+            initializeClient(getClient());
+        }
+    }
+
     protected WebTarget getWebTarget() {
         return this.webTarget;
     }
@@ -309,17 +316,65 @@ public abstract class RestClient {
         return format(method("DELETE", obj), resultClass).orElse(null);
     }
 
+    public CompletableFuture<Response> getAsync() {
+        return methodAsync("GET", null);
+    }
+
+    public CompletableFuture<Response> postAsync(Object obj) {
+        return methodAsync("POST", obj);
+    }
+
+    public <T> CompletableFuture<Optional<T>> getAsync(Class<T> resultClass) {
+        return methodAsync("GET", null).thenApply(response -> format(response, resultClass));
+    }
+
+    public <T> CompletableFuture<Optional<T>> getAsync(GenericType<T> resultClass) {
+        return methodAsync("GET", null).thenApply(response -> format(response, resultClass));
+    }
+
+    public <T> CompletableFuture<T> postAsync(Object obj, Class<T> resultClass) {
+        return methodAsync("POST", obj).thenApply(response -> format(response, resultClass).orElse(null));
+    }
+
     public Response method(String method, Object entity) {
+        return Failsafe.with(getRetryPolicy()).get(() -> buildRequest(method, entity));
+    }
 
+    /**
+     * Non-blocking variant of {@link #method(String, Object)}. The request, and any retries, run on a bounded pool
+     * shared by every client of the same target host; retry delays are scheduled rather than slept.
+     *
+     * @param method the http method
+     * @param entity the request body, may be null
+     * @return a future completed with the response, or exceptionally once retries are exhausted
+     */
+    public CompletableFuture<Response> methodAsync(String method, Object entity) {
+        initializeWebTarget();
+        RestClientExecutors.TargetPool pool = RestClientExecutors.forTarget(host, this.props.getAsyncPoolSize());
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        pool.requestSubmitted();
+        CompletableFuture<Response> future =
+                Failsafe.with(getRetryPolicy()).with(pool.getExecutor()).getAsync(() -> {
+                    pool.attempted();
+                    if (mdc != null) {
+                        MDC.setContextMap(mdc);
+                    }
+                    try {
+                        return buildRequest(method, entity);
+                    } finally {
+                        MDC.clear();
+                    }
+                });
+        return future.whenComplete((response, e) -> pool.requestCompleted(e == null));
+    }
+
+    protected RetryPolicy<Object> getRetryPolicy() {
         List<Predicate<Throwable>> items = retryOn();
 
         Predicate<Throwable> pred = items.stream().reduce(Predicate::or).orElse(x -> false);
 
-        RetryPolicy<Object> policy =
-                new RetryPolicy<>().handleIf(pred).withDelay(Duration.ofMillis(this.props.getDelayBetweenRetries()))
-                        .withMaxRetries(this.props.getRetries());
-
-        return Failsafe.with(policy).get(() -> buildRequest(method, entity));
+        return new RetryPolicy<>().handleIf(pred).withDelay(Duration.ofMillis(this.props.getDelayBetweenRetries()))
+                .withMaxRetries(this.props.getRetries());
     }
 
     protected Response buildRequest(String method, Object entity) throws Exception {
@@ -0,0 +1,195 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.client;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of the bounded executors used by {@link RestClient#methodAsync(String, Object)}. One pool is shared by
+ * every client talking to the same target (scheme + authority), so fan-out against a single system is capped no matter
+ * how many client instances are created. Clients of a target may ask for different pool sizes; the pool is sized for
+ * the largest of them. Retry delays are scheduled on the same pool and do not hold a worker thread while waiting.
+ */
+public final class RestClientExecutors {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestClientExecutors.class);
+
+    private static final Map<String, TargetPool> pools = new ConcurrentHashMap<>();
+
+    private RestClientExecutors() {}
+
+    public static TargetPool forTarget(URL host, int poolSize) {
+        TargetPool pool = pools.computeIfAbsent(targetKey(host), key -> new TargetPool(key, poolSize));
+        pool.ensurePoolSize(poolSize);
+        return pool;
+    }
+
+    public static Map<String, TargetPool> getPools() {
+        return Collections.unmodifiableMap(pools);
+    }
+
+    protected static String targetKey(URL host) {
+        return host.getProtocol() + "://" + host.getAuthority();
+    }
+
+    public static class TargetPool {
+
+        private final String target;
+        private final ScheduledThreadPoolExecutor executor;
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong attempts = new AtomicLong();
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        protected TargetPool(String target, int poolSize) {
+            this.target = target;
+            this.executor = new ScheduledThreadPoolExecutor(Math.max(1, poolSize), new DaemonThreadFactory(target));
+            this.executor.setRemoveOnCancelPolicy(true);
+            registerMetrics();
+        }
+
+        private void registerMetrics() {
+            Gauge.builder("so.rest.client.async.active", executor, ScheduledThreadPoolExecutor::getActiveCount)
+                    .tag("target", target).register(Metrics.globalRegistry);
+            Gauge.builder("so.rest.client.async.queued", executor, e -> e.getQueue().size()).tag("target", target)
+                    .register(Metrics.globalRegistry);
+            Gauge.builder("so.rest.client.async.inflight", inFlight, AtomicInteger::get).tag("target", target)
+                    .register(Metrics.globalRegistry);
+            FunctionCounter.builder("so.rest.client.async.submitted", submitted, AtomicLong::doubleValue)
+                    .tag("target", target).register(Metrics.globalRegistry);
+            FunctionCounter.builder("so.rest.client.async.attempts", attempts, AtomicLong::doubleValue)
+                    .tag("target", target).register(Metrics.globalRegistry);
+            FunctionCounter.builder("so.rest.client.async.succeeded", succeeded, AtomicLong::doubleValue)
+                    .tag("target", target).register(Metrics.globalRegistry);
+            FunctionCounter.builder("so.rest.client.async.failed", failed, AtomicLong::doubleValue)
+                    .tag("target", target).register(Metrics.globalRegistry);
+        }
+
+        /**
+         * Grows the pool when a client of the target asks for more threads than it was created with
+         */
+        protected void ensurePoolSize(int poolSize) {
+            if (poolSize <= executor.getCorePoolSize()) {
+                return;
+            }
+            synchronized (executor) {
+                int current = executor.getCorePoolSize();
+                if (poolSize > current) {
+                    logger.warn("Async rest client pool for {} was created with {} threads, growing it to {}", target,
+                            current, poolSize);
+                    executor.setCorePoolSize(poolSize);
+                }
+            }
+        }
+
+        public ScheduledExecutorService getExecutor() {
+            return executor;
+        }
+
+        protected void requestSubmitted() {
+            submitted.incrementAndGet();
+            inFlight.incrementAndGet();
+        }
+
+        protected void attempted() {
+            attempts.incrementAndGet();
+        }
+
+        protected void requestCompleted(boolean success) {
+            inFlight.decrementAndGet();
+            if (success) {
+                succeeded.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public int getPoolSize() {
+            return executor.getCorePoolSize();
+        }
+
+        public int getActiveCount() {
+            return executor.getActiveCount();
+        }
+
+        public int getQueuedCount() {
+            return executor.getQueue().size();
+        }
+
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        public long getSubmitted() {
+            return submitted.get();
+        }
+
+        /**
+         * @return number of times a request was actually sent, including retries
+         */
+        public long getAttempts() {
+            return attempts.get();
+        }
+
+        public long getSucceeded() {
+            return succeeded.get();
+        }
+
+        public long getFailed() {
+            return failed.get();
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private DaemonThreadFactory(String target) {
+            this.prefix = "rest-async-" + target.replaceAll("[^A-Za-z0-9.:-]", "") + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -62,6 +62,15 @@ public interface RestProperties {
         return Long.valueOf(60000);
     }
 
+    /**
+     * Number of threads shared by all asynchronous calls made to this endpoint's host
+     *
+     * @return
+     */
+    public default Integer getAsyncPoolSize() {
+        return Integer.valueOf(10);
+    }
+
     public default boolean isCachingEnabled() {
         return false;
     }
@@ -21,7 +21,9 @@
 package org.onap.so.client.dmaap;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import org.onap.so.client.dmaap.exceptions.DMaaPConsumerFailure;
 import org.onap.so.client.dmaap.exceptions.ExceededMaximumPollingTime;
 import org.onap.so.client.dmaap.rest.RestConsumer;
@@ -38,7 +40,35 @@ public abstract class DmaapConsumer extends DmaapClient {
         return new RestConsumer(this.properties);
     }
 
+    /**
+     * Consumes the messages of the request until {@link #continuePolling()} is false. When the consumer can read the
+     * request id of a message, the topic is read by a {@link DmaapTopicDemultiplexer} shared with the other requests
+     * on the topic, otherwise this consumer fetches from the topic itself.
+     */
     public boolean consume() throws Exception {
+        if (this.getRequestIdExtractor() == null || this.getRequestId() == null) {
+            return this.consumeFromTopic();
+        }
+        try (DmaapTopicDemultiplexer.Listener listener = DmaapTopicDemultiplexer.register(this)) {
+            Stopwatch stopwatch = Stopwatch.createStarted();
+            while (this.continuePolling()) {
+                long remaining = this.getMaximumElapsedTime() - stopwatch.elapsed(TimeUnit.MILLISECONDS);
+                if (remaining <= 0) {
+                    final String message =
+                            "exceeded maximum retries on " + this.getRequestId() + " on " + this.getTopic();
+                    logger.error(message);
+                    throw new ExceededMaximumPollingTime(message);
+                }
+                String message = listener.poll(remaining, TimeUnit.MILLISECONDS);
+                if (message != null) {
+                    this.handleMessage(message);
+                }
+            }
+            return true;
+        }
+    }
+
+    protected boolean consumeFromTopic() throws Exception {
         Consumer mrConsumer = this.getConsumer();
         Stopwatch stopwatch = Stopwatch.createUnstarted();
         try {
@@ -53,18 +83,7 @@ public abstract class DmaapConsumer extends DmaapClient {
                 Iterable<String> itr = mrConsumer.fetch();
                 stopwatch.stop();
                 for (String message : itr) {
-                    if (this.isAccepted(message)) {
-                        logger.info("accepted message found for " + this.getRequestId() + " on " + this.getTopic());
-                    }
-                    logger.info("received dmaap message: " + message);
-                    if (this.isFailure(message)) {
-                        this.stopProcessingMessages();
-                        final String errorMsg = "failure received from dmaap topic " + this.getTopic();
-                        logger.error(errorMsg);
-                        throw new DMaaPConsumerFailure(errorMsg);
-                    } else {
-                        this.processMessage(message);
-                    }
+                    this.handleMessage(message);
                 }
             }
             return true;
@@ -75,6 +94,21 @@ public abstract class DmaapConsumer extends DmaapClient {
         }
     }
 
+    private void handleMessage(String message) throws Exception {
+        if (this.isAccepted(message)) {
+            logger.info("accepted message found for " + this.getRequestId() + " on " + this.getTopic());
+        }
+        logger.info("received dmaap message: " + message);
+        if (this.isFailure(message)) {
+            this.stopProcessingMessages();
+            final String errorMsg = "failure received from dmaap topic " + this.getTopic();
+            logger.error(errorMsg);
+            throw new DMaaPConsumerFailure(errorMsg);
+        } else {
+            this.processMessage(message);
+        }
+    }
+
     /**
      * Should this consumer continue to consume messages from the topic?
      * 
@@ -118,6 +152,17 @@ public abstract class DmaapConsumer extends DmaapClient {
      */
     public abstract void stopProcessingMessages();
 
+    /**
+     * Reads the request id of a message, used to dispatch the messages of a shared topic consumer to their requests.
+     * Consumers returning null fetch from the topic themselves.
+     *
+     * @return a function giving the request id of a message, or empty when the message has none; null when the
+     *         consumer does not share its topic
+     */
+    public Function<String, Optional<String>> getRequestIdExtractor() {
+        return null;
+    }
+
     /**
      * time in milliseconds
      */
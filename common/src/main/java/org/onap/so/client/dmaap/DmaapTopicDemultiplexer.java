@@ -0,0 +1,319 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.client.dmaap;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * One long lived consumer per topic and consumer group, which dispatches the fetched messages to the listeners
+ * registered for their request id. Messages without a request id are given to every listener.
+ *
+ * Messages for a request id nobody listens to yet are kept for EARLY_ARRIVAL_TTL milliseconds, up to
+ * MAX_EARLY_ARRIVALS messages, and handed to the listener when it registers. The consumer stops fetching and is
+ * discarded once it had no listener and no buffered message for IDLE_LINGER milliseconds. It is only discarded by its
+ * own fetch loop between two fetches, so no fetched message is lost and no second consumer is started on the topic
+ * while it still fetches.
+ */
+public class DmaapTopicDemultiplexer implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DmaapTopicDemultiplexer.class);
+
+    static final int MAX_EARLY_ARRIVALS = 1000;
+    static final long EARLY_ARRIVAL_TTL = 60000;
+    static final int MAX_QUEUED_PER_LISTENER = 1000;
+    static final long FETCH_FAILURE_BACKOFF = 1000;
+    static final long IDLE_LINGER = 60000;
+
+    protected static long idleLinger = IDLE_LINGER;
+
+    private static final Map<String, DmaapTopicDemultiplexer> demultiplexers = new ConcurrentHashMap<>();
+
+    static {
+        Gauge.builder("so.dmaap.demux.listeners", demultiplexers,
+                map -> map.values().stream().mapToInt(DmaapTopicDemultiplexer::getListenerCount).sum())
+                .register(Metrics.globalRegistry);
+        Gauge.builder("so.dmaap.demux.early.arrivals", demultiplexers,
+                map -> map.values().stream().mapToInt(DmaapTopicDemultiplexer::getEarlyArrivalCount).sum())
+                .register(Metrics.globalRegistry);
+    }
+
+    private final String key;
+    private final Consumer consumer;
+    private final Function<String, Optional<String>> requestIdExtractor;
+    private final Map<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+    /**
+     * guarded by itself, also guards adding listeners so no message is buffered after its listener registered
+     */
+    private final Deque<Delivery> earlyArrivals = new ArrayDeque<>();
+    private final Timer dispatchLag;
+    private final Counter dropped;
+    private volatile boolean closed;
+    /**
+     * guarded by earlyArrivals, when the last listener was closed
+     */
+    private long idleSince = System.nanoTime();
+
+    protected DmaapTopicDemultiplexer(String key, String topic, Consumer consumer,
+            Function<String, Optional<String>> requestIdExtractor) {
+        this.key = key;
+        this.consumer = consumer;
+        this.requestIdExtractor = requestIdExtractor;
+        this.dispatchLag = Timer.builder("so.dmaap.demux.dispatch.lag").tag("topic", String.valueOf(topic))
+                .register(Metrics.globalRegistry);
+        this.dropped = Counter.builder("so.dmaap.demux.dropped").tag("topic", String.valueOf(topic))
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Registers a listener for the request id of the consumer, starting the topic consumer if needed
+     *
+     * @param dmaapConsumer supplies the topic, the consumer group, the request id and the request id extractor
+     * @return the listener, to be closed when the request no longer waits for messages
+     */
+    public static Listener register(DmaapConsumer dmaapConsumer) {
+        Properties properties = dmaapConsumer.properties;
+        String key = properties.getProperty("host") + "/" + properties.getProperty("topic") + "/"
+                + properties.getProperty("partition");
+        Listener listener = new Listener(dmaapConsumer.getRequestId());
+        demultiplexers.compute(key, (k, existing) -> {
+            DmaapTopicDemultiplexer demultiplexer = existing;
+            if (demultiplexer == null) {
+                demultiplexer = new DmaapTopicDemultiplexer(k, dmaapConsumer.getTopic(),
+                        dmaapConsumer.getConsumer(), dmaapConsumer.getRequestIdExtractor());
+                Thread thread = new Thread(demultiplexer, "dmaap-demux-" + dmaapConsumer.getTopic());
+                thread.setDaemon(true);
+                thread.start();
+            }
+            demultiplexer.add(listener);
+            return demultiplexer;
+        });
+        return listener;
+    }
+
+    private void add(Listener listener) {
+        listener.demultiplexer = this;
+        synchronized (earlyArrivals) {
+            listeners.computeIfAbsent(listener.requestId, id -> new CopyOnWriteArrayList<>()).add(listener);
+            Iterator<Delivery> buffered = earlyArrivals.iterator();
+            while (buffered.hasNext()) {
+                Delivery delivery = buffered.next();
+                if (listener.requestId.equals(delivery.requestId)) {
+                    buffered.remove();
+                    offer(listener, delivery);
+                }
+            }
+        }
+    }
+
+    private void remove(Listener listener) {
+        synchronized (earlyArrivals) {
+            listeners.computeIfPresent(listener.requestId, (id, registered) -> {
+                registered.remove(listener);
+                return registered.isEmpty() ? null : registered;
+            });
+            if (listeners.isEmpty()) {
+                idleSince = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Discards the demultiplexer when it had no listener for idleLinger milliseconds. Runs under the lock of its key
+     * in demultiplexers, so it cannot interleave with a listener registering.
+     */
+    private void closeIfIdle() {
+        demultiplexers.computeIfPresent(key, (k, demultiplexer) -> {
+            if (demultiplexer != this) {
+                return demultiplexer;
+            }
+            synchronized (earlyArrivals) {
+                if (listeners.isEmpty() && earlyArrivals.isEmpty()
+                        && TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - idleSince) >= idleLinger) {
+                    closed = true;
+                    return null;
+                }
+            }
+            return demultiplexer;
+        });
+    }
+
+    @Override
+    public void run() {
+        logger.debug("started consuming {}", key);
+        while (!closed) {
+            Iterable<String> messages;
+            try {
+                messages = consumer.fetch();
+            } catch (Exception e) {
+                logger.warn("failed to fetch messages from {}, retrying in {} ms", key, FETCH_FAILURE_BACKOFF, e);
+                if (!sleep(FETCH_FAILURE_BACKOFF)) {
+                    break;
+                }
+                closeIfIdle();
+                continue;
+            }
+            long fetchedAt = System.nanoTime();
+            for (String message : messages) {
+                dispatch(new Delivery(message, extractRequestId(message), fetchedAt));
+            }
+            expireEarlyArrivals(fetchedAt);
+            closeIfIdle();
+        }
+        closed = true;
+        demultiplexers.remove(key, this);
+        logger.debug("stopped consuming {}", key);
+    }
+
+    protected void dispatch(Delivery delivery) {
+        if (delivery.requestId == null) {
+            listeners.values().forEach(registered -> registered.forEach(listener -> offer(listener, delivery)));
+            return;
+        }
+        synchronized (earlyArrivals) {
+            List<Listener> registered = listeners.get(delivery.requestId);
+            if (registered != null) {
+                registered.forEach(listener -> offer(listener, delivery));
+                return;
+            }
+            if (earlyArrivals.size() >= MAX_EARLY_ARRIVALS) {
+                Delivery oldest = earlyArrivals.removeFirst();
+                dropped.increment();
+                logger.warn("early arrival buffer of {} is full, dropping message for {}", key, oldest.requestId);
+            }
+            earlyArrivals.addLast(delivery);
+        }
+    }
+
+    private void offer(Listener listener, Delivery delivery) {
+        if (!listener.queue.offer(delivery)) {
+            dropped.increment();
+            logger.warn("listener for {} on {} is full, dropping message", listener.requestId, key);
+        }
+    }
+
+    private void expireEarlyArrivals(long now) {
+        synchronized (earlyArrivals) {
+            while (!earlyArrivals.isEmpty() && TimeUnit.NANOSECONDS
+                    .toMillis(now - earlyArrivals.peekFirst().fetchedAt) > EARLY_ARRIVAL_TTL) {
+                Delivery expired = earlyArrivals.removeFirst();
+                dropped.increment();
+                logger.debug("nobody listened for {} on {}, dropping message", expired.requestId, key);
+            }
+        }
+    }
+
+    private String extractRequestId(String message) {
+        try {
+            return requestIdExtractor.apply(message).orElse(null);
+        } catch (Exception e) {
+            logger.debug("could not read the request id of a message on {}", key, e);
+            return null;
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    protected int getListenerCount() {
+        return listeners.values().stream().mapToInt(List::size).sum();
+    }
+
+    protected int getEarlyArrivalCount() {
+        synchronized (earlyArrivals) {
+            return earlyArrivals.size();
+        }
+    }
+
+    protected boolean isClosed() {
+        return closed;
+    }
+
+    protected static DmaapTopicDemultiplexer get(String key) {
+        return demultiplexers.get(key);
+    }
+
+    public static class Listener implements AutoCloseable {
+
+        private final String requestId;
+        private final BlockingQueue<Delivery> queue = new LinkedBlockingQueue<>(MAX_QUEUED_PER_LISTENER);
+        private DmaapTopicDemultiplexer demultiplexer;
+
+        protected Listener(String requestId) {
+            this.requestId = requestId;
+        }
+
+        /**
+         * Waits for the next message of the request
+         *
+         * @return the message, or null if none arrived within the timeout
+         */
+        public String poll(long timeout, TimeUnit unit) throws InterruptedException {
+            Delivery delivery = queue.poll(timeout, unit);
+            if (delivery == null) {
+                return null;
+            }
+            demultiplexer.dispatchLag.record(System.nanoTime() - delivery.fetchedAt, TimeUnit.NANOSECONDS);
+            return delivery.message;
+        }
+
+        @Override
+        public void close() {
+            demultiplexer.remove(this);
+        }
+    }
+
+    protected static class Delivery {
+        private final String message;
+        private final String requestId;
+        private final long fetchedAt;
+
+        protected Delivery(String message, String requestId, long fetchedAt) {
+            this.message = message;
+            this.requestId = requestId;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
@@ -22,6 +22,7 @@ package org.onap.so.client.sdno.dmaap;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.function.Function;
 import org.onap.so.client.dmaap.DmaapConsumer;
 import org.onap.so.client.exceptions.SDNOException;
 import org.onap.so.jsonpath.JsonPathUtil;
@@ -31,6 +32,8 @@ public class SDNOHealthCheckDmaapConsumer extends DmaapConsumer {
     private final String uuid;
     private boolean continuePolling = true;
     private final static String healthDiagnosticPath = "body.output.*";
+    private final static Function<String, Optional<String>> requestIdExtractor =
+            json -> JsonPathUtil.getInstance().locateResult(json, "$.result-info.request-id");
 
     public SDNOHealthCheckDmaapConsumer() throws IOException {
         this("none");
@@ -129,6 +132,11 @@ public class SDNOHealthCheckDmaapConsumer extends DmaapConsumer {
         return uuid;
     }
 
+    @Override
+    public Function<String, Optional<String>> getRequestIdExtractor() {
+        return requestIdExtractor;
+    }
+
     protected Optional<String> isAccepted(String json, String uuid) {
         return JsonPathUtil.getInstance().locateResult(json,
                 String.format("$.result-info[?(@.status=='ACCEPTED' && @.request-id=='%s')].code", uuid));
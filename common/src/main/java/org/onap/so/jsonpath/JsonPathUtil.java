@@ -26,16 +26,35 @@ import java.util.Optional;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.jayway.jsonpath.Configuration;
-import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.cache.CacheProvider;
+import com.jayway.jsonpath.spi.cache.LRUCache;
 import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class JsonPathUtil {
 
+    private static final Logger logger = LoggerFactory.getLogger(JsonPathUtil.class);
+
+    protected static final int MAX_CACHED_PATHS = 1024;
 
     private final Configuration conf;
     private final Configuration pathListConf;
 
+    /*
+     * Queries given as strings are compiled once and kept in the json-path cache, which holds MAX_CACHED_PATHS paths
+     * instead of its default of 400. The cache can only be set before json-path first uses it.
+     */
+    static {
+        try {
+            CacheProvider.setCache(new LRUCache(MAX_CACHED_PATHS));
+        } catch (JsonPathException e) {
+            logger.debug("json-path cache already in use, keeping its default size: {}", e.getMessage());
+        }
+    }
+
     private JsonPathUtil() {
         conf = Configuration.defaultConfiguration().jsonProvider(new JacksonJsonNodeJsonProvider())
                 .addOptions(Option.ALWAYS_RETURN_LIST, Option.SUPPRESS_EXCEPTIONS);
@@ -51,26 +70,41 @@ public class JsonPathUtil {
         return Helper.INSTANCE;
     }
 
+    /**
+     * Parses the document once so that any number of queries can be run against it.
+     *
+     * @param json the json document
+     * @return a handle which evaluates paths against the parsed document
+     */
+    public ParsedDocument parse(String json) {
+        return new ParsedDocument(this, json);
+    }
+
     public boolean pathExists(String json, String jsonPath) {
-        return JsonPath.using(conf).parse(json).<ArrayNode>read(jsonPath).size() != 0;
+        return parse(json).pathExists(jsonPath);
     }
 
     public Optional<String> locateResult(String json, String jsonPath) {
-        final ArrayNode result = JsonPath.using(conf).parse(json).read(jsonPath);
-        if (result.size() == 0) {
-            return Optional.empty();
-        } else {
-            if (result.get(0).isValueNode()) {
-                return Optional.of(result.get(0).asText());
-            } else {
-                return Optional.of(result.get(0).toString());
-            }
-
-        }
+        return parse(json).locateResult(jsonPath);
     }
 
     public List<String> locateResultList(String json, String jsonPath) {
-        final ArrayNode resultNodes = JsonPath.using(conf).parse(json).read(jsonPath);
+        return parse(json).locateResultList(jsonPath);
+    }
+
+    public List<String> getPathList(String json, String jsonPath) {
+        return parse(json).getPathList(jsonPath);
+    }
+
+    protected Configuration getConf() {
+        return conf;
+    }
+
+    protected Configuration getPathListConf() {
+        return pathListConf;
+    }
+
+    protected static List<String> toStringList(ArrayNode resultNodes) {
         final ArrayList<String> result = new ArrayList<>();
 
         for (JsonNode node : resultNodes) {
@@ -83,8 +117,4 @@ public class JsonPathUtil {
         }
         return result;
     }
-
-    public List<String> getPathList(String json, String jsonPath) {
-        return JsonPath.using(pathListConf).parse(json).read(jsonPath);
-    }
 }
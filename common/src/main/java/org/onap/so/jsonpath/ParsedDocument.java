@@ -0,0 +1,80 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.jsonpath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * A json document parsed once by {@link JsonPathUtil#parse(String)}. Value queries share a single parse; path list
+ * queries use a different json provider and share a second parse made on first use.
+ */
+public class ParsedDocument {
+
+    private final JsonPathUtil util;
+    private final String json;
+    private final DocumentContext document;
+    private DocumentContext pathListDocument;
+
+    protected ParsedDocument(JsonPathUtil util, String json) {
+        this.util = util;
+        this.json = json;
+        this.document = JsonPath.using(util.getConf()).parse(json);
+    }
+
+    public boolean pathExists(String jsonPath) {
+        return read(jsonPath).size() != 0;
+    }
+
+    public Optional<String> locateResult(String jsonPath) {
+        final ArrayNode result = read(jsonPath);
+        if (result.size() == 0) {
+            return Optional.empty();
+        } else {
+            if (result.get(0).isValueNode()) {
+                return Optional.of(result.get(0).asText());
+            } else {
+                return Optional.of(result.get(0).toString());
+            }
+
+        }
+    }
+
+    public List<String> locateResultList(String jsonPath) {
+        return JsonPathUtil.toStringList(read(jsonPath));
+    }
+
+    public List<String> getPathList(String jsonPath) {
+        if (pathListDocument == null) {
+            pathListDocument = JsonPath.using(util.getPathListConf()).parse(json);
+        }
+        List<String> result = pathListDocument.read(jsonPath);
+        return result == null ? new ArrayList<>() : result;
+    }
+
+    private ArrayNode read(String jsonPath) {
+        return document.read(jsonPath);
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 public class GetOrchestrationListResponse {
 
     protected List<RequestList> requestList;
+    protected String nextCursor;
 
     public List<RequestList> getRequestList() {
         return requestList;
@@ -38,9 +39,18 @@ public class GetOrchestrationListResponse {
         this.requestList = requestList;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     @Override
     public String toString() {
-        return new ToStringBuilder(this).append("requestList", requestList).toString();
+        return new ToStringBuilder(this).append("requestList", requestList).append("nextCursor", nextCursor)
+                .toString();
     }
 
 }
@@ -0,0 +1,175 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.camunda.bpm.client.ExternalTaskClient;
+import org.camunda.bpm.client.task.ExternalTaskHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Subscribes every topic of a pod through a single {@link ExternalTaskClient}, so one fetchAndLock request serves all
+ * topics. Locked tasks are handed to a bounded worker pool per topic; when a topic's workers and queue are full the
+ * fetch thread blocks, which stops further fetching until capacity frees up.
+ *
+ * When workflow.topics.multiplexed is false, subscriptions fall back to one client per worker as before.
+ */
+@Component
+public class ExternalTaskDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExternalTaskDispatcher.class);
+
+    @Autowired
+    private ExternalTaskServiceUtils externalTaskServiceUtils;
+
+    private ExternalTaskClient client;
+
+    private final Map<String, TopicWorkers> topics = new ConcurrentHashMap<>();
+
+    public synchronized void subscribe(String topic, long lockDuration, ExternalTaskHandler handler)
+            throws Exception {
+        if (!externalTaskServiceUtils.isMultiplexed()) {
+            for (int i = 0; i < externalTaskServiceUtils.getMaxClients(); i++) {
+                externalTaskServiceUtils.createExternalTaskClient().subscribe(topic).lockDuration(lockDuration)
+                        .handler(handler).open();
+            }
+            return;
+        }
+        if (client == null) {
+            client = externalTaskServiceUtils.createExternalTaskClient(externalTaskServiceUtils.getMaxTasks());
+        }
+        client.subscribe(topic).lockDuration(lockDuration).handler(createDispatchingHandler(topic, handler)).open();
+    }
+
+    protected ExternalTaskHandler createDispatchingHandler(String topic, ExternalTaskHandler handler) {
+        TopicWorkers workers = topics.computeIfAbsent(topic, key -> new TopicWorkers(key,
+                externalTaskServiceUtils.getWorkersPerTopic(), externalTaskServiceUtils.getQueueCapacityPerTopic()));
+        return (externalTask, externalTaskService) -> {
+            try {
+                workers.permits.acquire();
+            } catch (InterruptedException e) {
+                logger.warn("Interrupted while dispatching task {} for topic {}, lock will expire",
+                        externalTask.getId(), topic);
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long received = System.nanoTime();
+            workers.queued.incrementAndGet();
+            workers.executor.execute(() -> {
+                workers.queued.decrementAndGet();
+                workers.lockWait.record(System.nanoTime() - received, TimeUnit.NANOSECONDS);
+                long start = System.nanoTime();
+                try {
+                    handler.execute(externalTask, externalTaskService);
+                } catch (Exception e) {
+                    logger.error("Unhandled exception executing task {} for topic {}", externalTask.getId(), topic, e);
+                } finally {
+                    workers.handlerDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    workers.permits.release();
+                }
+            });
+        };
+    }
+
+    /**
+     * Work a handler finishes once something it started asynchronously completes, like a stack it polls, runs on the
+     * workers of the topic instead of the thread completing it. It does not take a permit, the task it belongs to was
+     * already admitted, and it runs with the MDC of the thread handing it over.
+     *
+     * @return an executor for the completions of the tasks of the topic, running them on the calling thread when the
+     *         topic is not multiplexed
+     */
+    public Executor getCompletionExecutor(String topic) {
+        TopicWorkers workers = topics.get(topic);
+        if (workers == null) {
+            return Runnable::run;
+        }
+        return completion -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            workers.queued.incrementAndGet();
+            workers.executor.execute(() -> {
+                workers.queued.decrementAndGet();
+                if (context != null) {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    completion.run();
+                } catch (RuntimeException e) {
+                    logger.error("Unhandled exception completing a task for topic {}", topic, e);
+                } finally {
+                    MDC.clear();
+                }
+            });
+        };
+    }
+
+    public int getQueueDepth(String topic) {
+        TopicWorkers workers = topics.get(topic);
+        return workers == null ? 0 : workers.queued.get();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (client != null) {
+            client.stop();
+        }
+        topics.values().forEach(workers -> workers.executor.shutdown());
+    }
+
+    private static class TopicWorkers {
+
+        private final ExecutorService executor;
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Timer lockWait;
+        private final Timer handlerDuration;
+
+        private TopicWorkers(String topic, int workers, int queueCapacity) {
+            AtomicInteger count = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), r -> new Thread(r, topic + "-worker-" + count.incrementAndGet()));
+            this.permits = new Semaphore(workers + queueCapacity);
+            Gauge.builder("so.external.task.queue.depth", queued, AtomicInteger::get).tag("topic", topic)
+                    .register(Metrics.globalRegistry);
+            this.lockWait = Timer.builder("so.external.task.lock.wait")
+                    .description("time a locked task waits before a worker picks it up").tag("topic", topic)
+                    .register(Metrics.globalRegistry);
+            this.handlerDuration = Timer.builder("so.external.task.handler.duration").tag("topic", topic)
+                    .register(Metrics.globalRegistry);
+        }
+    }
+}
@@ -38,10 +38,14 @@ public class ExternalTaskServiceUtils {
     private static final Logger logger = LoggerFactory.getLogger(ExternalTaskServiceUtils.class);
 
     public ExternalTaskClient createExternalTaskClient() throws Exception {
+        return createExternalTaskClient(1);
+    }
+
+    public ExternalTaskClient createExternalTaskClient(int maxTasks) throws Exception {
         String auth = getAuth();
         ClientRequestInterceptor interceptor = createClientInterceptor(auth);
         ExternalTaskClient client =
-                ExternalTaskClient.create().baseUrl(env.getRequiredProperty("mso.workflow.endpoint")).maxTasks(1)
+                ExternalTaskClient.create().baseUrl(env.getRequiredProperty("mso.workflow.endpoint")).maxTasks(maxTasks)
                         .addInterceptor(interceptor).asyncResponseTimeout(120000).build();
         taskClients.add(client);
         return client;
@@ -64,6 +68,25 @@ public class ExternalTaskServiceUtils {
         return Integer.parseInt(env.getProperty("workflow.topics.maxClients", "10"));
     }
 
+    /**
+     * When true all topics of a pod share a single fetchAndLock client, see {@link ExternalTaskDispatcher}
+     */
+    public boolean isMultiplexed() {
+        return Boolean.parseBoolean(env.getProperty("workflow.topics.multiplexed", "true"));
+    }
+
+    public int getMaxTasks() {
+        return Integer.parseInt(env.getProperty("workflow.topics.maxTasks", "10"));
+    }
+
+    public int getWorkersPerTopic() {
+        return Integer.parseInt(env.getProperty("workflow.topics.workers", String.valueOf(getMaxClients())));
+    }
+
+    public int getQueueCapacityPerTopic() {
+        return Integer.parseInt(env.getProperty("workflow.topics.queueCapacity", String.valueOf(getWorkersPerTopic())));
+    }
+
     @ScheduledLogging
     @Scheduled(fixedDelay = 30000)
     public void checkAllClientsActive() {
@@ -23,6 +23,8 @@ package org.onap.so.client;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.spy;
@@ -34,12 +36,14 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 import javax.net.ssl.SSLException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.client.ResponseProcessingException;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriBuilderException;
 import org.javatuples.Pair;
@@ -110,6 +114,45 @@ public class RestClientTest {
 
     }
 
+    @Test
+    public void retriesAsync() throws Exception {
+        RestClient spy = buildSpy();
+        doThrow(new WebApplicationException(new SocketTimeoutException())).when(spy).buildRequest(any(String.class),
+                ArgumentMatchers.isNull());
+        try {
+            spy.getAsync().join();
+        } catch (CompletionException e) {
+            // ignore this exception for this test
+        }
+        verify(spy, times(3)).buildRequest(any(String.class), ArgumentMatchers.isNull());
+    }
+
+    @Test
+    public void getAsyncTest() throws Exception {
+        wireMockRule.stubFor(get("/async").willReturn(aResponse().withStatus(200).withBody("Hello world!")));
+        URL host = UriBuilder.fromUri(String.format("http://localhost:%s/async", wireMockRule.port())).build().toURL();
+        RestClient client = httpClientFactory.newJsonClient(host, ONAPComponents.BPMN);
+
+        Response response = client.getAsync().join();
+
+        assertEquals(200, response.getStatus());
+        RestClientExecutors.TargetPool pool = RestClientExecutors.getPools()
+                .get(String.format("http://localhost:%s", wireMockRule.port()));
+        assertEquals(1, pool.getSubmitted());
+        assertEquals(1, pool.getSucceeded());
+        assertEquals(0, pool.getInFlight());
+        assertTrue(pool.getAttempts() >= 1);
+    }
+
+    @Test
+    public void asyncPoolSizedForLargestClientTest() throws Exception {
+        URL host = new URL("http://pool-size.test:8443/first");
+
+        assertEquals(2, RestClientExecutors.forTarget(host, 2).getPoolSize());
+        assertEquals(5, RestClientExecutors.forTarget(new URL("http://pool-size.test:8443/second"), 5).getPoolSize());
+        assertEquals(5, RestClientExecutors.forTarget(host, 3).getPoolSize());
+    }
+
     @Test
     public void timeoutTest() throws URISyntaxException {
         wireMockRule.stubFor(get("/chunked/delayed")
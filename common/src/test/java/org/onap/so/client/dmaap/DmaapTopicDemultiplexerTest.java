@@ -0,0 +1,145 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.client.dmaap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onap.so.client.sdno.dmaap.SDNOHealthCheckDmaapConsumer;
+
+public class DmaapTopicDemultiplexerTest {
+
+    @Before
+    public void before() {
+        DmaapTopicDemultiplexer.idleLinger = 0;
+    }
+
+    @After
+    public void after() throws Exception {
+        DmaapTopicDemultiplexer.idleLinger = 0;
+        awaitClosed(key(consumer("any", mock(Consumer.class))));
+    }
+
+    @Test
+    public void dispatchByRequestIdTest() throws Exception {
+        Consumer topic = mock(Consumer.class);
+        when(topic.fetch()).thenReturn(Arrays.asList(message("b"), message("a"), "{}"))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(10);
+                    return Collections.emptyList();
+                });
+        DmaapConsumer consumerA = consumer("a", topic);
+        DmaapConsumer consumerB = consumer("b", topic);
+
+        try (DmaapTopicDemultiplexer.Listener listenerA = DmaapTopicDemultiplexer.register(consumerA);
+                DmaapTopicDemultiplexer.Listener listenerB = DmaapTopicDemultiplexer.register(consumerB)) {
+            assertEquals(message("a"), listenerA.poll(5, TimeUnit.SECONDS));
+            assertEquals("{}", listenerA.poll(5, TimeUnit.SECONDS));
+            // b registered after its message was fetched or before, it gets it either way
+            assertEquals(message("b"), listenerB.poll(5, TimeUnit.SECONDS));
+            assertNull(listenerA.poll(50, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void closedWithLastListenerTest() throws Exception {
+        Consumer topic = mock(Consumer.class);
+        when(topic.fetch()).thenAnswer(invocation -> {
+            Thread.sleep(10);
+            return Collections.emptyList();
+        });
+        DmaapConsumer consumer = consumer("c", topic);
+
+        DmaapTopicDemultiplexer.Listener listener = DmaapTopicDemultiplexer.register(consumer);
+        DmaapTopicDemultiplexer demultiplexer = DmaapTopicDemultiplexer.get(key(consumer));
+        assertEquals(1, demultiplexer.getListenerCount());
+
+        listener.close();
+        awaitClosed(key(consumer));
+
+        assertTrue(demultiplexer.isClosed());
+        assertNull(DmaapTopicDemultiplexer.get(key(consumer)));
+    }
+
+    @Test
+    public void registerWhileClosingTest() throws Exception {
+        DmaapTopicDemultiplexer.idleLinger = 60000;
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Consumer topic = mock(Consumer.class);
+        when(topic.fetch()).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.singletonList(message("e"));
+        }).thenAnswer(invocation -> {
+            Thread.sleep(10);
+            return Collections.emptyList();
+        });
+        DmaapConsumer consumerD = consumer("d", topic);
+        DmaapConsumer consumerE = consumer("e", mock(Consumer.class));
+
+        DmaapTopicDemultiplexer.register(consumerD).close();
+        DmaapTopicDemultiplexer demultiplexer = DmaapTopicDemultiplexer.get(key(consumerD));
+        assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        try (DmaapTopicDemultiplexer.Listener listenerE = DmaapTopicDemultiplexer.register(consumerE)) {
+            release.countDown();
+
+            assertEquals(message("e"), listenerE.poll(5, TimeUnit.SECONDS));
+            assertSame(demultiplexer, DmaapTopicDemultiplexer.get(key(consumerE)));
+            assertFalse(demultiplexer.isClosed());
+        }
+    }
+
+    private void awaitClosed(String key) throws InterruptedException {
+        for (int i = 0; i < 500 && DmaapTopicDemultiplexer.get(key) != null; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private DmaapConsumer consumer(String requestId, Consumer topic) throws IOException {
+        DmaapConsumer consumer = spy(new SDNOHealthCheckDmaapConsumer(requestId));
+        doReturn(topic).when(consumer).getConsumer();
+        return consumer;
+    }
+
+    private String key(DmaapConsumer consumer) {
+        return consumer.properties.getProperty("host") + "/" + consumer.properties.getProperty("topic") + "/"
+                + consumer.properties.getProperty("partition");
+    }
+
+    private String message(String requestId) {
+        return "{\"result-info\":{\"request-id\":\"" + requestId + "\",\"status\":\"SUCCESS\"}}";
+    }
+}
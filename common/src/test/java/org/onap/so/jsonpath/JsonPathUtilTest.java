@@ -21,9 +21,14 @@
 package org.onap.so.jsonpath;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
 import org.junit.Test;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.cache.Cache;
+import com.jayway.jsonpath.spi.cache.CacheProvider;
 
 public class JsonPathUtilTest {
 
@@ -56,4 +61,28 @@ public class JsonPathUtilTest {
         assertEquals(Collections.singletonList("$['test2']['nested']"),
                 JsonPathUtil.getInstance().getPathList(json, "$.*.*"));
     }
+
+    @Test
+    public void parsedDocumentTest() {
+        ParsedDocument document = JsonPathUtil.getInstance().parse(json);
+        assertEquals(true, document.pathExists("$.test"));
+        assertEquals(false, document.pathExists("$.nothing"));
+        assertEquals(Optional.of("value"), document.locateResult("$.test2.nested"));
+        assertEquals(Arrays.asList("hello"), document.locateResultList("$.test"));
+        assertEquals(Collections.singletonList("$['test2']['nested']"), document.getPathList("$.*.*"));
+        assertEquals(Arrays.asList("$['test']", "$['test2']"), document.getPathList("$.*"));
+    }
+
+    @Test
+    public void compiledPathCacheTest() {
+        JsonPathUtil util = JsonPathUtil.getInstance();
+        Cache cache = CacheProvider.getCache();
+        JsonPath first = JsonPath.compile("$.dynamic0");
+        cache.put("$.dynamic0", first);
+        for (int i = 1; i < JsonPathUtil.MAX_CACHED_PATHS - 10; i++) {
+            cache.put("$.dynamic" + i, JsonPath.compile("$.dynamic" + i));
+        }
+        assertSame(first, cache.get("$.dynamic0"));
+        assertEquals(Optional.of("hello"), util.locateResult(json, "$.test"));
+    }
 }
@@ -0,0 +1,133 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.camunda.bpm.client.task.ExternalTask;
+import org.camunda.bpm.client.task.ExternalTaskHandler;
+import org.camunda.bpm.client.task.ExternalTaskService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.onap.logging.ref.slf4j.ONAPLogConstants;
+import org.slf4j.MDC;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExternalTaskDispatcherTest {
+
+    @InjectMocks
+    private ExternalTaskDispatcher dispatcher = new ExternalTaskDispatcher();
+
+    @Mock
+    private ExternalTaskServiceUtils externalTaskServiceUtils;
+
+    @Mock
+    private ExternalTask externalTask;
+
+    @Mock
+    private ExternalTaskService externalTaskService;
+
+    @Test
+    public void dispatchesToWorkerTest() throws Exception {
+        when(externalTaskServiceUtils.getWorkersPerTopic()).thenReturn(1);
+        when(externalTaskServiceUtils.getQueueCapacityPerTopic()).thenReturn(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        ExternalTaskHandler handler = (task, service) -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        };
+
+        ExternalTaskHandler dispatching = dispatcher.createDispatchingHandler("testTopic", handler);
+        dispatching.execute(externalTask, externalTaskService);
+        dispatching.execute(externalTask, externalTaskService);
+
+        assertTrue(dispatcher.getQueueDepth("testTopic") <= 1);
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+        assertEquals(0, dispatcher.getQueueDepth("testTopic"));
+    }
+
+    @Test
+    public void handlerExceptionReleasesPermitTest() throws Exception {
+        when(externalTaskServiceUtils.getWorkersPerTopic()).thenReturn(1);
+        when(externalTaskServiceUtils.getQueueCapacityPerTopic()).thenReturn(0);
+        CountDownLatch done = new CountDownLatch(1);
+        ExternalTaskHandler failing = (task, service) -> {
+            throw new IllegalStateException("failure");
+        };
+
+        ExternalTaskHandler dispatching = dispatcher.createDispatchingHandler("failingTopic", failing);
+        dispatching.execute(externalTask, externalTaskService);
+        ExternalTaskHandler next = dispatcher.createDispatchingHandler("failingTopic", (task, service) -> {
+            done.countDown();
+        });
+        next.execute(externalTask, externalTaskService);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void completionExecutorTest() throws Exception {
+        when(externalTaskServiceUtils.getWorkersPerTopic()).thenReturn(1);
+        when(externalTaskServiceUtils.getQueueCapacityPerTopic()).thenReturn(1);
+        dispatcher.createDispatchingHandler("completingTopic", (task, service) -> {
+        });
+        CompletableFuture<String> worker = new CompletableFuture<>();
+        CompletableFuture<String> requestId = new CompletableFuture<>();
+
+        MDC.put(ONAPLogConstants.MDCs.REQUEST_ID, "requestId");
+        try {
+            dispatcher.getCompletionExecutor("completingTopic").execute(() -> {
+                worker.complete(Thread.currentThread().getName());
+                requestId.complete(MDC.get(ONAPLogConstants.MDCs.REQUEST_ID));
+            });
+        } finally {
+            MDC.clear();
+        }
+
+        assertEquals("completingTopic-worker-1", worker.get(5, TimeUnit.SECONDS));
+        assertEquals("requestId", requestId.get(5, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void completionExecutorWithoutWorkersTest() {
+        StringBuilder thread = new StringBuilder();
+
+        dispatcher.getCompletionExecutor("unknownTopic").execute(() -> thread.append(Thread.currentThread().getName()));
+
+        assertEquals(Thread.currentThread().getName(), thread.toString());
+    }
+}
@@ -21,9 +21,14 @@
 package org.onap.aaiclient.client.aai;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.GenericType;
 import org.onap.so.client.RestClient;
 import org.onap.aaiclient.client.aai.entities.AAIEdgeLabel;
@@ -64,6 +69,7 @@ public class AAISingleTransactionClient extends
     @Override
     public void execute() throws BulkProcessFailed {
         try {
+            this.resolveExistenceChecks();
             if (!this.request.getOperations().isEmpty()) {
                 RestClient client =
                         aaiClient.createClient(AAIUriFactory.createResourceUri(AAIObjectType.SINGLE_TRANSACTION));
@@ -91,6 +97,7 @@ public class AAISingleTransactionClient extends
         final ObjectMapper mapper = new ObjectMapper();
         if (dryRun) {
             try {
+                this.resolveExistenceChecks();
                 if (logger.isDebugEnabled()) {
                     logger.debug("Would execute: {}", mapper.writeValueAsString(this.request));
                 }
@@ -153,6 +160,39 @@ public class AAISingleTransactionClient extends
         request.getOperations().add(new OperationBodyRequest().withAction("patch").withUri(uri).withBody(body));
     }
 
+    @Override
+    protected boolean defersExistenceChecks() {
+        return true;
+    }
+
+    @Override
+    protected void discard(String uri) {
+        Iterator<OperationBodyRequest> operations = request.getOperations().iterator();
+        while (operations.hasNext()) {
+            OperationBodyRequest operation = operations.next();
+            if ("put".equals(operation.getAction()) && uri.equals(operation.getUri())) {
+                operations.remove();
+                return;
+            }
+        }
+    }
+
+    @Override
+    protected Optional<Map<String, Object>> getList(String uri) {
+        try {
+            return Optional.of(resourcesClient
+                    .get(new GenericType<Map<String, Object>>() {},
+                            AAIUriFactory.createResourceFromExistingURI(AAIObjectType.UNKNOWN, URI.create(uri))
+                                    .nodesOnly(true))
+                    .orElseGet(HashMap::new));
+        } catch (NotFoundException e) {
+            return Optional.of(new HashMap<>());
+        } catch (Exception e) {
+            logger.debug("Could not read {}, checking its objects one by one", uri, e);
+            return Optional.empty();
+        }
+    }
+
     @Override
     protected <T> Optional<T> get(GenericType<T> genericType, AAIBaseResourceUri<?, ?> clone) {
         return resourcesClient.get(genericType, clone);
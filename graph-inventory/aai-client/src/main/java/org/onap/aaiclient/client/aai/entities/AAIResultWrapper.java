@@ -24,6 +24,7 @@ import java.io.Serializable;
 import org.onap.aaiclient.client.graphinventory.entities.GraphInventoryResultWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.databind.JsonNode;
 
 public class AAIResultWrapper extends GraphInventoryResultWrapper<Relationships> implements Serializable {
 
@@ -42,4 +43,9 @@ public class AAIResultWrapper extends GraphInventoryResultWrapper<Relationships>
     protected Relationships createRelationships(String json) {
         return new Relationships(json);
     }
+
+    @Override
+    protected Relationships createRelationships(JsonNode node) {
+        return new Relationships(node);
+    }
 }
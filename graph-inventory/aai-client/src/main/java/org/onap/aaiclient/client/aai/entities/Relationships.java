@@ -29,6 +29,7 @@ import org.onap.aaiclient.client.aai.entities.uri.AAIResourceUri;
 import org.onap.aaiclient.client.aai.entities.uri.AAIUriFactory;
 import org.onap.aaiclient.client.graphinventory.GraphInventoryObjectName;
 import org.onap.aaiclient.client.graphinventory.entities.GraphInventoryRelationships;
+import com.fasterxml.jackson.databind.JsonNode;
 
 public class Relationships extends GraphInventoryRelationships<AAIResultWrapper, AAIResourceUri, AAIObjectType> {
 
@@ -36,6 +37,10 @@ public class Relationships extends GraphInventoryRelationships<AAIResultWrapper,
         super(json);
     }
 
+    public Relationships(JsonNode node) {
+        super(node);
+    }
+
     @Deprecated
     /**
      * Use getRelatedUris instead
@@ -34,6 +34,18 @@ import com.fasterxml.jackson.module.jaxb.JaxbAnnotationIntrospector;
 
 public class GraphInventoryCommonObjectMapperProvider extends CommonObjectMapperProvider {
 
+    private static class Helper {
+        private static final ObjectMapper SHARED_MAPPER = new GraphInventoryCommonObjectMapperProvider().getMapper();
+    }
+
+    /**
+     * Returns a mapper instance shared across the JVM. Callers must not reconfigure it; ObjectMapper is thread-safe
+     * only as long as its configuration is left untouched.
+     */
+    public static ObjectMapper getSharedMapper() {
+        return Helper.SHARED_MAPPER;
+    }
+
     public GraphInventoryCommonObjectMapperProvider() {
         mapper = new ObjectMapper();
         mapper.setSerializationInclusion(Include.NON_NULL);
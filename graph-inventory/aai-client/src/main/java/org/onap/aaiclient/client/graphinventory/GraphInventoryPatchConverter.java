@@ -27,6 +27,7 @@ import org.onap.aaiclient.client.aai.AAICommonObjectMapperPatchProvider;
 import org.onap.aaiclient.client.aai.AAICommonObjectMapperProvider;
 import org.onap.aaiclient.client.graphinventory.exceptions.GraphInventoryPatchDepthExceededException;
 import org.onap.so.jsonpath.JsonPathUtil;
+import org.onap.so.jsonpath.ParsedDocument;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 public class GraphInventoryPatchConverter {
@@ -59,8 +60,9 @@ public class GraphInventoryPatchConverter {
         }
         String complex = "$.*.*";
         String array = "$.*.*.*";
-        List<String> result = JsonPathUtil.getInstance().getPathList(json, complex);
-        List<String> result2 = JsonPathUtil.getInstance().getPathList(json, array);
+        ParsedDocument document = JsonPathUtil.getInstance().parse(json);
+        List<String> result = document.getPathList(complex);
+        List<String> result2 = document.getPathList(array);
 
         result.addAll(result2);
         return result.stream().anyMatch(item -> LOCATE_COMPLEX_OBJECT.matcher(item).find());
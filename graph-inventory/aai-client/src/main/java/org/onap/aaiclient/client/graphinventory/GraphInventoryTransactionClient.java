@@ -20,10 +20,17 @@
 
 package org.onap.aaiclient.client.graphinventory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.GenericType;
 import org.onap.aai.domain.yang.Relationship;
@@ -40,6 +47,10 @@ public abstract class GraphInventoryTransactionClient<Self, Uri extends GraphInv
 
     protected int actionCount = 0;
 
+    private final Map<String, SingleUri> pendingChecks = new LinkedHashMap<>();
+    private int existenceChecks = 0;
+    private int existenceCalls = 0;
+
     protected final GraphInventoryPatchConverter patchConverter = new GraphInventoryPatchConverter();
 
     protected GraphInventoryTransactionClient() {}
@@ -72,11 +83,24 @@ public abstract class GraphInventoryTransactionClient<Self, Uri extends GraphInv
     /**
      * Will automatically create the object if it does not exist
      * 
+     * When the client defers existence checks the object is created in place, and the create is dropped again when
+     * {@link #resolveExistenceChecks()} finds the object in the graph before the transaction is executed.
+     * 
      * @param obj - Optional object which serializes to a valid GraphInventory payload
      * @param uri
      * @return
      */
     public Self createIfNotExists(SingleUri uri, Optional<Object> obj) {
+        existenceChecks++;
+        if (this.defersExistenceChecks()) {
+            String path = uri.build().toString();
+            if (pendingChecks.putIfAbsent(path, uri) == null) {
+                this.put(path, obj.isPresent() ? obj.get() : new HashMap<String, String>());
+                incrementActionAmount();
+            }
+            return (Self) this;
+        }
+        existenceCalls++;
         if (!this.exists((Uri) uri)) {
             if (obj.isPresent()) {
                 this.create(uri, obj.get());
@@ -200,6 +224,161 @@ public abstract class GraphInventoryTransactionClient<Self, Uri extends GraphInv
 
     protected abstract void patch(String uri, Object body);
 
+    /**
+     * @return true when createIfNotExists queues the create and leaves the existence check to
+     *         {@link #resolveExistenceChecks()}, clients returning true also override {@link #discard(String)}
+     */
+    protected boolean defersExistenceChecks() {
+        return false;
+    }
+
+    /**
+     * Removes the create queued by createIfNotExists for an object that exists, only called on clients that defer
+     * existence checks
+     */
+    protected void discard(String uri) {}
+
+    /**
+     * Reads the list that holds the objects of a type under one parent, e.g. the l-interfaces of a vserver
+     * 
+     * @return the list as returned by the graph, an empty map when there is none, or empty when it could not be read
+     */
+    protected Optional<Map<String, Object>> getList(String uri) {
+        return Optional.empty();
+    }
+
+    /**
+     * Checks the objects queued by createIfNotExists and drops the creates of the ones that exist.
+     * 
+     * Objects below an object that does not exist are not checked. Two or more objects of the same type under the same
+     * parent are checked with one read of the parent's list, all other objects with an exists call.
+     * 
+     * @throws BulkProcessFailed when the graph could not be read
+     */
+    protected void resolveExistenceChecks() throws BulkProcessFailed {
+        if (!this.defersExistenceChecks() || pendingChecks.isEmpty()) {
+            return;
+        }
+        int checks = pendingChecks.size();
+        int calls = 0;
+        Map<String, List<SingleUri>> lists = new LinkedHashMap<>();
+        for (Map.Entry<String, SingleUri> entry : pendingChecks.entrySet()) {
+            lists.computeIfAbsent(listPath(entry.getValue()), key -> new ArrayList<>())
+                    .add(entry.getValue());
+        }
+        pendingChecks.clear();
+        // parents before their children
+        List<String> ordered = lists.keySet().stream().sorted(Comparator.comparingLong(
+                (String path) -> path.chars().filter(c -> c == '/').count())).collect(Collectors.toList());
+        Set<String> absent = new HashSet<>();
+        try {
+            for (String list : ordered) {
+                List<SingleUri> unknown = new ArrayList<>();
+                for (SingleUri uri : lists.get(list)) {
+                    String path = uri.build().getRawPath();
+                    if (absent.stream().anyMatch(parent -> path.startsWith(parent + "/"))) {
+                        absent.add(path);
+                    } else {
+                        unknown.add(uri);
+                    }
+                }
+                Optional<Set<String>> existing = Optional.empty();
+                if (unknown.size() > 1 && !list.equals(unknown.get(0).build().getRawPath())) {
+                    existing = this.existingInList(list, unknown.get(0));
+                    calls++;
+                }
+                for (SingleUri uri : unknown) {
+                    boolean exists;
+                    if (existing.isPresent()) {
+                        exists = existing.get().contains(keyOf(uri.getURIKeys(), keyNames(uri)));
+                    } else {
+                        exists = this.exists((Uri) uri);
+                        calls++;
+                    }
+                    if (exists) {
+                        this.discard(uri.build().toString());
+                        actionCount--;
+                    } else {
+                        absent.add(uri.build().getRawPath());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            existenceCalls += calls;
+            throw new BulkProcessFailed("Could not check which objects to create already exist in "
+                    + this.getGraphDBName() + ": " + e.getMessage(), e);
+        }
+        existenceCalls += calls;
+        logger.debug("Resolved {} existence checks with {} calls to {}", checks, calls, this.getGraphDBName());
+    }
+
+    /**
+     * @return the number of existence checks requested through createIfNotExists
+     */
+    public int getExistenceChecks() {
+        return existenceChecks;
+    }
+
+    /**
+     * @return the number of calls made to the graph for the existence checks
+     */
+    public int getExistenceCalls() {
+        return existenceCalls;
+    }
+
+    /**
+     * @return the key values of the objects in the list, empty when the objects do not carry all of their keys
+     */
+    private Optional<Set<String>> existingInList(String list, SingleUri uri) {
+        String[] partial = uri.getObjectType().partialUri().split("/");
+        Optional<Map<String, Object>> result = this.getList(list);
+        if (!result.isPresent()) {
+            return Optional.empty();
+        }
+        Set<String> keys = new HashSet<>();
+        if (result.get().isEmpty()) {
+            return Optional.of(keys);
+        }
+        Object objects = result.get().get(partial[2]);
+        if (!(objects instanceof List)) {
+            return Optional.empty();
+        }
+        List<String> keyNames = keyNames(uri);
+        for (Object object : (List<?>) objects) {
+            if (!(object instanceof Map) || !((Map<?, ?>) object).keySet().containsAll(keyNames)) {
+                return Optional.empty();
+            }
+            keys.add(keyOf((Map<?, ?>) object, keyNames));
+        }
+        return Optional.of(keys);
+    }
+
+    /**
+     * @return the path of the list holding the object, the path of the object itself when it is a top level object
+     *         or its type has no keys
+     */
+    private String listPath(SingleUri uri) {
+        String path = uri.build().getRawPath();
+        String partialUri = uri.getObjectType().partialUri();
+        String template = uri.getObjectType().uriTemplate();
+        if (partialUri == null || template == null || !partialUri.contains("{")
+                || !template.substring(0, template.length() - partialUri.length()).contains("{")) {
+            return path;
+        }
+        String[] segments = path.split("/");
+        int keep = segments.length - (partialUri.split("/").length - 2);
+        return String.join("/", Arrays.copyOf(segments, keep));
+    }
+
+    private List<String> keyNames(SingleUri uri) {
+        return Arrays.stream(uri.getObjectType().partialUri().split("/")).filter(segment -> segment.startsWith("{"))
+                .map(segment -> segment.substring(1, segment.length() - 1)).collect(Collectors.toList());
+    }
+
+    private String keyOf(Map<?, ?> values, List<String> keyNames) {
+        return keyNames.stream().map(name -> String.valueOf(values.get(name))).collect(Collectors.joining("/"));
+    }
+
     /**
      * @param obj - can be any object which will marshal into a valid A&AI payload
      * @param uri
@@ -32,8 +32,8 @@ import org.onap.aaiclient.client.graphinventory.GraphInventoryCommonObjectMapper
 import org.onap.aaiclient.client.graphinventory.GraphInventoryObjectName;
 import org.onap.aaiclient.client.graphinventory.GraphInventoryObjectType;
 import org.onap.aaiclient.client.graphinventory.entities.uri.GraphInventorySingleResourceUri;
-import org.onap.so.jsonpath.JsonPathUtil;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 public abstract class GraphInventoryRelationships<Wrapper extends GraphInventoryResultWrapper<?>, Uri extends GraphInventorySingleResourceUri<?, ?, ?, ?, ?, ?>, Type extends GraphInventoryObjectType> {
@@ -44,12 +44,25 @@ public abstract class GraphInventoryRelationships<Wrapper extends GraphInventory
 
     public GraphInventoryRelationships(String json) {
         this.jsonBody = json;
-        this.mapper = new GraphInventoryCommonObjectMapperProvider().getMapper();
+        this.mapper = GraphInventoryCommonObjectMapperProvider.getSharedMapper();
         try {
             this.map = mapper.readValue(json, new TypeReference<Map<String, Object>>() {});
         } catch (IOException e) {
             this.map = new HashMap<>();
         }
+        if (this.map == null) {
+            this.map = new HashMap<>();
+        }
+    }
+
+    public GraphInventoryRelationships(JsonNode node) {
+        this.jsonBody = node.toString();
+        this.mapper = GraphInventoryCommonObjectMapperProvider.getSharedMapper();
+        Map<String, Object> converted = null;
+        if (node.isObject()) {
+            converted = mapper.convertValue(node, new TypeReference<Map<String, Object>>() {});
+        }
+        this.map = converted != null ? converted : new HashMap<>();
     }
 
     public List<Wrapper> getByType(GraphInventoryObjectName type) {
@@ -129,12 +142,19 @@ public abstract class GraphInventoryRelationships<Wrapper extends GraphInventory
     protected abstract Type fromTypeName(String name, String uri);
 
     protected List<String> getRelatedLinks(Optional<GraphInventoryObjectName> type) {
-        String matcher = "";
-        if (type.isPresent()) {
-            matcher = "[?(@.related-to=='" + type.get().typeName() + "')]";
+        List<String> result = new ArrayList<>();
+        if (map.get("relationship") instanceof List) {
+            List<Map<String, Object>> relationships = (List<Map<String, Object>>) map.get("relationship");
+            for (Map<String, Object> relationship : relationships) {
+                if (type.isPresent() && !type.get().typeName().equals(relationship.get("related-to"))) {
+                    continue;
+                }
+                if (relationship.get("related-link") != null) {
+                    result.add(relationship.get("related-link").toString());
+                }
+            }
         }
-        return JsonPathUtil.getInstance().locateResultList(this.jsonBody,
-                String.format("$.relationship%s.related-link", matcher));
+        return result;
     }
 
     public String getJson() {
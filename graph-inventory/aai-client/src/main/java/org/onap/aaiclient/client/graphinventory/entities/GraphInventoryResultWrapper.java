@@ -29,30 +29,34 @@ import java.util.Map;
 import java.util.Optional;
 import org.onap.aaiclient.client.graphinventory.GraphInventoryCommonObjectMapperProvider;
 import org.onap.aaiclient.client.graphinventory.GraphInventoryObjectName;
-import org.onap.so.jsonpath.JsonPathUtil;
 import org.slf4j.Logger;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 public abstract class GraphInventoryResultWrapper<R extends GraphInventoryRelationships<?, ?, ?>>
         implements Serializable {
 
     private static final long serialVersionUID = 5895841925807816727L;
+    protected static final ObjectMapper mapper = GraphInventoryCommonObjectMapperProvider.getSharedMapper();
     protected final String jsonBody;
-    protected final ObjectMapper mapper;
     private final transient Logger logger;
+    /*
+     * parsed form of jsonBody, materialized on first access and reused by every accessor; Optional.empty() marks a body
+     * that could not be parsed
+     */
+    private transient volatile Optional<JsonNode> tree;
+    private transient volatile Optional<R> relationships;
 
     protected GraphInventoryResultWrapper(String json, Logger logger) {
         this.jsonBody = json;
-        this.mapper = new GraphInventoryCommonObjectMapperProvider().getMapper();
         this.logger = logger;
     }
 
     protected GraphInventoryResultWrapper(Object aaiObject, Logger logger) {
-        this.mapper = new GraphInventoryCommonObjectMapperProvider().getMapper();
-        this.jsonBody = mapObjectToString(aaiObject);
         this.logger = logger;
+        this.jsonBody = mapObjectToString(aaiObject);
     }
 
     protected String mapObjectToString(Object aaiObject) {
@@ -64,6 +68,22 @@ public abstract class GraphInventoryResultWrapper<R extends GraphInventoryRelati
         }
     }
 
+    protected Optional<JsonNode> getTree() {
+        if (isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<JsonNode> result = tree;
+        if (result == null) {
+            try {
+                result = Optional.ofNullable(mapper.readTree(jsonBody)).filter(node -> !node.isMissingNode());
+            } catch (IOException e) {
+                result = Optional.empty();
+            }
+            tree = result;
+        }
+        return result;
+    }
+
     public boolean hasRelationshipsTo(GraphInventoryObjectName name) {
         Optional<R> rOpt = this.getRelationships();
         if (rOpt.isPresent()) {
@@ -74,20 +94,24 @@ public abstract class GraphInventoryResultWrapper<R extends GraphInventoryRelati
     }
 
     public Optional<R> getRelationships() {
-        final String path = "$.relationship-list";
-        if (isEmpty()) {
-            return Optional.empty();
-        }
-        Optional<String> result = JsonPathUtil.getInstance().locateResult(jsonBody, path);
-        if (result.isPresent()) {
-            return Optional.of(createRelationships(result.get()));
-        } else {
-            return Optional.empty();
+        Optional<R> result = relationships;
+        if (result == null) {
+            result = getTree().map(node -> node.get("relationship-list")).filter(node -> !node.isNull())
+                    .map(this::createRelationships);
+            relationships = result;
         }
+        return result;
     }
 
     protected abstract R createRelationships(String json);
 
+    /**
+     * Override to build relationships directly from the already parsed tree
+     */
+    protected R createRelationships(JsonNode node) {
+        return createRelationships(node.toString());
+    }
+
     public String getJson() {
         if (jsonBody == null) {
             return "{}";
@@ -102,22 +126,24 @@ public abstract class GraphInventoryResultWrapper<R extends GraphInventoryRelati
     }
 
     public <T> Optional<T> asBean(Class<T> clazz) {
-        if (isEmpty()) {
+        Optional<JsonNode> node = getTree();
+        if (!node.isPresent()) {
             return Optional.empty();
         }
         try {
-            return Optional.of(mapper.readValue(this.jsonBody, clazz));
+            return Optional.ofNullable(mapper.treeToValue(node.get(), clazz));
         } catch (IOException e) {
             return Optional.empty();
         }
     }
 
     public <T> Optional<T> asBean(TypeReference<T> reference) {
-        if (isEmpty()) {
+        Optional<JsonNode> node = getTree();
+        if (!node.isPresent()) {
             return Optional.empty();
         }
         try {
-            return Optional.of(mapper.readValue(this.jsonBody, reference));
+            return Optional.ofNullable(mapper.readerFor(reference).<T>readValue(node.get()));
         } catch (IOException e) {
             return Optional.empty();
         }
@@ -25,4 +25,8 @@ public class BulkProcessFailed extends Exception {
     public BulkProcessFailed(String message) {
         super(message);
     }
+
+    public BulkProcessFailed(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
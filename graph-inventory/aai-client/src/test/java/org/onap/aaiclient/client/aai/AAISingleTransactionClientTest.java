@@ -26,16 +26,23 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.GenericType;
 import org.json.JSONException;
 import org.junit.Before;
@@ -45,12 +52,14 @@ import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.onap.aai.domain.yang.Pserver;
 import org.onap.aai.domain.yang.v9.Complex;
+import org.onap.aaiclient.client.aai.entities.singletransaction.OperationBodyRequest;
 import org.onap.aaiclient.client.aai.entities.singletransaction.SingleTransactionRequest;
 import org.onap.aaiclient.client.aai.entities.singletransaction.SingleTransactionResponse;
 import org.onap.aaiclient.client.aai.entities.uri.AAIResourceUri;
 import org.onap.aaiclient.client.aai.entities.uri.AAIUriFactory;
 import org.onap.aaiclient.client.generated.fluentbuilders.AAIFluentTypeBuilder;
 import org.onap.aaiclient.client.graphinventory.GraphInventoryPatchConverter;
+import org.onap.aaiclient.client.graphinventory.exceptions.BulkProcessFailed;
 import org.skyscreamer.jsonassert.JSONAssert;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
@@ -137,6 +146,87 @@ public class AAISingleTransactionClientTest {
         verify(mock, times(1)).convertPatchFormat(any());
     }
 
+    @Test
+    public void createIfNotExistsDropsExistingTest() throws Exception {
+        doReturn(true).when(aaiClient).exists(eq(uriA));
+        doReturn(false).when(aaiClient).exists(eq(uriB));
+        AAISingleTransactionClient singleTransaction = aaiClient.beginSingleTransaction()
+                .createIfNotExists(uriA, Optional.empty()).createIfNotExists(uriB, Optional.of(new Complex()));
+
+        assertThat(uris(singleTransaction), equalTo(Arrays.asList(uriA.build().toString(), uriB.build().toString())));
+        singleTransaction.execute(true);
+
+        assertThat(uris(singleTransaction), equalTo(Collections.singletonList(uriB.build().toString())));
+        assertThat(singleTransaction.getExistenceCalls(), equalTo(2));
+    }
+
+    @Test
+    public void createIfNotExistsQueuedOnceTest() throws Exception {
+        doReturn(false).when(aaiClient).exists(eq(uriA));
+        AAISingleTransactionClient singleTransaction = aaiClient.beginSingleTransaction()
+                .createIfNotExists(uriA, Optional.empty()).createIfNotExists(uriA, Optional.empty());
+        singleTransaction.execute(true);
+
+        assertThat(uris(singleTransaction), equalTo(Collections.singletonList(uriA.build().toString())));
+        assertThat(singleTransaction.getExistenceChecks(), equalTo(2));
+        assertThat(singleTransaction.getExistenceCalls(), equalTo(1));
+    }
+
+    @Test
+    public void createIfNotExistsUnderMissingParentTest() throws Exception {
+        AAIResourceUri vserver = AAIUriFactory.createResourceUri(AAIFluentTypeBuilder.cloudInfrastructure()
+                .cloudRegion("cloud-owner", "cloud-region").tenant("tenant").vserver("vserver"));
+        AAIResourceUri interfaceA = AAIUriFactory.createResourceUri(AAIFluentTypeBuilder.cloudInfrastructure()
+                .cloudRegion("cloud-owner", "cloud-region").tenant("tenant").vserver("vserver").lInterface("a"));
+        AAIResourceUri interfaceB = AAIUriFactory.createResourceUri(AAIFluentTypeBuilder.cloudInfrastructure()
+                .cloudRegion("cloud-owner", "cloud-region").tenant("tenant").vserver("vserver").lInterface("b"));
+        doReturn(false).when(aaiClient).exists(eq(vserver));
+        AAISingleTransactionClient singleTransaction = aaiClient.beginSingleTransaction()
+                .createIfNotExists(interfaceA, Optional.empty()).createIfNotExists(vserver, Optional.empty())
+                .createIfNotExists(interfaceB, Optional.empty());
+        singleTransaction.execute(true);
+
+        assertThat(uris(singleTransaction).size(), equalTo(3));
+        assertThat(singleTransaction.getExistenceChecks(), equalTo(3));
+        assertThat(singleTransaction.getExistenceCalls(), equalTo(1));
+        verify(aaiClient, never()).exists(eq(interfaceA));
+        verify(aaiClient, never()).exists(eq(interfaceB));
+    }
+
+    @Test
+    public void createIfNotExistsReadsListTest() throws Exception {
+        AAIResourceUri interfaceA = AAIUriFactory.createResourceUri(AAIFluentTypeBuilder.cloudInfrastructure()
+                .cloudRegion("cloud-owner", "cloud-region").tenant("tenant").vserver("vserver").lInterface("a"));
+        AAIResourceUri interfaceB = AAIUriFactory.createResourceUri(AAIFluentTypeBuilder.cloudInfrastructure()
+                .cloudRegion("cloud-owner", "cloud-region").tenant("tenant").vserver("vserver").lInterface("b"));
+        Map<String, Object> existing = new HashMap<>();
+        existing.put("interface-name", "a");
+        Map<String, Object> list = new HashMap<>();
+        list.put("l-interface", Collections.singletonList(existing));
+        doReturn(Optional.of(list)).when(aaiClient).get(any(GenericType.class), any(AAIResourceUri.class));
+        AAISingleTransactionClient singleTransaction = aaiClient.beginSingleTransaction()
+                .createIfNotExists(interfaceA, Optional.empty()).createIfNotExists(interfaceB, Optional.empty());
+        singleTransaction.execute(true);
+
+        assertThat(uris(singleTransaction), equalTo(Collections.singletonList(interfaceB.build().toString())));
+        assertThat(singleTransaction.getExistenceCalls(), equalTo(1));
+        verify(aaiClient, never()).exists(any(AAIResourceUri.class));
+    }
+
+    @Test(expected = BulkProcessFailed.class)
+    public void createIfNotExistsCheckFailedTest() throws Exception {
+        doThrow(new ProcessingException("read timed out")).when(aaiClient).exists(eq(uriA));
+        AAISingleTransactionClient singleTransaction =
+                aaiClient.beginSingleTransaction().createIfNotExists(uriA, Optional.empty());
+
+        singleTransaction.execute(true);
+    }
+
+    private List<String> uris(AAISingleTransactionClient singleTransaction) {
+        return singleTransaction.getRequest().getOperations().stream().map(OperationBodyRequest::getUri)
+                .collect(Collectors.toList());
+    }
+
     private String getJson(String filename) throws IOException {
         return new String(Files.readAllBytes(Paths.get(AAI_JSON_FILE_LOCATION + filename)));
     }
@@ -22,6 +22,7 @@ package org.onap.aaiclient.client.aai.entities;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -110,6 +111,31 @@ public class AAIResultWrapperTest {
         assertEquals("{}", wrapper.getJson());
     }
 
+    @Test
+    public void relationshipsAreMemoizedTest() {
+        Optional<Relationships> first = aaiResultWrapper.getRelationships();
+        assertTrue(first.isPresent());
+        assertSame(first.get(), aaiResultWrapper.getRelationships().get());
+        assertEquals(first.get().getRelatedLinks(), new Relationships(first.get().getJson()).getRelatedLinks());
+    }
+
+    @Test
+    public void unparseableBodyTest() {
+        AAIResultWrapper wrapper = new AAIResultWrapper("");
+        assertEquals(Optional.empty(), wrapper.getRelationships());
+        assertEquals(Optional.empty(), wrapper.asBean(GenericVnf.class));
+        assertTrue(wrapper.asMap().isEmpty());
+    }
+
+    @Test
+    public void asBeanAfterDeserializationTest() {
+        aaiResultWrapper.asMap();
+        byte[] serialized = SerializationUtils.serialize(aaiResultWrapper);
+        AAIResultWrapper deserialized = (AAIResultWrapper) SerializationUtils.deserialize(serialized);
+        assertEquals(aaiResultWrapper.asMap(), deserialized.asMap());
+        assertTrue(deserialized.hasRelationshipsTo(Types.VCE));
+    }
+
     @Test
     public void hasRelationshipToTest() {
         assertTrue(aaiResultWrapper.hasRelationshipsTo(Types.VCE));
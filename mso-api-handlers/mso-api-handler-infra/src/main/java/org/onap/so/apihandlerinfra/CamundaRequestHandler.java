@@ -1,12 +1,27 @@
 package org.onap.so.apihandlerinfra;
 
+import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.ws.rs.core.UriBuilder;
 import javax.xml.bind.DatatypeConverter;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
 import org.json.JSONObject;
@@ -15,6 +30,7 @@ import org.onap.so.logging.jaxrs.filter.SOSpringClientFilter;
 import org.onap.so.utils.CryptoUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
@@ -32,6 +48,8 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
 import reactor.core.publisher.Flux;
 
 @Component
@@ -42,10 +60,33 @@ public class CamundaRequestHandler {
     private static final String RETRY_TIMEOUT = "15000";
     private static final String TIMEOUT_PROPERTY = "mso.camunda.request.timeout";
     private static final String RETRY_TIMEOUT_PROPERTY = "mso.camunda.request.timeout.retry";
+    private static final String TASK_NAME_PARALLELISM = "8";
+    private static final String TASK_NAME_PARALLELISM_PROPERTY = "mso.camunda.request.taskName.parallelism";
+    private static final String MAX_CONNECTIONS = "50";
+    private static final String MAX_CONNECTIONS_PROPERTY = "mso.camunda.request.pool.maxConnections";
+    private static final String MAX_CONNECTIONS_PER_ROUTE = "20";
+    private static final String MAX_CONNECTIONS_PER_ROUTE_PROPERTY = "mso.camunda.request.pool.maxConnectionsPerRoute";
+    private static final String IDLE_TIMEOUT = "30";
+    private static final String IDLE_TIMEOUT_PROPERTY = "mso.camunda.request.pool.idleTimeoutSeconds";
 
     @Autowired
     private Environment env;
 
+    private ExecutorService taskNameExecutor;
+
+    private RestTemplate restTemplate;
+    private RestTemplate retryRestTemplate;
+    private final List<CloseableHttpClient> httpClients = new ArrayList<>();
+
+    /**
+     * Creates both rest templates at startup, so the first requests do not pay for building them
+     */
+    @PostConstruct
+    protected void init() {
+        getRestTemplate(false);
+        getRestTemplate(true);
+    }
+
     private String buildCamundaUrlString(boolean historyLookup, boolean sort, boolean active, String lookupId) {
         UriBuilder uriBuilder = UriBuilder.fromUri(env.getProperty("mso.camundaURL"));
         if (historyLookup) {
@@ -126,6 +167,74 @@ public class CamundaRequestHandler {
         return taskInformation;
     }
 
+    /**
+     * Resolves the task names of many requests at once, running a bounded number of Camunda lookups in parallel.
+     * Requests without task information are left out of the returned map.
+     */
+    protected Map<String, String> getTaskNames(Collection<String> requestIds) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Map<String, CompletableFuture<String>> lookups = new LinkedHashMap<>();
+        for (String requestId : requestIds) {
+            lookups.computeIfAbsent(requestId, id -> CompletableFuture.supplyAsync(() -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    return getTaskName(id);
+                } finally {
+                    MDC.clear();
+                }
+            }, getTaskNameExecutor()));
+        }
+
+        Map<String, String> taskNames = new HashMap<>();
+        lookups.forEach((requestId, lookup) -> {
+            try {
+                String taskName = lookup.join();
+                if (taskName != null) {
+                    taskNames.put(requestId, taskName);
+                }
+            } catch (CompletionException e) {
+                logger.warn("Error getting TaskInformation for requestId: {}, exception: {}", requestId,
+                        e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            }
+        });
+        return taskNames;
+    }
+
+    protected synchronized ExecutorService getTaskNameExecutor() {
+        if (taskNameExecutor == null) {
+            int parallelism =
+                    Integer.parseInt(env.getProperty(TASK_NAME_PARALLELISM_PROPERTY, TASK_NAME_PARALLELISM));
+            AtomicInteger threadCount = new AtomicInteger();
+            taskNameExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "camunda-task-name-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return taskNameExecutor;
+    }
+
+    /**
+     * Stops the task name executor and closes the connection pools. The executor and the rest templates are kept, so
+     * requests made after the shutdown fail instead of opening new pools.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (taskNameExecutor != null) {
+            taskNameExecutor.shutdownNow();
+        }
+        for (CloseableHttpClient httpClient : httpClients) {
+            try {
+                httpClient.close();
+            } catch (IOException e) {
+                logger.warn("Error closing Camunda http client: {}", e.getMessage());
+            }
+        }
+        httpClients.clear();
+    }
+
     protected String getTaskInformation(ResponseEntity<List<HistoricProcessInstanceEntity>> response,
             String requestId) {
         List<HistoricProcessInstanceEntity> historicProcessInstanceList = response.getBody();
@@ -220,20 +329,43 @@ public class CamundaRequestHandler {
         flux.subscribe(res -> logger.debug("Send Camunda Message: " + res));
     }
 
-    protected RestTemplate getRestTemplate(boolean retry) {
-        int timeout;
+    /**
+     * Returns the long-lived rest template of the retry or non-retry profile. Both keep a pool of connections to
+     * Camunda, so history lookups reuse connections instead of opening a new one per request.
+     */
+    protected synchronized RestTemplate getRestTemplate(boolean retry) {
         if (retry) {
-            timeout = Integer.parseInt(env.getProperty(RETRY_TIMEOUT_PROPERTY, RETRY_TIMEOUT));
-        } else {
-            timeout = Integer.parseInt(env.getProperty(TIMEOUT_PROPERTY, TIMEOUT));
+            if (retryRestTemplate == null) {
+                retryRestTemplate = createRestTemplate("camunda-retry",
+                        Integer.parseInt(env.getProperty(RETRY_TIMEOUT_PROPERTY, RETRY_TIMEOUT)));
+            }
+            return retryRestTemplate;
         }
+        if (restTemplate == null) {
+            restTemplate = createRestTemplate("camunda", Integer.parseInt(env.getProperty(TIMEOUT_PROPERTY, TIMEOUT)));
+        }
+        return restTemplate;
+    }
+
+    protected RestTemplate createRestTemplate(String name, int timeout) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(Integer.parseInt(env.getProperty(MAX_CONNECTIONS_PROPERTY, MAX_CONNECTIONS)));
+        connectionManager.setDefaultMaxPerRoute(
+                Integer.parseInt(env.getProperty(MAX_CONNECTIONS_PER_ROUTE_PROPERTY, MAX_CONNECTIONS_PER_ROUTE)));
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, name).bindTo(Metrics.globalRegistry);
+
+        CloseableHttpClient httpClient = HttpClientBuilder.create().setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom().setConnectionRequestTimeout(timeout)
+                        .setConnectTimeout(timeout).setSocketTimeout(timeout).build())
+                .evictExpiredConnections()
+                .evictIdleConnections(Long.parseLong(env.getProperty(IDLE_TIMEOUT_PROPERTY, IDLE_TIMEOUT)),
+                        TimeUnit.SECONDS)
+                .build();
+        httpClients.add(httpClient);
 
         RestTemplate restTemplate = new RestTemplate();
-        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
-        factory.setConnectionRequestTimeout(timeout);
-        factory.setReadTimeout(timeout);
-        factory.setConnectTimeout(timeout);
-        restTemplate.setRequestFactory(new BufferingClientHttpRequestFactory(factory));
+        restTemplate.setRequestFactory(
+                new BufferingClientHttpRequestFactory(new HttpComponentsClientHttpRequestFactory(httpClient)));
         restTemplate.getInterceptors().add(new SOSpringClientFilter());
         restTemplate.getInterceptors().add((new SpringClientPayloadFilter()));
         return restTemplate;
@@ -198,11 +198,16 @@ public class InstanceManagement {
         }
 
         checkDuplicateAndBuildError(action, instanceIdMap, requestScope, currentActiveReq);
-        final RecipeLookupResult recipeLookupResult =
-                getInstanceManagementWorkflowRecipe(currentActiveReq, workflowUuid);
+        final RecipeLookupResult recipeLookupResult;
+        try {
+            recipeLookupResult = getInstanceManagementWorkflowRecipe(currentActiveReq, workflowUuid);
 
-        currentActiveReq = setWorkflowNameAndOperationName(currentActiveReq, workflowUuid);
-        saveCurrentActiveRequest(currentActiveReq);
+            currentActiveReq = setWorkflowNameAndOperationName(currentActiveReq, workflowUuid);
+            saveCurrentActiveRequest(currentActiveReq);
+        } catch (ApiException | RuntimeException e) {
+            requestHandlerUtils.releaseInstances(requestId);
+            throw e;
+        }
 
         RequestClientParameter requestClientParameter;
         try {
@@ -329,6 +329,7 @@ public class ManagedObject3gppServiceInstances {
                 requestsDbClient.save(currentActiveReq);
             } catch (Exception e) {
                 LOGGER.error("Exception occurred", e);
+                requestHandlerUtils.releaseInstances(requestId);
                 ErrorLoggerInfo errorLoggerInfo =
                         new ErrorLoggerInfo.Builder(MessageEnum.APIH_DB_ACCESS_EXC, ErrorCode.DataError)
                                 .errorSource(Constants.MSO_PROP_APIHANDLER_INFRA).build();
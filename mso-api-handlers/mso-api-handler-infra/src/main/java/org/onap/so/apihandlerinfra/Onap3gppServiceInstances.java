@@ -281,6 +281,7 @@ public class Onap3gppServiceInstances {
                 requestsDbClient.save(currentActiveReq);
             } catch (Exception e) {
                 logger.error("Exception occurred", e);
+                requestHandlerUtils.releaseInstances(requestId);
                 ErrorLoggerInfo errorLoggerInfo =
                         new ErrorLoggerInfo.Builder(MessageEnum.APIH_DB_ACCESS_EXC, ErrorCode.DataError)
                                 .errorSource(Constants.MSO_PROP_APIHANDLER_INFRA).build();
@@ -364,6 +365,7 @@ public class Onap3gppServiceInstances {
                 requestsDbClient.save(currentActiveReq);
             } catch (Exception e) {
                 logger.error("Exception occurred", e);
+                requestHandlerUtils.releaseInstances(requestId);
                 ErrorLoggerInfo errorLoggerInfo =
                         new ErrorLoggerInfo.Builder(MessageEnum.APIH_DB_ACCESS_EXC, ErrorCode.DataError)
                                 .errorSource(Constants.MSO_PROP_APIHANDLER_INFRA).build();
@@ -446,6 +448,7 @@ public class Onap3gppServiceInstances {
                 requestsDbClient.save(currentActiveReq);
             } catch (Exception e) {
                 logger.error("Exception occurred", e);
+                requestHandlerUtils.releaseInstances(requestId);
                 ErrorLoggerInfo errorLoggerInfo =
                         new ErrorLoggerInfo.Builder(MessageEnum.APIH_DB_ACCESS_EXC, ErrorCode.DataError)
                                 .errorSource(Constants.MSO_PROP_APIHANDLER_INFRA).build();
@@ -533,6 +536,7 @@ public class Onap3gppServiceInstances {
                 requestsDbClient.save(currentActiveReq);
             } catch (Exception e) {
                 logger.error("Exception occurred", e);
+                requestHandlerUtils.releaseInstances(requestId);
                 ErrorLoggerInfo errorLoggerInfo =
                         new ErrorLoggerInfo.Builder(MessageEnum.APIH_DB_ACCESS_EXC, ErrorCode.DataError)
                                 .errorSource(Constants.MSO_PROP_APIHANDLER_INFRA).build();
@@ -23,12 +23,16 @@
 package org.onap.so.apihandlerinfra;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import javax.transaction.Transactional;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
@@ -174,8 +178,8 @@ public class OrchestrationRequests {
     @Produces(MediaType.APPLICATION_JSON)
     @Transactional
     public Response getOrchestrationRequest(@Context UriInfo ui, @PathParam("version") String version,
-            @QueryParam("includeCloudRequest") boolean includeCloudRequest, @QueryParam(value = "format") String format)
-            throws ApiException {
+            @QueryParam("includeCloudRequest") boolean includeCloudRequest, @QueryParam(value = "format") String format,
+            @QueryParam("pageSize") Integer pageSize, @QueryParam("cursor") String cursor) throws ApiException {
 
         MultivaluedMap<String, String> queryParams = ui.getQueryParameters();
 
@@ -201,22 +205,56 @@ public class OrchestrationRequests {
 
         }
 
-        activeRequests = requestsDbClient.getOrchestrationFiltersFromInfraActive(orchestrationMap);
-
         orchestrationList = new GetOrchestrationListResponse();
-        List<RequestList> requestLists = new ArrayList<>();
+        if (pageSize == null && cursor == null) {
+            // clients that do not page get every matching request, as before paging was added
+            activeRequests = requestsDbClient.getOrchestrationFiltersFromInfraActive(orchestrationMap);
+        } else {
+            int limit = pageSize(pageSize);
+            Long afterStartTime = null;
+            String afterRequestId = null;
+            if (cursor != null) {
+                String position = decodeCursor(cursor);
+                String startTime = position.substring(0, position.indexOf(':'));
+                afterStartTime = startTime.isEmpty() ? null : Long.valueOf(startTime);
+                afterRequestId = position.substring(position.indexOf(':') + 1);
+            }
 
+            // one extra row tells whether there is a next page
+            activeRequests = requestsDbClient.getOrchestrationFiltersFromInfraActive(orchestrationMap, afterStartTime,
+                    afterRequestId, limit + 1);
+            if (activeRequests != null && activeRequests.size() > limit) {
+                activeRequests = activeRequests.subList(0, limit);
+                orchestrationList.setNextCursor(encodeCursor(activeRequests.get(limit - 1)));
+            }
+        }
+        if (activeRequests == null) {
+            activeRequests = Collections.emptyList();
+        }
 
+        Map<String, List<RequestProcessingData>> requestProcessingData = Collections.emptyMap();
+        if (isRequestProcessingDataRequired(format) && !activeRequests.isEmpty()) {
+            requestProcessingData = requestsDbClient.getExternalRequestProcessingDataBySoRequestIds(
+                    activeRequests.stream().map(InfraActiveRequests::getRequestId).collect(Collectors.toList()));
+        }
+        List<String> taskNameLookups = new ArrayList<>();
+        for (InfraActiveRequests infraActive : activeRequests) {
+            if (isTaskNameRequired(infraActive, format)) {
+                taskNameLookups.add(infraActive.getRequestId());
+            }
+        }
+        Map<String, String> taskNames = taskNameLookups.isEmpty() ? Collections.emptyMap()
+                : camundaRequestHandler.getTaskNames(taskNameLookups);
+
+        List<RequestList> requestLists = new ArrayList<>();
         for (InfraActiveRequests infraActive : activeRequests) {
             RequestList requestList = new RequestList();
-            Request request = mapInfraActiveRequestToRequest(infraActive, includeCloudRequest, format, version);
+            Request request =
+                    mapInfraActiveRequestToRequest(infraActive, includeCloudRequest, format, version, taskNames);
 
-            if (isRequestProcessingDataRequired(format)) {
-                List<RequestProcessingData> requestProcessingData =
-                        requestsDbClient.getExternalRequestProcessingDataBySoRequestId(infraActive.getRequestId());
-                if (null != requestProcessingData && !requestProcessingData.isEmpty()) {
-                    request.setRequestProcessingData(mapRequestProcessingData(requestProcessingData));
-                }
+            List<RequestProcessingData> processingData = requestProcessingData.get(infraActive.getRequestId());
+            if (null != processingData && !processingData.isEmpty()) {
+                request.setRequestProcessingData(mapRequestProcessingData(processingData));
             }
 
             requestList.setRequest(request);
@@ -296,6 +334,14 @@ public class OrchestrationRequests {
 
     protected Request mapInfraActiveRequestToRequest(InfraActiveRequests iar, boolean includeCloudRequest,
             String format, String version) throws ApiException {
+        return mapInfraActiveRequestToRequest(iar, includeCloudRequest, format, version, null);
+    }
+
+    /**
+     * @param taskNames task names already resolved by requestId, when null the task name is looked up in Camunda
+     */
+    protected Request mapInfraActiveRequestToRequest(InfraActiveRequests iar, boolean includeCloudRequest,
+            String format, String version, Map<String, String> taskNames) throws ApiException {
         String requestBody = iar.getRequestBody();
         Request request = new Request();
 
@@ -409,7 +455,7 @@ public class OrchestrationRequests {
             });
         }
 
-        mapRequestStatusAndExtSysErrSrcToRequest(iar, status, format, version);
+        mapRequestStatusAndExtSysErrSrcToRequest(iar, status, format, version, taskNames);
 
         request.setRequestStatus(status);
         return request;
@@ -439,20 +485,24 @@ public class OrchestrationRequests {
 
     protected void mapRequestStatusAndExtSysErrSrcToRequest(InfraActiveRequests iar, RequestStatus status,
             String format, String version) {
+        mapRequestStatusAndExtSysErrSrcToRequest(iar, status, format, version, null);
+    }
+
+    protected void mapRequestStatusAndExtSysErrSrcToRequest(InfraActiveRequests iar, RequestStatus status,
+            String format, String version, Map<String, String> taskNames) {
         String rollbackStatusMessage = iar.getRollbackStatusMessage();
         String flowStatusMessage = iar.getFlowStatus();
         String retryStatusMessage = iar.getRetryStatusMessage();
         String taskName = null;
 
-        if (daysSinceRequest(iar) <= camundaCleanupInterval()) {
-            if (format == null || !format.equalsIgnoreCase(OrchestrationRequestFormat.SIMPLENOTASKINFO.toString())) {
-                if (flowStatusMessage != null && !flowStatusMessage.equals("Successfully completed all Building Blocks")
-                        && !flowStatusMessage.equals("All Rollback flows have completed successfully")) {
-                    taskName = camundaRequestHandler.getTaskName(iar.getRequestId());
-                    if (taskName != null) {
-                        flowStatusMessage = flowStatusMessage + " TASK INFORMATION: " + taskName;
-                    }
-                }
+        if (isTaskNameRequired(iar, format)) {
+            if (taskNames != null) {
+                taskName = taskNames.get(iar.getRequestId());
+            } else {
+                taskName = camundaRequestHandler.getTaskName(iar.getRequestId());
+            }
+            if (taskName != null) {
+                flowStatusMessage = flowStatusMessage + " TASK INFORMATION: " + taskName;
             }
         }
 
@@ -565,6 +615,18 @@ public class OrchestrationRequests {
         return addedRequestProcessingData;
     }
 
+    protected boolean isTaskNameRequired(InfraActiveRequests iar, String format) {
+        if (daysSinceRequest(iar) <= camundaCleanupInterval()) {
+            if (format == null || !format.equalsIgnoreCase(OrchestrationRequestFormat.SIMPLENOTASKINFO.toString())) {
+                String flowStatusMessage = iar.getFlowStatus();
+                return flowStatusMessage != null
+                        && !flowStatusMessage.equals("Successfully completed all Building Blocks")
+                        && !flowStatusMessage.equals("All Rollback flows have completed successfully");
+            }
+        }
+        return false;
+    }
+
     protected boolean isRequestProcessingDataRequired(String format) {
         if (StringUtils.isNotEmpty(format) && (format.equalsIgnoreCase(OrchestrationRequestFormat.SIMPLE.name())
                 || format.equalsIgnoreCase(OrchestrationRequestFormat.SIMPLENOTASKINFO.toString()))) {
@@ -612,6 +674,48 @@ public class OrchestrationRequests {
         return TimeUnit.MILLISECONDS.toDays(now - startTime);
     }
 
+    protected int pageSize(Integer pageSize) throws ValidateException {
+        int maxPageSize = Integer.parseInt(env.getProperty("mso.orchestrationRequests.maxPageSize", "1000"));
+        if (pageSize == null) {
+            return maxPageSize;
+        }
+        if (pageSize < 1) {
+            ErrorLoggerInfo errorLoggerInfo =
+                    new ErrorLoggerInfo.Builder(MessageEnum.APIH_VALIDATION_ERROR, ErrorCode.SchemaError)
+                            .errorSource(Constants.MODIFIED_BY_APIHANDLER).build();
+            throw new ValidateException.Builder("pageSize " + pageSize + " must be greater than 0",
+                    HttpStatus.SC_BAD_REQUEST, ErrorNumbers.SVC_BAD_PARAMETER).errorInfo(errorLoggerInfo).build();
+        }
+        return Math.min(pageSize, maxPageSize);
+    }
+
+    /*
+     * The cursor is the startTime (empty when unset) and requestId of the last request on the page, clients treat it
+     * as opaque
+     */
+    protected String encodeCursor(InfraActiveRequests last) {
+        String startTime = last.getStartTime() != null ? String.valueOf(last.getStartTime().getTime()) : "";
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((startTime + ":" + last.getRequestId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected String decodeCursor(String cursor) throws ValidateException {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String startTime = position.substring(0, position.indexOf(':'));
+            if (!startTime.isEmpty()) {
+                Long.parseLong(startTime);
+            }
+            return position;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            ErrorLoggerInfo errorLoggerInfo =
+                    new ErrorLoggerInfo.Builder(MessageEnum.APIH_VALIDATION_ERROR, ErrorCode.SchemaError)
+                            .errorSource(Constants.MODIFIED_BY_APIHANDLER).build();
+            throw new ValidateException.Builder("cursor " + cursor + " is not valid", HttpStatus.SC_BAD_REQUEST,
+                    ErrorNumbers.SVC_BAD_PARAMETER).cause(e).errorInfo(errorLoggerInfo).build();
+        }
+    }
+
     protected int camundaCleanupInterval() {
         String cleanupInterval = env.getProperty("mso.camundaCleanupInterval");
         int days = 30;
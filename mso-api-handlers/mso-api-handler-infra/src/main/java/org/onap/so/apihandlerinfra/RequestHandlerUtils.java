@@ -108,6 +108,7 @@ public class RequestHandlerUtils extends AbstractRestHandler {
     private static Logger logger = LoggerFactory.getLogger(RequestHandlerUtils.class);
 
     protected static final String SAVE_TO_DB = "save instance to db";
+    private static final String IN_FLIGHT_REGISTRY_ENABLED = "mso.infra-requests.in-flight.enabled";
     private static final String NAME = "name";
     private static final String VALUE = "value";
 
@@ -256,11 +257,61 @@ public class RequestHandlerUtils extends AbstractRestHandler {
         dup = duplicateCheck(action, instanceIdMap, instanceName, requestScope, currentActiveReq);
 
         if (dup != null) {
-            inProgress = camundaHistoryCheck(dup, currentActiveReq);
+            // a request that claimed the instance but has not been saved yet has not started its process either
+            inProgress = isSubmitted(dup) || camundaHistoryCheck(dup, currentActiveReq);
         }
 
         if (dup != null && inProgress) {
             buildErrorOnDuplicateRecord(currentActiveReq, action, instanceIdMap, instanceName, requestScope, dup);
+        } else if (dup != null && isInFlightRegistryEnabled()) {
+            // the request holding the instance has ended, claim the instance again
+            InfraActiveRequests holder =
+                    duplicateCheck(action, instanceIdMap, instanceName, requestScope, currentActiveReq);
+            if (holder != null && !holder.getRequestId().equals(dup.getRequestId())) {
+                buildErrorOnDuplicateRecord(currentActiveReq, action, instanceIdMap, instanceName, requestScope,
+                        holder);
+            }
+        }
+    }
+
+    protected boolean isSubmitted(InfraActiveRequests request) {
+        return request.getStartTime() == null && Status.PENDING.toString().equals(request.getRequestStatus());
+    }
+
+    protected boolean isInFlightRegistryEnabled() {
+        return !Boolean.FALSE.equals(env.getProperty(IN_FLIGHT_REGISTRY_ENABLED, Boolean.class));
+    }
+
+    @FunctionalInterface
+    public interface ClaimingRequest {
+        Response process() throws ApiException;
+    }
+
+    /**
+     * Processes a request that claims its instance before it is saved, releasing the claim when processing fails. The
+     * requests db adapter keeps the claims of requests that were saved and are still in flight.
+     */
+    public Response releaseInstancesOnFailure(String requestId, ClaimingRequest request) throws ApiException {
+        try {
+            return request.process();
+        } catch (ApiException | RuntimeException e) {
+            releaseInstances(requestId);
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the instances claimed for a request that failed before it was saved, so the claim does not hold the
+     * instance until its grace period expires
+     */
+    public void releaseInstances(String requestId) {
+        if (requestId == null || !isInFlightRegistryEnabled()) {
+            return;
+        }
+        try {
+            infraActiveRequestsClient.releaseInstances(requestId);
+        } catch (Exception e) {
+            logger.warn("Unable to release the instances claimed by request {}", requestId, e);
         }
     }
 
@@ -270,7 +321,14 @@ public class RequestHandlerUtils extends AbstractRestHandler {
         try {
             if (!(instanceName == null && "service".equals(requestScope) && (action == Action.createInstance
                     || action == Action.activateInstance || action == Action.assignInstance))) {
-                dup = infraActiveRequestsClient.checkInstanceNameDuplicate(instanceIdMap, instanceName, requestScope);
+                if (currentActiveReq != null && currentActiveReq.getRequestId() != null
+                        && isInFlightRegistryEnabled()) {
+                    dup = infraActiveRequestsClient.claimInstance(instanceIdMap, instanceName, requestScope,
+                            currentActiveReq.getRequestId());
+                } else {
+                    dup = infraActiveRequestsClient.checkInstanceNameDuplicate(instanceIdMap, instanceName,
+                            requestScope);
+                }
             }
         } catch (Exception e) {
             ErrorLoggerInfo errorLoggerInfo =
@@ -148,14 +148,22 @@ public class ResumeOrchestrationRequest {
         checkForInProgressRequest(currentActiveRequest, instanceIdMap, requestScope, instanceName, action);
 
         ServiceInstancesRequest sir = null;
-        sir = requestHandlerUtils.convertJsonToServiceInstanceRequest(requestBody, action, requestId, requestUri);
-        Boolean aLaCarte = sir.getRequestDetails().getRequestParameters().getALaCarte();
+        Boolean aLaCarte;
+        String pnfCorrelationId;
+        RecipeLookupResult recipeLookupResult;
+        try {
+            sir = requestHandlerUtils.convertJsonToServiceInstanceRequest(requestBody, action, requestId, requestUri);
+            aLaCarte = sir.getRequestDetails().getRequestParameters().getALaCarte();
 
-        String pnfCorrelationId = serviceInstances.getPnfCorrelationId(sir);
-        RecipeLookupResult recipeLookupResult = requestHandlerUtils.getServiceInstanceOrchestrationURI(sir, action,
-                msoRequest.getAlacarteFlag(sir), currentActiveRequest);
+            pnfCorrelationId = serviceInstances.getPnfCorrelationId(sir);
+            recipeLookupResult = requestHandlerUtils.getServiceInstanceOrchestrationURI(sir, action,
+                    msoRequest.getAlacarteFlag(sir), currentActiveRequest);
 
-        requestDbSave(currentActiveRequest);
+            requestDbSave(currentActiveRequest);
+        } catch (ApiException | RuntimeException e) {
+            requestHandlerUtils.releaseInstances(requestId);
+            throw e;
+        }
 
         if (aLaCarte == null) {
             aLaCarte = setALaCarteFlagIfNull(requestScope, action);
@@ -984,6 +984,13 @@ public class ServiceInstances extends AbstractRestHandler {
     public Response serviceInstances(String requestJSON, Actions action, HashMap<String, String> instanceIdMap,
             String version, String requestId, String requestUri, HashMap<String, String> queryParams)
             throws ApiException {
+        return requestHandlerUtils.releaseInstancesOnFailure(requestId, () -> processServiceInstances(requestJSON,
+                action, instanceIdMap, version, requestId, requestUri, queryParams));
+    }
+
+    private Response processServiceInstances(String requestJSON, Actions action,
+            HashMap<String, String> instanceIdMap, String version, String requestId, String requestUri,
+            HashMap<String, String> queryParams) throws ApiException {
         String serviceInstanceId;
         Boolean aLaCarte = null;
         ServiceInstancesRequest sir;
@@ -1166,6 +1173,13 @@ public class ServiceInstances extends AbstractRestHandler {
      */
     public Response deleteInstanceGroups(Actions action, HashMap<String, String> instanceIdMap, String version,
             String requestId, String requestUri, ContainerRequestContext requestContext) throws ApiException {
+        return requestHandlerUtils.releaseInstancesOnFailure(requestId, () -> processDeleteInstanceGroups(action,
+                instanceIdMap, version, requestId, requestUri, requestContext));
+    }
+
+    private Response processDeleteInstanceGroups(Actions action, HashMap<String, String> instanceIdMap,
+            String version, String requestId, String requestUri, ContainerRequestContext requestContext)
+            throws ApiException {
         String instanceGroupId = instanceIdMap.get(CommonConstants.INSTANCE_GROUP_INSTANCE_ID);
         Boolean aLaCarte = true;
         String apiVersion = version.substring(1);
@@ -1232,6 +1246,13 @@ public class ServiceInstances extends AbstractRestHandler {
 
     private Response configurationRecipeLookup(String requestJSON, Action action, HashMap<String, String> instanceIdMap,
             String version, String requestId, String requestUri) throws ApiException {
+        return requestHandlerUtils.releaseInstancesOnFailure(requestId, () -> processConfigurationRequest(requestJSON,
+                action, instanceIdMap, version, requestId, requestUri));
+    }
+
+    private Response processConfigurationRequest(String requestJSON, Action action,
+            HashMap<String, String> instanceIdMap, String version, String requestId, String requestUri)
+            throws ApiException {
         String serviceInstanceId;
         Boolean aLaCarte = null;
         String apiVersion = version.substring(1);
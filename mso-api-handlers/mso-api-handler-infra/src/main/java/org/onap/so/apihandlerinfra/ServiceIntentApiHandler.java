@@ -239,6 +239,7 @@ public class ServiceIntentApiHandler {
                 requestsDbClient.save(currentActiveReq);
             } catch (Exception e) {
                 logger.error("Exception occurred", e);
+                requestHandlerUtils.releaseInstances(requestId);
                 ErrorLoggerInfo errorLoggerInfo =
                         new ErrorLoggerInfo.Builder(MessageEnum.APIH_DB_ACCESS_EXC, ErrorCode.DataError)
                                 .errorSource(Constants.MSO_PROP_APIHANDLER_INFRA).build();
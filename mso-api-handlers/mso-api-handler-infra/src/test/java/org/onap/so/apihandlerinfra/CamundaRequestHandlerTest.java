@@ -21,6 +21,8 @@ package org.onap.so.apihandlerinfra;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import javax.ws.rs.core.MediaType;
 import org.junit.Rule;
 import org.junit.Test;
@@ -28,7 +30,9 @@ import org.junit.rules.ExpectedException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
 
 public class CamundaRequestHandlerTest extends BaseTest {
 
@@ -53,4 +57,27 @@ public class CamundaRequestHandlerTest extends BaseTest {
         camundaRequestHandler.getCamundaProcessInstanceHistory("6718de35-b9a5-4670-b19f-a0f4ac22bfaf", false, true,
                 false);
     }
+
+    @Test
+    public void restTemplateReusedTest() {
+        RestTemplate restTemplate = camundaRequestHandler.getRestTemplate(false);
+
+        assertSame(restTemplate, camundaRequestHandler.getRestTemplate(false));
+        assertNotSame(restTemplate, camundaRequestHandler.getRestTemplate(true));
+        assertSame(camundaRequestHandler.getRestTemplate(true), camundaRequestHandler.getRestTemplate(true));
+    }
+
+    @Test
+    public void restTemplateKeptAfterShutdownTest() {
+        CamundaRequestHandler handler = new CamundaRequestHandler();
+        ReflectionTestUtils.setField(handler, "env", env);
+        handler.init();
+        RestTemplate restTemplate = handler.getRestTemplate(false);
+        RestTemplate retryRestTemplate = handler.getRestTemplate(true);
+
+        handler.shutdown();
+
+        assertSame(restTemplate, handler.getRestTemplate(false));
+        assertSame(retryRestTemplate, handler.getRestTemplate(true));
+    }
 }
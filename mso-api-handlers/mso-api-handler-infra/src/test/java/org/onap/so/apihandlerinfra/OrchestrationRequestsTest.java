@@ -558,5 +558,10 @@ public class OrchestrationRequestsTest extends BaseTest {
                         .withBody(new String(Files.readAllBytes(
                                 Paths.get("src/test/resources/OrchestrationRequest/getRequestDetailsFilter.json"))))
                         .withStatus(HttpStatus.SC_OK)));
+        wireMockServer.stubFor(post(urlPathEqualTo("/requestProcessingData/v1/getExternalRequestProcessingData"))
+                .willReturn(aResponse().withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                        .withBody(new String(Files.readAllBytes(Paths
+                                .get("src/test/resources/OrchestrationRequest/getExternalRequestProcessingData.json"))))
+                        .withStatus(HttpStatus.SC_OK)));
     }
 }
@@ -26,21 +26,35 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 import org.apache.commons.lang.StringUtils;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -52,6 +66,7 @@ import org.onap.so.constants.OrchestrationRequestFormat;
 import org.onap.so.constants.Status;
 import org.onap.so.db.request.beans.InfraActiveRequests;
 import org.onap.so.db.request.client.RequestsDbClient;
+import org.onap.so.serviceinstancebeans.GetOrchestrationListResponse;
 import org.onap.so.serviceinstancebeans.InstanceReferences;
 import org.onap.so.serviceinstancebeans.Request;
 import org.onap.so.serviceinstancebeans.RequestStatus;
@@ -555,4 +570,95 @@ public class OrchestrationRequestsUnitTest {
         orchestrationRequests.mapRequestStatusAndExtSysErrSrcToRequest(req, requestStatus, null, "v7");
         assertEquals("FLOW STATUS: Building blocks 1 of 3 completed.", requestStatus.getStatusMessage());
     }
+
+    @Test
+    public void pagedOrchestrationRequestListTest() throws ApiException {
+        Map<String, List<String>> filters = new HashMap<>();
+        filters.put("modelType", Arrays.asList("EQUALS", "service"));
+        UriInfo uriInfo = mock(UriInfo.class);
+        when(uriInfo.getQueryParameters()).thenReturn(new MultivaluedHashMap<>());
+        when(msoRequest.getOrchestrationFilters(any())).thenReturn(filters);
+        when(env.getProperty("mso.orchestrationRequests.maxPageSize", "1000")).thenReturn("1000");
+
+        InfraActiveRequests second = new InfraActiveRequests();
+        second.setRequestId("7cb9aa56-dd31-41e5-828e-d93027d4ebbc");
+        second.setStartTime(startTime);
+        InfraActiveRequests third = new InfraActiveRequests();
+        third.setRequestId("7cb9aa56-dd31-41e5-828e-d93027d4ebbd");
+        third.setStartTime(startTime);
+        when(requestDbClient.getOrchestrationFiltersFromInfraActive(filters, null, null, 3))
+                .thenReturn(Arrays.asList(iar, second, third));
+        Map<String, String> taskNames = new HashMap<>();
+        taskNames.put(REQUEST_ID, "Last task executed: Call SDNC");
+        when(camundaRequestHandler.getTaskNames(Arrays.asList(REQUEST_ID))).thenReturn(taskNames);
+        when(requestDbClient.getExternalRequestProcessingDataBySoRequestIds(
+                Arrays.asList(REQUEST_ID, "7cb9aa56-dd31-41e5-828e-d93027d4ebbc"))).thenReturn(new HashMap<>());
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        when(builder.buildResponse(eq(200), any(), captor.capture(), eq("7"))).thenReturn(response);
+
+        orchestrationRequests.getOrchestrationRequest(uriInfo, "v7", false, null, 2, null);
+
+        GetOrchestrationListResponse list = (GetOrchestrationListResponse) captor.getValue();
+        assertEquals(2, list.getRequestList().size());
+        assertThat(list.getRequestList().get(0).getRequest().getRequestStatus().getStatusMessage(),
+                containsString(TASK_INFORMATION));
+        assertEquals(orchestrationRequests.encodeCursor(second), list.getNextCursor());
+        verify(camundaRequestHandler, never()).getTaskName(any());
+    }
+
+    @Test
+    public void unpagedOrchestrationRequestListTest() throws ApiException {
+        Map<String, List<String>> filters = new HashMap<>();
+        filters.put("modelType", Arrays.asList("EQUALS", "service"));
+        UriInfo uriInfo = mock(UriInfo.class);
+        when(uriInfo.getQueryParameters()).thenReturn(new MultivaluedHashMap<>());
+        when(msoRequest.getOrchestrationFilters(any())).thenReturn(filters);
+
+        InfraActiveRequests second = new InfraActiveRequests();
+        second.setRequestId("7cb9aa56-dd31-41e5-828e-d93027d4ebbc");
+        second.setStartTime(startTime);
+        when(requestDbClient.getOrchestrationFiltersFromInfraActive(filters)).thenReturn(Arrays.asList(iar, second));
+        Map<String, String> taskNames = new HashMap<>();
+        taskNames.put(REQUEST_ID, "Last task executed: Call SDNC");
+        when(camundaRequestHandler.getTaskNames(Arrays.asList(REQUEST_ID))).thenReturn(taskNames);
+        when(requestDbClient.getExternalRequestProcessingDataBySoRequestIds(
+                Arrays.asList(REQUEST_ID, "7cb9aa56-dd31-41e5-828e-d93027d4ebbc"))).thenReturn(new HashMap<>());
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        when(builder.buildResponse(eq(200), any(), captor.capture(), eq("7"))).thenReturn(response);
+
+        orchestrationRequests.getOrchestrationRequest(uriInfo, "v7", false, null, null, null);
+
+        GetOrchestrationListResponse list = (GetOrchestrationListResponse) captor.getValue();
+        assertEquals(2, list.getRequestList().size());
+        assertNull(list.getNextCursor());
+        verify(requestDbClient, never()).getOrchestrationFiltersFromInfraActive(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    public void cursorWithoutStartTimeTest() throws ValidateException {
+        InfraActiveRequests notStarted = new InfraActiveRequests();
+        notStarted.setRequestId(REQUEST_ID);
+        String cursor = orchestrationRequests.encodeCursor(notStarted);
+        assertEquals(":" + REQUEST_ID, orchestrationRequests.decodeCursor(cursor));
+    }
+
+    @Test
+    public void cursorTest() throws ValidateException {
+        String cursor = orchestrationRequests.encodeCursor(iar);
+        assertEquals(startTime.getTime() + ":" + REQUEST_ID, orchestrationRequests.decodeCursor(cursor));
+
+        thrown.expect(ValidateException.class);
+        orchestrationRequests.decodeCursor("not a cursor");
+    }
+
+    @Test
+    public void pageSizeTest() throws ValidateException {
+        when(env.getProperty("mso.orchestrationRequests.maxPageSize", "1000")).thenReturn("500");
+        assertEquals(500, orchestrationRequests.pageSize(null));
+        assertEquals(500, orchestrationRequests.pageSize(5000));
+        assertEquals(20, orchestrationRequests.pageSize(20));
+
+        thrown.expect(ValidateException.class);
+        orchestrationRequests.pageSize(0);
+    }
 }
@@ -22,6 +22,8 @@ package org.onap.so.apihandlerinfra;
 import static com.shazam.shazamcrest.MatcherAssert.assertThat;
 import static com.shazam.shazamcrest.matcher.Matchers.sameBeanAs;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -29,6 +31,7 @@ import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.io.IOException;
@@ -274,6 +277,33 @@ public class ResumeOrchestrationRequestTest {
                 lookupResult.getOrchestrationURI(), infraActiveRequest.getRequestScope());
     }
 
+    @Test
+    public void resumeRequestReleasesClaimOnFailureTest() throws ApiException, IOException {
+        doReturn(instanceIdMap).when(resumeReq).setInstanceIdMap(infraActiveRequest, ModelType.service.toString());
+        doReturn(SERVICE_INSTANCE_NAME).when(resumeReq).getInstanceName(infraActiveRequest,
+                ModelType.service.toString(), currentActiveRequest);
+        doNothing().when(resumeReq).checkForInProgressRequest(currentActiveRequest, instanceIdMap, SERVICE,
+                SERVICE_INSTANCE_NAME, action);
+        when(requestHandler.convertJsonToServiceInstanceRequest(anyString(), any(Actions.class), anyString(),
+                anyString())).thenReturn(sir);
+        when(serviceInstances.getPnfCorrelationId(any(ServiceInstancesRequest.class))).thenReturn("pnfCorrelationId");
+        ValidateException validateException =
+                new ValidateException.Builder("Recipe could not be retrieved from catalog DB", 404, "SVC0002")
+                        .build();
+        doThrow(validateException).when(requestHandler).getServiceInstanceOrchestrationURI(sir, action, aLaCarte,
+                currentActiveRequest);
+
+        try {
+            resumeReq.resumeRequest(infraActiveRequest, currentActiveRequest, version,
+                    "/onap/so/infra/orchestrationRequests/v7/requests/00032ab7-na18-42e5-965d-8ea592502018/resume");
+            fail("resumeRequest did not fail");
+        } catch (ValidateException e) {
+            assertSame(validateException, e);
+        }
+        verify(requestHandler).releaseInstances(CURRENT_REQUEST_ID);
+        verify(resumeReq, never()).requestDbSave(currentActiveRequest);
+    }
+
     @Test
     public void setRequestClientParameterTest() throws ApiException, IOException {
         doReturn(ModelType.service).when(requestHandler).getModelType(action, modelInfo);
@@ -2470,7 +2470,7 @@ public class ServiceInstancesTest extends BaseTest {
 
     @Test
     public void createServiceInstanceDuplicateError() throws IOException {
-        wireMockServer.stubFor(post(urlMatching(".*/infraActiveRequests/checkInstanceNameDuplicate"))
+        wireMockServer.stubFor(post(urlMatching(".*/infraActiveRequests/v1/claimInstance"))
                 .willReturn(aResponse().withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
                         .withStatus(HttpStatus.SC_INTERNAL_SERVER_ERROR)));
 
@@ -2487,7 +2487,7 @@ public class ServiceInstancesTest extends BaseTest {
 
     @Test
     public void createServiceInstanceDuplicateHistoryCheck() throws IOException {
-        wireMockServer.stubFor(post(urlMatching(".*/infraActiveRequests/checkInstanceNameDuplicate"))
+        wireMockServer.stubFor(post(urlMatching(".*/infraActiveRequests/v1/claimInstance"))
                 .willReturn(aResponse().withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
                         .withBodyFile("InfraActiveRequests/createInfraActiveRequests.json")
                         .withStatus(HttpStatus.SC_ACCEPTED)));
@@ -2510,7 +2510,7 @@ public class ServiceInstancesTest extends BaseTest {
 
     @Test
     public void createServiceInstanceDuplicateHistoryCheckException() throws IOException {
-        wireMockServer.stubFor(post(urlMatching(".*/infraActiveRequests/checkInstanceNameDuplicate"))
+        wireMockServer.stubFor(post(urlMatching(".*/infraActiveRequests/v1/claimInstance"))
                 .willReturn(aResponse().withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
                         .withBodyFile("InfraActiveRequests/createInfraActiveRequests.json")
                         .withStatus(HttpStatus.SC_ACCEPTED)));
@@ -2532,7 +2532,7 @@ public class ServiceInstancesTest extends BaseTest {
 
     @Test
     public void createServiceInstanceDuplicate() throws IOException {
-        wireMockServer.stubFor(post(urlMatching(".*/infraActiveRequests/checkInstanceNameDuplicate"))
+        wireMockServer.stubFor(post(urlMatching(".*/infraActiveRequests/v1/claimInstance"))
                 .willReturn(aResponse().withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
                         .withStatus(HttpStatus.SC_INTERNAL_SERVER_ERROR)));
 
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.onap.so.db.request.beans.InfraActiveRequests;
+import org.onap.so.db.request.data.controller.RequestStatusUpdate;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -38,13 +39,25 @@ public interface InfraActiveRequestsRepositoryCustom {
 
     public List<InfraActiveRequests> getOrchestrationFiltersFromInfraActive(Map<String, List<String>> orchestrationMap);
 
+    public List<InfraActiveRequests> getOrchestrationFiltersFromInfraActive(Map<String, List<String>> orchestrationMap,
+            Long afterStartTime, String afterRequestId, Integer maxResult);
+
     // Added this method for Tenant Isolation project ( 1802-295491a) to query the mso_requests DB
     // (infra_active_requests table) for operationalEnvId and OperationalEnvName
     public List<InfraActiveRequests> getCloudOrchestrationFiltersFromInfraActive(Map<String, String> orchestrationMap);
 
+    public List<InfraActiveRequests> getCloudOrchestrationFiltersFromInfraActive(Map<String, String> orchestrationMap,
+            Long afterStartTime, String afterRequestId, Integer maxResult);
+
+    /**
+     * Returns the requests whose queryAttributeName equals queryValue, ordered by startTime and requestId.
+     */
     public List<InfraActiveRequests> getRequestListFromInfraActive(String queryAttributeName, String queryValue,
             String requestType);
 
+    public List<InfraActiveRequests> getRequestListFromInfraActive(String queryAttributeName, String queryValue,
+            String requestType, Long afterStartTime, String afterRequestId, Integer maxResult);
+
     public InfraActiveRequests getRequestFromInfraActive(String requestId, String requestType);
 
     public InfraActiveRequests checkVnfIdStatus(String operationalEnvironmentId);
@@ -52,4 +65,11 @@ public interface InfraActiveRequestsRepositoryCustom {
     List<InfraActiveRequests> getInfraActiveRequests(final Map<String, String[]> filters, final long startTime,
             final long endTime, final Integer maxResult);
 
+    /**
+     * Updates the status columns set in the update without loading the request
+     *
+     * @return the number of updated requests
+     */
+    public int updateRequestStatus(String requestId, RequestStatusUpdate update);
+
 }
@@ -38,10 +38,12 @@ import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import org.onap.so.db.request.beans.InfraActiveRequests;
+import org.onap.so.db.request.data.controller.RequestStatusUpdate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -231,7 +233,19 @@ public class InfraActiveRequestsRepositoryImpl implements InfraActiveRequestsRep
     @Override
     public List<InfraActiveRequests> getOrchestrationFiltersFromInfraActive(
             final Map<String, List<String>> orchestrationMap) {
+        return getOrchestrationFiltersFromInfraActive(orchestrationMap, null, null, null);
+    }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.onap.so.requestsdb.InfraActiveRequestsRepositoryCustom#
+     * getOrchestrationFiltersFromInfraActive(java.util.Map, java.lang.Long, java.lang.String, java.lang.Integer)
+     */
+    @Override
+    public List<InfraActiveRequests> getOrchestrationFiltersFromInfraActive(
+            final Map<String, List<String>> orchestrationMap, final Long afterStartTime, final String afterRequestId,
+            final Integer maxResult) {
 
         final List<Predicate> predicates = new LinkedList<>();
         final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
@@ -308,9 +322,48 @@ public class InfraActiveRequestsRepositoryImpl implements InfraActiveRequestsRep
 
         }
 
-        final Order order = cb.asc(tableRoot.get(START_TIME));
+        return executeKeysetQuery(crit, tableRoot, predicates, afterStartTime, afterRequestId, maxResult);
+    }
+
+    /**
+     * Runs the query ordered by startTime and requestId, returning at most maxResult rows that come after
+     * (afterStartTime, afterRequestId). Paging on these columns instead of an offset keeps every page as cheap as the
+     * first one.
+     */
+    protected List<InfraActiveRequests> executeKeysetQuery(final CriteriaQuery<InfraActiveRequests> crit,
+            final Root<InfraActiveRequests> tableRoot, final List<Predicate> predicates, final Long afterStartTime,
+            final String afterRequestId, final Integer maxResult) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        if (afterStartTime != null || afterRequestId != null) {
+            predicates.add(startTimeKeyset(cb, tableRoot, afterStartTime, afterRequestId));
+        }
+        crit.where(cb.and(predicates.toArray(new Predicate[0])));
+        crit.orderBy(cb.asc(tableRoot.get(START_TIME)), cb.asc(tableRoot.get(REQUEST_ID)));
+
+        final TypedQuery<InfraActiveRequests> query = entityManager.createQuery(crit);
+        if (maxResult != null) {
+            query.setMaxResults(maxResult);
+        }
+        return query.getResultList();
+    }
 
-        return executeInfraQuery(crit, predicates, order);
+    /**
+     * Selects the rows that come after (afterStartTime, afterRequestId) when ordered by startTime and requestId. Rows
+     * without a startTime sort first, a null afterStartTime with an afterRequestId continues within them.
+     */
+    protected Predicate startTimeKeyset(final CriteriaBuilder cb, final Root<InfraActiveRequests> tableRoot,
+            final Long afterStartTime, final String afterRequestId) {
+        if (afterStartTime == null) {
+            return cb.or(tableRoot.get(START_TIME).isNotNull(), cb.and(tableRoot.get(START_TIME).isNull(),
+                    cb.greaterThan(tableRoot.<String>get(REQUEST_ID), afterRequestId)));
+        }
+        final Timestamp after = new Timestamp(afterStartTime);
+        final Predicate laterStart = cb.greaterThan(tableRoot.<Date>get(START_TIME), after);
+        if (afterRequestId == null) {
+            return laterStart;
+        }
+        return cb.or(laterStart, cb.and(cb.equal(tableRoot.get(START_TIME), after),
+                cb.greaterThan(tableRoot.<String>get(REQUEST_ID), afterRequestId)));
     }
 
     // Added this method for Tenant Isolation project ( 1802-295491a) to query the mso_requests DB
@@ -324,6 +377,19 @@ public class InfraActiveRequestsRepositoryImpl implements InfraActiveRequestsRep
     @Override
     public List<InfraActiveRequests> getCloudOrchestrationFiltersFromInfraActive(
             final Map<String, String> orchestrationMap) {
+        return getCloudOrchestrationFiltersFromInfraActive(orchestrationMap, null, null, null);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.onap.so.requestsdb.InfraActiveRequestsRepositoryCustom#
+     * getCloudOrchestrationFiltersFromInfraActive(java.util.Map, java.lang.Long, java.lang.String, java.lang.Integer)
+     */
+    @Override
+    public List<InfraActiveRequests> getCloudOrchestrationFiltersFromInfraActive(
+            final Map<String, String> orchestrationMap, final Long afterStartTime, final String afterRequestId,
+            final Integer maxResult) {
         final List<Predicate> predicates = new LinkedList<>();
         final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         final CriteriaQuery<InfraActiveRequests> crit = cb.createQuery(InfraActiveRequests.class);
@@ -369,8 +435,7 @@ public class InfraActiveRequestsRepositoryImpl implements InfraActiveRequestsRep
             }
         }
 
-        final Order order = cb.asc(tableRoot.get(START_TIME));
-        return executeInfraQuery(crit, predicates, order);
+        return executeKeysetQuery(crit, tableRoot, predicates, afterStartTime, afterRequestId, maxResult);
     }
 
     /*
@@ -382,6 +447,19 @@ public class InfraActiveRequestsRepositoryImpl implements InfraActiveRequestsRep
     @Override
     public List<InfraActiveRequests> getRequestListFromInfraActive(final String queryAttributeName,
             final String queryValue, final String requestType) {
+        return getRequestListFromInfraActive(queryAttributeName, queryValue, requestType, null, null, null);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.onap.so.requestsdb.InfraActiveRequestsRepositoryCustom#getRequestListFromInfraActive(java .lang.String,
+     * java.lang.String, java.lang.String, java.lang.Long, java.lang.String, java.lang.Integer)
+     */
+    @Override
+    public List<InfraActiveRequests> getRequestListFromInfraActive(final String queryAttributeName,
+            final String queryValue, final String requestType, final Long afterStartTime, final String afterRequestId,
+            final Integer maxResult) {
         logger.debug("Get list of infra requests from DB with {} = {}", queryAttributeName, queryValue);
 
 
@@ -389,11 +467,11 @@ public class InfraActiveRequestsRepositoryImpl implements InfraActiveRequestsRep
             final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
             final CriteriaQuery<InfraActiveRequests> crit = cb.createQuery(InfraActiveRequests.class);
             final Root<InfraActiveRequests> candidateRoot = crit.from(InfraActiveRequests.class);
-            final Predicate isEqual = cb.equal(candidateRoot.get(queryAttributeName), queryValue);
-            final Order orderDesc = cb.desc(candidateRoot.get(START_TIME));
-            final Order orderAsc = cb.asc(candidateRoot.get(SOURCE));
+            final List<Predicate> predicates = new LinkedList<>();
+            predicates.add(cb.equal(candidateRoot.get(queryAttributeName), queryValue));
 
-            final List<InfraActiveRequests> arList = entityManager.createQuery(crit).getResultList();
+            final List<InfraActiveRequests> arList =
+                    executeKeysetQuery(crit, candidateRoot, predicates, afterStartTime, afterRequestId, maxResult);
             if (arList != null && !arList.isEmpty()) {
                 return arList;
             }
@@ -452,6 +530,34 @@ public class InfraActiveRequestsRepositoryImpl implements InfraActiveRequestsRep
         return ar;
     }
 
+    @Override
+    @Transactional
+    public int updateRequestStatus(final String requestId, final RequestStatusUpdate update) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaUpdate<InfraActiveRequests> crit = cb.createCriteriaUpdate(InfraActiveRequests.class);
+        final Root<InfraActiveRequests> candidateRoot = crit.from(InfraActiveRequests.class);
+        setIfPresent(crit, REQUEST_STATUS, update.getRequestStatus());
+        setIfPresent(crit, "statusMessage", update.getStatusMessage());
+        setIfPresent(crit, "rollbackStatusMessage", update.getRollbackStatusMessage());
+        setIfPresent(crit, "retryStatusMessage", update.getRetryStatusMessage());
+        setIfPresent(crit, "flowStatus", update.getFlowStatus());
+        setIfPresent(crit, "progress", update.getProgress());
+        setIfPresent(crit, END_TIME, update.getEndTime());
+        setIfPresent(crit, "lastModifiedBy", update.getLastModifiedBy());
+        crit.set("modifyTime", new Date());
+        crit.where(cb.equal(candidateRoot.get(REQUEST_ID), requestId));
+
+        logger.debug("Update status of request {} with {}", requestId, update);
+        return entityManager.createQuery(crit).executeUpdate();
+    }
+
+    private void setIfPresent(final CriteriaUpdate<InfraActiveRequests> crit, final String attribute,
+            final Object value) {
+        if (value != null) {
+            crit.set(attribute, value);
+        }
+    }
+
     protected <T> T getSingleResult(final Query query) {
         query.setMaxResults(1);
         final List<T> list = query.getResultList();
@@ -20,6 +20,7 @@
 
 package org.onap.so.db.request.data.repository;
 
+import java.util.Collection;
 import java.util.List;
 import org.onap.so.db.request.beans.RequestProcessingData;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -43,6 +44,9 @@ public interface RequestProcessingDataRepository extends JpaRepository<RequestPr
     RequestProcessingData[] findBySoRequestIdAndIsDataInternalOrderByGroupingIdDesc(
             @Param("SO_REQUEST_ID") String soRequestId, @Param("IS_INTERNAL_DATA") Boolean isDataInternal);
 
+    RequestProcessingData[] findBySoRequestIdInAndIsDataInternalOrderByGroupingIdDesc(
+            @Param("SO_REQUEST_IDS") Collection<String> soRequestIds, @Param("IS_INTERNAL_DATA") Boolean isDataInternal);
+
     RequestProcessingData[] findByGroupingIdAndNameAndTag(@Param("GROUPING_ID") String groupingId,
             @Param("NAME") String name, @Param("TAG") String tag);
 
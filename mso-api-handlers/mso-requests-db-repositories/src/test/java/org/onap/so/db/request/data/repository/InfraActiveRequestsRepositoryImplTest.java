@@ -176,4 +176,14 @@ public class InfraActiveRequestsRepositoryImplTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    public void test_getRequestListFromInfraActive_filtersOnQueryAttribute() {
+        List<InfraActiveRequests> result =
+                objUnderTest.getRequestListFromInfraActive(SERVICE_INSTANCE_ID, SERVICE_INSTANCE_ID_VALUE, null);
+
+        assertEquals(1, result.size());
+        assertEquals(SERVICE_INSTANCE_ID_VALUE, result.get(0).getServiceInstanceId());
+        assertTrue(objUnderTest.getRequestListFromInfraActive(SERVICE_INSTANCE_ID, "unknown", null).isEmpty());
+    }
+
 }
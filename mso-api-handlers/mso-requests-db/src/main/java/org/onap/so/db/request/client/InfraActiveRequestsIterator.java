@@ -0,0 +1,80 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.db.request.client;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.onap.so.db.request.beans.InfraActiveRequests;
+
+/**
+ * Iterates over a keyset paginated infra active requests query, loading the next page only once the current one has
+ * been consumed.
+ */
+public class InfraActiveRequestsIterator implements Iterator<InfraActiveRequests> {
+
+    @FunctionalInterface
+    public interface PageLoader {
+        List<InfraActiveRequests> load(Long afterStartTime, String afterRequestId, int maxResult);
+    }
+
+    private final PageLoader loader;
+    private final int pageSize;
+    private Iterator<InfraActiveRequests> page = Collections.emptyIterator();
+    private InfraActiveRequests last;
+    private boolean exhausted;
+
+    public InfraActiveRequestsIterator(PageLoader loader, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be greater than 0");
+        }
+        this.loader = loader;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!page.hasNext() && !exhausted) {
+            Long afterStartTime = null;
+            String afterRequestId = null;
+            if (last != null) {
+                afterStartTime = last.getStartTime() != null ? last.getStartTime().getTime() : null;
+                afterRequestId = last.getRequestId();
+            }
+            List<InfraActiveRequests> next = loader.load(afterStartTime, afterRequestId, pageSize);
+            if (next == null || next.size() < pageSize) {
+                exhausted = true;
+            }
+            page = next == null ? Collections.emptyIterator() : next.iterator();
+        }
+        return page.hasNext();
+    }
+
+    @Override
+    public InfraActiveRequests next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        last = page.next();
+        return last;
+    }
+}
@@ -22,7 +22,10 @@ package org.onap.so.db.request.client;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.PostConstruct;
@@ -43,6 +46,7 @@ import org.onap.so.db.request.beans.WatchdogComponentDistributionStatus;
 import org.onap.so.db.request.beans.WatchdogDistributionStatus;
 import org.onap.so.db.request.beans.WatchdogServiceModVerIdLookup;
 import org.onap.so.db.request.data.controller.InstanceNameDuplicateCheckRequest;
+import org.onap.so.db.request.data.controller.RequestStatusUpdate;
 import org.onap.so.logging.jaxrs.filter.SOSpringClientFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -72,6 +76,7 @@ public class RequestsDbClient {
     private static final String TAG = "TAG";
     private static final String FLOW_EXECUTION_PATH = "flowExecutionPath";
     private static final String BPMN_EXECUTION_DATA_TAG = "BPMNExecutionData";
+    private static final int PROCESSING_DATA_BATCH_SIZE = 500;
 
     @Value("${mso.adapters.requestDb.endpoint:#{null}}")
     protected String endpoint;
@@ -91,6 +96,12 @@ public class RequestsDbClient {
 
     private String checkInstanceNameDuplicate = "/infraActiveRequests/checkInstanceNameDuplicate";
 
+    private String claimInstance = "/infraActiveRequests/v1/claimInstance";
+
+    private String releaseInstances = "/infraActiveRequests/v1/releaseInstances/";
+
+    private String updateRequestStatus = "/infraActiveRequests/v1/updateRequestStatus/";
+
     private String operationalEnvDistributionStatusURI = "/operationalEnvDistributionStatus/";
 
     private String findOneByServiceIdAndOperationIdURI = "/findOneByServiceIdAndOperationId";
@@ -109,6 +120,8 @@ public class RequestsDbClient {
 
     private String getInfraActiveRequests = "/infraActiveRequests/v1/getInfraActiveRequests";
 
+    private String getRequestListFromInfraActive = "/infraActiveRequests/v1/getRequestListFromInfraActive";
+
     private String getInProgressVolumeGroupsAndVfModules = "/infraActiveRequests/getInProgressVolumeGroupsAndVfModules";
 
     private String orchestrationTasksURI = "/orchestrationTask";
@@ -127,6 +140,9 @@ public class RequestsDbClient {
     private static final String findByGroupingIdAndNameAndTag =
             "/requestProcessingData/search/findByGroupingIdAndNameAndTag";
 
+    private static final String getExternalRequestProcessingData =
+            "/requestProcessingData/v1/getExternalRequestProcessingData";
+
     private static final String findBySoRequestIdAndNameAndTagOrderByCreateTimeDesc =
             "/requestProcessingData/search/findBySoRequestIdAndNameAndTagOrderByCreatedDesc";
 
@@ -142,10 +158,14 @@ public class RequestsDbClient {
         infraActiveRequestURI = endpoint + infraActiveRequestURI;
         checkVnfIdStatus = endpoint + checkVnfIdStatus;
         checkInstanceNameDuplicate = endpoint + checkInstanceNameDuplicate;
+        claimInstance = endpoint + claimInstance;
+        releaseInstances = endpoint + releaseInstances;
+        updateRequestStatus = endpoint + updateRequestStatus;
         cloudOrchestrationFiltersFromInfraActive = endpoint + cloudOrchestrationFiltersFromInfraActive;
         findOneByServiceIdAndOperationIdURI = endpoint + OPERATION_STATUS_SEARCH + findOneByServiceIdAndOperationIdURI;
         requestProcessingDataURI = endpoint + requestProcessingDataURI;
         getInfraActiveRequests = endpoint + getInfraActiveRequests;
+        getRequestListFromInfraActive = endpoint + getRequestListFromInfraActive;
         operationalEnvDistributionStatusURI = endpoint + operationalEnvDistributionStatusURI;
         findOneByOperationalEnvIdAndServiceModelVersionIdAndRequestIdURI =
                 endpoint + OPERATIONAL_ENV_SERVICE_MODEL_STATUS_SEARCH
@@ -175,6 +195,34 @@ public class RequestsDbClient {
         }
     }
 
+    public List<InfraActiveRequests> getCloudOrchestrationFiltersFromInfraActive(Map<String, String> orchestrationMap,
+            Long afterStartTime, String afterRequestId, int maxResult) {
+        URI uri = getUri(
+                keysetUri(cloudOrchestrationFiltersFromInfraActive, afterStartTime, afterRequestId, maxResult));
+        HttpHeaders headers = getHttpHeaders();
+        HttpEntity<Map> entity = new HttpEntity<>(orchestrationMap, headers);
+        try {
+            return restTemplate.exchange(uri, HttpMethod.POST, entity,
+                    new ParameterizedTypeReference<List<InfraActiveRequests>>() {}).getBody();
+        } catch (HttpClientErrorException e) {
+            if (HttpStatus.SC_NOT_FOUND == e.getStatusCode().value()) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Iterates over all requests matching the filters, fetching pageSize requests at a time as the iterator advances
+     */
+    public Iterator<InfraActiveRequests> iterateCloudOrchestrationFiltersFromInfraActive(
+            Map<String, String> orchestrationMap, int pageSize) {
+        return new InfraActiveRequestsIterator((afterStartTime, afterRequestId,
+                maxResult) -> getCloudOrchestrationFiltersFromInfraActive(orchestrationMap, afterStartTime,
+                        afterRequestId, maxResult),
+                pageSize);
+    }
+
     public List<InfraActiveRequests> getInProgressVolumeGroupsAndVfModules() {
         URI uri = getUri(endpoint + getInProgressVolumeGroupsAndVfModules);
 
@@ -203,6 +251,67 @@ public class RequestsDbClient {
                 .getBody();
     }
 
+    /**
+     * Returns at most maxResult requests matching the filters, ordered by startTime and requestId, that come after the
+     * request with the given startTime and requestId. Without afterStartTime and afterRequestId the first page is
+     * returned.
+     */
+    public List<InfraActiveRequests> getOrchestrationFiltersFromInfraActive(Map<String, List<String>> orchestrationMap,
+            Long afterStartTime, String afterRequestId, int maxResult) {
+        HttpHeaders headers = getHttpHeaders();
+        URI uri = getUri(keysetUri(getOrchestrationFilterURI, afterStartTime, afterRequestId, maxResult));
+        HttpEntity<Map<String, List<String>>> entity = new HttpEntity<>(orchestrationMap, headers);
+        return restTemplate
+                .exchange(uri, HttpMethod.POST, entity, new ParameterizedTypeReference<List<InfraActiveRequests>>() {})
+                .getBody();
+    }
+
+    /**
+     * Iterates over all requests matching the filters, fetching pageSize requests at a time as the iterator advances
+     */
+    public Iterator<InfraActiveRequests> iterateOrchestrationFiltersFromInfraActive(
+            Map<String, List<String>> orchestrationMap, int pageSize) {
+        return new InfraActiveRequestsIterator((afterStartTime, afterRequestId,
+                maxResult) -> getOrchestrationFiltersFromInfraActive(orchestrationMap, afterStartTime, afterRequestId,
+                        maxResult),
+                pageSize);
+    }
+
+    public List<InfraActiveRequests> getRequestListFromInfraActive(String queryAttributeName, String queryValue,
+            String requestType, Long afterStartTime, String afterRequestId, int maxResult) {
+        UriBuilder builder = UriBuilder
+                .fromUri(keysetUri(getRequestListFromInfraActive, afterStartTime, afterRequestId, maxResult))
+                .queryParam("queryAttributeName", queryAttributeName).queryParam("queryValue", queryValue);
+        if (requestType != null) {
+            builder.queryParam("requestType", requestType);
+        }
+        return getMultipleResponse(getUri(builder.build().toString()),
+                new ParameterizedTypeReference<List<InfraActiveRequests>>() {});
+    }
+
+    /**
+     * Iterates over all requests having queryValue in the queryAttributeName column, fetching pageSize requests at a
+     * time as the iterator advances
+     */
+    public Iterator<InfraActiveRequests> iterateRequestListFromInfraActive(String queryAttributeName,
+            String queryValue, String requestType, int pageSize) {
+        return new InfraActiveRequestsIterator((afterStartTime, afterRequestId,
+                maxResult) -> getRequestListFromInfraActive(queryAttributeName, queryValue, requestType,
+                        afterStartTime, afterRequestId, maxResult),
+                pageSize);
+    }
+
+    protected String keysetUri(String uri, Long afterStartTime, String afterRequestId, int maxResult) {
+        UriBuilder builder = UriBuilder.fromUri(uri).queryParam("maxResult", maxResult);
+        if (afterStartTime != null) {
+            builder.queryParam("afterStartTime", afterStartTime);
+        }
+        if (afterRequestId != null) {
+            builder.queryParam("afterRequestId", afterRequestId);
+        }
+        return builder.build().toString();
+    }
+
     public InfraActiveRequests checkVnfIdStatus(String operationalEnvironmentId) {
         URI uri = getUri(checkVnfIdStatus + operationalEnvironmentId);
         return getSingleResponse(uri, InfraActiveRequests.class);
@@ -219,6 +328,30 @@ public class RequestsDbClient {
 
     }
 
+    /**
+     * Claims the instance for the request in one atomic step
+     *
+     * @return null when the instance was claimed, otherwise the request already working on the instance
+     */
+    public InfraActiveRequests claimInstance(Map<String, String> instanceIdMap, String instanceName,
+            String requestScope, String requestId) {
+        HttpHeaders headers = getHttpHeaders();
+        URI uri = getUri(claimInstance);
+        HttpEntity<InstanceNameDuplicateCheckRequest> entity = new HttpEntity<>(
+                new InstanceNameDuplicateCheckRequest(instanceIdMap, instanceName, requestScope, requestId), headers);
+
+        return postSingleResponse(uri, entity, InfraActiveRequests.class);
+    }
+
+    /**
+     * Releases the instances claimed by a request that failed before it was saved
+     */
+    public void releaseInstances(String requestId) {
+        HttpHeaders headers = getHttpHeaders();
+        URI uri = getUri(releaseInstances + requestId);
+        restTemplate.exchange(uri, HttpMethod.DELETE, new HttpEntity<>(headers), Void.class);
+    }
+
     public OperationStatus getOneByServiceIdAndOperationId(String serviceId, String operationId) {
         OperationStatus operationStatus = getSingleResponse(
                 getUri(UriBuilder.fromUri(getUri(findOneByServiceIdAndOperationIdURI)).queryParam(SERVICE_ID, serviceId)
@@ -302,6 +435,16 @@ public class RequestsDbClient {
         restTemplate.exchange(uri, HttpMethod.PATCH, entity, String.class);
     }
 
+    /**
+     * Updates only the status columns set in the update
+     */
+    public void updateRequestStatus(String requestId, RequestStatusUpdate update) {
+        HttpHeaders headers = getHttpHeaders();
+        URI uri = getUri(updateRequestStatus + requestId);
+        HttpEntity<RequestStatusUpdate> entity = new HttpEntity<>(update, headers);
+        restTemplate.exchange(uri, HttpMethod.PATCH, entity, Void.class);
+    }
+
     /**
      * Required for groovy usage. Cannot use Spring Autowired variables
      *
@@ -383,6 +526,31 @@ public class RequestsDbClient {
         return getMultipleResponse(uri, new ParameterizedTypeReference<List<RequestProcessingData>>() {});
     }
 
+    /**
+     * Loads the external processing data of many requests in batched calls, keyed by soRequestId. Requests without
+     * processing data are not in the map.
+     */
+    public Map<String, List<RequestProcessingData>> getExternalRequestProcessingDataBySoRequestIds(
+            Collection<String> soRequestIds) {
+        Map<String, List<RequestProcessingData>> processingData = new HashMap<>();
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(soRequestIds));
+        HttpHeaders headers = getHttpHeaders();
+        URI uri = getUri(getEndpoint() + getExternalRequestProcessingData);
+        for (int from = 0; from < ids.size(); from += PROCESSING_DATA_BATCH_SIZE) {
+            HttpEntity<List<String>> entity = new HttpEntity<>(
+                    new ArrayList<>(ids.subList(from, Math.min(ids.size(), from + PROCESSING_DATA_BATCH_SIZE))),
+                    headers);
+            List<RequestProcessingData> batch = restTemplate.exchange(uri, HttpMethod.POST, entity,
+                    new ParameterizedTypeReference<List<RequestProcessingData>>() {}).getBody();
+            if (batch != null) {
+                for (RequestProcessingData data : batch) {
+                    processingData.computeIfAbsent(data.getSoRequestId(), id -> new ArrayList<>()).add(data);
+                }
+            }
+        }
+        return processingData;
+    }
+
     public RequestProcessingData getRequestProcessingDataBySoRequestIdAndNameAndGrouping(String soRequestId,
             String name, String groupingId) {
         return getSingleResponse(getUri(
@@ -27,6 +27,7 @@ public class InstanceNameDuplicateCheckRequest {
     private Map<String, String> instanceIdMap;
     private String instanceName;
     private String requestScope;
+    private String requestId;
 
     public InstanceNameDuplicateCheckRequest() {}
 
@@ -37,6 +38,12 @@ public class InstanceNameDuplicateCheckRequest {
         this.requestScope = requestScope;
     }
 
+    public InstanceNameDuplicateCheckRequest(Map<String, String> instanceIdMap, String instanceName,
+            String requestScope, String requestId) {
+        this(instanceIdMap, instanceName, requestScope);
+        this.requestId = requestId;
+    }
+
     public Map<String, String> getInstanceIdMap() {
         return instanceIdMap;
     }
@@ -60,4 +67,12 @@ public class InstanceNameDuplicateCheckRequest {
     public void setRequestScope(String requestScope) {
         this.requestScope = requestScope;
     }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
 }
@@ -0,0 +1,85 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP - SO
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.so.db.request.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.onap.so.db.request.beans.InfraActiveRequests;
+
+public class InfraActiveRequestsIteratorTest {
+
+    @Test
+    public void iteratePagesTest() {
+        List<InfraActiveRequests> all = Arrays.asList(request("a", 1000L), request("b", 1000L), request("c", 2000L));
+        List<String> cursors = new ArrayList<>();
+
+        InfraActiveRequestsIterator iterator = new InfraActiveRequestsIterator((afterStartTime, afterRequestId,
+                maxResult) -> {
+            cursors.add(afterStartTime + ":" + afterRequestId);
+            int from = afterRequestId == null ? 0 : "abc".indexOf(afterRequestId) + 1;
+            return all.subList(from, Math.min(all.size(), from + maxResult));
+        }, 2);
+
+        List<String> ids = new ArrayList<>();
+        iterator.forEachRemaining(request -> ids.add(request.getRequestId()));
+
+        assertEquals(Arrays.asList("a", "b", "c"), ids);
+        assertEquals(Arrays.asList("null:null", "1000:b"), cursors);
+    }
+
+    @Test
+    public void lazyLoadingTest() {
+        List<String> cursors = new ArrayList<>();
+        InfraActiveRequestsIterator iterator = new InfraActiveRequestsIterator((afterStartTime, afterRequestId,
+                maxResult) -> {
+            cursors.add(afterStartTime + ":" + afterRequestId);
+            return afterRequestId == null ? Arrays.asList(request("a", null)) : Collections.emptyList();
+        }, 1);
+
+        assertEquals(0, cursors.size());
+        assertEquals("a", iterator.next().getRequestId());
+        assertFalse(iterator.hasNext());
+        assertEquals(Arrays.asList("null:null", "null:a"), cursors);
+    }
+
+    @Test
+    public void noResultsTest() {
+        InfraActiveRequestsIterator iterator =
+                new InfraActiveRequestsIterator((afterStartTime, afterRequestId, maxResult) -> null, 10);
+        assertFalse(iterator.hasNext());
+        assertFalse(iterator.hasNext());
+    }
+
+    private InfraActiveRequests request(String requestId, Long startTime) {
+        InfraActiveRequests request = new InfraActiveRequests();
+        request.setRequestId(requestId);
+        if (startTime != null) {
+            request.setStartTime(new Timestamp(startTime));
+        }
+        return request;
+    }
+}
@@ -1,5 +1,7 @@
 package org.onap.so.db.request.client;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
@@ -7,7 +9,9 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import javax.ws.rs.core.UriBuilder;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -69,4 +73,29 @@ public class RequestDbClientTest {
 
     }
 
+    @Test
+    public void testGetExternalRequestProcessingDataBySoRequestIds() {
+        Mockito.doReturn("host").when(requestsDbClient).getEndpoint();
+        URI uri = URI.create("host/requestProcessingData/v1/getExternalRequestProcessingData");
+        RequestProcessingData first = new RequestProcessingData();
+        first.setSoRequestId("1");
+        first.setGroupingId("b");
+        RequestProcessingData second = new RequestProcessingData();
+        second.setSoRequestId("2");
+        second.setGroupingId("a");
+        when(restTemplate.exchange(eq(uri), eq(HttpMethod.POST), isA(HttpEntity.class),
+                isA(ParameterizedTypeReference.class)))
+                        .thenReturn(new ResponseEntity<List<RequestProcessingData>>(Arrays.asList(first, second),
+                                HttpStatus.OK));
+
+        Map<String, List<RequestProcessingData>> processingData =
+                requestsDbClient.getExternalRequestProcessingDataBySoRequestIds(Arrays.asList("1", "2", "3", "1"));
+
+        assertEquals(Arrays.asList(first), processingData.get("1"));
+        assertEquals(Arrays.asList(second), processingData.get("2"));
+        assertFalse(processingData.containsKey("3"));
+        Mockito.verify(restTemplate, times(1)).exchange(eq(uri), eq(HttpMethod.POST), isA(HttpEntity.class),
+                isA(ParameterizedTypeReference.class));
+    }
+
 }
@@ -21,11 +21,17 @@
 package org.onap.so.db.catalog.client;
 
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityNotFoundException;
@@ -171,6 +177,10 @@ public class CatalogDbClient {
     protected static final String OPERATION_NAME = "operationName";
 
     private static final String TARGET_ENTITY = "SO:CatalogDB";
+    private static final long MODEL_CACHE_SIZE = 5000;
+    private static final long REFERENCE_CACHE_SIZE = 1000;
+    private static final long MODEL_CACHE_TTL_SECONDS = 300;
+    private static final long REFERENCE_CACHE_TTL_SECONDS = 60;
     private static final String ASTERISK = "*";
 
     private String findExternalToInternalServiceByServiceName = "/findByServiceName";
@@ -311,11 +321,32 @@ public class CatalogDbClient {
     @Value("${mso.db.auth:#{null}}")
     private String msoAdaptersAuth;
 
+    /*
+     * Models looked up by model or customization UUID only change when they are distributed again, e.g. after a
+     * failed distribution, so they live for MODEL_CACHE_TTL_SECONDS. The ASDC controller writes the catalog from its
+     * own process and cannot evict this cache; the TTL bounds how long a redistributed model stays stale. Reference
+     * tables (cloud sites, building block details, flows, rainy day rules) and lookups returning the latest of several
+     * rows can change at runtime and live for REFERENCE_CACHE_TTL_SECONDS. Writes through this client evict the tier
+     * they change.
+     *
+     * Cached entities are shared between callers and threads and must be treated as read only.
+     */
+    @Value("${mso.catalog.db.cache.enabled:true}")
+    private boolean cacheEnabled = true;
+
+    private final Cache<String, Object> modelCache = CacheBuilder.newBuilder().maximumSize(MODEL_CACHE_SIZE)
+            .expireAfterWrite(MODEL_CACHE_TTL_SECONDS, TimeUnit.SECONDS).recordStats().build();
+
+    private final Cache<String, Object> referenceCache = CacheBuilder.newBuilder().maximumSize(REFERENCE_CACHE_SIZE)
+            .expireAfterWrite(REFERENCE_CACHE_TTL_SECONDS, TimeUnit.SECONDS).recordStats().build();
+
     @Autowired
     RestTemplate restTemplate;
 
     @PostConstruct
     public void init() {
+        GuavaCacheMetrics.monitor(Metrics.globalRegistry, modelCache, "catalogdb.models");
+        GuavaCacheMetrics.monitor(Metrics.globalRegistry, referenceCache, "catalogdb.reference");
         findExternalToInternalServiceByServiceName = endpoint + EXTERNAL_SERVICE_TO_INTERNAL_MODEL_MAPPING + SEARCH
                 + findExternalToInternalServiceByServiceName;
         findServiceByModelName = endpoint + SERVICE + SEARCH + findServiceByModelName;
@@ -510,6 +541,12 @@ public class CatalogDbClient {
 
     public NetworkCollectionResourceCustomization getNetworkCollectionResourceCustomizationByID(
             String modelCustomizationUUID) {
+        return cachedModel("NetworkCollectionResourceCustomization:" + modelCustomizationUUID,
+                () -> loadNetworkCollectionResourceCustomizationByID(modelCustomizationUUID));
+    }
+
+    private NetworkCollectionResourceCustomization loadNetworkCollectionResourceCustomizationByID(
+            String modelCustomizationUUID) {
         NetworkCollectionResourceCustomization networkCollectionResourceCustomization =
                 this.getSingleResource(networkCollectionResourceCustomizationClient,
                         getUri(networkCollectionResourceCustomizationURI + modelCustomizationUUID));
@@ -520,6 +557,10 @@ public class CatalogDbClient {
     }
 
     public Service getServiceByID(String modelUUID) {
+        return cachedModel("Service:" + modelUUID, () -> loadServiceByID(modelUUID));
+    }
+
+    private Service loadServiceByID(String modelUUID) {
         Service service = getSingleResource(serviceClient, getUri(serviceURI + modelUUID));
         if (service != null) {
             service.setModelUUID(modelUUID);
@@ -528,6 +569,10 @@ public class CatalogDbClient {
     }
 
     public VfModule getVfModuleByModelUUID(String modelUUID) {
+        return cachedModel("VfModule:" + modelUUID, () -> loadVfModuleByModelUUID(modelUUID));
+    }
+
+    private VfModule loadVfModuleByModelUUID(String modelUUID) {
         VfModule vfModule = getSingleResource(vfModuleClient, getUri(vfModuleURI + modelUUID));
         if (vfModule != null) {
             vfModule.setModelUUID(modelUUID);
@@ -536,7 +581,10 @@ public class CatalogDbClient {
     }
 
     public VnfResource getVnfResourceByModelUUID(String modelUUID) {
+        return cachedModel("VnfResource:" + modelUUID, () -> loadVnfResourceByModelUUID(modelUUID));
+    }
 
+    private VnfResource loadVnfResourceByModelUUID(String modelUUID) {
         VnfResource vnfResource = this.getSingleResource(vnfResourceClient, getUri(vnfResourceURI + modelUUID));
         if (vnfResource != null) {
             vnfResource.setModelUUID(modelUUID);
@@ -547,6 +595,12 @@ public class CatalogDbClient {
     // A VNFResource customization UUID is the same object across services, so we can return anyone from the list
     // In the future the client should query starting at a service model uuid
     public VnfResourceCustomization getVnfResourceCustomizationByModelCustomizationUUID(String modelCustomizationUUID) {
+        return cachedModel("VnfResourceCustomization:" + modelCustomizationUUID,
+                () -> loadVnfResourceCustomizationByModelCustomizationUUID(modelCustomizationUUID));
+    }
+
+    private VnfResourceCustomization loadVnfResourceCustomizationByModelCustomizationUUID(
+            String modelCustomizationUUID) {
         List<VnfResourceCustomization> vnfResourceCustomization = this.getMultipleResources(
                 vnfResourceCustomizationClient, getUri(endpoint + VNF_RESOURCE_CUSTOMIZATION + SEARCH
                         + "/findByModelCustomizationUUID" + "?MODEL_CUSTOMIZATION_UUID=" + modelCustomizationUUID));
@@ -564,6 +618,10 @@ public class CatalogDbClient {
     }
 
     public PnfResource getPnfResourceByModelUUID(String modelUUID) {
+        return cachedModel("PnfResource:" + modelUUID, () -> loadPnfResourceByModelUUID(modelUUID));
+    }
+
+    private PnfResource loadPnfResourceByModelUUID(String modelUUID) {
         PnfResource PnfResource = this.getSingleResource(pnfResourceClient, getUri(pnfResourceURI + modelUUID));
         if (PnfResource != null) {
             PnfResource.setModelUUID(modelUUID);
@@ -572,6 +630,12 @@ public class CatalogDbClient {
     }
 
     public PnfResourceCustomization getPnfResourceCustomizationByModelCustomizationUUID(String modelCustomizationUUID) {
+        return cachedModel("PnfResourceCustomization:" + modelCustomizationUUID,
+                () -> loadPnfResourceCustomizationByModelCustomizationUUID(modelCustomizationUUID));
+    }
+
+    private PnfResourceCustomization loadPnfResourceCustomizationByModelCustomizationUUID(
+            String modelCustomizationUUID) {
         PnfResourceCustomization pnfResourceCustomization = getSingleResource(pnfResourceCustomizationClient,
                 getUri(pnfResourceCustomizationURI + modelCustomizationUUID));
         if (pnfResourceCustomization != null) {
@@ -588,6 +652,12 @@ public class CatalogDbClient {
 
     public CollectionNetworkResourceCustomization getCollectionNetworkResourceCustomizationByID(
             String modelCustomizationUUID) {
+        return cachedModel("CollectionNetworkResourceCustomization:" + modelCustomizationUUID,
+                () -> loadCollectionNetworkResourceCustomizationByID(modelCustomizationUUID));
+    }
+
+    private CollectionNetworkResourceCustomization loadCollectionNetworkResourceCustomizationByID(
+            String modelCustomizationUUID) {
         CollectionNetworkResourceCustomization collectionNetworkResourceCustomization =
                 this.getSingleResource(collectionNetworkResourceCustomizationClient,
                         getUri(UriBuilder.fromUri(collectionNetworkResourceCustomizationURI + modelCustomizationUUID)
@@ -599,6 +669,10 @@ public class CatalogDbClient {
     }
 
     public InstanceGroup getInstanceGroupByModelUUID(String modelUUID) {
+        return cachedModel("InstanceGroup:" + modelUUID, () -> loadInstanceGroupByModelUUID(modelUUID));
+    }
+
+    private InstanceGroup loadInstanceGroupByModelUUID(String modelUUID) {
         InstanceGroup instanceGroup = this.getSingleResource(instanceGroupClient, getUri(instanceGroupURI + modelUUID));
         if (instanceGroup != null) {
             instanceGroup.setModelUUID(modelUUID);
@@ -607,14 +681,22 @@ public class CatalogDbClient {
     }
 
     public VfModuleCustomization getVfModuleCustomizationByModelCuztomizationUUID(String modelCustomizationUUID) {
-        return this.getSingleResource(vfModuleCustomizationClient,
-                getUri(endpoint + VFMODULE_CUSTOMIZATION + SEARCH
-                        + "/findFirstByModelCustomizationUUIDOrderByCreatedDesc" + "?MODEL_CUSTOMIZATION_UUID="
-                        + modelCustomizationUUID));
+        // the latest row for the customization, a newer one may be added later
+        return cachedReference("VfModuleCustomization:" + modelCustomizationUUID,
+                () -> this.getSingleResource(vfModuleCustomizationClient,
+                        getUri(endpoint + VFMODULE_CUSTOMIZATION + SEARCH
+                                + "/findFirstByModelCustomizationUUIDOrderByCreatedDesc" + "?MODEL_CUSTOMIZATION_UUID="
+                                + modelCustomizationUUID)));
     }
 
     public NetworkResourceCustomization getNetworkResourceCustomizationByModelCustomizationUUID(
             String modelCustomizationUUID) {
+        return cachedModel("NetworkResourceCustomization:" + modelCustomizationUUID,
+                () -> loadNetworkResourceCustomizationByModelCustomizationUUID(modelCustomizationUUID));
+    }
+
+    private NetworkResourceCustomization loadNetworkResourceCustomizationByModelCustomizationUUID(
+            String modelCustomizationUUID) {
         NetworkResourceCustomization networkResourceCustomization = this.getSingleResource(
                 networkResourceCustomizationClient, getUri(networkResourceCustomizationURI + modelCustomizationUUID));
         if (networkResourceCustomization != null) {
@@ -643,6 +725,11 @@ public class CatalogDbClient {
 
 
     public BuildingBlockDetail getBuildingBlockDetail(String buildingBlockName) {
+        return cachedReference("BuildingBlockDetail:" + buildingBlockName,
+                () -> loadBuildingBlockDetail(buildingBlockName));
+    }
+
+    private BuildingBlockDetail loadBuildingBlockDetail(String buildingBlockName) {
         BuildingBlockDetail buildingBlockDetail =
                 getSingleResource(buildingBlockDetailClient, getUri(UriBuilder.fromUri(findOneByBuildingBlockName)
                         .queryParam(BUILDING_BLOCK_NAME, buildingBlockName).build().toString()));
@@ -663,8 +750,9 @@ public class CatalogDbClient {
     }
 
     public List<OrchestrationFlow> getOrchestrationFlowByAction(String action) {
-        return this.getMultipleResources(orchestrationClient,
-                UriBuilder.fromUri(findByAction).queryParam(ACTION, action).build());
+        List<OrchestrationFlow> flows = cachedReference("OrchestrationFlow:" + action, () -> this.getMultipleResources(
+                orchestrationClient, UriBuilder.fromUri(findByAction).queryParam(ACTION, action).build()));
+        return flows == null ? null : new ArrayList<>(flows);
     }
 
     public List<VnfcInstanceGroupCustomization> getVnfcInstanceGroupsByVnfResourceCust(String modelCustomizationUUID) {
@@ -718,12 +806,14 @@ public class CatalogDbClient {
         logger.debug(
                 "Get Rainy Day Status - Flow Name {}, Service Type: {} , vnfType {} , errorCode {}, workStep {}, errorMessage {}",
                 flowName, serviceType, vnfType, errorCode, workStep, errorMessage);
-        return this.getSingleResource(rainyDayHandlerStatusClient,
+        String key = String.join("|", "RainyDayHandlerStatus", flowName, serviceType, vnfType, errorCode, workStep,
+                errorMessage, serviceRole);
+        return cachedReference(key, () -> this.getSingleResource(rainyDayHandlerStatusClient,
                 UriComponentsBuilder.fromUriString(endpoint + RAINY_DAY_HANDLER_MACRO + SEARCH + findRainyDayHandler)
                         .queryParam(FLOW_NAME, flowName).queryParam(SERVICE_TYPE, serviceType)
                         .queryParam(VNF_TYPE, vnfType).queryParam(ERROR_CODE, errorCode).queryParam(WORK_STEP, workStep)
                         .queryParam(ERROR_MESSAGE, errorMessage).queryParam(SERVICE_ROLE, serviceRole).build().encode()
-                        .toUri());
+                        .toUri()));
     }
 
     public ServiceRecipe getFirstByServiceModelUUIDAndAction(String modelUUID, String action) {
@@ -776,8 +866,9 @@ public class CatalogDbClient {
     }
 
     public Service getServiceByModelUUID(String modelModelUUID) {
-        return this.getSingleResource(serviceClient, getUri(
-                UriBuilder.fromUri(findServiceByModelUUID).queryParam(MODEL_UUID, modelModelUUID).build().toString()));
+        return cachedModel("ServiceByModelUUID:" + modelModelUUID,
+                () -> this.getSingleResource(serviceClient, getUri(UriBuilder.fromUri(findServiceByModelUUID)
+                        .queryParam(MODEL_UUID, modelModelUUID).build().toString())));
     }
 
     public VnfResource getFirstVnfResourceByModelInvariantUUIDAndModelVersion(String modelInvariantUUID,
@@ -826,7 +917,8 @@ public class CatalogDbClient {
     }
 
     public CloudSite getCloudSite(String id) {
-        return this.getSingleResource(cloudSiteClient, getUri(cloudSiteURI + id));
+        return cachedReference("CloudSite:" + id,
+                () -> this.getSingleResource(cloudSiteClient, getUri(cloudSiteURI + id)));
     }
 
     public CloudSite getCloudSite(String id, String uri) {
@@ -835,6 +927,7 @@ public class CatalogDbClient {
 
     // Bring back old version of methind since the caller - OofInfraUtils.java - is not running in a spring context
     public void postOofHomingCloudSite(CloudSite cloudSite) {
+        invalidateReferenceData();
         this.postSingleResource(cloudSiteClient, cloudSite);
     }
 
@@ -842,6 +935,7 @@ public class CatalogDbClient {
         if (cloudSite == null) {
             throw new EntityNotFoundException("CloudSite passed as null");
         }
+        invalidateReferenceData();
         try {
             HttpHeaders headers = getHttpHeaders();
             HttpEntity<CloudSite> entity = new HttpEntity<>(cloudSite, headers);
@@ -862,6 +956,7 @@ public class CatalogDbClient {
         if (cloudSite == null) {
             throw new EntityNotFoundException("CloudSite passed as null");
         }
+        invalidateReferenceData();
         try {
             HttpHeaders headers = getHttpHeaders();
             HttpEntity<CloudSite> entity = new HttpEntity<>(cloudSite, headers);
@@ -882,6 +977,7 @@ public class CatalogDbClient {
         if (cloudSiteId == null) {
             throw new EntityNotFoundException("CloudSiteId passed as null");
         }
+        invalidateReferenceData();
         try {
             HttpHeaders headers = getHttpHeaders();
             HttpEntity<String> entity = new HttpEntity<>(null, headers);
@@ -902,8 +998,9 @@ public class CatalogDbClient {
 
 
     public CloudSite getCloudSiteByClliAndAicVersion(String clli, String cloudVersion) {
-        return this.getSingleResource(cloudSiteClient, getUri(UriBuilder.fromUri(findByClliAndCloudVersion)
-                .queryParam(CLLI, clli).queryParam(CLOUD_VERSION, cloudVersion).build().toString()));
+        return cachedReference("CloudSiteByClli:" + clli + "|" + cloudVersion,
+                () -> this.getSingleResource(cloudSiteClient, getUri(UriBuilder.fromUri(findByClliAndCloudVersion)
+                        .queryParam(CLLI, clli).queryParam(CLOUD_VERSION, cloudVersion).build().toString())));
     }
 
     public HomingInstance getHomingInstance(String serviceInstanceId) {
@@ -943,7 +1040,50 @@ public class CatalogDbClient {
                         .queryParam(MODEL_INVARIANT_UUID, modelInvariantUUID).build().toString()));
     }
 
-    private <T> T getSingleResource(Client<T> client, URI uri) {
+    /**
+     * Drops cached cloud sites, building block details, orchestration flows and rainy day rules, e.g. after a new
+     * service model was distributed
+     */
+    public void invalidateReferenceData() {
+        referenceCache.invalidateAll();
+    }
+
+    public void invalidateModels() {
+        modelCache.invalidateAll();
+    }
+
+    public long getCachedModelCount() {
+        return modelCache.size();
+    }
+
+    private <T> T cachedModel(String key, Supplier<T> loader) {
+        return cached(modelCache, key, loader);
+    }
+
+    private <T> T cachedReference(String key, Supplier<T> loader) {
+        return cached(referenceCache, key, loader);
+    }
+
+    /*
+     * Misses are not cached, a model that is not found yet may be distributed later
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T cached(Cache<String, Object> cache, String key, Supplier<T> loader) {
+        if (!cacheEnabled) {
+            return loader.get();
+        }
+        Object value = cache.getIfPresent(key);
+        if (value != null) {
+            return (T) value;
+        }
+        T loaded = loader.get();
+        if (loaded != null) {
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    protected <T> T getSingleResource(Client<T> client, URI uri) {
         return client.get(uri);
     }
 
@@ -1179,6 +1319,7 @@ public class CatalogDbClient {
         if (vnf == null) {
             throw new EntityNotFoundException("Vnf passed as null");
         }
+        invalidateModels();
         try {
             HttpHeaders headers = getHttpHeaders();
             HttpEntity<org.onap.so.rest.catalog.beans.Vnf> entity = new HttpEntity<>(vnf, headers);
@@ -22,12 +22,16 @@
 package org.onap.so.db.catalog.client;
 
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import javax.persistence.EntityNotFoundException;
 import javax.ws.rs.core.UriBuilder;
@@ -41,6 +45,7 @@ import org.onap.so.db.catalog.beans.CvnfcCustomization;
 import org.onap.so.db.catalog.beans.VfModuleCustomization;
 import org.onap.so.db.catalog.beans.VnfResourceCustomization;
 import org.onap.so.db.catalog.beans.Workflow;
+import org.onap.so.db.catalog.beans.macro.OrchestrationFlow;
 import uk.co.blackpepper.bowman.Client;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -215,4 +220,47 @@ public class CatalogDbClientTest {
                 .queryParam(CatalogDbClient.OPERATION_NAME, operationName).build()));
     }
 
+    @Test
+    public final void testVnfResourceCustomizationIsCached() {
+        VnfResourceCustomization vrc = new VnfResourceCustomization();
+        vrc.setModelCustomizationUUID("a123");
+        doReturn(new ArrayList<>(Arrays.asList(vrc))).when(catalogDbClient).getMultipleResources(any(), any());
+
+        catalogDbClient.getVnfResourceCustomizationByModelCustomizationUUID("a123");
+        VnfResourceCustomization cached = catalogDbClient.getVnfResourceCustomizationByModelCustomizationUUID("a123");
+
+        assertSame(vrc, cached);
+        verify(catalogDbClient, times(1)).getMultipleResources(any(), any());
+    }
+
+    @Test
+    public final void testLatestVfModuleCustomizationIsReferenceData() {
+        VfModuleCustomization first = new VfModuleCustomization();
+        first.setModelCustomizationUUID("a123");
+        first.setLabel("first");
+        VfModuleCustomization newer = new VfModuleCustomization();
+        newer.setModelCustomizationUUID("a123");
+        newer.setLabel("newer");
+        doReturn(first).doReturn(newer).when(catalogDbClient).getSingleResource(any(), any());
+
+        assertEquals("first", catalogDbClient.getVfModuleCustomizationByModelCuztomizationUUID("a123").getLabel());
+        assertEquals("first", catalogDbClient.getVfModuleCustomizationByModelCuztomizationUUID("a123").getLabel());
+        catalogDbClient.invalidateReferenceData();
+
+        assertEquals("newer", catalogDbClient.getVfModuleCustomizationByModelCuztomizationUUID("a123").getLabel());
+    }
+
+    @Test
+    public final void testOrchestrationFlowsInvalidated() {
+        doReturn(new ArrayList<>(Arrays.asList(new OrchestrationFlow()))).when(catalogDbClient)
+                .getMultipleResources(any(), any());
+
+        catalogDbClient.getOrchestrationFlowByAction("Service-Macro-Create");
+        catalogDbClient.getOrchestrationFlowByAction("Service-Macro-Create");
+        verify(catalogDbClient, times(1)).getMultipleResources(any(), any());
+
+        catalogDbClient.invalidateReferenceData();
+        catalogDbClient.getOrchestrationFlowByAction("Service-Macro-Create");
+        verify(catalogDbClient, times(2)).getMultipleResources(any(), any());
+    }
 }